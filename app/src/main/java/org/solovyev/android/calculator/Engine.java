@@ -114,12 +114,9 @@ public class Engine implements SharedPreferences.OnSharedPreferenceChangeListene
 
     public static boolean isValidName(@Nullable String name) {
         if (!TextUtils.isEmpty(name)) {
-            try {
-                final String parsed = Identifier.parser.parse(Parser.Parameters.get(name), null);
-                return TextUtils.equals(parsed, name);
-            } catch (jscl.text.ParseException e) {
-                // not valid name;
-            }
+            final String parsed = Identifier.parser.tryParse(Parser.Parameters.get(name), null);
+            // null if not valid name
+            return TextUtils.equals(parsed, name);
         }
 
         return false;
@@ -25,12 +25,13 @@ package org.solovyev.android.calculator;
 import android.text.SpannableString;
 import android.text.SpannableStringBuilder;
 import android.text.Spanned;
-import jscl.MathContext;
+import jscl.EvaluationContext;
 import jscl.MathEngine;
 import jscl.NumeralBase;
+import jscl.math.JsclInteger;
+import jscl.math.NumericWrapper;
 import jscl.text.DoubleParser;
 import jscl.text.JsclIntegerParser;
-import jscl.text.ParseException;
 import jscl.text.Parser;
 import org.solovyev.android.calculator.math.MathType;
 import org.solovyev.android.calculator.text.NumberSpan;
@@ -67,27 +68,23 @@ public class NumberBuilder extends BaseNumberBuilder {
     }
 
     @Nonnull
-    private static Double toDouble(@Nonnull String s, @Nonnull NumeralBase nb, @Nonnull final MathContext mc) throws NumberFormatException {
-        final NumeralBase defaultNb = mc.getNumeralBase();
+    private static Double toDouble(@Nonnull String s, @Nonnull NumeralBase nb) throws NumberFormatException {
+        final EvaluationContext previous = new EvaluationContext.Builder(EvaluationContext.current()).setNumeralBase(nb).create().bind();
         try {
-            mc.setNumeralBase(nb);
-
             final Parser.Parameters p = Parser.Parameters.get(s);
-            try {
-                return JsclIntegerParser.parser.parse(p, null).content().doubleValue();
-            } catch (ParseException e) {
-                p.exceptionsPool.release(e);
-                try {
-                    p.reset();
-                    return DoubleParser.parser.parse(p, null).content().doubleValue();
-                } catch (ParseException e1) {
-                    p.exceptionsPool.release(e1);
-                    throw new NumberFormatException();
-                }
+            final JsclInteger integer = JsclIntegerParser.parser.tryParse(p, null);
+            if (integer != null) {
+                return integer.content().doubleValue();
+            }
+            p.reset();
+            final NumericWrapper real = DoubleParser.parser.tryParse(p, null);
+            if (real != null) {
+                return real.content().doubleValue();
             }
+            throw new NumberFormatException();
 
         } finally {
-            mc.setNumeralBase(defaultNb);
+            EvaluationContext.restore(previous);
         }
     }
 
@@ -157,7 +154,7 @@ public class NumberBuilder extends BaseNumberBuilder {
                 }
 
                 // check if number still valid
-                toDouble(number, getNumeralBase(), engine.getMathEngine());
+                toDouble(number, getNumeralBase());
 
             } catch (NumberFormatException e) {
                 // number is not valid => stop
@@ -116,11 +116,11 @@ public class ToJsclTextProcessor implements TextProcessor<PreparedExpression, St
         final StringBuilder result = new StringBuilder();
         for (int i = 0; i < s.length(); i++) {
             int offset = 0;
-            String functionName = App.find(MathType.function.getTokens(engine), s, i);
+            String functionName = MathType.function.findToken(s, i, engine);
             if (functionName == null) {
-                String operatorName = App.find(MathType.operator.getTokens(engine), s, i);
+                String operatorName = MathType.operator.findToken(s, i, engine);
                 if (operatorName == null) {
-                    String varName = App.find(engine.getVariablesRegistry().getNames(), s, i);
+                    String varName = engine.getVariablesRegistry().findName(s, i);
                     if (varName != null) {
                         final IConstant var = engine.getVariablesRegistry().get(varName);
                         if (var != null) {
@@ -200,6 +200,17 @@ public abstract class BaseEntitiesRegistry<T extends MathEntity> implements Enti
         return mathRegistry.getNames();
     }
 
+    @Override
+    public int getVersion() {
+        return mathRegistry.getVersion();
+    }
+
+    @Nullable
+    @Override
+    public String findName(@Nonnull CharSequence text, int position) {
+        return mathRegistry.findName(text, position);
+    }
+
     @Override
     public boolean contains(@Nonnull String name) {
         return mathRegistry.contains(name);
@@ -27,9 +27,9 @@ import jscl.JsclMathEngine;
 import jscl.NumeralBase;
 import jscl.math.function.Constants;
 import org.solovyev.android.Check;
-import org.solovyev.android.calculator.App;
 import org.solovyev.android.calculator.Engine;
 import org.solovyev.android.calculator.ParseException;
+import org.solovyev.common.text.Trie;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -71,6 +71,12 @@ public enum MathType {
         public List<String> getTokens(@NonNull Engine engine) {
             return engine.getPostfixFunctionsRegistry().getNames();
         }
+
+        @Nullable
+        @Override
+        public String findToken(@Nonnull String text, int i, @Nonnull Engine engine) {
+            return engine.getPostfixFunctionsRegistry().findName(text, i);
+        }
     },
 
     unary_operation(500, false, false, MathGroupType.operation, "−", "-", "=") {
@@ -151,6 +157,12 @@ public enum MathType {
             return engine.getFunctionsRegistry().getNames();
         }
 
+        @Nullable
+        @Override
+        public String findToken(@Nonnull String text, int i, @Nonnull Engine engine) {
+            return engine.getFunctionsRegistry().findName(text, i);
+        }
+
         @Nonnull
         @Override
         public List<String> getTokens() {
@@ -166,6 +178,12 @@ public enum MathType {
             return engine.getOperatorsRegistry().getNames();
         }
 
+        @Nullable
+        @Override
+        public String findToken(@Nonnull String text, int i, @Nonnull Engine engine) {
+            return engine.getOperatorsRegistry().findName(text, i);
+        }
+
         @Nonnull
         @Override
         public List<String> getTokens() {
@@ -181,6 +199,12 @@ public enum MathType {
             return engine.getVariablesRegistry().getNames();
         }
 
+        @Nullable
+        @Override
+        public String findToken(@Nonnull String text, int i, @Nonnull Engine engine) {
+            return engine.getVariablesRegistry().findName(text, i);
+        }
+
         @Nonnull
         @Override
         public List<String> getTokens() {
@@ -236,6 +260,9 @@ public enum MathType {
     private final boolean needMultiplicationSignAfter;
     @Nonnull
     private final MathGroupType groupType;
+    // built lazily as some of the tokens are added after the constructor is called
+    @Nullable
+    private volatile Trie tokensTrie;
     MathType(@Nonnull Integer priority,
              boolean needMultiplicationSignBefore,
              boolean needMultiplicationSignAfter,
@@ -282,7 +309,7 @@ public enum MathType {
         final List<MathType> mathTypes = getMathTypesByPriority();
         for (int j = 0; j < mathTypes.size(); j++) {
             final MathType mathType = mathTypes.get(j);
-            final String s = App.find(mathType.getTokens(engine), text, i);
+            final String s = mathType.findToken(text, i, engine);
             if (s == null) {
                 continue;
             }
@@ -292,7 +319,7 @@ public enum MathType {
                     final int nextToken = i + s.length();
                     if (nextToken < text.length()) {
                         // function must have an open group symbol after its name
-                        if (MathType.open_group_symbol.getTokens().contains(text.substring(nextToken, nextToken + 1))) {
+                        if (isOpenGroupSymbol(text.charAt(nextToken))) {
                             return result.set(function, s);
                         }
                     } else if (nextToken == text.length()) {
@@ -359,6 +386,23 @@ public enum MathType {
         return tokens;
     }
 
+    /**
+     * @param text   analyzed text
+     * @param i      index which points to start of substring
+     * @param engine math engine
+     * @return the longest token of this type which <var>text</var> contains at <var>i</var>, null if there is no such
+     * token
+     */
+    @Nullable
+    public String findToken(@Nonnull String text, int i, @Nonnull Engine engine) {
+        Trie trie = tokensTrie;
+        if (trie == null) {
+            trie = new Trie(getTokens());
+            tokensTrie = trie;
+        }
+        return trie.find(text, i);
+    }
+
     private boolean isNeedMultiplicationSignAfter() {
         return needMultiplicationSignAfter;
     }
@@ -1,9 +1,14 @@
 package org.solovyev.android.calculator.plot;
 
 import android.text.TextUtils;
+import jscl.AngleUnit;
+import jscl.JsclMathEngine;
+import jscl.math.CompiledFunction;
 import jscl.math.Expression;
+import jscl.math.FunctionCompiler;
 import jscl.math.Generic;
 import jscl.math.JsclInteger;
+import jscl.math.NotCompilableException;
 import jscl.math.NumericWrapper;
 import jscl.math.function.CustomFunction;
 import jscl.math.numeric.Complex;
@@ -12,18 +17,28 @@ import jscl.math.numeric.Real;
 import org.solovyev.android.plotter.Function;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 public class ExpressionFunction extends Function {
     @Nonnull
     public final jscl.math.function.Function function;
     public final int arity;
     private final Generic[] parameters;
+    private final double[] arguments;
+    // compiled version of the function, null if function can't be compiled
+    @Nullable
+    private CompiledFunction compiled;
+    @Nullable
+    private AngleUnit compiledAngleUnits;
+    private int compiledConstantsVersion;
+    private int compiledFunctionsVersion;
 
     public ExpressionFunction(@Nonnull jscl.math.function.Function function) {
         super(makeFunctionName(function));
         this.function = function;
         this.arity = function.getMaxParameters();
         this.parameters = new Generic[this.arity];
+        this.arguments = new double[this.arity];
     }
 
     @Nonnull
@@ -56,9 +71,38 @@ public class ExpressionFunction extends Function {
         }
     }
 
+    @Nullable
+    private CompiledFunction getCompiled() {
+        final JsclMathEngine engine = JsclMathEngine.getInstance();
+        final AngleUnit angleUnits = engine.getAngleUnits();
+        final int constantsVersion = engine.getConstantsRegistry().getVersion();
+        final int functionsVersion = engine.getFunctionsRegistry().getVersion();
+        if (compiledAngleUnits != angleUnits || compiledConstantsVersion != constantsVersion || compiledFunctionsVersion != functionsVersion) {
+            // angle units, values of the constants and bodies of the custom functions are baked into the compiled function
+            compiledAngleUnits = angleUnits;
+            compiledConstantsVersion = constantsVersion;
+            compiledFunctionsVersion = functionsVersion;
+            try {
+                compiled = FunctionCompiler.compile(function);
+            } catch (NotCompilableException e) {
+                compiled = null;
+            }
+        }
+        return compiled;
+    }
+
     @Override
     public float evaluate(float x) {
         try {
+            final CompiledFunction compiled = getCompiled();
+            if (compiled != null) {
+                arguments[0] = x;
+                final double result = compiled.evaluate(arguments);
+                // NaN might be a complex number: let's evaluate it properly
+                if (!Double.isNaN(result)) {
+                    return (float) result;
+                }
+            }
             parameters[0] = Expression.valueOf((double) x);
             function.setParameters(parameters);
             return unwrap(function.numeric());
@@ -70,6 +114,15 @@ public class ExpressionFunction extends Function {
     @Override
     public float evaluate(float x, float y) {
         try {
+            final CompiledFunction compiled = getCompiled();
+            if (compiled != null) {
+                arguments[0] = x;
+                arguments[1] = y;
+                final double result = compiled.evaluate(arguments);
+                if (!Double.isNaN(result)) {
+                    return (float) result;
+                }
+            }
             parameters[0] = Expression.valueOf((double) x);
             parameters[1] = Expression.valueOf((double) y);
             function.setParameters(parameters);
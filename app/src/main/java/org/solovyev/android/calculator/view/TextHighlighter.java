@@ -30,6 +30,8 @@ import android.text.style.StyleSpan;
 
 import com.google.common.collect.Lists;
 
+import jscl.NumeralBase;
+
 import org.solovyev.android.Check;
 import org.solovyev.android.calculator.BaseNumberBuilder;
 import org.solovyev.android.calculator.Engine;
@@ -43,6 +45,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 public class TextHighlighter implements TextProcessor<TextProcessorEditorResult, String> {
 
@@ -53,6 +56,9 @@ public class TextHighlighter implements TextProcessor<TextProcessorEditorResult,
     private final int dark;
     @Nonnull
     private final Engine engine;
+    // tokens of the previously highlighted text, see tokenAt()
+    @Nullable
+    private volatile Tokens previous;
 
     public TextHighlighter(int color, boolean formatNumber, @Nonnull Engine engine) {
         this.formatNumber = formatNumber;
@@ -90,13 +96,24 @@ public class TextHighlighter implements TextProcessor<TextProcessorEditorResult,
         final SpannableStringBuilder sb = new SpannableStringBuilder();
         final BaseNumberBuilder nb = !formatNumber ? new LiteNumberBuilder(engine) : new NumberBuilder(engine);
         final MathType.Result result = new MathType.Result();
+        final Tokens tokens = newTokens(text);
+        final Damage damage = new Damage(previous, tokens);
 
         int offset = 0;
         int groupsCount = 0;
         int openGroupsCount = 0;
 
         for (int i = 0; i < text.length(); i++) {
-            MathType.getType(text, i, nb.isHexMode(), result, engine);
+            final boolean hexMode = nb.isHexMode();
+            Token token = damage.reusableToken(i, hexMode);
+            if (token == null) {
+                MathType.getType(text, i, hexMode, result, engine);
+                token = new Token(result, hexMode);
+            } else {
+                result.type = token.type;
+                result.match = token.match;
+            }
+            tokens.tokens[i] = token;
 
             offset += nb.process(sb, result);
 
@@ -135,6 +152,7 @@ public class TextHighlighter implements TextProcessor<TextProcessorEditorResult,
         if (nb instanceof NumberBuilder) {
             offset += ((NumberBuilder) nb).processNumber(sb);
         }
+        previous = tokens;
 
         if (groupsCount == 0) {
             return new TextProcessorEditorResult(sb, offset);
@@ -147,6 +165,33 @@ public class TextHighlighter implements TextProcessor<TextProcessorEditorResult,
         return new TextProcessorEditorResult(sb, offset);
     }
 
+    @Nonnull
+    private Tokens newTokens(@Nonnull String text) {
+        final NumeralBase numeralBase = engine.getMathEngine().getNumeralBase();
+        final long version = (long) engine.getFunctionsRegistry().getVersion()
+                + engine.getOperatorsRegistry().getVersion()
+                + engine.getPostfixFunctionsRegistry().getVersion()
+                + engine.getVariablesRegistry().getVersion();
+        final Tokens previous = this.previous;
+        final int maxTokenLength;
+        if (previous != null && previous.version == version) {
+            maxTokenLength = previous.maxTokenLength;
+        } else {
+            maxTokenLength = getMaxTokenLength();
+        }
+        return new Tokens(text, numeralBase, version, maxTokenLength);
+    }
+
+    private int getMaxTokenLength() {
+        int result = 0;
+        for (MathType type : MathType.values()) {
+            for (String token : type.getTokens(engine)) {
+                result = Math.max(result, token.length());
+            }
+        }
+        return result;
+    }
+
     private int append(SpannableStringBuilder t, String match) {
         t.append(match);
         if (match.length() > 1) {
@@ -202,6 +247,102 @@ public class TextHighlighter implements TextProcessor<TextProcessorEditorResult,
         return (0xFF << 24) | ((red + offset) << 16) | ((green + offset) << 8) | (blue + offset);
     }
 
+    /**
+     * Tokens found in the text, {@link #tokens} contains a token at every index where a token starts. Immutable once
+     * the text is processed.
+     */
+    private static final class Tokens {
+        @Nonnull
+        final String text;
+        @Nonnull
+        final Token[] tokens;
+        @Nonnull
+        final NumeralBase numeralBase;
+        // sum of the versions of the registries (each of them only grows)
+        final long version;
+        final int maxTokenLength;
+
+        Tokens(@Nonnull String text, @Nonnull NumeralBase numeralBase, long version, int maxTokenLength) {
+            this.text = text;
+            this.tokens = new Token[text.length()];
+            this.numeralBase = numeralBase;
+            this.version = version;
+            this.maxTokenLength = maxTokenLength;
+        }
+    }
+
+    private static final class Token {
+        @Nonnull
+        final MathType type;
+        @Nonnull
+        final String match;
+        // tokens depend on the mode of the number builder
+        final boolean hexMode;
+
+        Token(@Nonnull MathType.Result result, boolean hexMode) {
+            this.type = result.type;
+            // text token matches everything till the end of the text but only the first character is used
+            this.match = result.type == MathType.text && result.match.length() > 1 ? result.match.substring(0, 1) : result.match;
+            this.hexMode = hexMode;
+        }
+    }
+
+    /**
+     * Part of the new text which differs from the previous one. {@link MathType#getType} looks at most at one character
+     * before the token and one character after the longest token, so tokens which are far enough from the changed part
+     * are the same as before.
+     */
+    private static final class Damage {
+        @Nullable
+        private final Token[] tokens;
+        // tokens starting before this position are taken from the same position of the previous text
+        private final int prefixEnd;
+        // tokens starting at or after this position are taken from the shifted position of the previous text
+        private final int suffixStart;
+        private final int shift;
+
+        Damage(@Nullable Tokens previous, @Nonnull Tokens current) {
+            if (previous == null || previous.numeralBase != current.numeralBase || previous.version != current.version) {
+                tokens = null;
+                prefixEnd = 0;
+                suffixStart = Integer.MAX_VALUE;
+                shift = 0;
+                return;
+            }
+            final String oldText = previous.text;
+            final String newText = current.text;
+            final int length = Math.min(oldText.length(), newText.length());
+            int prefix = 0;
+            while (prefix < length && oldText.charAt(prefix) == newText.charAt(prefix)) {
+                prefix++;
+            }
+            int suffix = 0;
+            while (suffix < length - prefix && oldText.charAt(oldText.length() - 1 - suffix) == newText.charAt(newText.length() - 1 - suffix)) {
+                suffix++;
+            }
+            tokens = previous.tokens;
+            prefixEnd = prefix - current.maxTokenLength - 1;
+            suffixStart = newText.length() - suffix + 1;
+            shift = oldText.length() - newText.length();
+        }
+
+        @Nullable
+        Token reusableToken(int i, boolean hexMode) {
+            if (tokens == null) {
+                return null;
+            }
+            final Token token;
+            if (i < prefixEnd) {
+                token = tokens[i];
+            } else if (i >= suffixStart) {
+                token = tokens[i + shift];
+            } else {
+                return null;
+            }
+            return token != null && token.hexMode == hexMode ? token : null;
+        }
+    }
+
     private static class GroupSpan {
         final int start;
         final int end;
@@ -27,10 +27,12 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import android.graphics.Color;
 import android.text.Spannable;
+import android.text.Spanned;
 import android.text.style.ForegroundColorSpan;
 import java.util.Date;
 import java.util.Random;
 import jscl.MathEngine;
+import javax.annotation.Nonnull;
 import jscl.NumeralBase;
 import org.junit.Before;
 import org.junit.Test;
@@ -189,6 +191,48 @@ public class TextHighlighterTest {
         assertEquals(res.length() - 1, spannable.getSpanEnd(spans[0]));
     }
 
+    @Test
+    public void testShouldHighlightEditedTextSameAsNewText() throws Exception {
+        final TextHighlighter textHighlighter = new TextHighlighter(Color.BLACK, true, engine);
+        final String[] edits = {
+                "sin(30)+cos(45)*1000000",
+                "sin(30)+cos(45)*10000000",
+                "sin(30)+cosh(45)*10000000",
+                "asin(30)+cosh(45)*10000000",
+                "asin(30)+cosh(4)*10000000",
+                "asin(30)+cosh((4)*10000000",
+                "0x:asin(30)+cosh((4)*10000000",
+                "0x:asin(30)+cosh((4)*1000000f",
+                "2*0x:asin(30)+cosh((4)*1000000f",
+                "2*asin(30)+cosh((4)*1000000f",
+                "2*asin(30)+cosh((4)*1000 000f",
+                "",
+                "π*e+ln(2)",
+        };
+        for (String edit : edits) {
+            final CharSequence expected = new TextHighlighter(Color.BLACK, true, engine).process(edit).getCharSequence();
+            final CharSequence actual = textHighlighter.process(edit).getCharSequence();
+            assertEquals(expected.toString(), actual.toString());
+            assertEquals(edit, spansOf(expected), spansOf(actual));
+        }
+    }
+
+    @Nonnull
+    private static String spansOf(@Nonnull CharSequence text) {
+        final StringBuilder result = new StringBuilder();
+        if (text instanceof Spanned) {
+            final Spanned spanned = (Spanned) text;
+            for (Object span : spanned.getSpans(0, text.length(), Object.class)) {
+                result.append(span.getClass().getSimpleName()).append('[').append(spanned.getSpanStart(span)).append(", ").append(spanned.getSpanEnd(span)).append(']');
+                if (span instanceof ForegroundColorSpan) {
+                    result.append(Integer.toHexString(((ForegroundColorSpan) span).getForegroundColor()));
+                }
+                result.append(' ');
+            }
+        }
+        return result.toString();
+    }
+
     @Test
     public void testIsDark() throws Exception {
         assertFalse(TextHighlighter.isDark(Color.WHITE));
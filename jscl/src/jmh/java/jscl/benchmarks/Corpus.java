@@ -0,0 +1,134 @@
+package jscl.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import javax.annotation.Nonnull;
+
+import jscl.math.Expression;
+import jscl.math.Generic;
+import jscl.text.ParseException;
+import jscl.util.ExpressionGenerator;
+
+/**
+ * Inputs of the benchmarks. Fixed corpora never change (so results of different runs are comparable), generated
+ * corpora are produced by {@link ExpressionGenerator} with a fixed seed.
+ */
+final class Corpus {
+
+    static final long SEED = 42L;
+
+    /**
+     * Expressions with variables, functions and operators which are typed by the users
+     */
+    @Nonnull
+    static final List<String> SYMBOLIC = Collections.unmodifiableList(Arrays.asList(
+            "(x+y)^5",
+            "(x-1)*(x+1)*(x^2+1)",
+            "sin(x)^2+cos(x)^2",
+            "x^3-6*x^2+11*x-6",
+            "(a+b)*(a-b)/(a^2-b^2)",
+            "exp(x)*exp(y)/exp(x+y)",
+            "∂(sin(x)*x^2, x)",
+            "∫(x*cos(x), x)",
+            "ln(x*y)-ln(x)",
+            "√(x^2+2*x+1)",
+            "(x^2-y^2)/(x-y)",
+            "1/(x+1)+1/(x-1)"
+    ));
+
+    /**
+     * Polynomials with integer coefficients which can be factorized
+     */
+    @Nonnull
+    static final List<String> POLYNOMIALS = Collections.unmodifiableList(Arrays.asList(
+            "x^2-1",
+            "x^4-1",
+            "x^3-6*x^2+11*x-6",
+            "x^6-y^6",
+            "x^2*y^2-4*x*y+4",
+            "(x+2*y)^3*(x-y)^2",
+            "x^8-256",
+            "6*x^3+11*x^2-4*x-4"
+    ));
+
+    /**
+     * Expressions which are evaluated by the calculator: numbers, constants and functions
+     */
+    @Nonnull
+    static final List<String> NUMERIC = Collections.unmodifiableList(Arrays.asList(
+            "2+2*2",
+            "sin(30)+cos(60)",
+            "√(2)*√(8)",
+            "ln(e^10)",
+            "10!/5!",
+            "1/3+1/7-1/11",
+            "π*e",
+            "(1+1/1000)^1000",
+            "asin(0.5)+acos(0.5)",
+            "2^0.5+3^(1/3)",
+            "0x:FF+0b:101",
+            "123456789*987654321"
+    ));
+
+    /**
+     * Rational functions with common factors of the numerator and the denominator which are cancelled by the
+     * simplification
+     */
+    @Nonnull
+    static final List<String> RATIONAL_FUNCTIONS = Collections.unmodifiableList(Arrays.asList(
+            "(u+v)/(u^2-v^2)",
+            "((u+1)^6*(u-2)^3)/((u+1)^5*(u-2)^3)",
+            "((w*u+1)^3*(v+u))/((v^2-u^2)*(w*u+1))",
+            "(3*u^2+5*u-7)^3*(2*u+1)/((3*u^2+5*u-7)*(2*u-1)^2*(2*u+1))",
+            "(u^4-v^4)/(u^3+u^2*v+u*v^2+v^3)",
+            "(u^2*v-v^3+u*w^2)/(u^2*v^2-v^4+u*v*w^2)"
+    ));
+
+    private Corpus() {
+        throw new AssertionError();
+    }
+
+    @Nonnull
+    static List<String> generated(int count, int depth) {
+        final ExpressionGenerator generator = new ExpressionGenerator(depth, new Random(SEED));
+        final List<String> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(generator.generate());
+        }
+        return result;
+    }
+
+    @Nonnull
+    static List<String> named(@Nonnull String name) {
+        switch (name) {
+            case "symbolic":
+                return SYMBOLIC;
+            case "polynomials":
+                return POLYNOMIALS;
+            case "numeric":
+                return NUMERIC;
+            case "rational":
+                return RATIONAL_FUNCTIONS;
+            case "generated":
+                return generated(100, 20);
+        }
+        throw new IllegalArgumentException("No corpus with name " + name);
+    }
+
+    @Nonnull
+    static Generic[] parse(@Nonnull List<String> expressions) {
+        final Generic[] result = new Generic[expressions.size()];
+        for (int i = 0; i < result.length; i++) {
+            try {
+                result[i] = Expression.valueOf(expressions.get(i));
+            } catch (ParseException e) {
+                throw new IllegalStateException("Can't parse " + expressions.get(i), e);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,69 @@
+package jscl.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.solovyev.common.NumberFormatter;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import jscl.JsclMathEngine;
+import jscl.NumeralBase;
+
+/**
+ * Formatting of 1000 doubles of different magnitudes with {@link JsclMathEngine#format(double, NumeralBase)} and
+ * {@link NumberFormatter#format(double, int)}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FormatBenchmark {
+
+    @Param({"dec", "hex", "bin"})
+    public NumeralBase numeralBase;
+
+    private final double[] values = new double[1000];
+    private JsclMathEngine engine;
+    private NumberFormatter formatter;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(Corpus.SEED);
+        for (int i = 0; i < values.length; i++) {
+            // from 1E-10 to 1E10
+            values[i] = (random.nextBoolean() ? 1 : -1) * Math.pow(10, 20 * random.nextDouble() - 10);
+        }
+        engine = new JsclMathEngine();
+        engine.setGroupingSeparator(' ');
+        formatter = new NumberFormatter();
+        formatter.setGroupingSeparator(' ');
+    }
+
+    @Benchmark
+    public void engine(Blackhole bh) {
+        for (double value : values) {
+            bh.consume(engine.format(value, numeralBase));
+        }
+    }
+
+    @Benchmark
+    public void numberFormatter(Blackhole bh) {
+        final int radix = numeralBase.radix;
+        for (double value : values) {
+            bh.consume(formatter.format(value, radix));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package jscl.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jscl.math.Generic;
+
+/**
+ * Gcd of integer polynomials ({@link Generic#gcd(Generic)}) with a known common factor. Products are expanded once
+ * and the expansion is not measured. Simplification of rational functions (which computes such gcds) is measured by
+ * {@link TransformationBenchmark#simplifyRationalFunctions}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GcdBenchmark {
+
+    @Param({"univariate", "coefficients", "trivariate", "quintivariate"})
+    public String input;
+
+    private Generic a;
+    private Generic b;
+
+    @Setup
+    public void setUp() {
+        // common factor, cofactor of a, cofactor of b
+        final List<String> factors;
+        switch (input) {
+            case "univariate":
+                factors = Arrays.asList("(3*u^2+5*u-7)^5", "(2*u+1)^5", "(2*u-1)^6");
+                break;
+            case "coefficients":
+                factors = Arrays.asList("(12345678901234567890*u^3+98765432109876543210)^2", "u+1", "u-1");
+                break;
+            case "trivariate":
+                factors = Arrays.asList("(1+u*v+w)^3", "(1+u*v+w)*(u-v*w+2)^3", "(u+v+w)^4");
+                break;
+            case "quintivariate":
+                factors = Arrays.asList("(u^2+v^2+w^2+z^2+y^2)^2", "u*v*w*z*y+1", "u+v+w+z+y");
+                break;
+            default:
+                throw new IllegalArgumentException("No input with name " + input);
+        }
+        final Generic[] parsed = Corpus.parse(factors);
+        a = parsed[0].multiply(parsed[1]).expand();
+        b = parsed[0].multiply(parsed[2]).expand();
+    }
+
+    @Benchmark
+    public Generic gcd() {
+        return a.gcd(b);
+    }
+}
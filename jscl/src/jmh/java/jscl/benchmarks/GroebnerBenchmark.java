@@ -0,0 +1,94 @@
+package jscl.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jscl.math.Expression;
+import jscl.math.Generic;
+import jscl.math.Variable;
+import jscl.math.polynomial.Basis;
+import jscl.math.polynomial.Monomial;
+import jscl.text.ParseException;
+
+/**
+ * Groebner bases of the classical test systems computed by {@link Basis#compute} with each of the algorithms
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GroebnerBenchmark {
+
+    @Param({"BUCHBERGER", "F4", "BLOCK", "PARALLEL", "MULTI_MODULAR"})
+    public String algorithm;
+
+    @Param({"cyclic3", "katsura3", "cyclic4"})
+    public String system;
+
+    private Generic[] polynomials;
+    private Variable[] unknowns;
+    private int flags;
+
+    @Setup
+    public void setUp() throws ParseException {
+        final List<String> equations;
+        switch (system) {
+            case "cyclic3":
+                equations = Arrays.asList("x+y+z", "x*y+y*z+z*x", "x*y*z-1");
+                break;
+            case "katsura3":
+                equations = Arrays.asList("x+2*y+2*z-1", "x^2+2*y^2+2*z^2-x", "2*x*y+2*y*z-y");
+                break;
+            case "cyclic4":
+                equations = Arrays.asList("x+y+z+t", "x*y+y*z+z*t+t*x", "x*y*z+y*z*t+z*t*x+t*x*y", "x*y*z*t-1");
+                break;
+            default:
+                throw new IllegalArgumentException("No system with name " + system);
+        }
+        polynomials = Corpus.parse(equations);
+        final String[] names = system.equals("cyclic4") ? new String[]{"x", "y", "z", "t"} : new String[]{"x", "y", "z"};
+        unknowns = new Variable[names.length];
+        for (int i = 0; i < names.length; i++) {
+            unknowns[i] = Expression.valueOf(names[i]).variableValue();
+        }
+        switch (algorithm) {
+            case "BUCHBERGER":
+                flags = Basis.BUCHBERGER;
+                break;
+            case "F4":
+                flags = Basis.F4;
+                break;
+            case "BLOCK":
+                flags = Basis.BLOCK;
+                break;
+            case "PARALLEL":
+                flags = Basis.PARALLEL;
+                break;
+            case "MULTI_MODULAR":
+                flags = Basis.MULTI_MODULAR;
+                break;
+            default:
+                throw new IllegalArgumentException("No algorithm with name " + algorithm);
+        }
+    }
+
+    @Benchmark
+    public Basis compute() {
+        return Basis.compute(polynomials, unknowns, Monomial.degreeReverseLexicographic, 0, flags);
+    }
+}
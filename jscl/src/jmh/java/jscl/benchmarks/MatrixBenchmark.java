@@ -0,0 +1,81 @@
+package jscl.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import jscl.math.Expression;
+import jscl.math.Generic;
+import jscl.math.JsclInteger;
+import jscl.math.Matrix;
+import jscl.text.ParseException;
+
+/**
+ * Determinant and inverse of integer square matrices, determinants of symbolic and polynomial ones
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatrixBenchmark {
+
+    @Param({"3", "5", "7"})
+    public int size;
+
+    private Matrix integer;
+    private Matrix symbolic;
+    private Matrix polynomial;
+
+    @Setup
+    public void setUp() throws ParseException {
+        final Random random = new Random(Corpus.SEED);
+        final Generic[][] integers = new Generic[size][size];
+        final Generic[][] symbols = new Generic[size][size];
+        final Generic[][] polynomials = new Generic[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                integers[i][j] = JsclInteger.valueOf(random.nextInt(21) - 10);
+                // variables on the diagonal, integers elsewhere
+                symbols[i][j] = i == j ? Expression.valueOf("x" + i) : integers[i][j];
+                // linear polynomials in one variable
+                polynomials[i][j] = Expression.valueOf("x").multiply(JsclInteger.valueOf(random.nextInt(5) - 2)).add(integers[i][j]);
+            }
+        }
+        integer = new Matrix(integers);
+        symbolic = new Matrix(symbols);
+        polynomial = new Matrix(polynomials);
+    }
+
+    @Benchmark
+    public Generic determinant() {
+        return integer.determinant();
+    }
+
+    @Benchmark
+    public Generic inverse() {
+        return integer.inverse();
+    }
+
+    @Benchmark
+    public Generic symbolicDeterminant() {
+        return symbolic.determinant();
+    }
+
+    @Benchmark
+    public Generic polynomialDeterminant() {
+        return polynomial.determinant();
+    }
+}
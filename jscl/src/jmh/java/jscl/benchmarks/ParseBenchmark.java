@@ -0,0 +1,49 @@
+package jscl.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jscl.math.Expression;
+import jscl.text.ParseException;
+
+/**
+ * Parsing of the whole corpus with {@link Expression#valueOf(String)}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseBenchmark {
+
+    @Param({"symbolic", "numeric", "generated"})
+    public String corpus;
+
+    private List<String> expressions;
+
+    @Setup
+    public void setUp() {
+        expressions = Corpus.named(corpus);
+    }
+
+    @Benchmark
+    public void parse(Blackhole bh) throws ParseException {
+        for (String expression : expressions) {
+            bh.consume(Expression.valueOf(expression));
+        }
+    }
+}
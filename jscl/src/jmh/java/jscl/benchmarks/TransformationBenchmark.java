@@ -0,0 +1,87 @@
+package jscl.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+import jscl.math.Generic;
+
+/**
+ * Transformations of the parsed corpora: {@link Generic#expand()}, {@link Generic#simplify()},
+ * {@link Generic#numeric()} and {@link Generic#factorize()}. Parsing is done once and is not measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransformationBenchmark {
+
+    private Generic[] symbolic;
+    private Generic[] polynomials;
+    private Generic[] numeric;
+    private Generic[] generated;
+    private Generic[] rationalFunctions;
+
+    @Setup
+    public void setUp() {
+        symbolic = Corpus.parse(Corpus.SYMBOLIC);
+        polynomials = Corpus.parse(Corpus.POLYNOMIALS);
+        numeric = Corpus.parse(Corpus.NUMERIC);
+        generated = Corpus.parse(Corpus.generated(100, 20));
+        rationalFunctions = Corpus.parse(Corpus.RATIONAL_FUNCTIONS);
+    }
+
+    @Benchmark
+    public void expand(Blackhole bh) {
+        for (Generic generic : symbolic) {
+            bh.consume(generic.expand());
+        }
+    }
+
+    @Benchmark
+    public void simplify(Blackhole bh) {
+        for (Generic generic : symbolic) {
+            bh.consume(generic.simplify());
+        }
+    }
+
+    @Benchmark
+    public void simplifyRationalFunctions(Blackhole bh) {
+        for (Generic generic : rationalFunctions) {
+            bh.consume(generic.simplify());
+        }
+    }
+
+    @Benchmark
+    public void factorize(Blackhole bh) {
+        for (Generic generic : polynomials) {
+            bh.consume(generic.factorize());
+        }
+    }
+
+    @Benchmark
+    public void numeric(Blackhole bh) {
+        for (Generic generic : numeric) {
+            bh.consume(generic.numeric());
+        }
+    }
+
+    @Benchmark
+    public void numericGenerated(Blackhole bh) {
+        for (Generic generic : generated) {
+            bh.consume(generic.numeric());
+        }
+    }
+}
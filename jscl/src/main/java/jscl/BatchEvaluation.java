@@ -0,0 +1,272 @@
+package jscl;
+
+import org.solovyev.common.msg.ListMessageRegistry;
+import org.solovyev.common.msg.Message;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+
+/**
+ * Evaluation of many independent expressions with the same settings. Expressions are evaluated concurrently by the
+ * executor, each one with its own message registry, and failures are reported per expression instead of aborting the
+ * whole batch. Results can be retrieved either in the order of the expressions ({@link #get(int)}) or in the order of
+ * completion ({@link #take()}).
+ *
+ * @see JsclMathEngine#evaluate(Collection, EvaluationContext, Executor)
+ */
+public final class BatchEvaluation {
+
+    @Nullable
+    private static volatile ExecutorService defaultExecutor;
+
+    @Nonnull
+    private final List<Item> items;
+    @Nonnull
+    private final BlockingQueue<Result> completed = new LinkedBlockingQueue<Result>();
+    @GuardedBy("this")
+    private int taken;
+
+    BatchEvaluation(@Nonnull final JsclMathEngine engine, @Nonnull Collection<String> expressions, @Nonnull final EvaluationContext context, @Nonnull Executor executor) {
+        this.items = new ArrayList<Item>(expressions.size());
+        for (String expression : expressions) {
+            items.add(new Item(engine, items.size(), expression, context));
+        }
+        for (Item item : items) {
+            executor.execute(item);
+        }
+    }
+
+    /**
+     * @return executor shared by all batches which are started without an explicit executor: a pool of daemon threads,
+     * one per available processor. It's also used by the parallel numeric algorithms of the engine
+     */
+    @Nonnull
+    public static ExecutorService getDefaultExecutor() {
+        ExecutorService executor = defaultExecutor;
+        if (executor == null) {
+            synchronized (BatchEvaluation.class) {
+                executor = defaultExecutor;
+                if (executor == null) {
+                    executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), new DaemonThreadFactory());
+                    defaultExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * Waits for the evaluation of the expression with the given index
+     *
+     * @param index index of the expression in the batch
+     * @return result of the evaluation
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     */
+    @Nonnull
+    public Result get(int index) throws InterruptedException {
+        final Item item = items.get(index);
+        try {
+            item.get();
+        } catch (ExecutionException | CancellationException e) {
+            // reported in the result
+        }
+        return item.result();
+    }
+
+    /**
+     * Waits for the next evaluation to finish. Each result is returned exactly once, cancelled expressions are
+     * returned as failed results.
+     *
+     * @return result of the next finished evaluation or null if all the results were already taken
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     */
+    @Nullable
+    public Result take() throws InterruptedException {
+        synchronized (this) {
+            if (taken == items.size()) {
+                return null;
+            }
+            taken++;
+        }
+        return completed.take();
+    }
+
+    /**
+     * Cancels all the evaluations which haven't finished yet. Running evaluations are interrupted.
+     */
+    public void cancel() {
+        for (Item item : items) {
+            item.cancel(true);
+        }
+    }
+
+    public boolean isDone() {
+        for (Item item : items) {
+            if (!item.isDone()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private final class Item extends FutureTask<Result> {
+
+        private final int index;
+        @Nonnull
+        private final String expression;
+
+        Item(@Nonnull final JsclMathEngine engine, final int index, @Nonnull final String expression, @Nonnull final EvaluationContext context) {
+            super(new Callable<Result>() {
+                @Override
+                public Result call() {
+                    return evaluate(engine, index, expression, context);
+                }
+            });
+            this.index = index;
+            this.expression = expression;
+        }
+
+        @Override
+        protected void done() {
+            completed.add(result());
+        }
+
+        // must be called only after the task is done
+        @Nonnull
+        Result result() {
+            try {
+                return get();
+            } catch (CancellationException e) {
+                return new Result(index, expression, null, e, Collections.<Message>emptyList());
+            } catch (ExecutionException e) {
+                return new Result(index, expression, null, e.getCause(), Collections.<Message>emptyList());
+            } catch (InterruptedException e) {
+                // can't happen: the task is done and get() doesn't wait
+                Thread.currentThread().interrupt();
+                return new Result(index, expression, null, e, Collections.<Message>emptyList());
+            }
+        }
+    }
+
+    @Nonnull
+    private static Result evaluate(@Nonnull JsclMathEngine engine, int index, @Nonnull String expression, @Nonnull EvaluationContext context) {
+        final ListMessageRegistry messageRegistry = new ListMessageRegistry();
+        final EvaluationContext itemContext = new EvaluationContext.Builder(context).setMessageRegistry(messageRegistry).create();
+        String value = null;
+        Throwable error = null;
+        try {
+            value = engine.evaluate(expression, itemContext);
+        } catch (Exception | StackOverflowError e) {
+            error = e;
+        }
+        final List<Message> messages = new ArrayList<Message>();
+        while (messageRegistry.hasMessage()) {
+            messages.add(messageRegistry.getMessage());
+        }
+        return new Result(index, expression, value, error, messages);
+    }
+
+    public static final class Result {
+
+        private final int index;
+        @Nonnull
+        private final String expression;
+        @Nullable
+        private final String value;
+        @Nullable
+        private final Throwable error;
+        @Nonnull
+        private final List<Message> messages;
+
+        private Result(int index, @Nonnull String expression, @Nullable String value, @Nullable Throwable error, @Nonnull List<Message> messages) {
+            this.index = index;
+            this.expression = expression;
+            this.value = value;
+            this.error = error;
+            this.messages = messages;
+        }
+
+        /**
+         * @return index of the expression in the batch
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        @Nonnull
+        public String getExpression() {
+            return expression;
+        }
+
+        public boolean isSuccessful() {
+            return error == null;
+        }
+
+        public boolean isCancelled() {
+            return error instanceof CancellationException;
+        }
+
+        /**
+         * @return result of the evaluation, null if the evaluation has failed
+         */
+        @Nullable
+        public String getValue() {
+            return value;
+        }
+
+        /**
+         * @return reason of the failure (usually {@link jscl.text.ParseException} or {@link ArithmeticException}), null
+         * if the evaluation has succeeded
+         */
+        @Nullable
+        public Throwable getError() {
+            return error;
+        }
+
+        /**
+         * @return messages reported during the evaluation
+         */
+        @Nonnull
+        public List<Message> getMessages() {
+            return messages;
+        }
+
+        @Override
+        public String toString() {
+            return expression + "=" + (error == null ? value : error);
+        }
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+        @Nonnull
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(@Nonnull Runnable r) {
+            final Thread thread = new Thread(r, "jscl-batch-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package jscl;
+
+import org.solovyev.common.msg.Message;
+import org.solovyev.common.msg.MessageRegistry;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
+
+import jscl.math.Generic;
+
+/**
+ * Bounded LRU cache of the parsed expressions and of the results of {@link JsclMathEngine}'s operations. Entries are
+ * keyed by the expression and by everything the result depends on: angle units, numeral base and versions of the
+ * registries. Changing any of them makes old entries unreachable (they are evicted eventually).
+ * <p/>
+ * Messages added to the {@link MessageRegistry} during the calculation are stored with the result and are added
+ * again on every cache hit.
+ */
+final class EvaluationCache {
+
+    static final int DEFAULT_CAPACITY = 64;
+
+    @GuardedBy("this")
+    @Nonnull
+    private final Map<Key, Entry> entries;
+    @GuardedBy("this")
+    private long hits;
+    @GuardedBy("this")
+    private long misses;
+
+    EvaluationCache(final int capacity) {
+        this.entries = new LinkedHashMap<Key, Entry>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    @Nullable
+    Generic get(@Nonnull Key key, @Nonnull MessageRegistry messageRegistry) {
+        final Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+            if (entry == null) {
+                misses++;
+                return null;
+            }
+            hits++;
+        }
+        for (Message message : entry.messages) {
+            messageRegistry.addMessage(message);
+        }
+        return entry.result;
+    }
+
+    void put(@Nonnull Key key, @Nonnull Generic result, @Nonnull List<Message> messages) {
+        final Entry entry = new Entry(result, messages.isEmpty() ? Collections.<Message>emptyList() : messages);
+        synchronized (this) {
+            entries.put(key, entry);
+        }
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        hits = 0;
+        misses = 0;
+    }
+
+    synchronized long getHits() {
+        return hits;
+    }
+
+    synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Forwards messages to the delegate and remembers them so they can be replayed on cache hits
+     */
+    static final class RecordingMessageRegistry implements MessageRegistry {
+        @Nonnull
+        private final MessageRegistry delegate;
+        @Nonnull
+        private final List<Message> messages;
+
+        RecordingMessageRegistry(@Nonnull MessageRegistry delegate, @Nonnull List<Message> messages) {
+            this.delegate = delegate;
+            this.messages = messages;
+        }
+
+        @Override
+        public void addMessage(@Nonnull Message message) {
+            messages.add(message);
+            delegate.addMessage(message);
+        }
+
+        @Override
+        public boolean hasMessage() {
+            return delegate.hasMessage();
+        }
+
+        @Nonnull
+        @Override
+        public Message getMessage() {
+            return delegate.getMessage();
+        }
+    }
+
+    private static final class Entry {
+        @Nonnull
+        final Generic result;
+        @Nonnull
+        final List<Message> messages;
+
+        Entry(@Nonnull Generic result, @Nonnull List<Message> messages) {
+            this.result = result;
+            this.messages = messages;
+        }
+    }
+
+    static final class Key {
+        @Nonnull
+        private final String operation;
+        @Nonnull
+        private final String expression;
+        @Nonnull
+        private final AngleUnit angleUnits;
+        @Nonnull
+        private final NumeralBase numeralBase;
+        private final int numericPrecision;
+        @Nonnull
+        private final int[] versions;
+        private final int hashCode;
+
+        Key(@Nonnull String operation, @Nonnull String expression, @Nonnull AngleUnit angleUnits, @Nonnull NumeralBase numeralBase, int numericPrecision, @Nonnull int... versions) {
+            this.operation = operation;
+            this.expression = expression;
+            this.angleUnits = angleUnits;
+            this.numeralBase = numeralBase;
+            this.numericPrecision = numericPrecision;
+            this.versions = versions;
+            int result = operation.hashCode();
+            result = 31 * result + expression.hashCode();
+            result = 31 * result + angleUnits.hashCode();
+            result = 31 * result + numeralBase.hashCode();
+            result = 31 * result + numericPrecision;
+            result = 31 * result + Arrays.hashCode(versions);
+            this.hashCode = result;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+
+            final Key that = (Key) o;
+            return hashCode == that.hashCode
+                    && angleUnits == that.angleUnits
+                    && numeralBase == that.numeralBase
+                    && numericPrecision == that.numericPrecision
+                    && operation.equals(that.operation)
+                    && expression.equals(that.expression)
+                    && Arrays.equals(versions, that.versions);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
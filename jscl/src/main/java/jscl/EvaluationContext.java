@@ -0,0 +1,207 @@
+package jscl;
+
+import static midpcalc.Real.NumberFormat.FSE_ENG;
+import static midpcalc.Real.NumberFormat.FSE_NONE;
+import static midpcalc.Real.NumberFormat.FSE_SCI;
+
+import org.solovyev.common.NumberFormatter;
+import org.solovyev.common.msg.MessageRegistry;
+import org.solovyev.common.msg.Messages;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Immutable settings of the evaluation: angle units, numeral base, precision of the numeric computations, output
+ * formatting and the registry which receives the warnings.
+ * <p/>
+ * Context is bound to the current thread for the duration of the evaluation (see {@link #bind()}) and the math code
+ * (parser, angle conversions, warnings etc) reads it through {@link #current()}. As nothing is shared between the
+ * evaluations but the registries, expressions might be evaluated concurrently with different settings, see
+ * {@link JsclMathEngine#evaluate(String, EvaluationContext)}.
+ */
+public final class EvaluationContext {
+
+    @Nonnull
+    private static final ThreadLocal<EvaluationContext> bound = new ThreadLocal<>();
+
+    @Nonnull
+    private final AngleUnit angleUnits;
+    @Nonnull
+    private final NumeralBase numeralBase;
+    private final int precision;
+    private final int numericPrecision;
+    private final int notation;
+    private final char groupingSeparator;
+    @Nonnull
+    private final MessageRegistry messageRegistry;
+
+    private EvaluationContext(@Nonnull Builder b) {
+        this.angleUnits = b.angleUnits;
+        this.numeralBase = b.numeralBase;
+        this.precision = b.precision;
+        this.numericPrecision = b.numericPrecision;
+        this.notation = b.notation;
+        this.groupingSeparator = b.groupingSeparator;
+        this.messageRegistry = b.messageRegistry;
+    }
+
+    /**
+     * @return context bound to the current thread or settings of the default engine if there is no such context
+     */
+    @Nonnull
+    public static EvaluationContext current() {
+        final EvaluationContext context = bound.get();
+        return context != null ? context : JsclMathEngine.getInstance().getContext();
+    }
+
+    @Nullable
+    static EvaluationContext getBound() {
+        return bound.get();
+    }
+
+    /**
+     * Makes this context current for the calling thread. Must be followed by {@link #restore(EvaluationContext)} in a
+     * finally block:
+     * <pre>
+     * final EvaluationContext previous = context.bind();
+     * try {
+     *     ...
+     * } finally {
+     *     EvaluationContext.restore(previous);
+     * }
+     * </pre>
+     *
+     * @return context which was bound before
+     */
+    @Nullable
+    public EvaluationContext bind() {
+        final EvaluationContext previous = bound.get();
+        bound.set(this);
+        return previous;
+    }
+
+    public static void restore(@Nullable EvaluationContext previous) {
+        if (previous == null) {
+            bound.remove();
+        } else {
+            bound.set(previous);
+        }
+    }
+
+    @Nonnull
+    public AngleUnit getAngleUnits() {
+        return angleUnits;
+    }
+
+    @Nonnull
+    public NumeralBase getNumeralBase() {
+        return numeralBase;
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    /**
+     * @return number of significant digits of the numeric computations (see {@link jscl.math.numeric.BigReal}), 0 if
+     * they are done with doubles. In other numeral bases than {@link NumeralBase#dec} only integer results with at most
+     * that many digits are printed with all of them, other results are printed with double precision
+     */
+    public int getNumericPrecision() {
+        return numericPrecision;
+    }
+
+    public int getNotation() {
+        return notation;
+    }
+
+    public char getGroupingSeparator() {
+        return groupingSeparator;
+    }
+
+    @Nonnull
+    public MessageRegistry getMessageRegistry() {
+        return messageRegistry;
+    }
+
+    public static final class Builder {
+        @Nonnull
+        private AngleUnit angleUnits = JsclMathEngine.DEFAULT_ANGLE_UNITS;
+        @Nonnull
+        private NumeralBase numeralBase = JsclMathEngine.DEFAULT_NUMERAL_BASE;
+        private int precision = NumberFormatter.MAX_PRECISION;
+        private int numericPrecision;
+        private int notation = FSE_NONE;
+        private char groupingSeparator = NumberFormatter.NO_GROUPING;
+        @Nonnull
+        private MessageRegistry messageRegistry;
+
+        public Builder() {
+            this.messageRegistry = Messages.synchronizedMessageRegistry(new FixedCapacityListMessageRegistry(10));
+        }
+
+        public Builder(@Nonnull EvaluationContext context) {
+            this.angleUnits = context.angleUnits;
+            this.numeralBase = context.numeralBase;
+            this.precision = context.precision;
+            this.numericPrecision = context.numericPrecision;
+            this.notation = context.notation;
+            this.groupingSeparator = context.groupingSeparator;
+            this.messageRegistry = context.messageRegistry;
+        }
+
+        @Nonnull
+        public Builder setAngleUnits(@Nonnull AngleUnit angleUnits) {
+            this.angleUnits = angleUnits;
+            return this;
+        }
+
+        @Nonnull
+        public Builder setNumeralBase(@Nonnull NumeralBase numeralBase) {
+            this.numeralBase = numeralBase;
+            return this;
+        }
+
+        @Nonnull
+        public Builder setPrecision(int precision) {
+            this.precision = precision;
+            return this;
+        }
+
+        @Nonnull
+        public Builder setNumericPrecision(int numericPrecision) {
+            if (numericPrecision < 0) {
+                throw new IllegalArgumentException("Precision must not be negative: " + numericPrecision);
+            }
+            this.numericPrecision = numericPrecision;
+            return this;
+        }
+
+        @Nonnull
+        public Builder setNotation(int notation) {
+            if (notation != FSE_SCI && notation != FSE_ENG && notation != FSE_NONE) {
+                throw new IllegalArgumentException("Unsupported notation: " + notation);
+            }
+            this.notation = notation;
+            return this;
+        }
+
+        @Nonnull
+        public Builder setGroupingSeparator(char groupingSeparator) {
+            this.groupingSeparator = groupingSeparator;
+            return this;
+        }
+
+        @Nonnull
+        public Builder setMessageRegistry(@Nonnull MessageRegistry messageRegistry) {
+            this.messageRegistry = messageRegistry;
+            return this;
+        }
+
+        @Nonnull
+        public EvaluationContext create() {
+            return new EvaluationContext(this);
+        }
+    }
+}
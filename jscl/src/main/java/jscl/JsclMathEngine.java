@@ -1,28 +1,35 @@
 package jscl;
 
 import static midpcalc.Real.NumberFormat.FSE_ENG;
-import static midpcalc.Real.NumberFormat.FSE_NONE;
 import static midpcalc.Real.NumberFormat.FSE_SCI;
 
 import org.solovyev.common.NumberFormatter;
 import org.solovyev.common.math.MathRegistry;
+import org.solovyev.common.msg.Message;
 import org.solovyev.common.msg.MessageRegistry;
-import org.solovyev.common.msg.Messages;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import jscl.math.Expression;
 import jscl.math.Generic;
+import jscl.math.TimeDependent;
+import jscl.math.Variable;
 import jscl.math.function.Constants;
 import jscl.math.function.ConstantsRegistry;
+import jscl.math.function.CustomFunction;
 import jscl.math.function.Function;
 import jscl.math.function.FunctionsRegistry;
 import jscl.math.function.IConstant;
 import jscl.math.function.PostfixFunctionsRegistry;
+import jscl.math.operator.AbstractFunction;
 import jscl.math.operator.Operator;
 import jscl.math.operator.Percent;
 import jscl.math.operator.Rand;
@@ -43,15 +50,11 @@ public class JsclMathEngine implements MathEngine {
             return new NumberFormatter();
         }
     };
-    private char groupingSeparator = NumberFormatter.NO_GROUPING;
-    private int notation = FSE_NONE;
-    private int precision = NumberFormatter.MAX_PRECISION;
+    // settings are never modified, setters replace the whole context
     @Nonnull
-    private AngleUnit angleUnits = DEFAULT_ANGLE_UNITS;
+    private volatile EvaluationContext context = new EvaluationContext.Builder().create();
     @Nonnull
-    private NumeralBase numeralBase = DEFAULT_NUMERAL_BASE;
-    @Nonnull
-    private MessageRegistry messageRegistry = Messages.synchronizedMessageRegistry(new FixedCapacityListMessageRegistry(10));
+    private final EvaluationCache cache = new EvaluationCache(EvaluationCache.DEFAULT_CAPACITY);
 
     public JsclMathEngine() {
     }
@@ -61,6 +64,21 @@ public class JsclMathEngine implements MathEngine {
         return instance;
     }
 
+    /**
+     * @return snapshot of the current settings of this engine
+     */
+    @Nonnull
+    public EvaluationContext getContext() {
+        return context;
+    }
+
+    // settings of the running evaluation (if any) or settings of this engine
+    @Nonnull
+    private EvaluationContext context() {
+        final EvaluationContext bound = EvaluationContext.getBound();
+        return bound != null ? bound : context;
+    }
+
     @Nonnull
     public String evaluate(@Nonnull String expression) throws ParseException {
         return evaluateGeneric(expression).toString();
@@ -76,27 +94,168 @@ public class JsclMathEngine implements MathEngine {
         return elementaryGeneric(expression).toString();
     }
 
+    /**
+     * Same as {@link #evaluate(String)} but uses <var>context</var> instead of the settings of this engine (both for
+     * evaluation and for formatting of the result). Might be called concurrently from different threads.
+     */
     @Nonnull
-    public Generic evaluateGeneric(@Nonnull String expression) throws ParseException {
-        if (expression.contains(Percent.NAME) || expression.contains(Rand.NAME)) {
-            return Expression.valueOf(expression).numeric();
-        } else {
-            return Expression.valueOf(expression).expand().numeric();
+    public String evaluate(@Nonnull String expression, @Nonnull EvaluationContext context) throws ParseException {
+        return calculate(Operation.evaluate, expression, context);
+    }
+
+    /**
+     * Same as {@link #simplify(String)} but uses <var>context</var> instead of the settings of this engine
+     */
+    @Nonnull
+    public String simplify(@Nonnull String expression, @Nonnull EvaluationContext context) throws ParseException {
+        return calculate(Operation.simplify, expression, context);
+    }
+
+    /**
+     * Same as {@link #elementary(String)} but uses <var>context</var> instead of the settings of this engine
+     */
+    @Nonnull
+    public String elementary(@Nonnull String expression, @Nonnull EvaluationContext context) throws ParseException {
+        return calculate(Operation.elementary, expression, context);
+    }
+
+    /**
+     * Evaluates <var>expressions</var> concurrently on the executor shared by all batches
+     *
+     * @see #evaluate(Collection, EvaluationContext, Executor)
+     */
+    @Nonnull
+    public BatchEvaluation evaluate(@Nonnull Collection<String> expressions, @Nonnull EvaluationContext context) {
+        return evaluate(expressions, context, BatchEvaluation.getDefaultExecutor());
+    }
+
+    /**
+     * Starts the evaluation of <var>expressions</var> with <var>context</var> on <var>executor</var>. The method
+     * doesn't wait for the evaluation: results should be retrieved from the returned batch.
+     */
+    @Nonnull
+    public BatchEvaluation evaluate(@Nonnull Collection<String> expressions, @Nonnull EvaluationContext context, @Nonnull Executor executor) {
+        return new BatchEvaluation(this, expressions, context, executor);
+    }
+
+    @Nonnull
+    private String calculate(@Nonnull Operation operation, @Nonnull String expression, @Nonnull EvaluationContext context) throws ParseException {
+        final EvaluationContext previous = context.bind();
+        try {
+            return calculate(operation, expression).toString();
+        } finally {
+            EvaluationContext.restore(previous);
         }
     }
 
+    @Nonnull
+    public Generic evaluateGeneric(@Nonnull String expression) throws ParseException {
+        return calculate(Operation.evaluate, expression);
+    }
+
     @Nonnull
     public Generic simplifyGeneric(@Nonnull String expression) throws ParseException {
-        if (expression.contains(Percent.NAME) || expression.contains(Rand.NAME)) {
-            return Expression.valueOf(expression);
-        } else {
-            return Expression.valueOf(expression).expand().simplify();
-        }
+        return calculate(Operation.simplify, expression);
     }
 
     @Nonnull
     public Generic elementaryGeneric(@Nonnull String expression) throws ParseException {
-        return Expression.valueOf(expression).elementary();
+        return calculate(Operation.elementary, expression);
+    }
+
+    @Nonnull
+    private Generic calculate(@Nonnull Operation operation, @Nonnull String expression) throws ParseException {
+        final EvaluationContext context = context();
+        if (expression.contains(Rand.NAME)) {
+            // result is different every time
+            final EvaluationContext previous = context.bind();
+            try {
+                return operation.calculate(expression, Expression.valueOf(expression));
+            } finally {
+                EvaluationContext.restore(previous);
+            }
+        }
+        final EvaluationCache.Key key = makeCacheKey(operation.name(), expression, context);
+        final Generic cached = cache.get(key, context.getMessageRegistry());
+        if (cached != null) {
+            return cached;
+        }
+
+        // messages are remembered in order to be added again when the result is taken from the cache
+        final List<Message> messages = new ArrayList<>(0);
+        final MessageRegistry messageRegistry = new EvaluationCache.RecordingMessageRegistry(context.getMessageRegistry(), messages);
+        final EvaluationContext previous = new EvaluationContext.Builder(context).setMessageRegistry(messageRegistry).create().bind();
+        try {
+            final Generic parsed = parse(expression, context);
+            final Generic result = operation.calculate(expression, parsed);
+            if (!isTimeDependent(parsed)) {
+                cache.put(key, result, messages);
+            }
+            return result;
+        } finally {
+            EvaluationContext.restore(previous);
+        }
+    }
+
+    @Nonnull
+    private Generic parse(@Nonnull String expression, @Nonnull EvaluationContext context) throws ParseException {
+        final EvaluationCache.Key key = makeCacheKey("parse", expression, context);
+        final Generic cached = cache.get(key, context.getMessageRegistry());
+        if (cached != null) {
+            return cached;
+        }
+        final Generic parsed = Expression.valueOf(expression);
+        cache.put(key, parsed, Collections.<Message>emptyList());
+        return parsed;
+    }
+
+    @Nonnull
+    private EvaluationCache.Key makeCacheKey(@Nonnull String operation, @Nonnull String expression, @Nonnull EvaluationContext context) {
+        return new EvaluationCache.Key(operation, expression, context.getAngleUnits(), context.getNumeralBase(), context.getNumericPrecision(),
+                ConstantsRegistry.getInstance().getVersion(),
+                FunctionsRegistry.getInstance().getVersion(),
+                OperatorsRegistry.getInstance().getVersion(),
+                PostfixFunctionsRegistry.getInstance().getVersion());
+    }
+
+    private static boolean isTimeDependent(@Nonnull Generic generic) {
+        for (Variable variable : generic.variables()) {
+            if (variable instanceof TimeDependent) {
+                return true;
+            }
+            if (variable instanceof CustomFunction && isTimeDependent(((CustomFunction) variable).getContentValue())) {
+                return true;
+            }
+            if (variable instanceof AbstractFunction) {
+                final Generic[] parameters = ((AbstractFunction) variable).getParameters();
+                if (parameters != null) {
+                    for (Generic parameter : parameters) {
+                        if (parameter != null && isTimeDependent(parameter)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return number of the lookups (both of parsed expressions and of results) answered by the cache
+     */
+    public long getCacheHits() {
+        return cache.getHits();
+    }
+
+    /**
+     * @return number of the lookups (both of parsed expressions and of results) not found in the cache
+     */
+    public long getCacheMisses() {
+        return cache.getMisses();
+    }
+
+    public void clearCache() {
+        cache.clear();
     }
 
     @Nonnull
@@ -116,20 +275,20 @@ public class JsclMathEngine implements MathEngine {
 
     @Nonnull
     public AngleUnit getAngleUnits() {
-        return angleUnits;
+        return context().getAngleUnits();
     }
 
-    public void setAngleUnits(@Nonnull AngleUnit angleUnits) {
-        this.angleUnits = angleUnits;
+    public synchronized void setAngleUnits(@Nonnull AngleUnit angleUnits) {
+        context = new EvaluationContext.Builder(context).setAngleUnits(angleUnits).create();
     }
 
     @Nonnull
     public NumeralBase getNumeralBase() {
-        return numeralBase;
+        return context().getNumeralBase();
     }
 
-    public void setNumeralBase(@Nonnull NumeralBase numeralBase) {
-        this.numeralBase = numeralBase;
+    public synchronized void setNumeralBase(@Nonnull NumeralBase numeralBase) {
+        context = new EvaluationContext.Builder(context).setNumeralBase(numeralBase).create();
     }
 
     @Nonnull
@@ -139,7 +298,7 @@ public class JsclMathEngine implements MathEngine {
 
     @Nonnull
     public String format(double value) {
-        return format(value, numeralBase);
+        return format(value, context().getNumeralBase());
     }
 
     @Nonnull
@@ -165,10 +324,11 @@ public class JsclMathEngine implements MathEngine {
     }
 
     private NumberFormatter prepareNumberFormatter(@Nonnull NumeralBase nb) {
+        final EvaluationContext context = context();
         final NumberFormatter nf = numberFormatter.get();
         nf.setGroupingSeparator(hasGroupingSeparator() ? getGroupingSeparator(nb) : NumberFormatter.NO_GROUPING);
-        nf.setPrecision(precision);
-        switch (notation) {
+        nf.setPrecision(context.getPrecision());
+        switch (context.getNotation()) {
             case FSE_ENG:
                 nf.useEngineeringFormat(NumberFormatter.DEFAULT_MAGNITUDE);
                 break;
@@ -184,7 +344,7 @@ public class JsclMathEngine implements MathEngine {
 
     @Override
     public String format(@Nonnull BigInteger value) {
-        return format(value, numeralBase);
+        return format(value, context().getNumeralBase());
     }
 
     @Nonnull
@@ -199,9 +359,10 @@ public class JsclMathEngine implements MathEngine {
 
     @Nullable
     private IConstant findConstant(double value) {
-        final MathRegistry<IConstant> constants = ConstantsRegistry.getInstance();
-        final IConstant constant = findConstant(constants.getSystemEntities(), value);
-        if (constant != null) {
+        final ConstantsRegistry.Index constants = ConstantsRegistry.getIndex();
+        final IConstant constant = constants.find(value);
+        // Π is found by its value in radians
+        if (constant != null && (!constant.getName().equals(Constants.PI.getName()) || getAngleUnits() == AngleUnit.rad)) {
             return constant;
         }
         final IConstant piInv = constants.get(Constants.PI_INV.getName());
@@ -223,31 +384,14 @@ public class JsclMathEngine implements MathEngine {
         }
     }
 
-    @Nullable
-    private IConstant findConstant(@Nonnull List<IConstant> constants, @Nonnull Double value) {
-        for (int i = 0; i < constants.size(); i++) {
-            final IConstant constant = constants.get(i);
-            if (!value.equals(constant.getDoubleValue())) {
-                continue;
-            }
-            final String name = constant.getName();
-            if (name.equals(Constants.PI_INV.getName()) || name.equals(Constants.ANS)) {
-                continue;
-            }
-            if (!name.equals(Constants.PI.getName()) || getAngleUnits() == AngleUnit.rad) {
-                return constant;
-            }
-        }
-        return null;
-    }
 
     @Nonnull
     public MessageRegistry getMessageRegistry() {
-        return messageRegistry;
+        return context().getMessageRegistry();
     }
 
-    public void setMessageRegistry(@Nonnull MessageRegistry messageRegistry) {
-        this.messageRegistry = messageRegistry;
+    public synchronized void setMessageRegistry(@Nonnull MessageRegistry messageRegistry) {
+        context = new EvaluationContext.Builder(context).setMessageRegistry(messageRegistry).create();
     }
 
     @Nonnull
@@ -283,29 +427,65 @@ public class JsclMathEngine implements MathEngine {
     }
 
     private boolean hasGroupingSeparator() {
-        return groupingSeparator != NumberFormatter.NO_GROUPING;
+        return getGroupingSeparator() != NumberFormatter.NO_GROUPING;
     }
 
     private char getGroupingSeparator(@Nonnull NumeralBase nb) {
-        return nb == NumeralBase.dec ? groupingSeparator : ' ';
+        return nb == NumeralBase.dec ? getGroupingSeparator() : ' ';
     }
 
-    public void setPrecision(int precision) {
-        this.precision = precision;
+    public synchronized void setPrecision(int precision) {
+        context = new EvaluationContext.Builder(context).setPrecision(precision).create();
     }
 
-    public void setNotation(int notation) {
-        if (notation != FSE_SCI && notation != FSE_ENG && notation != FSE_NONE) {
-            throw new IllegalArgumentException("Unsupported notation: " + notation);
-        }
-        this.notation = notation;
+    public synchronized void setNumericPrecision(int numericPrecision) {
+        context = new EvaluationContext.Builder(context).setNumericPrecision(numericPrecision).create();
+    }
+
+    public synchronized void setNotation(int notation) {
+        context = new EvaluationContext.Builder(context).setNotation(notation).create();
     }
 
     public char getGroupingSeparator() {
-        return this.groupingSeparator;
+        return context().getGroupingSeparator();
+    }
+
+    public synchronized void setGroupingSeparator(char separator) {
+        context = new EvaluationContext.Builder(context).setGroupingSeparator(separator).create();
     }
 
-    public void setGroupingSeparator(char separator) {
-        this.groupingSeparator = separator;
+    private enum Operation {
+        evaluate {
+            @Nonnull
+            @Override
+            Generic calculate(@Nonnull String expression, @Nonnull Generic parsed) {
+                if (expression.contains(Percent.NAME) || expression.contains(Rand.NAME)) {
+                    return parsed.numeric();
+                } else {
+                    return Operator.expandNumeric(parsed).numeric();
+                }
+            }
+        },
+        simplify {
+            @Nonnull
+            @Override
+            Generic calculate(@Nonnull String expression, @Nonnull Generic parsed) {
+                if (expression.contains(Percent.NAME) || expression.contains(Rand.NAME)) {
+                    return parsed;
+                } else {
+                    return parsed.expand().simplify();
+                }
+            }
+        },
+        elementary {
+            @Nonnull
+            @Override
+            Generic calculate(@Nonnull String expression, @Nonnull Generic parsed) {
+                return parsed.elementary();
+            }
+        };
+
+        @Nonnull
+        abstract Generic calculate(@Nonnull String expression, @Nonnull Generic parsed);
     }
 }
@@ -54,7 +54,7 @@ public class AntiDerivative {
     }
 
     Generic[] reduce(Generic n, Generic d) {
-        Debug.println("reduce(" + n + ", " + d + ")");
+        if (Debug.isEnabled()) Debug.println("reduce(" + n + ", " + d + ")");
         Polynomial pn = factory.valueOf(n);
         Polynomial pd = factory.valueOf(d);
         Polynomial gcd = pn.gcd(pd);
@@ -65,7 +65,7 @@ public class AntiDerivative {
     }
 
     Generic[] divideAndRemainder(Generic n, Generic d) {
-        Debug.println("divideAndRemainder(" + n + ", " + d + ")");
+        if (Debug.isEnabled()) Debug.println("divideAndRemainder(" + n + ", " + d + ")");
         Polynomial pn = syzygy.valueof(n, 0);
         Polynomial pd = syzygy.valueof(d, 1);
         PolynomialWithSyzygy pr = (PolynomialWithSyzygy) pn.remainderUpToCoefficient(pd);
@@ -77,7 +77,7 @@ public class AntiDerivative {
     }
 
     Generic[] bezout(Generic a, Generic b) {
-        Debug.println("bezout(" + a + ", " + b + ")");
+        if (Debug.isEnabled()) Debug.println("bezout(" + a + ", " + b + ")");
         Polynomial pa = syzygy.valueof(a, 0);
         Polynomial pb = syzygy.valueof(b, 1);
         PolynomialWithSyzygy gcd = (PolynomialWithSyzygy) pa.gcd(pb);
@@ -89,7 +89,7 @@ public class AntiDerivative {
     }
 
     Generic hermite(Generic a, Generic d) {
-        Debug.println("hermite(" + a + ", " + d + ")");
+        if (Debug.isEnabled()) Debug.println("hermite(" + a + ", " + d + ")");
         UnivariatePolynomial sd[] = ((UnivariatePolynomial) factory.valueOf(d)).squarefreeDecomposition();
         int m = sd.length - 1;
         if (m < 2) return trager(a, d);
@@ -117,7 +117,7 @@ public class AntiDerivative {
     }
 
     Generic trager(Generic a, Generic d) {
-        Debug.println("trager(" + a + ", " + d + ")");
+        if (Debug.isEnabled()) Debug.println("trager(" + a + ", " + d + ")");
         Variable t = new TechnicalVariable("t");
         UnivariatePolynomial pd = (UnivariatePolynomial) factory.valueOf(d);
         UnivariatePolynomial pa = (UnivariatePolynomial) factory.valueOf(a).subtract(pd.derivative().multiply(t.expressionValue()));
@@ -0,0 +1,315 @@
+package jscl.math;
+
+import javax.annotation.Nonnull;
+
+import jscl.math.numeric.Real;
+
+/**
+ * Expression lowered to primitive double arithmetic by {@link FunctionCompiler}. Evaluation doesn't allocate: all
+ * intermediate results stay on the stack and arguments are passed in a caller-owned array.
+ * <p/>
+ * Result of evaluation is {@link Double#NaN} if the value is not real (e.g. sqrt(-1) or ln(-1)) - in that case the
+ * caller might fall back to {@link Generic#numeric()} which supports complex numbers.
+ */
+public abstract class CompiledFunction {
+
+    CompiledFunction() {
+    }
+
+    /**
+     * @param arguments values of the parameters in the order they were passed to the compiler
+     * @return value of the function
+     */
+    public abstract double evaluate(@Nonnull double[] arguments);
+
+    static double pow(double value, int exponent) {
+        // same as Numeric#pow(int)
+        double result = 1d;
+        for (int i = 0; i < exponent; i++) {
+            result *= value;
+        }
+        return result;
+    }
+
+    enum Operation {
+        sin {
+            @Override
+            double apply(double x) {
+                return Math.sin(x);
+            }
+        },
+        cos {
+            @Override
+            double apply(double x) {
+                return Math.cos(x);
+            }
+        },
+        tan {
+            @Override
+            double apply(double x) {
+                return Real.tan(x);
+            }
+        },
+        cot {
+            @Override
+            double apply(double x) {
+                return 1d / Real.tan(x);
+            }
+        },
+        asin {
+            @Override
+            double apply(double x) {
+                return Math.asin(x);
+            }
+        },
+        acos {
+            @Override
+            double apply(double x) {
+                return Math.acos(x);
+            }
+        },
+        atan {
+            @Override
+            double apply(double x) {
+                return Math.atan(x);
+            }
+        },
+        acot {
+            @Override
+            double apply(double x) {
+                return Math.PI / 2 - Math.atan(x);
+            }
+        },
+        // hyperbolic functions are computed through exp(2x) in the same way as Numeric does, see Numeric#sinh()
+        sinh {
+            @Override
+            double apply(double x) {
+                final double e = Math.exp(x);
+                return -((1d - pow(e, 2)) / (2d * e));
+            }
+        },
+        cosh {
+            @Override
+            double apply(double x) {
+                final double e = Math.exp(x);
+                return (1d + pow(e, 2)) / (2d * e);
+            }
+        },
+        tanh {
+            @Override
+            double apply(double x) {
+                final double e = pow(Math.exp(x), 2);
+                return -((1d - e) / (1d + e));
+            }
+        },
+        coth {
+            @Override
+            double apply(double x) {
+                final double e = pow(Math.exp(x), 2);
+                return -((1d + e) / (1d - e));
+            }
+        },
+        asinh {
+            @Override
+            double apply(double x) {
+                return Math.log(x + Math.sqrt(1d + x * x));
+            }
+        },
+        acosh {
+            @Override
+            double apply(double x) {
+                return Math.log(x + Math.sqrt(x * x - 1d));
+            }
+        },
+        atanh {
+            @Override
+            double apply(double x) {
+                return Math.log((1d + x) / (1d - x)) / 2d;
+            }
+        },
+        acoth {
+            @Override
+            double apply(double x) {
+                return Math.log(-(1d + x) / (1d - x)) / 2d;
+            }
+        },
+        exp {
+            @Override
+            double apply(double x) {
+                return Math.exp(x);
+            }
+        },
+        ln {
+            @Override
+            double apply(double x) {
+                return Math.log(x);
+            }
+        },
+        lg {
+            @Override
+            double apply(double x) {
+                return Math.log10(x);
+            }
+        },
+        sqrt {
+            @Override
+            double apply(double x) {
+                return Math.sqrt(x);
+            }
+        },
+        cubic {
+            @Override
+            double apply(double x) {
+                // same as Real#nThRoot(3)
+                return x < 0 ? -Math.pow(-x, 1d / 3) : Math.pow(x, 1d / 3);
+            }
+        },
+        abs {
+            @Override
+            double apply(double x) {
+                return Math.abs(x);
+            }
+        },
+        sgn {
+            @Override
+            double apply(double x) {
+                // same as Numeric#sgn(): 0/0 is NaN
+                return x / Math.abs(x);
+            }
+        };
+
+        abstract double apply(double x);
+    }
+
+    static final class Value extends CompiledFunction {
+        final double value;
+
+        Value(double value) {
+            this.value = value;
+        }
+
+        @Override
+        public double evaluate(@Nonnull double[] arguments) {
+            return value;
+        }
+    }
+
+    static final class Argument extends CompiledFunction {
+        private final int index;
+
+        Argument(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public double evaluate(@Nonnull double[] arguments) {
+            return arguments[index];
+        }
+    }
+
+    // sum = term_0 + term_1 + ... + term_n
+    static final class Sum extends CompiledFunction {
+        @Nonnull
+        private final CompiledFunction[] terms;
+
+        Sum(@Nonnull CompiledFunction[] terms) {
+            this.terms = terms;
+        }
+
+        @Override
+        public double evaluate(@Nonnull double[] arguments) {
+            double result = 0d;
+            for (CompiledFunction term : terms) {
+                result += term.evaluate(arguments);
+            }
+            return result;
+        }
+    }
+
+    // term = coefficient * factor_0 ^ power_0 * factor_1 ^ power_1 * ... * factor_n ^ power_n
+    static final class Term extends CompiledFunction {
+        private final double coefficient;
+        @Nonnull
+        private final CompiledFunction[] factors;
+        @Nonnull
+        private final int[] powers;
+
+        Term(double coefficient, @Nonnull CompiledFunction[] factors, @Nonnull int[] powers) {
+            this.coefficient = coefficient;
+            this.factors = factors;
+            this.powers = powers;
+        }
+
+        @Override
+        public double evaluate(@Nonnull double[] arguments) {
+            double result = coefficient;
+            for (int i = 0; i < factors.length; i++) {
+                final double factor = factors[i].evaluate(arguments);
+                final int power = powers[i];
+                result *= power == 1 ? factor : pow(factor, power);
+            }
+            return result;
+        }
+    }
+
+    // result = after * operation(before * argument)
+    static final class Unary extends CompiledFunction {
+        @Nonnull
+        private final Operation operation;
+        @Nonnull
+        private final CompiledFunction argument;
+        private final double before;
+        private final double after;
+
+        Unary(@Nonnull Operation operation, @Nonnull CompiledFunction argument, double before, double after) {
+            this.operation = operation;
+            this.argument = argument;
+            this.before = before;
+            this.after = after;
+        }
+
+        @Override
+        public double evaluate(@Nonnull double[] arguments) {
+            return after * operation.apply(before * argument.evaluate(arguments));
+        }
+    }
+
+    static final class Divide extends CompiledFunction {
+        @Nonnull
+        private final CompiledFunction numerator;
+        @Nonnull
+        private final CompiledFunction denominator;
+
+        Divide(@Nonnull CompiledFunction numerator, @Nonnull CompiledFunction denominator) {
+            this.numerator = numerator;
+            this.denominator = denominator;
+        }
+
+        @Override
+        public double evaluate(@Nonnull double[] arguments) {
+            return numerator.evaluate(arguments) / denominator.evaluate(arguments);
+        }
+    }
+
+    static final class Pow extends CompiledFunction {
+        @Nonnull
+        private final CompiledFunction base;
+        @Nonnull
+        private final CompiledFunction exponent;
+
+        Pow(@Nonnull CompiledFunction base, @Nonnull CompiledFunction exponent) {
+            this.base = base;
+            this.exponent = exponent;
+        }
+
+        @Override
+        public double evaluate(@Nonnull double[] arguments) {
+            final double base = this.base.evaluate(arguments);
+            if (base < 0) {
+                // result is complex, see Real#pow(Real)
+                return Double.NaN;
+            }
+            return Math.pow(base, exponent.evaluate(arguments));
+        }
+    }
+}
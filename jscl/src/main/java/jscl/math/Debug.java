@@ -10,6 +10,11 @@ public class Debug {
     private Debug() {
     }
 
+    // callers should check it before building messages: string concatenation is not free even if nothing is printed
+    public static boolean isEnabled() {
+        return out != null;
+    }
+
     public static void println(Object x) {
         if (out != null) {
             for (int i = 0; i < indentation; i++) {
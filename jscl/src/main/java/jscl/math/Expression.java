@@ -1,5 +1,6 @@
 package jscl.math;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -13,6 +14,7 @@ import jscl.math.function.Constant;
 import jscl.math.function.Fraction;
 import jscl.math.function.Inverse;
 import jscl.math.numeric.Real;
+import jscl.math.polynomial.DenseMultiplication;
 import jscl.math.polynomial.Polynomial;
 import jscl.math.polynomial.UnivariatePolynomial;
 import jscl.mathml.MathML;
@@ -49,9 +51,15 @@ public class Expression extends Generic {
             return variable.numeric();
         }
     };
+    // expressions with fewer terms are multiplied term by term, see multiplyDense(Expression)
+    private static final int DENSE_THRESHOLD = 16;
+    // hash code of the expression without terms (i.e. of zero)
+    static final int EMPTY_HASH_CODE = 1;
     int size;
     private Literal literals[];
     private JsclInteger coefficients[];
+    // structural hash code, computed lazily once the expression is constructed (0 if not computed yet)
+    private int hashCode;
 
     Expression() {
     }
@@ -167,6 +175,7 @@ public class Expression extends Generic {
         literals = new Literal[size];
         coefficients = new JsclInteger[size];
         this.size = size;
+        this.hashCode = 0;
     }
 
     void resize(int size) {
@@ -179,6 +188,7 @@ public class Expression extends Generic {
             this.literals = literal;
             this.coefficients = coef;
             this.size = size;
+            this.hashCode = 0;
         }
     }
 
@@ -304,10 +314,107 @@ public class Expression extends Generic {
     }
 
     public Expression multiply(Expression expression) {
-        Expression result = newInstance(0);
+        if (size > expression.size) {
+            return expression.multiply(this);
+        }
+        final Expression result = multiplyDense(expression);
+        if (result != null) {
+            return result;
+        }
+        return size == 0 ? newInstance(0) : multiply(expression, 0, size);
+    }
+
+    // sum of the products of the terms [from, to) by the expression: rows are merged pairwise (as in geobuckets), so
+    // each term of the result takes part in log(size) merges instead of size
+    @Nonnull
+    private Expression multiply(@Nonnull Expression expression, int from, int to) {
+        if (to - from == 1) {
+            return newInstance(0).multiplyAndAdd(literals[from], coefficients[from], expression);
+        }
+        final int middle = (from + to) >>> 1;
+        return multiply(expression, from, middle).add(multiply(expression, middle, to));
+    }
+
+    // product of dense univariate polynomials with integer coefficients, null if expressions are not such
+    @Nullable
+    private Expression multiplyDense(@Nonnull Expression that) {
+        if (size < DENSE_THRESHOLD) {
+            return null;
+        }
+        final Variable variable = univariate(null);
+        if (variable == null || that.univariate(variable) == null) {
+            return null;
+        }
+        final BigInteger[] a = denseCoefficients();
+        final BigInteger[] b = that.denseCoefficients();
+        if (a == null || b == null) {
+            return null;
+        }
+        final BigInteger[] c = DenseMultiplication.multiply(a, b);
+        int n = 0;
+        for (BigInteger coefficient : c) {
+            if (coefficient != null && coefficient.signum() != 0) n++;
+        }
+        final Expression result = newInstance(n);
+        for (int i = c.length - 1; i >= 0; i--) {
+            if (c[i] != null && c[i].signum() != 0) {
+                --n;
+                result.literals[n] = i == 0 ? Literal.newInstance() : Literal.valueOf(variable, i);
+                result.coefficients[n] = new JsclInteger(c[i]);
+            }
+        }
+        return result;
+    }
+
+    // the only variable of the expression (which must be the given one if not null), null if there are several
+    @Nullable
+    private Variable univariate(@Nullable Variable variable) {
+        for (int i = 0; i < size; i++) {
+            final Literal literal = literals[i];
+            if (literal.size() > 1) {
+                return null;
+            } else if (literal.size() == 1) {
+                if (variable == null) {
+                    variable = literal.getVariable(0);
+                } else if (!variable.equals(literal.getVariable(0))) {
+                    return null;
+                }
+            }
+        }
+        return variable;
+    }
 
+    // coefficients of the univariate polynomial (terms are sorted by the power), null if it is sparse
+    @Nullable
+    private BigInteger[] denseCoefficients() {
+        final int degree = literals[size - 1].degree();
+        if (degree >= 2 * size) {
+            return null;
+        }
+        final BigInteger[] result = new BigInteger[degree + 1];
         for (int i = 0; i < size; i++) {
-            result = result.multiplyAndAdd(literals[i], coefficients[i], expression);
+            result[literals[i].degree()] = coefficients[i].content();
+        }
+        return result;
+    }
+
+    @Nonnull
+    @Override
+    public Generic pow(int exponent) {
+        assert exponent >= 0;
+
+        // binary powering: the products are of comparable sizes, see multiply(Expression)
+        Generic result = JsclInteger.valueOf(1);
+        Generic square = this;
+        while (exponent > 0) {
+            ParserUtils.checkInterruption();
+            if ((exponent & 1) != 0) {
+                result = result.multiply(square);
+            }
+            exponent >>= 1;
+            if (exponent > 0) {
+                square = square.multiply(square);
+            }
         }
 
         return result;
@@ -517,7 +624,7 @@ public class Expression extends Generic {
                 final Variable variable = literal.getVariable(j);
 
                 final int power = literal.getPower(j);
-                final Generic contentVariable = content.get(variable);
+                final Generic contentVariable = get(content, variable);
                 Generic b = pow(contentVariable, power);
 
                 if (Matrix.isMatrixProduct(sumElement, b)) {
@@ -533,6 +640,22 @@ public class Expression extends Generic {
         return sum;
     }
 
+    @Nonnull
+    private static Generic get(@Nonnull Map<Variable, Generic> content, @Nonnull Variable variable) {
+        final Generic result = content.get(variable);
+        if (result != null) {
+            return result;
+        }
+        // variables might be equal but have different hash codes if their parameters are equal only after
+        // conversion (e.g. numeric and rational parameters), see Generic#hashCode()
+        for (Map.Entry<Variable, Generic> entry : content.entrySet()) {
+            if (entry.getKey().equals(variable)) {
+                return entry.getValue();
+            }
+        }
+        throw new IllegalArgumentException("No content for " + variable);
+    }
+
     @Nonnull
     private Generic pow(@Nonnull Generic g, int power) {
         switch (power) {
@@ -565,6 +688,11 @@ public class Expression extends Generic {
         try {
             return integerValue().numeric();
         } catch (NotIntegerException ex) {
+            // real expressions are evaluated with primitive doubles, see FunctionCompiler#evaluate(Generic)
+            final Generic result = FunctionCompiler.evaluate(this);
+            if (result != null) {
+                return result;
+            }
             return substitute(literalScm().content(NUMERIC_CONVERTER));
         }
     }
@@ -751,6 +879,24 @@ public class Expression extends Generic {
         return 0;
     }
 
+    @Override
+    public int hashCode() {
+        int result = hashCode;
+        if (result == 0) {
+            result = EMPTY_HASH_CODE;
+            for (int i = 0; i < size; i++) {
+                result = 31 * result + hashCode(literals[i].hashCode(), coefficients[i].content());
+            }
+            hashCode = result;
+        }
+        return result;
+    }
+
+    // hash code of the term of the expression
+    static int hashCode(int literalHashCode, @Nonnull BigInteger coefficient) {
+        return 31 * literalHashCode + coefficient.hashCode();
+    }
+
     public int compareTo(@Nonnull Generic generic) {
         if (generic instanceof Expression) {
             return compareTo((Expression) generic);
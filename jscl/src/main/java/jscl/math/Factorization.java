@@ -7,9 +7,11 @@ import jscl.math.polynomial.Polynomial;
 import jscl.util.ArrayComparator;
 import jscl.util.ArrayUtils;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 public class Factorization {
     private static final String ter = "t";
@@ -32,19 +34,12 @@ public class Factorization {
 
     static Generic factorize(JsclInteger integer) {
         Generic n[] = integer.gcdAndNormalize();
-        Generic s = n[1];
         Generic a = JsclInteger.valueOf(1);
-        Generic p = JsclInteger.valueOf(2);
-        while (s.compareTo(JsclInteger.valueOf(1)) > 0) {
-            Generic q[] = s.divideAndRemainder(p);
-            if (q[0].compareTo(p) < 0) {
-                p = s;
-                q = s.divideAndRemainder(p);
+        for (Map.Entry<BigInteger, Integer> e : IntegerFactorization.factorize(n[1].integerValue().content()).entrySet()) {
+            Generic p = expression(new JsclInteger(e.getKey()), true);
+            for (int i = 0; i < e.getValue(); i++) {
+                a = a.multiply(p);
             }
-            if (q[1].signum() == 0) {
-                a = a.multiply(expression(p, true));
-                s = q[0];
-            } else p = p.add(JsclInteger.valueOf(1));
         }
         return a.multiply(n[0]);
     }
@@ -136,7 +131,7 @@ public class Factorization {
                 p[0] = (Monomial) d[0].next();
                 q[0] = d[0].complementary();
                 if (p[1].compareTo(p[0]) <= 0) continue loop;
-                Debug.println(toString(p) + " * " + toString(q) + " = " + s);
+                if (Debug.isEnabled()) Debug.println(toString(p) + " * " + toString(q) + " = " + s);
                 if (ArrayComparator.comparator.compare(q, p) < 0) {
                     a = a.multiply(expression(s.genericValue()));
                     break loop;
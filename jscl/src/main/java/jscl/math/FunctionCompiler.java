@@ -0,0 +1,323 @@
+package jscl.math;
+
+import org.solovyev.common.math.MathRegistry;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import jscl.AngleUnit;
+import jscl.EvaluationContext;
+import jscl.math.CompiledFunction.Operation;
+import jscl.math.function.Abs;
+import jscl.math.function.Constant;
+import jscl.math.function.Constants;
+import jscl.math.function.ConstantsRegistry;
+import jscl.math.function.Cubic;
+import jscl.math.function.CustomFunction;
+import jscl.math.function.Deg;
+import jscl.math.function.Exp;
+import jscl.math.function.Fraction;
+import jscl.math.function.Function;
+import jscl.math.function.IConstant;
+import jscl.math.function.Lg;
+import jscl.math.function.Ln;
+import jscl.math.function.Pow;
+import jscl.math.function.Sgn;
+import jscl.math.function.Sqrt;
+import jscl.math.function.hyperbolic.Acosh;
+import jscl.math.function.hyperbolic.Acoth;
+import jscl.math.function.hyperbolic.Asinh;
+import jscl.math.function.hyperbolic.Atanh;
+import jscl.math.function.hyperbolic.Cosh;
+import jscl.math.function.hyperbolic.Coth;
+import jscl.math.function.hyperbolic.Sinh;
+import jscl.math.function.hyperbolic.Tanh;
+import jscl.math.function.trigonometric.Acos;
+import jscl.math.function.trigonometric.Acot;
+import jscl.math.function.trigonometric.Asin;
+import jscl.math.function.trigonometric.Atan;
+import jscl.math.function.trigonometric.Cos;
+import jscl.math.function.trigonometric.Cot;
+import jscl.math.function.trigonometric.Sin;
+import jscl.math.function.trigonometric.Tan;
+
+/**
+ * Lowers {@link Generic} trees into {@link CompiledFunction}s. Only real elementary functions (including nested
+ * {@link CustomFunction}s) are supported, {@link NotCompilableException} is thrown for anything else (operators,
+ * complex constants, matrices etc) and the caller is expected to use {@link Generic#numeric()} instead.
+ * <p/>
+ * Angle units and values of the constants are resolved during the compilation: compiled function must be recompiled
+ * if any of them changes.
+ */
+public final class FunctionCompiler {
+
+    // protection against self-referencing custom functions
+    private static final int MAX_DEPTH = 32;
+    @Nonnull
+    private static final Map<Variable, CompiledFunction> EMPTY_SCOPE = Collections.emptyMap();
+    @Nonnull
+    private static final double[] NO_ARGUMENTS = new double[0];
+
+    @Nonnull
+    private final AngleUnit angleUnits;
+    @Nonnull
+    private final MathRegistry<IConstant> constantsRegistry;
+    private int depth;
+
+    private FunctionCompiler(@Nonnull AngleUnit angleUnits) {
+        this.angleUnits = angleUnits;
+        this.constantsRegistry = ConstantsRegistry.getInstance();
+    }
+
+    /**
+     * @param function function to be compiled
+     * @return compiled function which takes values of <var>function</var>'s parameters as arguments
+     * @throws NotCompilableException if <var>function</var> can't be evaluated with primitive doubles
+     */
+    @Nonnull
+    public static CompiledFunction compile(@Nonnull Function function) throws NotCompilableException {
+        final FunctionCompiler compiler = new FunctionCompiler(EvaluationContext.current().getAngleUnits());
+        final int arity = function.getMaxParameters();
+        if (arity == Integer.MAX_VALUE) {
+            throw NotCompilableException.get();
+        }
+        final CompiledFunction[] arguments = new CompiledFunction[arity];
+        for (int i = 0; i < arity; i++) {
+            arguments[i] = new CompiledFunction.Argument(i);
+        }
+        return compiler.compileFunction(function, arguments);
+    }
+
+    /**
+     * @param generic    expression to be compiled
+     * @param parameters variables which values are passed as arguments of the compiled function (in the same order)
+     * @return compiled expression
+     * @throws NotCompilableException if <var>generic</var> can't be evaluated with primitive doubles
+     */
+    @Nonnull
+    public static CompiledFunction compile(@Nonnull Generic generic, @Nonnull Variable... parameters) throws NotCompilableException {
+        final FunctionCompiler compiler = new FunctionCompiler(EvaluationContext.current().getAngleUnits());
+        final Map<Variable, CompiledFunction> scope = new TreeMap<>();
+        for (int i = 0; i < parameters.length; i++) {
+            scope.put(parameters[i], new CompiledFunction.Argument(i));
+        }
+        return compiler.compile(generic, scope);
+    }
+
+    /**
+     * Evaluates <var>generic</var> with primitive doubles, i.e. without intermediate {@link jscl.math.numeric.Numeric}
+     * objects. Only the final result is boxed.
+     *
+     * @param generic expression without free variables
+     * @return numeric value of <var>generic</var> or null if it can't be evaluated with primitive doubles, if the
+     * result is not a finite real number or if the evaluation requires more precision than doubles have (see
+     * {@link EvaluationContext#getNumericPrecision()}), the caller should use the generic evaluation in that case
+     */
+    @Nullable
+    static NumericWrapper evaluate(@Nonnull Generic generic) {
+        if (EvaluationContext.current().getNumericPrecision() > 0) {
+            return null;
+        }
+        final double value;
+        try {
+            // +0d: compiled functions might return -0d where numeric evaluation gives 0d
+            value = 0d + new FunctionCompiler(EvaluationContext.current().getAngleUnits()).compile(generic, EMPTY_SCOPE).evaluate(NO_ARGUMENTS);
+        } catch (NotCompilableException e) {
+            return null;
+        }
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return null;
+        }
+        return new NumericWrapper(jscl.math.numeric.Real.valueOf(value));
+    }
+
+    @Nonnull
+    private CompiledFunction compile(@Nonnull Generic generic, @Nonnull Map<Variable, CompiledFunction> scope) {
+        if (generic instanceof Expression) {
+            return compileExpression((Expression) generic, scope);
+        } else if (generic instanceof JsclInteger || generic instanceof Rational) {
+            return new CompiledFunction.Value(generic.doubleValue());
+        } else if (generic instanceof NumericWrapper) {
+            return compileNumeric((NumericWrapper) generic);
+        }
+        throw NotCompilableException.get();
+    }
+
+    @Nonnull
+    private CompiledFunction compileNumeric(@Nonnull NumericWrapper numeric) {
+        if (numeric.content() instanceof jscl.math.numeric.Real) {
+            return new CompiledFunction.Value(numeric.content().doubleValue());
+        }
+        throw NotCompilableException.get();
+    }
+
+    @Nonnull
+    private CompiledFunction compileExpression(@Nonnull Expression expression, @Nonnull Map<Variable, CompiledFunction> scope) {
+        final int size = expression.size();
+        if (size == 0) {
+            return new CompiledFunction.Value(0d);
+        }
+
+        final CompiledFunction[] terms = new CompiledFunction[size];
+        for (int i = 0; i < size; i++) {
+            final Literal literal = expression.literal(i);
+            final double coefficient = expression.coef(i).doubleValue();
+
+            final CompiledFunction[] factors = new CompiledFunction[literal.size()];
+            final int[] powers = new int[literal.size()];
+            for (int j = 0; j < literal.size(); j++) {
+                factors[j] = compileVariable(literal.getVariable(j), scope);
+                powers[j] = literal.getPower(j);
+            }
+            terms[i] = factors.length == 0 ? new CompiledFunction.Value(coefficient) : new CompiledFunction.Term(coefficient, factors, powers);
+        }
+        return terms.length == 1 ? terms[0] : new CompiledFunction.Sum(terms);
+    }
+
+    @Nonnull
+    private CompiledFunction compileVariable(@Nonnull Variable variable, @Nonnull Map<Variable, CompiledFunction> scope) {
+        final CompiledFunction argument = scope.get(variable);
+        if (argument != null) {
+            return argument;
+        }
+
+        if (variable instanceof Constant) {
+            return compileConstant((Constant) variable);
+        } else if (variable instanceof DoubleVariable) {
+            return compile(variable.numeric(), scope);
+        } else if (variable instanceof GenericVariable) {
+            return compile(((GenericVariable) variable).content, scope);
+        } else if (variable instanceof Function) {
+            final Function function = (Function) variable;
+            final Generic[] parameters = function.getParameters();
+            final CompiledFunction[] arguments = new CompiledFunction[parameters.length];
+            for (int i = 0; i < parameters.length; i++) {
+                arguments[i] = compile(parameters[i], scope);
+            }
+            return compileFunction(function, arguments);
+        }
+        throw NotCompilableException.get();
+    }
+
+    @Nonnull
+    private CompiledFunction compileConstant(@Nonnull Constant constant) {
+        if (constant.getName().equals(Constants.I.getName())) {
+            throw NotCompilableException.get();
+        }
+        final IConstant registryConstant = constantsRegistry.get(constant.getName());
+        if (registryConstant == null) {
+            throw NotCompilableException.get();
+        }
+        final Double value = registryConstant.getDoubleValue();
+        if (value == null) {
+            throw NotCompilableException.get();
+        }
+        return new CompiledFunction.Value(value);
+    }
+
+    @Nonnull
+    private CompiledFunction compileFunction(@Nonnull Function function, @Nonnull CompiledFunction[] arguments) {
+        if (function instanceof CustomFunction) {
+            return compileCustomFunction((CustomFunction) function, arguments);
+        } else if (function instanceof Fraction) {
+            // includes Inverse
+            return new CompiledFunction.Divide(arguments[0], arguments[1]);
+        } else if (function instanceof Pow) {
+            return new CompiledFunction.Pow(arguments[0], arguments[1]);
+        } else if (function instanceof Deg) {
+            return new CompiledFunction.Term(AngleUnit.rad.transform(AngleUnit.deg, 1d), arguments, new int[]{1});
+        }
+
+        final Operation operation = operationOf(function);
+        if (operation == null) {
+            throw NotCompilableException.get();
+        }
+        return new CompiledFunction.Unary(operation, arguments[0], before(operation), after(operation));
+    }
+
+    @Nonnull
+    private CompiledFunction compileCustomFunction(@Nonnull CustomFunction function, @Nonnull CompiledFunction[] arguments) {
+        if (depth >= MAX_DEPTH) {
+            throw NotCompilableException.get();
+        }
+        // parameters are referenced as constants in function's body
+        final Map<Variable, CompiledFunction> scope = new TreeMap<>();
+        int i = 0;
+        for (String parameterName : function.getParameterNames()) {
+            scope.put(new Constant(parameterName), arguments[i++]);
+        }
+
+        depth++;
+        try {
+            return compile(function.getContentValue(), scope);
+        } finally {
+            depth--;
+        }
+    }
+
+    // angle conversion coefficient applied to the argument
+    private double before(@Nonnull Operation operation) {
+        switch (operation) {
+            case sin:
+            case cos:
+            case tan:
+            case cot:
+            case sinh:
+            case cosh:
+            case tanh:
+            case coth:
+                return angleUnits.transform(AngleUnit.rad, 1d);
+            default:
+                return 1d;
+        }
+    }
+
+    // angle conversion coefficient applied to the result
+    private double after(@Nonnull Operation operation) {
+        switch (operation) {
+            case asin:
+            case acos:
+            case atan:
+            case acot:
+            case asinh:
+            case acosh:
+            case atanh:
+            case acoth:
+                return AngleUnit.rad.transform(angleUnits, 1d);
+            default:
+                return 1d;
+        }
+    }
+
+    @Nullable
+    private static Operation operationOf(@Nonnull Function function) {
+        if (function instanceof Sin) return Operation.sin;
+        if (function instanceof Cos) return Operation.cos;
+        if (function instanceof Tan) return Operation.tan;
+        if (function instanceof Cot) return Operation.cot;
+        if (function instanceof Asin) return Operation.asin;
+        if (function instanceof Acos) return Operation.acos;
+        if (function instanceof Atan) return Operation.atan;
+        if (function instanceof Acot) return Operation.acot;
+        if (function instanceof Sinh) return Operation.sinh;
+        if (function instanceof Cosh) return Operation.cosh;
+        if (function instanceof Tanh) return Operation.tanh;
+        if (function instanceof Coth) return Operation.coth;
+        if (function instanceof Asinh) return Operation.asinh;
+        if (function instanceof Acosh) return Operation.acosh;
+        if (function instanceof Atanh) return Operation.atanh;
+        if (function instanceof Acoth) return Operation.acoth;
+        if (function instanceof Exp) return Operation.exp;
+        if (function instanceof Ln) return Operation.ln;
+        if (function instanceof Lg) return Operation.lg;
+        if (function instanceof Sqrt) return Operation.sqrt;
+        if (function instanceof Cubic) return Operation.cubic;
+        if (function instanceof Abs) return Operation.abs;
+        if (function instanceof Sgn) return Operation.sgn;
+        return null;
+    }
+}
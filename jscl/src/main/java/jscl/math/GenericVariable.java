@@ -98,6 +98,11 @@ public abstract class GenericVariable extends Variable {
         }
     }
 
+    @Override
+    public int hashCode() {
+        return content.hashCode();
+    }
+
     public String toString() {
         return content.toString();
     }
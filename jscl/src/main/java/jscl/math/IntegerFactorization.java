@@ -0,0 +1,375 @@
+package jscl.math;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import javax.annotation.Nonnull;
+
+import jscl.text.ParserUtils;
+
+/**
+ * Factorization of integers into primes: trial division by the primes less than {@link #SIEVE_LIMIT}, then
+ * Miller-Rabin primality test and Brent's variant of Pollard's rho for the rest. Numbers which fit into
+ * {@link #LONG_LIMIT} bits are processed with primitive longs, larger ones with {@link BigInteger}s.
+ * <p/>
+ * Long computations check the interruption flag of the current thread, see {@link ParserUtils#checkInterruption()}.
+ */
+final class IntegerFactorization {
+
+    static final int SIEVE_LIMIT = 1 << 16;
+    // odd numbers of at most this number of bits are processed with Montgomery multiplication on longs
+    static final int LONG_LIMIT = 63;
+    // products of this number of differences are accumulated before gcd is computed in rho
+    private static final int BATCH = 128;
+    // Miller-Rabin test with these bases is deterministic for n < 3.3 * 10^24
+    private static final int[] WITNESSES = {2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37, 41};
+    private static final BigInteger DETERMINISTIC_LIMIT = new BigInteger("3317044064679887385961981");
+    private static final BigInteger SIEVE_LIMIT_SQUARED = BigInteger.valueOf((long) SIEVE_LIMIT * SIEVE_LIMIT);
+    @Nonnull
+    private static final int[] PRIMES = sieve(SIEVE_LIMIT);
+
+    private IntegerFactorization() {
+        throw new AssertionError();
+    }
+
+    @Nonnull
+    private static int[] sieve(int limit) {
+        final boolean[] composite = new boolean[limit];
+        int count = 0;
+        for (int i = 2; i < limit; i++) {
+            if (!composite[i]) {
+                count++;
+                for (long j = (long) i * i; j < limit; j += i) {
+                    composite[(int) j] = true;
+                }
+            }
+        }
+        final int[] primes = new int[count];
+        for (int i = 2, k = 0; i < limit; i++) {
+            if (!composite[i]) {
+                primes[k++] = i;
+            }
+        }
+        return primes;
+    }
+
+    /**
+     * @param n number to be factorized
+     * @return prime factors of <var>n</var> (in ascending order) mapped to their multiplicities, empty if n &lt; 2
+     */
+    @Nonnull
+    static SortedMap<BigInteger, Integer> factorize(@Nonnull BigInteger n) {
+        final SortedMap<BigInteger, Integer> factors = new TreeMap<>();
+        if (n.compareTo(BigInteger.ONE) <= 0) {
+            return factors;
+        }
+        final BigInteger rest = divideBySmallPrimes(n, factors);
+        if (rest.equals(BigInteger.ONE)) {
+            return factors;
+        }
+        if (rest.compareTo(SIEVE_LIMIT_SQUARED) < 0) {
+            // all prime factors less than SIEVE_LIMIT are already removed
+            add(factors, rest, 1);
+        } else {
+            factorizeLarge(rest, factors);
+        }
+        return factors;
+    }
+
+    /**
+     * @return true if <var>n</var> is prime. The result is exact for n &lt; 3.3 * 10^24, larger numbers are
+     * additionally checked with {@link BigInteger#isProbablePrime(int)}
+     */
+    static boolean isPrime(@Nonnull BigInteger n) {
+        if (n.compareTo(BigInteger.valueOf(SIEVE_LIMIT)) < 0) {
+            return n.signum() > 0 && Arrays.binarySearch(PRIMES, n.intValue()) >= 0;
+        }
+        for (int prime : WITNESSES) {
+            if (n.mod(BigInteger.valueOf(prime)).signum() == 0) {
+                return false;
+            }
+        }
+        if (n.bitLength() <= LONG_LIMIT) {
+            return isPrime(n.longValue());
+        }
+        final BigInteger m = n.subtract(BigInteger.ONE);
+        final int s = m.getLowestSetBit();
+        final BigInteger d = m.shiftRight(s);
+        for (int witness : WITNESSES) {
+            BigInteger x = BigInteger.valueOf(witness).modPow(d, n);
+            if (x.equals(BigInteger.ONE) || x.equals(m)) {
+                continue;
+            }
+            boolean composite = true;
+            for (int i = 1; i < s && composite; i++) {
+                x = x.multiply(x).mod(n);
+                composite = !x.equals(m);
+            }
+            if (composite) {
+                return false;
+            }
+        }
+        return n.compareTo(DETERMINISTIC_LIMIT) < 0 || n.isProbablePrime(64);
+    }
+
+    // n is odd, greater than any of WITNESSES and less than 2^LONG_LIMIT
+    private static boolean isPrime(long n) {
+        final Montgomery mont = new Montgomery(n);
+        final long minusOne = n - mont.one;
+        final int s = Long.numberOfTrailingZeros(n - 1);
+        final long d = (n - 1) >>> s;
+        for (int witness : WITNESSES) {
+            long x = mont.pow(mont.valueOf(witness), d);
+            if (x == mont.one || x == minusOne) {
+                continue;
+            }
+            boolean composite = true;
+            for (int i = 1; i < s && composite; i++) {
+                x = mont.multiply(x, x);
+                composite = x != minusOne;
+            }
+            if (composite) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Nonnull
+    private static BigInteger divideBySmallPrimes(@Nonnull BigInteger n, @Nonnull Map<BigInteger, Integer> factors) {
+        if (n.bitLength() < Long.SIZE) {
+            long rest = n.longValue();
+            for (int i = 0; i < PRIMES.length && (long) PRIMES[i] * PRIMES[i] <= rest; i++) {
+                final int prime = PRIMES[i];
+                if (rest % prime == 0) {
+                    int exponent = 0;
+                    do {
+                        rest /= prime;
+                        exponent++;
+                    } while (rest % prime == 0);
+                    add(factors, BigInteger.valueOf(prime), exponent);
+                }
+            }
+            return BigInteger.valueOf(rest);
+        }
+
+        BigInteger rest = n;
+        for (int i = 0; i < PRIMES.length; i++) {
+            if ((i & 0xFF) == 0) {
+                ParserUtils.checkInterruption();
+            }
+            final BigInteger prime = BigInteger.valueOf(PRIMES[i]);
+            BigInteger[] qr = rest.divideAndRemainder(prime);
+            if (qr[1].signum() == 0) {
+                int exponent = 0;
+                do {
+                    rest = qr[0];
+                    exponent++;
+                    qr = rest.divideAndRemainder(prime);
+                } while (qr[1].signum() == 0);
+                add(factors, prime, exponent);
+                if (rest.bitLength() < Long.SIZE) {
+                    // the rest is small enough for primitive longs, all the primes before the current are removed
+                    return divideBySmallPrimes(rest, factors);
+                }
+            }
+        }
+        return rest;
+    }
+
+    // all prime factors of n are greater than SIEVE_LIMIT
+    private static void factorizeLarge(@Nonnull BigInteger n, @Nonnull Map<BigInteger, Integer> factors) {
+        if (n.equals(BigInteger.ONE)) {
+            return;
+        }
+        if (n.compareTo(SIEVE_LIMIT_SQUARED) < 0 || isPrime(n)) {
+            add(factors, n, 1);
+            return;
+        }
+        final BigInteger divisor = findDivisor(n);
+        factorizeLarge(divisor, factors);
+        factorizeLarge(n.divide(divisor), factors);
+    }
+
+    // n is composite
+    @Nonnull
+    private static BigInteger findDivisor(@Nonnull BigInteger n) {
+        for (int c = 1; ; c++) {
+            final BigInteger divisor;
+            if (n.bitLength() <= LONG_LIMIT) {
+                divisor = BigInteger.valueOf(rho(n.longValue(), c));
+            } else {
+                divisor = rho(n, BigInteger.valueOf(c));
+            }
+            if (!divisor.equals(n)) {
+                return divisor;
+            }
+            // cycle was closed without a divisor: try another polynomial x^2 + c
+        }
+    }
+
+    // all the computations are done in Montgomery form: x^2 + c is replaced with x^2 / R + c which is as good
+    private static long rho(long n, long c) {
+        final Montgomery mont = new Montgomery(n);
+        long y = mont.valueOf(2);
+        long x = y;
+        long ys = y;
+        long q = mont.one;
+        long g = 1;
+        for (long r = 1; g == 1; r <<= 1) {
+            x = y;
+            for (long i = 0; i < r; i++) {
+                if (i % BATCH == 0) {
+                    ParserUtils.checkInterruption();
+                }
+                y = mont.next(y, c);
+            }
+            for (long k = 0; k < r && g == 1; k += BATCH) {
+                ParserUtils.checkInterruption();
+                ys = y;
+                for (long i = 0; i < BATCH && i < r - k; i++) {
+                    y = mont.next(y, c);
+                    q = mont.multiply(q, Math.abs(x - y));
+                }
+                g = gcd(q, n);
+            }
+        }
+        if (g == n) {
+            // the batch overshot: repeat it step by step
+            do {
+                ys = mont.next(ys, c);
+                g = gcd(Math.abs(x - ys), n);
+            } while (g == 1);
+        }
+        return g;
+    }
+
+    @Nonnull
+    private static BigInteger rho(@Nonnull BigInteger n, @Nonnull BigInteger c) {
+        BigInteger y = BigInteger.valueOf(2);
+        BigInteger x = y;
+        BigInteger ys = y;
+        BigInteger q = BigInteger.ONE;
+        BigInteger g = BigInteger.ONE;
+        for (long r = 1; g.equals(BigInteger.ONE); r <<= 1) {
+            x = y;
+            for (long i = 0; i < r; i++) {
+                if (i % BATCH == 0) {
+                    ParserUtils.checkInterruption();
+                }
+                y = y.multiply(y).add(c).mod(n);
+            }
+            for (long k = 0; k < r && g.equals(BigInteger.ONE); k += BATCH) {
+                ParserUtils.checkInterruption();
+                ys = y;
+                for (long i = 0; i < BATCH && i < r - k; i++) {
+                    y = y.multiply(y).add(c).mod(n);
+                    q = q.multiply(x.subtract(y).abs()).mod(n);
+                }
+                g = q.gcd(n);
+            }
+        }
+        if (g.equals(n)) {
+            do {
+                ys = ys.multiply(ys).add(c).mod(n);
+                g = x.subtract(ys).abs().gcd(n);
+            } while (g.equals(BigInteger.ONE));
+        }
+        return g;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            final long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    private static void add(@Nonnull Map<BigInteger, Integer> factors, @Nonnull BigInteger prime, int exponent) {
+        final Integer previous = factors.get(prime);
+        factors.put(prime, previous == null ? exponent : previous + exponent);
+    }
+
+    /**
+     * Montgomery multiplication modulo odd n &lt; 2^63 with R = 2^64: residues are stored as x * R mod n, so
+     * multiplication needs neither division nor 128-bit types
+     */
+    private static final class Montgomery {
+
+        private static final long LOW = 0xFFFFFFFFL;
+
+        private final long n;
+        // -1 / n mod R
+        private final long inverse;
+        // R mod n and R^2 mod n
+        private final long one;
+        private final long r2;
+
+        Montgomery(long n) {
+            this.n = n;
+            long inverse = n;
+            // Newton's iteration doubles the number of correct bits: 3 -> 6 -> 12 -> 24 -> 48 -> 96
+            for (int i = 0; i < 5; i++) {
+                inverse *= 2 - n * inverse;
+            }
+            this.inverse = -inverse;
+            final BigInteger modulus = BigInteger.valueOf(n);
+            this.one = BigInteger.ONE.shiftLeft(64).mod(modulus).longValue();
+            this.r2 = BigInteger.ONE.shiftLeft(128).mod(modulus).longValue();
+        }
+
+        // unsigned high 64 bits of the 128-bit product (Math#multiplyHigh is not available on older Androids)
+        private static long multiplyHigh(long a, long b) {
+            final long a0 = a & LOW;
+            final long a1 = a >>> 32;
+            final long b0 = b & LOW;
+            final long b1 = b >>> 32;
+            final long p01 = a0 * b1;
+            final long p10 = a1 * b0;
+            final long middle = ((a0 * b0) >>> 32) + (p01 & LOW) + (p10 & LOW);
+            return a1 * b1 + (p01 >>> 32) + (p10 >>> 32) + (middle >>> 32);
+        }
+
+        long valueOf(long x) {
+            return multiply(x % n, r2);
+        }
+
+        // a * b / R mod n
+        long multiply(long a, long b) {
+            final long high = multiplyHigh(a, b);
+            final long low = a * b;
+            final long m = low * inverse;
+            // low + m * n is divisible by R, so there's a carry iff low is not 0
+            final long result = high + multiplyHigh(m, n) + (low != 0 ? 1 : 0);
+            // result < 2n < 2^64
+            return unsignedLess(result, n) ? result : result - n;
+        }
+
+        long pow(long base, long exponent) {
+            long result = one;
+            while (exponent > 0) {
+                if ((exponent & 1) != 0) {
+                    result = multiply(result, base);
+                }
+                base = multiply(base, base);
+                exponent >>>= 1;
+            }
+            return result;
+        }
+
+        long next(long x, long c) {
+            final long result = multiply(x, x) + c;
+            return unsignedLess(result, n) ? result : result - n;
+        }
+
+        // Long#compareUnsigned is not available on older Androids
+        private static boolean unsignedLess(long a, long b) {
+            return a + Long.MIN_VALUE < b + Long.MIN_VALUE;
+        }
+    }
+}
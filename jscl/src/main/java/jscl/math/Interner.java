@@ -0,0 +1,92 @@
+package jscl.math;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.GuardedBy;
+
+/**
+ * Bounded table of the canonical instances of {@link Generic}s: structurally equal objects of the same class passed
+ * to {@link #intern(Generic)} are replaced with the same instance, so they can be compared by reference and their
+ * (cached) hash codes are computed only once. Least recently used instances are evicted when the table is full.
+ * <p/>
+ * Interning is optional: nothing in the library depends on two equal objects being the same instance.
+ */
+public final class Interner {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    @GuardedBy("this")
+    @Nonnull
+    private final Map<Key, Generic> instances;
+
+    public Interner() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public Interner(final int capacity) {
+        this.instances = new LinkedHashMap<Key, Generic>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Generic> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * @param generic object to be interned
+     * @return instance equal to <var>generic</var> which was interned before or <var>generic</var> itself
+     */
+    @Nonnull
+    public <T extends Generic> T intern(@Nonnull T generic) {
+        final Key key = new Key(generic);
+        synchronized (this) {
+            final Generic instance = instances.get(key);
+            if (instance != null) {
+                // instances of the same class only are equal keys
+                @SuppressWarnings("unchecked")
+                final T result = (T) instance;
+                return result;
+            }
+            instances.put(key, generic);
+            return generic;
+        }
+    }
+
+    public synchronized int size() {
+        return instances.size();
+    }
+
+    public synchronized void clear() {
+        instances.clear();
+    }
+
+    // different classes might be equal (e.g. integer and expression), interned instance must have the same class
+    private static final class Key {
+        @Nonnull
+        private final Generic generic;
+        private final int hashCode;
+
+        Key(@Nonnull Generic generic) {
+            this.generic = generic;
+            this.hashCode = 31 * generic.getClass().hashCode() + generic.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+
+            final Key that = (Key) o;
+            return hashCode == that.hashCode
+                    && generic.getClass() == that.generic.getClass()
+                    && generic.equals(that.generic);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
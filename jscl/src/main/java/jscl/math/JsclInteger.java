@@ -339,6 +339,19 @@ public final class JsclInteger extends Generic {
         return content.intValue();
     }
 
+    @Override
+    public int hashCode() {
+        return hashCode(content);
+    }
+
+    // same as hash code of the expression which consists of the integer only, see Expression#hashCode()
+    static int hashCode(@Nonnull BigInteger value) {
+        if (value.signum() == 0) {
+            return Expression.EMPTY_HASH_CODE;
+        }
+        return 31 * Expression.EMPTY_HASH_CODE + Expression.hashCode(Literal.EMPTY_HASH_CODE, value);
+    }
+
     public int compareTo(JsclInteger integer) {
         return content.compareTo(integer.content);
     }
@@ -8,16 +8,21 @@ import jscl.mathml.MathML;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.TreeMap;
 
 public class Literal implements Comparable {
 
+    // hash code of the literal without variables (i.e. of 1)
+    static final int EMPTY_HASH_CODE = 1;
     private Variable variables[];
     private int powers[];
     private int degree;
     private int size;
+    // structural hash code, computed lazily once the literal is constructed (0 if not computed yet)
+    private int hashCode;
 
     Literal() {
     }
@@ -63,6 +68,7 @@ public class Literal implements Comparable {
         variables = new Variable[size];
         powers = new int[size];
         this.size = size;
+        this.hashCode = 0;
     }
 
     void resize(int size) {
@@ -74,6 +80,7 @@ public class Literal implements Comparable {
             this.variables = variable;
             this.powers = power;
             this.size = size;
+            this.hashCode = 0;
         }
     }
 
@@ -353,6 +360,28 @@ public class Literal implements Comparable {
         return compareTo((Literal) o);
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof Literal && compareTo((Literal) o) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = hashCode;
+        if (result == 0) {
+            result = EMPTY_HASH_CODE;
+            for (int i = 0; i < size; i++) {
+                result = 31 * result + variables[i].hashCode();
+                result = 31 * result + powers[i];
+            }
+            hashCode = result;
+        }
+        return result;
+    }
+
     void init(Variable var, int pow) {
         if (pow != 0) {
             init(1);
@@ -382,7 +411,7 @@ public class Literal implements Comparable {
     }
 
     Map<Variable, Generic> content(@Nonnull Function<Variable, Generic> c) {
-        final Map<Variable, Generic> result = new TreeMap<>();
+        final Map<Variable, Generic> result = new HashMap<>(2 * size);
 
         for (int i = 0; i < size; i++) {
             result.put(variables[i], c.apply(variables[i]));
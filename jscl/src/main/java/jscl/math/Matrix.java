@@ -9,11 +9,15 @@ import jscl.mathml.MathML;
 import jscl.util.ArrayComparator;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.HashSet;
 import java.util.Set;
 
 public class Matrix extends Generic {
 
+    // the cofactor expansion keeps 2^n minors of the matrix of size n
+    private static final int MAX_MINORS_SIZE = 16;
+
     protected final Generic elements[][];
     protected final int rows, cols;
 
@@ -402,13 +406,29 @@ public class Matrix extends Generic {
     }
 
     public Generic inverse() {
+        if (!isUnivariate()) {
+            return inverseByCofactors();
+        }
+        final Generic b[][] = identity(rows).elements;
+        try {
+            final Generic determinant = eliminate(b);
+            if (determinant.signum() != 0) {
+                return newInstance(b).divide(determinant);
+            }
+        } catch (NotDivisibleException e) {
+            // elements are not polynomials, see eliminate()
+        }
+        return inverseByCofactors();
+    }
+
+    private Generic inverseByCofactors() {
         Matrix m = (Matrix) newInstance();
         for (int i = 0; i < rows; i++) {
             for (int j = 0; j < rows; j++) {
                 m.elements[i][j] = inverseElement(i, j);
             }
         }
-        return m.transpose().divide(determinant());
+        return m.transpose().divide(determinantByCofactors());
     }
 
     Generic inverseElement(int k, int l) {
@@ -418,11 +438,27 @@ public class Matrix extends Generic {
                 m.elements[i][j] = i == k ? JsclInteger.valueOf(j == l ? 1 : 0) : elements[i][j];
             }
         }
-        return m.determinant();
+        return m.determinantByCofactors();
     }
 
     public Generic determinant() {
         if (rows > 1) {
+            if (!isUnivariate()) {
+                return determinantByCofactors();
+            }
+            try {
+                return eliminate(new Generic[rows][0]);
+            } catch (NotDivisibleException e) {
+                return determinantByCofactors();
+            }
+        } else if (rows > 0) return elements[0][0];
+        else return JsclInteger.valueOf(0);
+    }
+
+    private Generic determinantByCofactors() {
+        if (rows > 1 && rows <= MAX_MINORS_SIZE) {
+            return determinantByMinors();
+        } else if (rows > 1) {
             Generic a = JsclInteger.valueOf(0);
             for (int i = 0; i < rows; i++) {
                 if (elements[i][0].signum() == 0) ;
@@ -431,8 +467,8 @@ public class Matrix extends Generic {
                     for (int j = 0; j < rows - 1; j++) {
                         for (int k = 0; k < rows - 1; k++) m.elements[j][k] = elements[j < i ? j : j + 1][k + 1];
                     }
-                    if (i % 2 == 0) a = a.add(elements[i][0].multiply(m.determinant()));
-                    else a = a.subtract(elements[i][0].multiply(m.determinant()));
+                    if (i % 2 == 0) a = a.add(elements[i][0].multiply(m.determinantByCofactors()));
+                    else a = a.subtract(elements[i][0].multiply(m.determinantByCofactors()));
                 }
             }
             return a;
@@ -440,6 +476,159 @@ public class Matrix extends Generic {
         else return JsclInteger.valueOf(0);
     }
 
+    // cofactor expansion in which every minor is computed once: minors[mask] is the minor of the rows in the mask and
+    // of the last Integer.bitCount(mask) columns, it is expanded along its first column. Takes O(n 2^n) operations
+    // instead of O(n!), there are no divisions
+    @Nonnull
+    private Generic determinantByMinors() {
+        final Generic minors[] = new Generic[1 << rows];
+        minors[0] = JsclInteger.valueOf(1);
+        for (int mask = 1; mask < minors.length; mask++) {
+            final int column = rows - Integer.bitCount(mask);
+            Generic a = JsclInteger.valueOf(0);
+            boolean even = true;
+            for (int i = 0; i < rows; i++) {
+                if ((mask & (1 << i)) == 0) continue;
+                final Generic element = elements[i][column];
+                if (element.signum() != 0) {
+                    final Generic minor = minors[mask & ~(1 << i)];
+                    if (minor.signum() != 0) {
+                        a = even ? a.add(element.multiply(minor)) : a.subtract(element.multiply(minor));
+                    }
+                }
+                even = !even;
+            }
+            minors[mask] = a;
+        }
+        return minors[minors.length - 1];
+    }
+
+    /**
+     * Solves the linear system <code>this * x = vector</code>
+     *
+     * @param vector right-hand side of the system
+     * @return solution of the system
+     * @throws ArithmeticException if the matrix is not square or is singular
+     */
+    @Nonnull
+    public Generic solve(@Nonnull JsclVector vector) {
+        if (rows != cols || rows != vector.rows) {
+            throw new ArithmeticException("Unable to solve linear system: matrix must be square and its size must match the size of vector!");
+        }
+        final Generic b[][] = new Generic[rows][1];
+        for (int i = 0; i < rows; i++) {
+            b[i][0] = vector.elements[i];
+        }
+        final Generic determinant;
+        try {
+            determinant = eliminate(b);
+        } catch (NotDivisibleException e) {
+            return inverseByCofactors().multiply(vector);
+        }
+        if (determinant.signum() == 0) {
+            throw new ArithmeticException("Unable to solve linear system: matrix is singular!");
+        }
+        final JsclVector v = (JsclVector) vector.newInstance();
+        for (int i = 0; i < rows; i++) {
+            v.elements[i] = b[i][0];
+        }
+        return v.divide(determinant);
+    }
+
+    // elimination divides polynomials: it's fast for numbers and polynomials in one variable only, divisions of
+    // polynomials in several variables cost more than the cofactor expansion saves
+    private boolean isUnivariate() {
+        Variable variable = null;
+        for (Generic row[] : elements) {
+            for (Generic element : row) {
+                final Variable variables[] = element.variables();
+                if (variables == null || variables.length > 1) {
+                    return false;
+                } else if (variables.length == 1) {
+                    if (variable == null) {
+                        variable = variables[0];
+                    } else if (!variable.equals(variables[0])) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Fraction-free (Bareiss) elimination: after the k-th step each element of the remaining submatrix is a minor of
+     * order k + 2 of the original matrix, so all the divisions are exact and the elements don't grow more than the
+     * determinant does. Takes O(n^3) operations on the elements instead of O(n!) of the cofactor expansion.
+     *
+     * @param b right-hand sides of the system <code>this * x = b</code> (one column per system), replaced with
+     *          <code>adj(this) * b</code> (i.e. <code>det(this) * x</code>) if the matrix is not singular
+     * @return determinant of this matrix
+     * @throws NotDivisibleException if the elements don't form an integral domain (e.g. contain fractions which are
+     *                               not simplified) and division is not exact
+     */
+    @Nonnull
+    private Generic eliminate(@Nonnull Generic b[][]) throws NotDivisibleException {
+        final int n = rows;
+        final int m = n > 0 ? b[0].length : 0;
+        final Generic a[][] = new Generic[n][];
+        for (int i = 0; i < n; i++) {
+            a[i] = elements[i].clone();
+        }
+
+        boolean negate = false;
+        Generic previous = null;
+        for (int k = 0; k < n; k++) {
+            if (a[k][k].signum() == 0) {
+                int p = k + 1;
+                while (p < n && a[p][k].signum() == 0) p++;
+                if (p == n) return JsclInteger.valueOf(0);
+                Generic row[] = a[k];
+                a[k] = a[p];
+                a[p] = row;
+                row = b[k];
+                b[k] = b[p];
+                b[p] = row;
+                negate = !negate;
+            }
+            final Generic pivot = a[k][k];
+            for (int i = k + 1; i < n; i++) {
+                final Generic factor = a[i][k];
+                for (int j = k + 1; j < n; j++) {
+                    a[i][j] = reduce(a[i][j].multiply(pivot).subtract(factor.multiply(a[k][j])), previous);
+                }
+                for (int j = 0; j < m; j++) {
+                    b[i][j] = reduce(b[i][j].multiply(pivot).subtract(factor.multiply(b[k][j])), previous);
+                }
+                a[i][k] = JsclInteger.valueOf(0);
+            }
+            previous = pivot;
+        }
+
+        // a[n - 1][n - 1] is the determinant of the matrix with swapped rows, b is replaced with its multiple
+        final Generic determinant = a[n - 1][n - 1];
+        for (int j = 0; j < m; j++) {
+            for (int i = n - 2; i >= 0; i--) {
+                Generic s = b[i][j].multiply(determinant);
+                for (int k = i + 1; k < n; k++) {
+                    s = s.subtract(a[i][k].multiply(b[k][j]));
+                }
+                b[i][j] = s.divide(a[i][i]);
+            }
+            if (negate) {
+                for (int i = 0; i < n; i++) {
+                    b[i][j] = b[i][j].negate();
+                }
+            }
+        }
+        return negate ? determinant.negate() : determinant;
+    }
+
+    @Nonnull
+    private static Generic reduce(@Nonnull Generic generic, @Nullable Generic divisor) throws NotDivisibleException {
+        return divisor == null ? generic : generic.divide(divisor);
+    }
+
     public Generic conjugate() {
         Matrix m = (Matrix) newInstance();
         for (int i = 0; i < rows; i++) {
@@ -0,0 +1,18 @@
+package jscl.math;
+
+import javax.annotation.Nonnull;
+
+public class NotCompilableException extends ArithmeticException {
+
+    @SuppressWarnings("ThrowableInstanceNeverThrown")
+    private static final NotCompilableException INSTANCE = new NotCompilableException();
+
+    private NotCompilableException() {
+        super("Not compilable!");
+    }
+
+    @Nonnull
+    public static NotCompilableException get() {
+        return INSTANCE;
+    }
+}
@@ -1,15 +1,22 @@
 package jscl.math;
 
+import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
 import java.util.Collections;
 import java.util.Set;
 
 import javax.annotation.Nonnull;
 
+import jscl.AngleUnit;
+import jscl.EvaluationContext;
 import jscl.math.function.Constant;
 import jscl.math.function.Constants;
 import jscl.math.function.ConstantsRegistry;
 import jscl.math.function.IConstant;
+import jscl.math.numeric.BigDecimalMath;
+import jscl.math.numeric.BigReal;
 import jscl.math.numeric.Complex;
 import jscl.math.numeric.INumeric;
 import jscl.math.numeric.Numeric;
@@ -23,11 +30,22 @@ public final class NumericWrapper extends Generic implements INumeric<NumericWra
     private final Numeric content;
 
     public NumericWrapper(@Nonnull JsclInteger integer) {
-        content = Real.valueOf(integer.content().doubleValue());
+        final int precision = EvaluationContext.current().getNumericPrecision();
+        if (precision == 0) {
+            content = Real.valueOf(integer.content().doubleValue());
+        } else {
+            content = BigReal.valueOf(new BigDecimal(integer.content()), precision);
+        }
     }
 
     public NumericWrapper(@Nonnull Rational rational) {
-        content = Real.valueOf(rational.numerator().doubleValue() / rational.denominator().doubleValue());
+        final int precision = EvaluationContext.current().getNumericPrecision();
+        if (precision == 0) {
+            content = Real.valueOf(rational.numerator().doubleValue() / rational.denominator().doubleValue());
+        } else {
+            final MathContext mc = new MathContext(precision, RoundingMode.HALF_EVEN);
+            content = BigReal.valueOf(new BigDecimal(rational.numerator()).divide(new BigDecimal(rational.denominator()), mc), precision);
+        }
     }
 
     public NumericWrapper(@Nonnull JsclVector vector) {
@@ -53,7 +71,7 @@ public final class NumericWrapper extends Generic implements INumeric<NumericWra
     }
 
     public NumericWrapper(@Nonnull Constant constant) {
-        final IConstant constantFromRegistry = ConstantsRegistry.getInstance().get(constant.getName());
+        final IConstant constantFromRegistry = ConstantsRegistry.getIndex().get(constant.getName());
 
         if (constantFromRegistry != null) {
             if (constantFromRegistry.getName().equals(Constants.I.getName())) {
@@ -64,7 +82,7 @@ public final class NumericWrapper extends Generic implements INumeric<NumericWra
                     if (value == null) {
                         throw new ArithmeticException("Constant " + constant.getName() + " has invalid definition: " + constantFromRegistry.getValue());
                     } else {
-                        content = Real.valueOf(value);
+                        content = valueOf(constantFromRegistry, value);
                     }
                 } else {
                     throw new ArithmeticException("Could not create numeric wrapper: constant in registry doesn't have specified value: " + constant.getName());
@@ -79,6 +97,23 @@ public final class NumericWrapper extends Generic implements INumeric<NumericWra
         content = numeric;
     }
 
+    // π and e are computed with the precision of the evaluation, other constants are known as doubles only
+    @Nonnull
+    private static Numeric valueOf(@Nonnull IConstant constant, double value) {
+        final int precision = EvaluationContext.current().getNumericPrecision();
+        if (precision > 0) {
+            final MathContext mc = new MathContext(precision, RoundingMode.HALF_EVEN);
+            final String name = constant.getName();
+            if (name.equals(Constants.PI_INV.getName())
+                    || (name.equals(Constants.PI.getName()) && EvaluationContext.current().getAngleUnits() == AngleUnit.rad)) {
+                return BigReal.valueOf(BigDecimalMath.pi(mc), precision);
+            } else if (name.equals(ConstantsRegistry.E)) {
+                return BigReal.valueOf(BigDecimalMath.e(mc), precision);
+            }
+        }
+        return Numeric.real(value);
+    }
+
     public static Generic root(int subscript, Generic parameter[]) {
         Numeric param[] = new Numeric[parameter.length];
         for (int i = 0; i < param.length; i++) param[i] = ((NumericWrapper) parameter[i]).content;
@@ -239,7 +274,7 @@ public final class NumericWrapper extends Generic implements INumeric<NumericWra
     }
 
     public JsclInteger integerValue() throws NotIntegerException {
-        if (content instanceof Real) {
+        if (content instanceof Real || content instanceof BigReal) {
             double doubleValue = content.doubleValue();
             if (Math.floor(doubleValue) == doubleValue) {
                 return JsclInteger.valueOf((int) doubleValue);
@@ -261,6 +296,8 @@ public final class NumericWrapper extends Generic implements INumeric<NumericWra
         if (content instanceof Real) {
             double value = ((Real) content).doubleValue();
             return Math.floor(value) == value;
+        } else if (content instanceof BigReal) {
+            return content.toBigInteger() != null;
         }
         return false;
     }
@@ -409,6 +446,32 @@ public final class NumericWrapper extends Generic implements INumeric<NumericWra
         return new NumericWrapper(content.coth());
     }
 
+    @Override
+    public int hashCode() {
+        if (content instanceof Real) {
+            return hashCode(content.doubleValue());
+        } else if (content instanceof BigReal) {
+            final BigInteger integer = content.toBigInteger();
+            return integer != null ? JsclInteger.hashCode(integer) : hashCode(content.doubleValue());
+        } else if (content instanceof Complex) {
+            final Complex complex = (Complex) content;
+            if (complex.imaginaryPart() == 0) {
+                return hashCode(complex.realPart());
+            }
+            return 31 * hashCode(complex.realPart()) + hashCode(complex.imaginaryPart());
+        }
+        return content.getClass().hashCode();
+    }
+
+    // integer values are equal to JsclIntegers and must have the same hash codes
+    private static int hashCode(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < Long.MAX_VALUE) {
+            return JsclInteger.hashCode(BigInteger.valueOf((long) value));
+        }
+        final long bits = Double.doubleToLongBits(value);
+        return (int) (bits ^ (bits >>> 32));
+    }
+
     public int compareTo(NumericWrapper wrapper) {
         return content.compareTo(wrapper.content);
     }
@@ -426,7 +489,7 @@ public final class NumericWrapper extends Generic implements INumeric<NumericWra
     }
 
     public String toJava() {
-        return "JsclDouble.valueOf(" + ((Real) content).doubleValue() + ")";
+        return "JsclDouble.valueOf(" + content.doubleValue() + ")";
     }
 
     public void toMathML(MathML element, Object data) {
@@ -450,7 +513,7 @@ public final class NumericWrapper extends Generic implements INumeric<NumericWra
 
     void bodyToMathML(MathML element) {
         MathML e1 = element.element("mn");
-        e1.appendChild(element.text(String.valueOf(Double.valueOf(((Real) content).doubleValue()))));
+        e1.appendChild(element.text(String.valueOf(Double.valueOf(content.doubleValue()))));
         element.appendChild(e1);
     }
 
@@ -466,6 +529,6 @@ public final class NumericWrapper extends Generic implements INumeric<NumericWra
 
     @Nonnull
     public static Generic valueOf(double value) {
-        return new NumericWrapper(Real.valueOf(value));
+        return new NumericWrapper(Numeric.real(value));
     }
 }
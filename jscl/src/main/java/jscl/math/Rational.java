@@ -246,6 +246,12 @@ public final class Rational extends Generic implements Field {
         return true;
     }
 
+    @Override
+    public int hashCode() {
+        // rational is equal to the expression it is converted to
+        return Expression.valueOf(this).hashCode();
+    }
+
     public int compareTo(Rational rational) {
         int c = denominator.compareTo(rational.denominator);
         if (c < 0) return -1;
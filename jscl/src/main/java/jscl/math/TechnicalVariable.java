@@ -3,6 +3,7 @@ package jscl.math;
 import jscl.math.function.Constant;
 
 import javax.annotation.Nonnull;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Set;
 
@@ -71,6 +72,11 @@ public class TechnicalVariable extends Variable {
         }
     }
 
+    @Override
+    public int hashCode() {
+        return 31 * name.hashCode() + Arrays.hashCode(subscript);
+    }
+
     public int compareSubscript(int c1[], int c2[]) {
         if (c1.length < c2.length) return -1;
         else if (c1.length > c2.length) return 1;
@@ -202,6 +202,15 @@ public abstract class Variable implements Comparable, MathEntity {
         return obj instanceof Variable && compareTo((Variable) obj) == 0;
     }
 
+    /**
+     * Variables are not cached the hash code as some of them are modified after construction (e.g. parameters of
+     * functions). Subclasses which compare more than the name must override this method.
+     */
+    @Override
+    public int hashCode() {
+        return name.hashCode();
+    }
+
     public String toString() {
         return name;
     }
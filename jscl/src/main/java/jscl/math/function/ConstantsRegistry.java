@@ -3,6 +3,15 @@ package jscl.math.function;
 import org.solovyev.common.math.AbstractMathRegistry;
 import org.solovyev.common.math.MathRegistry;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
 public class ConstantsRegistry extends AbstractMathRegistry<IConstant> {
     private static final ConstantsRegistry INSTANCE = new ConstantsRegistry();
 
@@ -15,6 +24,10 @@ public class ConstantsRegistry extends AbstractMathRegistry<IConstant> {
     public static final Double H_REDUCED_VALUE = 6.6260695729E-34 / (2 * Math.PI);
     public final static String NAN = "NaN";
 
+    // snapshot of the registry, replaced (not modified) after the registry has changed, see getIndex()
+    @Nonnull
+    private volatile Index index = new Index(-1, new HashMap<String, IConstant>(), new double[0], new IConstant[0]);
+
     public ConstantsRegistry() {
     }
 
@@ -40,4 +53,83 @@ public class ConstantsRegistry extends AbstractMathRegistry<IConstant> {
     public static MathRegistry<IConstant> lazyInstance() {
         return INSTANCE;
     }
+
+    @Nonnull
+    public static Index getIndex() {
+        INSTANCE.init();
+        return INSTANCE.index();
+    }
+
+    @Nonnull
+    Index index() {
+        final Index index = this.index;
+        final int version = getVersion();
+        if (index.version == version) {
+            return index;
+        }
+        // entities are read after the version: if the registry changes meanwhile the index is rebuilt next time
+        final Map<String, IConstant> constants = new HashMap<>();
+        for (IConstant constant : getEntities()) {
+            constants.put(constant.getName(), constant);
+        }
+        // the first of the system constants with the same value (in order of the registry) is found
+        final TreeMap<Double, IConstant> values = new TreeMap<>();
+        final List<IConstant> systemConstants = getSystemEntities();
+        for (int i = 0; i < systemConstants.size(); i++) {
+            final IConstant constant = systemConstants.get(i);
+            final String name = constant.getName();
+            if (name.equals(Constants.PI_INV.getName()) || name.equals(Constants.ANS)) {
+                continue;
+            }
+            // value in radians for Π
+            final Double value = constant instanceof ExtendedConstant ? ((ExtendedConstant) constant).getRawDoubleValue() : constant.getDoubleValue();
+            if (value != null && !values.containsKey(value)) {
+                values.put(value, constant);
+            }
+        }
+        final double[] keys = new double[values.size()];
+        final IConstant[] entries = new IConstant[values.size()];
+        int i = 0;
+        for (Map.Entry<Double, IConstant> entry : values.entrySet()) {
+            keys[i] = entry.getKey();
+            entries[i] = entry.getValue();
+            i++;
+        }
+        final Index result = new Index(version, constants, keys, entries);
+        this.index = result;
+        return result;
+    }
+
+    /**
+     * Immutable snapshot of the constants for the lookups which happen on every evaluation and formatting: by name and
+     * from value of system constants back to the constant (Π with its value in radians, π and ans are not included)
+     */
+    public static final class Index {
+        private final int version;
+        @Nonnull
+        private final Map<String, IConstant> constants;
+        // sorted as by Double#compareTo
+        @Nonnull
+        private final double[] values;
+        @Nonnull
+        private final IConstant[] valueConstants;
+
+        private Index(int version, @Nonnull Map<String, IConstant> constants, @Nonnull double[] values, @Nonnull IConstant[] valueConstants) {
+            this.version = version;
+            this.constants = constants;
+            this.values = values;
+            this.valueConstants = valueConstants;
+        }
+
+        @Nullable
+        public IConstant get(@Nonnull String name) {
+            return constants.get(name);
+        }
+
+        @Nullable
+        public IConstant find(double value) {
+            final int i = Arrays.binarySearch(values, value);
+            return i >= 0 ? valueConstants[i] : null;
+        }
+    }
 }
@@ -2,6 +2,7 @@ package jscl.math.function;
 
 import com.google.common.collect.Lists;
 import jscl.CustomFunctionCalculationException;
+import jscl.EvaluationContext;
 import jscl.JsclMathEngine;
 import jscl.NumeralBase;
 import jscl.math.*;
@@ -60,21 +61,15 @@ public class CustomFunction extends Function implements IFunction {
                            @Nullable String description) throws CustomFunctionCalculationException {
         super(name, new Generic[parameterNames.size()]);
         this.parameterNames = parameterNames;
-        final JsclMathEngine engine = JsclMathEngine.getInstance();
-        final NumeralBase nb = engine.getNumeralBase();
-        if (nb != NumeralBase.dec) {
-            // numbers in functions are only supported in decimal base
-            engine.setNumeralBase(NumeralBase.dec);
-        }
+        // numbers in functions are only supported in decimal base
+        final EvaluationContext previous = new EvaluationContext.Builder(EvaluationContext.current()).setNumeralBase(NumeralBase.dec).create().bind();
         try {
             this.content = Expression.valueOf(content);
             ensureNoImplicitFunctions();
         } catch (ParseException e) {
             throw new CustomFunctionCalculationException(this, e);
         } finally {
-            if (nb != NumeralBase.dec) {
-                engine.setNumeralBase(nb);
-            }
+            EvaluationContext.restore(previous);
         }
         this.description = description;
         this.id = counter.incrementAndGet();
@@ -220,6 +215,11 @@ public class CustomFunction extends Function implements IFunction {
         return this.content.toString();
     }
 
+    @Nonnull
+    public Expression getContentValue() {
+        return this.content;
+    }
+
     @Nullable
     public String getDescription() {
         return this.description;
@@ -18,6 +18,10 @@ public class ExtendedConstant implements Comparable<ExtendedConstant>, IConstant
     @Nullable
     private String value;
 
+    // parsed value, null if value is not a double
+    @Nullable
+    private Double doubleValue;
+
     @Nullable
     private String javaString;
 
@@ -32,6 +36,7 @@ public class ExtendedConstant implements Comparable<ExtendedConstant>, IConstant
                      @Nullable String javaString) {
         this.constant = constant;
         this.value = value;
+        this.doubleValue = parse(value);
         this.javaString = javaString;
     }
 
@@ -40,9 +45,22 @@ public class ExtendedConstant implements Comparable<ExtendedConstant>, IConstant
                      @Nullable String javaString) {
         this.constant = constant;
         this.value = value == null ? null : String.valueOf(value);
+        this.doubleValue = value;
         this.javaString = javaString;
     }
 
+    @Nullable
+    private static Double parse(@Nullable String value) {
+        if (value != null) {
+            try {
+                return Double.valueOf(value);
+            } catch (NumberFormatException e) {
+                // do nothing - string is not a double
+            }
+        }
+        return null;
+    }
+
     @Nonnull
     public static String toString(@Nonnull IConstant constant) {
         final Double doubleValue = constant.getDoubleValue();
@@ -92,6 +110,7 @@ public class ExtendedConstant implements Comparable<ExtendedConstant>, IConstant
         if (that instanceof IConstant) {
             this.description = ((IConstant) that).getDescription();
             this.value = ((IConstant) that).getValue();
+            this.doubleValue = parse(this.value);
         }
 
         if (that instanceof ExtendedConstant) {
@@ -140,17 +159,13 @@ public class ExtendedConstant implements Comparable<ExtendedConstant>, IConstant
 
     @Override
     public Double getDoubleValue() {
-        Double result = null;
-
-        if (value != null) {
-            try {
-                result = Double.valueOf(value);
-            } catch (NumberFormatException e) {
-                // do nothing - string is not a double
-            }
-        }
+        return doubleValue;
+    }
 
-        return result;
+    // value as defined, see PiConstant
+    @Nullable
+    Double getRawDoubleValue() {
+        return doubleValue;
     }
 
     @Override
@@ -213,6 +228,7 @@ public class ExtendedConstant implements Comparable<ExtendedConstant>, IConstant
 
             result.constant = constant;
             result.value = value;
+            result.doubleValue = parse(value);
             result.javaString = javaString;
             result.description = description;
 
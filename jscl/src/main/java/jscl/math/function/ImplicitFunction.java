@@ -7,6 +7,7 @@ import jscl.mathml.MathML;
 import jscl.util.ArrayComparator;
 
 import javax.annotation.Nonnull;
+import java.util.Arrays;
 
 public class ImplicitFunction extends Function {
 
@@ -113,6 +114,15 @@ public class ImplicitFunction extends Function {
         }
     }
 
+    @Override
+    public int hashCode() {
+        int result = name.hashCode();
+        result = 31 * result + Arrays.hashCode(subscripts);
+        result = 31 * result + Arrays.hashCode(derivations);
+        result = 31 * result + Arrays.hashCode(parameters);
+        return result;
+    }
+
     public String toString() {
         final StringBuilder result = new StringBuilder();
 
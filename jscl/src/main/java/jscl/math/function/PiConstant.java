@@ -1,7 +1,7 @@
 package jscl.math.function;
 
 import jscl.AngleUnit;
-import jscl.JsclMathEngine;
+import jscl.EvaluationContext;
 
 /**
  * User: serso
@@ -16,14 +16,11 @@ public class PiConstant extends ExtendedConstant {
 
     @Override
     public Double getDoubleValue() {
-        Double result = null;
-
-        try {
-            result = AngleUnit.rad.transform(JsclMathEngine.getInstance().getAngleUnits(), Double.valueOf(getValue()));
-        } catch (NumberFormatException e) {
-            // do nothing - string is not a double
+        final Double value = super.getDoubleValue();
+        final AngleUnit angleUnits = EvaluationContext.current().getAngleUnits();
+        if (value == null || angleUnits == AngleUnit.rad) {
+            return value;
         }
-
-        return result;
+        return AngleUnit.rad.transform(angleUnits, value);
     }
 }
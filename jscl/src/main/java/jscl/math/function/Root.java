@@ -7,6 +7,7 @@ import jscl.mathml.MathML;
 import jscl.util.ArrayComparator;
 
 import javax.annotation.Nonnull;
+import java.util.Arrays;
 
 public class Root extends Algebraic {
 
@@ -322,6 +323,11 @@ public class Root extends Algebraic {
         }
     }
 
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(parameters) + subscript.hashCode();
+    }
+
     public String toString() {
         StringBuffer buffer = new StringBuffer();
         buffer.append(name);
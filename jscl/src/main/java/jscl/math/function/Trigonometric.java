@@ -1,7 +1,7 @@
 package jscl.math.function;
 
 import jscl.AngleUnit;
-import jscl.JsclMathEngine;
+import jscl.EvaluationContext;
 import jscl.math.Generic;
 import jscl.math.NotIntegrableException;
 import jscl.math.Variable;
@@ -17,7 +17,7 @@ public abstract class Trigonometric extends Function {
     }
 
     public Generic antiDerivative(@Nonnull Variable variable) throws NotIntegrableException {
-        if (JsclMathEngine.getInstance().getAngleUnits() != AngleUnit.rad) {
+        if (EvaluationContext.current().getAngleUnits() != AngleUnit.rad) {
             throw new NotIntegrableException(Messages.msg_20, getName());
         }
 
@@ -0,0 +1,653 @@
+package jscl.math.numeric;
+
+import jscl.text.ParserUtils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Elementary functions of {@link BigDecimal}s rounded to the given {@link MathContext}. Values are computed with
+ * guard digits and rounded if the result is far enough from the rounding boundary, otherwise they are recomputed with
+ * more guard digits (so the results are correctly rounded unless they are very close to the boundary).
+ * <p/>
+ * Arguments are reduced before summation of the series: by multiples of ln(10) for exp, to [1, 10) and then closer to
+ * 1 with square roots for ln, by multiples of π/2 for trigonometric functions and by halving of the angle for atan.
+ * Hyperbolic functions are computed with exp and ln, with more digits where they cancel. π
+ * (Chudnovsky's series) and e are summed with binary splitting, π, e, ln(2) and ln(10) are cached with the largest
+ * precision computed so far.
+ */
+public final class BigDecimalMath {
+    static final int GUARD_DIGITS = 10;
+
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+    private static final BigDecimal THREE = BigDecimal.valueOf(3);
+    private static final BigDecimal NINE = BigDecimal.valueOf(9);
+
+    private static volatile Cached pi = new Cached(BigDecimal.ZERO, 0);
+    private static volatile Cached e = new Cached(BigDecimal.ZERO, 0);
+    private static volatile Cached ln2 = new Cached(BigDecimal.ZERO, 0);
+    private static volatile Cached ln10 = new Cached(BigDecimal.ZERO, 0);
+
+    private BigDecimalMath() {
+    }
+
+    @Nonnull
+    public static BigDecimal pi(@Nonnull MathContext mc) {
+        return pi(mc.getPrecision()).round(mc);
+    }
+
+    @Nonnull
+    public static BigDecimal e(@Nonnull MathContext mc) {
+        Cached c = e;
+        if (c.precision < mc.getPrecision() + GUARD_DIGITS) {
+            c = new Cached(e(mc.getPrecision() + GUARD_DIGITS), mc.getPrecision() + GUARD_DIGITS);
+            e = c;
+        }
+        return c.value.round(mc);
+    }
+
+    @Nonnull
+    public static BigDecimal exp(@Nonnull final BigDecimal x, @Nonnull MathContext mc) {
+        return round(new Function() {
+            @Override
+            BigDecimal evaluate(@Nonnull MathContext mc) {
+                return expRaw(x, mc);
+            }
+        }, mc);
+    }
+
+    /**
+     * @param x positive number
+     */
+    @Nonnull
+    public static BigDecimal ln(@Nonnull final BigDecimal x, @Nonnull MathContext mc) {
+        if (x.signum() <= 0) {
+            throw new ArithmeticException("Logarithm of non-positive number: " + x);
+        }
+        return round(new Function() {
+            @Override
+            BigDecimal evaluate(@Nonnull MathContext mc) {
+                return lnRaw(x, mc);
+            }
+        }, mc);
+    }
+
+    /**
+     * @param x positive number
+     */
+    @Nonnull
+    public static BigDecimal lg(@Nonnull final BigDecimal x, @Nonnull MathContext mc) {
+        if (x.signum() <= 0) {
+            throw new ArithmeticException("Logarithm of non-positive number: " + x);
+        }
+        return round(new Function() {
+            @Override
+            BigDecimal evaluate(@Nonnull MathContext mc) {
+                return lnRaw(x, mc).divide(ln10(mc.getPrecision()), mc);
+            }
+        }, mc);
+    }
+
+    /**
+     * @param x non-negative number
+     */
+    @Nonnull
+    public static BigDecimal sqrt(@Nonnull final BigDecimal x, @Nonnull MathContext mc) {
+        if (x.signum() < 0) {
+            throw new ArithmeticException("Square root of negative number: " + x);
+        }
+        return round(new Function() {
+            @Override
+            BigDecimal evaluate(@Nonnull MathContext mc) {
+                return sqrtRaw(x, mc);
+            }
+        }, mc);
+    }
+
+    /**
+     * @param x positive number
+     * @return x^y
+     */
+    @Nonnull
+    public static BigDecimal pow(@Nonnull final BigDecimal x, @Nonnull final BigDecimal y, @Nonnull MathContext mc) {
+        if (x.signum() <= 0) {
+            throw new ArithmeticException("Power of non-positive number: " + x);
+        }
+        return round(new Function() {
+            @Override
+            BigDecimal evaluate(@Nonnull MathContext mc) {
+                // error of the exponent is multiplied by the exponent
+                final BigDecimal l = lnRaw(x, mc);
+                final int digits = Math.max(0, exponent(l.multiply(y)) + 1);
+                final MathContext mc2 = new MathContext(mc.getPrecision() + digits, mc.getRoundingMode());
+                return expRaw(y.multiply(digits == 0 ? l : lnRaw(x, mc2), mc2), mc);
+            }
+        }, mc);
+    }
+
+    @Nonnull
+    public static BigDecimal pow(@Nonnull final BigDecimal x, final int n, @Nonnull MathContext mc) {
+        return round(new Function() {
+            @Override
+            BigDecimal evaluate(@Nonnull MathContext mc) {
+                return x.pow(n, mc);
+            }
+        }, mc);
+    }
+
+    /**
+     * @param x angle in radians
+     */
+    @Nonnull
+    public static BigDecimal sin(@Nonnull final BigDecimal x, @Nonnull MathContext mc) {
+        return round(new Function() {
+            @Override
+            BigDecimal evaluate(@Nonnull MathContext mc) {
+                return trigonometric(x, mc, 0);
+            }
+        }, mc);
+    }
+
+    /**
+     * @param x angle in radians
+     */
+    @Nonnull
+    public static BigDecimal cos(@Nonnull final BigDecimal x, @Nonnull MathContext mc) {
+        return round(new Function() {
+            @Override
+            BigDecimal evaluate(@Nonnull MathContext mc) {
+                return trigonometric(x, mc, 1);
+            }
+        }, mc);
+    }
+
+    /**
+     * @param x angle in radians
+     */
+    @Nonnull
+    public static BigDecimal tan(@Nonnull final BigDecimal x, @Nonnull MathContext mc) {
+        return round(new Function() {
+            @Override
+            BigDecimal evaluate(@Nonnull MathContext mc) {
+                return trigonometric(x, mc, 0).divide(trigonometric(x, mc, 1), mc);
+            }
+        }, mc);
+    }
+
+    /**
+     * @return angle in radians
+     */
+    @Nonnull
+    public static BigDecimal atan(@Nonnull final BigDecimal x, @Nonnull MathContext mc) {
+        return round(new Function() {
+            @Override
+            BigDecimal evaluate(@Nonnull MathContext mc) {
+                return atanRaw(x, mc);
+            }
+        }, mc);
+    }
+
+    /**
+     * @param x number in [-1, 1]
+     * @return angle in radians
+     */
+    @Nonnull
+    public static BigDecimal asin(@Nonnull final BigDecimal x, @Nonnull MathContext mc) {
+        if (x.abs().compareTo(BigDecimal.ONE) > 0) {
+            throw new ArithmeticException("Arcsine of number out of [-1, 1]: " + x);
+        }
+        return round(new Function() {
+            @Override
+            BigDecimal evaluate(@Nonnull MathContext mc) {
+                if (x.abs().compareTo(BigDecimal.ONE) == 0) {
+                    return pi(mc.getPrecision()).divide(TWO, mc).multiply(BigDecimal.valueOf(x.signum()));
+                }
+                // 1 - x^2 = (1 - x) * (1 + x), both are exact
+                final BigDecimal y = BigDecimal.ONE.subtract(x).multiply(BigDecimal.ONE.add(x), mc);
+                return atanRaw(x.divide(sqrtRaw(y, mc), mc), mc);
+            }
+        }, mc);
+    }
+
+    @Nonnull
+    public static BigDecimal sinh(@Nonnull final BigDecimal x, @Nonnull MathContext mc) {
+        return round(new Function() {
+            @Override
+            BigDecimal evaluate(@Nonnull MathContext mc) {
+                if (x.signum() == 0) {
+                    return BigDecimal.ZERO;
+                }
+                // (e^x - e^-x) / 2 loses the leading digits for small x
+                final MathContext mc2 = extend(mc, Math.max(0, -exponent(x)));
+                final BigDecimal e = expRaw(x, mc2);
+                return e.subtract(BigDecimal.ONE.divide(e, mc2), mc2).divide(TWO, mc);
+            }
+        }, mc);
+    }
+
+    @Nonnull
+    public static BigDecimal cosh(@Nonnull final BigDecimal x, @Nonnull MathContext mc) {
+        return round(new Function() {
+            @Override
+            BigDecimal evaluate(@Nonnull MathContext mc) {
+                final BigDecimal e = expRaw(x, mc);
+                return e.add(BigDecimal.ONE.divide(e, mc), mc).divide(TWO, mc);
+            }
+        }, mc);
+    }
+
+    @Nonnull
+    public static BigDecimal tanh(@Nonnull final BigDecimal x, @Nonnull MathContext mc) {
+        return round(new Function() {
+            @Override
+            BigDecimal evaluate(@Nonnull MathContext mc) {
+                if (x.signum() == 0) {
+                    return BigDecimal.ZERO;
+                }
+                // (e^2x - 1) / (e^2x + 1), e^-2|x| doesn't overflow
+                final MathContext mc2 = extend(mc, Math.max(0, -exponent(x)));
+                final BigDecimal e = expRaw(x.abs().multiply(TWO).negate(), mc2);
+                final BigDecimal result = BigDecimal.ONE.subtract(e, mc2).divide(BigDecimal.ONE.add(e, mc2), mc);
+                return x.signum() < 0 ? result.negate() : result;
+            }
+        }, mc);
+    }
+
+    @Nonnull
+    public static BigDecimal asinh(@Nonnull final BigDecimal x, @Nonnull MathContext mc) {
+        return round(new Function() {
+            @Override
+            BigDecimal evaluate(@Nonnull MathContext mc) {
+                if (x.signum() == 0) {
+                    return BigDecimal.ZERO;
+                }
+                // ln(|x| + √(x^2 + 1)), the digits of small x are lost in the sum
+                final MathContext mc2 = extend(mc, Math.max(0, -exponent(x)));
+                final BigDecimal a = x.abs();
+                final BigDecimal result = lnRaw(a.add(sqrtRaw(a.multiply(a).add(BigDecimal.ONE), mc2), mc2), mc);
+                return x.signum() < 0 ? result.negate() : result;
+            }
+        }, mc);
+    }
+
+    /**
+     * @param x number not less than 1
+     */
+    @Nonnull
+    public static BigDecimal acosh(@Nonnull final BigDecimal x, @Nonnull MathContext mc) {
+        if (x.compareTo(BigDecimal.ONE) < 0) {
+            throw new ArithmeticException("Inverse hyperbolic cosine of number less than 1: " + x);
+        }
+        return round(new Function() {
+            @Override
+            BigDecimal evaluate(@Nonnull MathContext mc) {
+                final BigDecimal y = x.subtract(BigDecimal.ONE);
+                if (y.signum() == 0) {
+                    return BigDecimal.ZERO;
+                }
+                // ln(x + √((x - 1) * (x + 1))), the digits are lost in the sum if x is close to 1
+                final MathContext mc2 = extend(mc, Math.max(0, -exponent(y)));
+                return lnRaw(x.add(sqrtRaw(y.multiply(x.add(BigDecimal.ONE)), mc2), mc2), mc);
+            }
+        }, mc);
+    }
+
+    /**
+     * @param x number in (-1, 1)
+     */
+    @Nonnull
+    public static BigDecimal atanh(@Nonnull final BigDecimal x, @Nonnull MathContext mc) {
+        if (x.abs().compareTo(BigDecimal.ONE) >= 0) {
+            throw new ArithmeticException("Inverse hyperbolic tangent of number out of (-1, 1): " + x);
+        }
+        return round(new Function() {
+            @Override
+            BigDecimal evaluate(@Nonnull MathContext mc) {
+                if (x.signum() == 0) {
+                    return BigDecimal.ZERO;
+                }
+                // ln((1 + x) / (1 - x)) / 2, the digits of small x are lost in the quotient
+                final MathContext mc2 = extend(mc, Math.max(0, -exponent(x)));
+                final BigDecimal q = BigDecimal.ONE.add(x).divide(BigDecimal.ONE.subtract(x), mc2);
+                return lnRaw(q, mc).divide(TWO, mc);
+            }
+        }, mc);
+    }
+
+    static abstract class Function {
+        abstract BigDecimal evaluate(@Nonnull MathContext mc);
+    }
+
+    // Ziv's strategy: the result is accepted if it doesn't change when its error (less than 100 units in the last
+    // place of the working precision) is added or subtracted
+    @Nonnull
+    static BigDecimal round(@Nonnull Function function, @Nonnull MathContext mc) {
+        final int precision = mc.getPrecision();
+        for (int guard = GUARD_DIGITS; ; guard *= 2) {
+            ParserUtils.checkInterruption();
+            final BigDecimal x = function.evaluate(new MathContext(precision + guard, RoundingMode.HALF_EVEN));
+            final BigDecimal result = x.round(mc);
+            if (x.signum() == 0 || guard > 2 * precision + 4 * GUARD_DIGITS) {
+                return result;
+            }
+            final BigDecimal error = BigDecimal.ONE.scaleByPowerOfTen(exponent(x) - precision - guard + 3);
+            if (x.add(error).round(mc).compareTo(result) == 0 && x.subtract(error).round(mc).compareTo(result) == 0) {
+                return result;
+            }
+        }
+    }
+
+    // x = m * 10^exponent, 1 <= |m| < 10
+    static int exponent(@Nonnull BigDecimal x) {
+        return x.precision() - x.scale() - 1;
+    }
+
+    private static MathContext extend(@Nonnull MathContext mc, int digits) {
+        return new MathContext(mc.getPrecision() + digits, RoundingMode.HALF_EVEN);
+    }
+
+    // the last term is less than the last digit of the sum
+    private static boolean small(@Nonnull BigDecimal term, @Nonnull BigDecimal sum, @Nonnull MathContext mc) {
+        return term.signum() == 0 || (sum.signum() != 0 && exponent(term) < exponent(sum) - mc.getPrecision() - 1);
+    }
+
+    @Nonnull
+    static BigDecimal expRaw(@Nonnull BigDecimal x, @Nonnull MathContext mc) {
+        if (x.signum() == 0) {
+            return BigDecimal.ONE;
+        }
+        // x = m * ln(10) + r, |r| <= ln(10) / 2
+        final long m = Math.round(x.doubleValue() / Math.log(10));
+        if (Math.abs(m) > Integer.MAX_VALUE / 2) {
+            throw new ArithmeticException("Exponent is out of range: " + x);
+        }
+        final int s = (int) Math.sqrt(mc.getPrecision()) + 2;
+        final MathContext mc2 = extend(mc, digits(m) + s + 5);
+        BigDecimal r = m == 0 ? x : x.subtract(ln10(mc2.getPrecision()).multiply(BigDecimal.valueOf(m)), mc2);
+        // exp(r) = exp(r / 2^s)^(2^s)
+        r = r.divide(TWO.pow(s), mc2);
+        BigDecimal sum = BigDecimal.ONE;
+        BigDecimal term = BigDecimal.ONE;
+        for (int i = 1; ; i++) {
+            term = term.multiply(r, mc2).divide(BigDecimal.valueOf(i), mc2);
+            sum = sum.add(term, mc2);
+            if (small(term, sum, mc2)) {
+                break;
+            }
+        }
+        for (int i = 0; i < s; i++) {
+            sum = sum.multiply(sum, mc2);
+        }
+        return sum.scaleByPowerOfTen((int) m).round(mc);
+    }
+
+    @Nonnull
+    static BigDecimal lnRaw(@Nonnull BigDecimal x, @Nonnull MathContext mc) {
+        // x = y * 10^m, 1 <= y < 10
+        final int m = exponent(x);
+        final BigDecimal y = x.scaleByPowerOfTen(-m);
+        if (y.compareTo(BigDecimal.ONE) == 0) {
+            return m == 0 ? BigDecimal.ZERO : ln10(mc.getPrecision() + 2).multiply(BigDecimal.valueOf(m), mc);
+        }
+        final int s = (int) Math.sqrt(mc.getPrecision()) / 2 + 2;
+        // digits lost in y - 1 for y close to 1
+        final int lost = Math.max(0, -exponent(y.subtract(BigDecimal.ONE)));
+        final MathContext mc2 = extend(mc, digits(m) + s + lost + 5);
+        // ln(y) = 2^s * ln(y^(1/2^s)) = 2^(s + 1) * atanh((z - 1) / (z + 1))
+        BigDecimal z = y;
+        for (int i = 0; i < s; i++) {
+            z = sqrtRaw(z, mc2);
+        }
+        BigDecimal result = atanhRaw(z.subtract(BigDecimal.ONE).divide(z.add(BigDecimal.ONE), mc2), mc2).multiply(TWO.pow(s + 1), mc2);
+        if (m != 0) {
+            result = result.add(ln10(mc2.getPrecision()).multiply(BigDecimal.valueOf(m)), mc2);
+        }
+        return result.round(mc);
+    }
+
+    // x + x^3 / 3 + x^5 / 5 + ...
+    @Nonnull
+    static BigDecimal atanhRaw(@Nonnull BigDecimal x, @Nonnull MathContext mc) {
+        final BigDecimal x2 = x.multiply(x, mc);
+        BigDecimal power = x;
+        BigDecimal sum = x;
+        for (int i = 3; ; i += 2) {
+            power = power.multiply(x2, mc);
+            final BigDecimal term = power.divide(BigDecimal.valueOf(i), mc);
+            sum = sum.add(term, mc);
+            if (small(term, sum, mc)) {
+                return sum;
+            }
+        }
+    }
+
+    // x - x^3 / 3 + x^5 / 5 - ...
+    @Nonnull
+    static BigDecimal atanRaw(@Nonnull BigDecimal x, @Nonnull MathContext mc) {
+        if (x.signum() == 0) {
+            return BigDecimal.ZERO;
+        }
+        if (x.abs().compareTo(BigDecimal.ONE) > 0) {
+            // atan(x) = ±π/2 - atan(1/x)
+            final MathContext mc2 = extend(mc, 2);
+            final BigDecimal halfPi = pi(mc2.getPrecision()).divide(TWO, mc2);
+            final BigDecimal a = atanRaw(BigDecimal.ONE.divide(x, mc2), mc2);
+            return (x.signum() > 0 ? halfPi : halfPi.negate()).subtract(a, mc);
+        }
+        final int s = (int) Math.sqrt(mc.getPrecision()) / 2 + 2;
+        final MathContext mc2 = extend(mc, s + 5);
+        // atan(x) = 2 * atan(x / (1 + √(1 + x^2)))
+        BigDecimal y = x;
+        for (int i = 0; i < s; i++) {
+            y = y.divide(BigDecimal.ONE.add(sqrtRaw(BigDecimal.ONE.add(y.multiply(y, mc2)), mc2)), mc2);
+        }
+        final BigDecimal y2 = y.multiply(y, mc2);
+        BigDecimal power = y;
+        BigDecimal sum = y;
+        for (int i = 3; ; i += 2) {
+            power = power.multiply(y2, mc2).negate();
+            final BigDecimal term = power.divide(BigDecimal.valueOf(i), mc2);
+            sum = sum.add(term, mc2);
+            if (small(term, sum, mc2)) {
+                break;
+            }
+        }
+        return sum.multiply(TWO.pow(s), mc);
+    }
+
+    // sine (k = 0) or cosine (k = 1)
+    @Nonnull
+    static BigDecimal trigonometric(@Nonnull BigDecimal x, @Nonnull MathContext mc, int k) {
+        // x = q * π/2 + r, |r| <= π/4
+        MathContext mc2 = extend(mc, Math.max(0, exponent(x) + 1) + 5);
+        BigInteger q;
+        BigDecimal r;
+        for (int i = 0; ; i++) {
+            final BigDecimal halfPi = pi(mc2.getPrecision()).divide(TWO, mc2);
+            q = x.divide(halfPi, mc2).setScale(0, RoundingMode.HALF_EVEN).toBigInteger();
+            r = x.subtract(halfPi.multiply(new BigDecimal(q)), mc2);
+            // x is close to a multiple of π/2: leading digits of r are lost, π/2 must be more precise
+            final int lost = r.signum() == 0 ? mc.getPrecision() : -exponent(r);
+            if (lost <= 0 || q.signum() == 0 || i >= 8) {
+                break;
+            }
+            mc2 = extend(mc2, lost);
+        }
+        final int quadrant = q.add(BigInteger.valueOf(k)).mod(BigInteger.valueOf(4)).intValue();
+        final BigDecimal result = quadrant % 2 == 0 ? sinRaw(r, mc2) : cosRaw(r, mc2);
+        return (quadrant < 2 ? result : result.negate()).round(mc);
+    }
+
+    @Nonnull
+    private static BigDecimal sinRaw(@Nonnull BigDecimal x, @Nonnull MathContext mc) {
+        if (x.signum() == 0) {
+            return BigDecimal.ZERO;
+        }
+        final BigDecimal x2 = x.multiply(x, mc);
+        BigDecimal term = x;
+        BigDecimal sum = x;
+        for (int i = 2; ; i += 2) {
+            term = term.multiply(x2, mc).divide(BigDecimal.valueOf((long) i * (i + 1)), mc).negate();
+            sum = sum.add(term, mc);
+            if (small(term, sum, mc)) {
+                return sum;
+            }
+        }
+    }
+
+    @Nonnull
+    private static BigDecimal cosRaw(@Nonnull BigDecimal x, @Nonnull MathContext mc) {
+        final BigDecimal x2 = x.multiply(x, mc);
+        BigDecimal term = BigDecimal.ONE;
+        BigDecimal sum = BigDecimal.ONE;
+        for (int i = 1; ; i += 2) {
+            term = term.multiply(x2, mc).divide(BigDecimal.valueOf((long) i * (i + 1)), mc).negate();
+            sum = sum.add(term, mc);
+            if (small(term, sum, mc)) {
+                return sum;
+            }
+        }
+    }
+
+    // truncated integer square root of x * 10^(2n) with at least precision + 2 digits
+    @Nonnull
+    static BigDecimal sqrtRaw(@Nonnull BigDecimal x, @Nonnull MathContext mc) {
+        if (x.signum() == 0) {
+            return BigDecimal.ZERO;
+        }
+        final int n = (2 * (mc.getPrecision() + 2) - exponent(x) + 1) / 2;
+        final BigInteger root = sqrt(x.scaleByPowerOfTen(2 * n).toBigInteger());
+        return new BigDecimal(root, n).round(mc);
+    }
+
+    // floor(√n) with Newton's method starting above the root
+    @Nonnull
+    static BigInteger sqrt(@Nonnull BigInteger n) {
+        if (n.signum() == 0) {
+            return n;
+        }
+        BigInteger x = BigInteger.ONE.shiftLeft((n.bitLength() + 1) / 2);
+        while (true) {
+            final BigInteger y = x.add(n.divide(x)).shiftRight(1);
+            if (y.compareTo(x) >= 0) {
+                return x;
+            }
+            x = y;
+        }
+    }
+
+    private static int digits(long n) {
+        return n == 0 ? 0 : (int) Math.log10(Math.abs((double) n)) + 1;
+    }
+
+    // constants with at least given number of correct digits
+
+    @Nonnull
+    static BigDecimal pi(int precision) {
+        Cached c = pi;
+        if (c.precision < precision) {
+            final int p = Math.max(precision, 2 * c.precision) + GUARD_DIGITS;
+            c = new Cached(chudnovsky(p), p);
+            pi = c;
+        }
+        return c.value.round(new MathContext(precision, RoundingMode.HALF_EVEN));
+    }
+
+    @Nonnull
+    static BigDecimal ln2(int precision) {
+        Cached c = ln2;
+        if (c.precision < precision) {
+            final int p = Math.max(precision, 2 * c.precision) + GUARD_DIGITS;
+            final MathContext mc = new MathContext(p + 5, RoundingMode.HALF_EVEN);
+            // ln(2) = 2 * atanh(1/3)
+            c = new Cached(atanhRaw(BigDecimal.ONE.divide(THREE, mc), mc).multiply(TWO, mc), p);
+            ln2 = c;
+        }
+        return c.value.round(new MathContext(precision, RoundingMode.HALF_EVEN));
+    }
+
+    @Nonnull
+    static BigDecimal ln10(int precision) {
+        Cached c = ln10;
+        if (c.precision < precision) {
+            final int p = Math.max(precision, 2 * c.precision) + GUARD_DIGITS;
+            final MathContext mc = new MathContext(p + 5, RoundingMode.HALF_EVEN);
+            // ln(10) = 3 * ln(2) + ln(5/4) = 3 * ln(2) + 2 * atanh(1/9)
+            final BigDecimal a = atanhRaw(BigDecimal.ONE.divide(NINE, mc), mc).multiply(TWO, mc);
+            c = new Cached(ln2(p + 5).multiply(THREE).add(a, mc), p);
+            ln10 = c;
+        }
+        return c.value.round(new MathContext(precision, RoundingMode.HALF_EVEN));
+    }
+
+    // π = 426880 * √10005 * Q(0, n) / T(0, n)
+    @Nonnull
+    private static BigDecimal chudnovsky(int precision) {
+        final MathContext mc = new MathContext(precision + 5, RoundingMode.HALF_EVEN);
+        // each term gives more than 14 digits
+        final BigInteger[] pqt = chudnovsky(0, precision / 14 + 2);
+        final BigDecimal numerator = sqrtRaw(BigDecimal.valueOf(10005), mc).multiply(BigDecimal.valueOf(426880)).multiply(new BigDecimal(pqt[1]));
+        return numerator.divide(new BigDecimal(pqt[2]), mc);
+    }
+
+    @Nonnull
+    private static BigInteger[] chudnovsky(long a, long b) {
+        if (b - a == 1) {
+            final BigInteger p;
+            final BigInteger q;
+            if (a == 0) {
+                p = BigInteger.ONE;
+                q = BigInteger.ONE;
+            } else {
+                p = BigInteger.valueOf(6 * a - 5).multiply(BigInteger.valueOf(2 * a - 1)).multiply(BigInteger.valueOf(6 * a - 1)).negate();
+                q = BigInteger.valueOf(a).pow(3).multiply(BigInteger.valueOf(10939058860032000L));
+            }
+            return new BigInteger[]{p, q, p.multiply(BigInteger.valueOf(13591409 + 545140134 * a))};
+        }
+        final long m = (a + b) / 2;
+        final BigInteger[] l = chudnovsky(a, m);
+        final BigInteger[] r = chudnovsky(m, b);
+        return new BigInteger[]{l[0].multiply(r[0]), l[1].multiply(r[1]), l[2].multiply(r[1]).add(l[0].multiply(r[2]))};
+    }
+
+    // e = 1 + P(0, n) / Q(0, n), n! > 10^precision
+    @Nonnull
+    private static BigDecimal e(int precision) {
+        int n = 1;
+        double digits = 0;
+        while (digits < precision + 2) {
+            n++;
+            digits += Math.log10(n);
+        }
+        final BigInteger[] pq = factorials(0, n);
+        final MathContext mc = new MathContext(precision + 5, RoundingMode.HALF_EVEN);
+        return BigDecimal.ONE.add(new BigDecimal(pq[0]).divide(new BigDecimal(pq[1]), mc), mc);
+    }
+
+    // sum of 1 / ((a + 1) * ... * k) for k in (a, b]
+    @Nonnull
+    private static BigInteger[] factorials(int a, int b) {
+        if (b - a == 1) {
+            return new BigInteger[]{BigInteger.ONE, BigInteger.valueOf(b)};
+        }
+        final int m = (a + b) / 2;
+        final BigInteger[] l = factorials(a, m);
+        final BigInteger[] r = factorials(m, b);
+        return new BigInteger[]{l[0].multiply(r[1]).add(r[0]), l[1].multiply(r[1])};
+    }
+
+    private static final class Cached {
+        @Nonnull
+        final BigDecimal value;
+        final int precision;
+
+        Cached(@Nonnull BigDecimal value, int precision) {
+            this.value = value;
+            this.precision = precision;
+        }
+    }
+}
@@ -0,0 +1,485 @@
+package jscl.math.numeric;
+
+import jscl.AngleUnit;
+import jscl.EvaluationContext;
+import jscl.NumeralBase;
+import jscl.math.NotDivisibleException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Real number with the given number of significant digits, the results of the operations and of the elementary
+ * functions are correctly rounded to it (see {@link BigDecimalMath}). Doubles are converted to their shortest decimal
+ * representations (so 0.1 is exactly 0.1), operations with infinities, NaNs and complex numbers are done with doubles.
+ * <p/>
+ * Numbers of the evaluation are of this type if {@link EvaluationContext#getNumericPrecision()} is not 0, see
+ * {@link Numeric#real(BigDecimal)}.
+ */
+public final class BigReal extends Numeric {
+
+    // |x| for which exp(x) is computed with doubles (overflows)
+    private static final BigDecimal MAX_EXPONENT = BigDecimal.valueOf(100000000);
+
+    @Nonnull
+    private final BigDecimal content;
+    @Nonnull
+    private final MathContext mc;
+
+    private BigReal(@Nonnull BigDecimal content, @Nonnull MathContext mc) {
+        this.content = content;
+        this.mc = mc;
+    }
+
+    @Nonnull
+    public static BigReal valueOf(@Nonnull BigDecimal value, int precision) {
+        final MathContext mc = new MathContext(precision, RoundingMode.HALF_EVEN);
+        return new BigReal(value.round(mc), mc);
+    }
+
+    @Nonnull
+    public BigDecimal content() {
+        return content;
+    }
+
+    public int precision() {
+        return mc.getPrecision();
+    }
+
+    @Nonnull
+    private BigReal newInstance(@Nonnull BigDecimal value) {
+        return new BigReal(value.round(mc), mc);
+    }
+
+    // finite doubles are converted with the precision of this
+    @Nullable
+    private BigReal toBigReal(@Nonnull Numeric numeric) {
+        if (numeric instanceof BigReal) {
+            final BigReal that = (BigReal) numeric;
+            return that.mc.getPrecision() <= mc.getPrecision() ? that : new BigReal(that.content, mc);
+        } else if (numeric instanceof Real) {
+            final double value = numeric.doubleValue();
+            if (!Double.isNaN(value) && !Double.isInfinite(value)) {
+                return newInstance(BigDecimal.valueOf(value));
+            }
+        }
+        return null;
+    }
+
+    @Nonnull
+    private MathContext context(@Nonnull BigReal that) {
+        return that.mc.getPrecision() > mc.getPrecision() ? that.mc : mc;
+    }
+
+    @Nonnull
+    public Real toReal() {
+        return Real.valueOf(content.doubleValue());
+    }
+
+    @Nonnull
+    public Numeric add(@Nonnull Numeric that) {
+        final BigReal b = toBigReal(that);
+        if (b != null) {
+            final MathContext mc = context(b);
+            return new BigReal(content.add(b.content, mc), mc);
+        } else if (that instanceof Real) {
+            return toReal().add(that);
+        } else {
+            return that.valueOf(this).add(that);
+        }
+    }
+
+    @Nonnull
+    public Numeric subtract(@Nonnull Numeric that) {
+        final BigReal b = toBigReal(that);
+        if (b != null) {
+            final MathContext mc = context(b);
+            return new BigReal(content.subtract(b.content, mc), mc);
+        } else if (that instanceof Real) {
+            return toReal().subtract(that);
+        } else {
+            return that.valueOf(this).subtract(that);
+        }
+    }
+
+    @Nonnull
+    public Numeric multiply(@Nonnull Numeric that) {
+        final BigReal b = toBigReal(that);
+        if (b != null) {
+            final MathContext mc = context(b);
+            return new BigReal(content.multiply(b.content, mc), mc);
+        } else if (that instanceof Real) {
+            return toReal().multiply(that);
+        } else {
+            return that.multiply(this);
+        }
+    }
+
+    @Nonnull
+    public Numeric divide(@Nonnull Numeric that) throws NotDivisibleException {
+        final BigReal b = toBigReal(that);
+        if (b != null && b.signum() != 0) {
+            final MathContext mc = context(b);
+            return new BigReal(content.divide(b.content, mc), mc);
+        } else if (b != null || that instanceof Real) {
+            // infinity or NaN
+            return toReal().divide(b != null ? b.toReal() : that);
+        } else {
+            return that.valueOf(this).divide(that);
+        }
+    }
+
+    @Nonnull
+    public Numeric negate() {
+        return new BigReal(content.negate(), mc);
+    }
+
+    public int signum() {
+        return content.signum();
+    }
+
+    @Nonnull
+    public Numeric ln() {
+        if (signum() > 0) {
+            return newInstance(BigDecimalMath.ln(content, mc));
+        } else {
+            return toReal().ln();
+        }
+    }
+
+    @Nonnull
+    public Numeric lg() {
+        if (signum() > 0) {
+            return newInstance(BigDecimalMath.lg(content, mc));
+        } else {
+            return toReal().lg();
+        }
+    }
+
+    @Nonnull
+    public Numeric exp() {
+        if (content.abs().compareTo(MAX_EXPONENT) > 0) {
+            return toReal().exp();
+        }
+        return newInstance(BigDecimalMath.exp(content, mc));
+    }
+
+    @Nonnull
+    public Numeric inverse() {
+        return Real.ONE.divide(this);
+    }
+
+    @Nonnull
+    public Numeric pow(@Nonnull Numeric numeric) {
+        final BigReal that = toBigReal(numeric);
+        if (that == null) {
+            if (numeric instanceof Real) {
+                return toReal().pow(numeric);
+            }
+            return numeric.valueOf(this).pow(numeric);
+        }
+        final BigInteger n = that.toBigInteger();
+        if (n != null && n.bitLength() < 30 && (signum() != 0 || n.signum() > 0)) {
+            return newInstance(BigDecimalMath.pow(content, n.intValue(), mc));
+        } else if (signum() > 0) {
+            return newInstance(BigDecimalMath.pow(content, that.content, mc));
+        } else if (signum() == 0 && that.signum() > 0) {
+            return this;
+        } else {
+            // complex result
+            return toReal().pow(that.toReal());
+        }
+    }
+
+    @Nonnull
+    public Numeric pow(int exponent) {
+        if (exponent >= 0 || signum() != 0) {
+            return newInstance(BigDecimalMath.pow(content, exponent, mc));
+        }
+        return super.pow(exponent);
+    }
+
+    @Nonnull
+    public Numeric sqrt() {
+        if (signum() < 0) {
+            return Complex.I.multiply(negate().sqrt());
+        } else {
+            return newInstance(BigDecimalMath.sqrt(content, mc));
+        }
+    }
+
+    @Nonnull
+    public Numeric nThRoot(int n) {
+        if (signum() < 0) {
+            return n % 2 == 0 ? sqrt().nThRoot(n / 2) : negate().nThRoot(n).negate();
+        } else if (signum() == 0 || n == 1) {
+            return this;
+        } else if (n == 2) {
+            return sqrt();
+        } else {
+            final MathContext mc2 = new MathContext(mc.getPrecision() + BigDecimalMath.GUARD_DIGITS, RoundingMode.HALF_EVEN);
+            return newInstance(BigDecimalMath.exp(BigDecimalMath.ln(content, mc2).divide(BigDecimal.valueOf(n), mc2), mc));
+        }
+    }
+
+    public Numeric conjugate() {
+        return this;
+    }
+
+    /*
+     * Angles in default units are converted with π of the required precision, multiples of the right angle are exact
+     */
+
+    @Nonnull
+    private static BigDecimal rightAngle(@Nonnull AngleUnit angleUnits) {
+        switch (angleUnits) {
+            case deg:
+                return BigDecimal.valueOf(90);
+            case grad:
+                return BigDecimal.valueOf(100);
+            case turns:
+                return new BigDecimal("0.25");
+            default:
+                throw new UnsupportedOperationException("Conversion from " + angleUnits + " is not supported!");
+        }
+    }
+
+    // number of right angles in this angle if it is a multiple of the right angle
+    @Nullable
+    private Integer rightAngles() {
+        final AngleUnit angleUnits = EvaluationContext.current().getAngleUnits();
+        if (angleUnits == AngleUnit.rad) {
+            return signum() == 0 ? 0 : null;
+        }
+        final BigDecimal[] qr = content.divideAndRemainder(rightAngle(angleUnits));
+        return qr[1].signum() == 0 ? qr[0].toBigInteger().mod(BigInteger.valueOf(4)).intValue() : null;
+    }
+
+    @Nonnull
+    private BigDecimal defaultToRad() {
+        final AngleUnit angleUnits = EvaluationContext.current().getAngleUnits();
+        if (angleUnits == AngleUnit.rad) {
+            return content;
+        }
+        final MathContext mc2 = new MathContext(mc.getPrecision() + BigDecimalMath.GUARD_DIGITS, RoundingMode.HALF_EVEN);
+        final BigDecimal halfPi = BigDecimalMath.pi(mc2).divide(BigDecimal.valueOf(2), mc2);
+        return content.multiply(halfPi).divide(rightAngle(angleUnits), mc2);
+    }
+
+    @Nonnull
+    private Numeric radToDefault(@Nonnull BigDecimal value) {
+        final AngleUnit angleUnits = EvaluationContext.current().getAngleUnits();
+        if (angleUnits == AngleUnit.rad) {
+            return newInstance(value);
+        }
+        final MathContext mc2 = new MathContext(mc.getPrecision() + BigDecimalMath.GUARD_DIGITS, RoundingMode.HALF_EVEN);
+        final BigDecimal halfPi = BigDecimalMath.pi(mc2).divide(BigDecimal.valueOf(2), mc2);
+        return newInstance(value.multiply(rightAngle(angleUnits)).divide(halfPi, mc2));
+    }
+
+    @Nonnull
+    private BigDecimal halfPi(@Nonnull MathContext mc) {
+        return BigDecimalMath.pi(mc).divide(BigDecimal.valueOf(2), mc);
+    }
+
+    @Nonnull
+    public Numeric sin() {
+        final Integer n = rightAngles();
+        if (n != null) {
+            return newInstance(BigDecimal.valueOf(n == 1 ? 1 : n == 3 ? -1 : 0));
+        }
+        return newInstance(BigDecimalMath.sin(defaultToRad(), mc));
+    }
+
+    @Nonnull
+    public Numeric cos() {
+        final Integer n = rightAngles();
+        if (n != null) {
+            return newInstance(BigDecimal.valueOf(n == 0 ? 1 : n == 2 ? -1 : 0));
+        }
+        return newInstance(BigDecimalMath.cos(defaultToRad(), mc));
+    }
+
+    @Nonnull
+    public Numeric tan() {
+        final Integer n = rightAngles();
+        if (n != null) {
+            return n % 2 == 0 ? newInstance(BigDecimal.ZERO) : Real.valueOf(n == 1 ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY);
+        }
+        return newInstance(BigDecimalMath.tan(defaultToRad(), mc));
+    }
+
+    @Nonnull
+    public Numeric cot() {
+        return Real.ONE.divide(tan());
+    }
+
+    @Nonnull
+    public Numeric asin() {
+        if (content.abs().compareTo(BigDecimal.ONE) > 0) {
+            return super.asin();
+        }
+        return radToDefault(BigDecimalMath.asin(content, extended()));
+    }
+
+    @Nonnull
+    public Numeric acos() {
+        if (content.abs().compareTo(BigDecimal.ONE) > 0) {
+            return super.acos();
+        }
+        final MathContext mc2 = extended();
+        return radToDefault(halfPi(mc2).subtract(BigDecimalMath.asin(content, mc2), mc2));
+    }
+
+    @Nonnull
+    public Numeric atan() {
+        return radToDefault(BigDecimalMath.atan(content, extended()));
+    }
+
+    @Nonnull
+    public Numeric acot() {
+        final MathContext mc2 = extended();
+        return radToDefault(halfPi(mc2).subtract(BigDecimalMath.atan(content, mc2), mc2));
+    }
+
+    /*
+     * Arguments of the hyperbolic functions and results of the inverse ones are converted between the default angle
+     * units and radians as in Numeric
+     */
+
+    @Nonnull
+    public Numeric sinh() {
+        final BigDecimal x = defaultToRad();
+        if (x.abs().compareTo(MAX_EXPONENT) > 0) {
+            return super.sinh();
+        }
+        return newInstance(BigDecimalMath.sinh(x, mc));
+    }
+
+    @Nonnull
+    public Numeric cosh() {
+        final BigDecimal x = defaultToRad();
+        if (x.abs().compareTo(MAX_EXPONENT) > 0) {
+            return super.cosh();
+        }
+        return newInstance(BigDecimalMath.cosh(x, mc));
+    }
+
+    @Nonnull
+    public Numeric tanh() {
+        return newInstance(BigDecimalMath.tanh(defaultToRad(), mc));
+    }
+
+    @Nonnull
+    public Numeric coth() {
+        return Real.ONE.divide(tanh());
+    }
+
+    @Nonnull
+    public Numeric asinh() {
+        return radToDefault(BigDecimalMath.asinh(content, extended()));
+    }
+
+    @Nonnull
+    public Numeric acosh() {
+        if (content.compareTo(BigDecimal.ONE) < 0) {
+            return super.acosh();
+        }
+        return radToDefault(BigDecimalMath.acosh(content, extended()));
+    }
+
+    @Nonnull
+    public Numeric atanh() {
+        if (content.abs().compareTo(BigDecimal.ONE) >= 0) {
+            return super.atanh();
+        }
+        return radToDefault(BigDecimalMath.atanh(content, extended()));
+    }
+
+    @Nonnull
+    public Numeric acoth() {
+        if (content.abs().compareTo(BigDecimal.ONE) <= 0) {
+            return super.acoth();
+        }
+        final MathContext mc2 = extended();
+        return radToDefault(BigDecimalMath.atanh(BigDecimal.ONE.divide(content, mc2), mc2));
+    }
+
+    @Nonnull
+    private MathContext extended() {
+        return new MathContext(mc.getPrecision() + BigDecimalMath.GUARD_DIGITS, RoundingMode.HALF_EVEN);
+    }
+
+    @Nonnull
+    public Numeric valueOf(@Nonnull Numeric numeric) {
+        final BigReal result = toBigReal(numeric);
+        if (result == null) {
+            throw new ArithmeticException();
+        }
+        return result;
+    }
+
+    public int compareTo(Numeric numeric) {
+        final BigReal that = toBigReal(numeric);
+        if (that != null) {
+            return content.compareTo(that.content);
+        } else if (numeric instanceof Real) {
+            return toReal().compareTo(numeric);
+        } else {
+            return numeric.valueOf(this).compareTo(numeric);
+        }
+    }
+
+    public String toString() {
+        final NumeralBase numeralBase = EvaluationContext.current().getNumeralBase();
+        if (numeralBase != NumeralBase.dec) {
+            // integers which fit into the precision are exact and are printed with all their digits, other numbers
+            // with double precision
+            final BigInteger integer = toBigInteger();
+            if (integer != null && BigDecimalMath.exponent(content) < mc.getPrecision()) {
+                return numeralBase.toString(integer);
+            }
+            return toString(content.doubleValue());
+        }
+        final BigDecimal value = content.stripTrailingZeros();
+        final int exponent = BigDecimalMath.exponent(value);
+        if (exponent >= -10 && exponent < mc.getPrecision()) {
+            return value.toPlainString();
+        }
+        // 1.2345E-20
+        final String digits = value.unscaledValue().abs().toString();
+        final StringBuilder result = new StringBuilder();
+        if (value.signum() < 0) {
+            result.append('-');
+        }
+        result.append(digits.charAt(0));
+        if (digits.length() > 1) {
+            result.append('.').append(digits, 1, digits.length());
+        }
+        return result.append('E').append(exponent).toString();
+    }
+
+    @Nonnull
+    public Complex toComplex() {
+        return Complex.valueOf(content.doubleValue(), 0.);
+    }
+
+    @Override
+    public BigInteger toBigInteger() {
+        if (signum() == 0) {
+            return BigInteger.ZERO;
+        }
+        final BigDecimal value = content.stripTrailingZeros();
+        return value.scale() <= 0 ? value.toBigIntegerExact() : null;
+    }
+
+    @Override
+    public double doubleValue() {
+        return content.doubleValue();
+    }
+}
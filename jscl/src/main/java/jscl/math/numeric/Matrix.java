@@ -5,9 +5,14 @@ import jscl.math.NotDoubleException;
 import jscl.util.ArrayComparator;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Arrays;
 
 public class Matrix extends Numeric {
 
+    // matrices up to this size are inverted with cofactors: it's cheap and gives the most accurate results
+    private static final int SMALL_SIZE = 4;
+
     @Nonnull
     private final Numeric m[][];
 
@@ -205,6 +210,23 @@ public class Matrix extends Numeric {
 
     @Nonnull
     public Numeric inverse() {
+        if (rows > SMALL_SIZE) {
+            final LuDecomposition lu = LuDecomposition.of(this);
+            if (lu != null) {
+                final Matrix m = newInstance(new Numeric[rows][rows]);
+                for (int j = 0; j < rows; j++) {
+                    final Numeric column[] = new Numeric[rows];
+                    for (int i = 0; i < rows; i++) {
+                        column[i] = i == j ? Real.ONE : Real.ZERO;
+                    }
+                    lu.solve(column);
+                    for (int i = 0; i < rows; i++) {
+                        m.m[i][j] = column[i];
+                    }
+                }
+                return m;
+            }
+        }
         Matrix m = newInstance();
         for (int i = 0; i < rows; i++) {
             for (int j = 0; j < rows; j++) {
@@ -231,7 +253,10 @@ public class Matrix extends Numeric {
     }
 
     public Numeric determinant() {
-        if (rows > 1) {
+        if (rows > SMALL_SIZE) {
+            final LuDecomposition lu = LuDecomposition.of(this);
+            return lu == null ? Real.ZERO : lu.determinant();
+        } else if (rows > 1) {
             Numeric a = Real.ZERO;
             for (int i = 0; i < rows; i++) {
                 if (m[i][0].signum() != 0) {
@@ -251,6 +276,27 @@ public class Matrix extends Numeric {
         else return Real.ZERO;
     }
 
+    /**
+     * Solves the linear system <code>this * x = vector</code>
+     *
+     * @param vector right-hand side of the system
+     * @return solution of the system
+     * @throws ArithmeticException if the matrix is not square or is singular
+     */
+    @Nonnull
+    public Vector solve(@Nonnull Vector vector) {
+        if (rows != cols || rows != vector.n) {
+            throw new ArithmeticException("Unable to solve linear system: matrix must be square and its size must match the size of vector!");
+        }
+        final LuDecomposition lu = LuDecomposition.of(this);
+        if (lu == null) {
+            throw new ArithmeticException("Unable to solve linear system: matrix is singular!");
+        }
+        final Numeric x[] = vector.element.clone();
+        lu.solve(x);
+        return vector.newInstance(x);
+    }
+
     @Nonnull
     public Numeric ln() {
         throw new ArithmeticException();
@@ -315,4 +361,115 @@ public class Matrix extends Numeric {
     protected Matrix newInstance(Numeric element[][]) {
         return new Matrix(element);
     }
+
+    /**
+     * LU decomposition with partial pivoting: <code>P * A = L * U</code> where <code>L</code> is unit lower
+     * triangular and <code>U</code> is upper triangular. Both are stored in one array (the unit diagonal of
+     * <code>L</code> is not stored).
+     */
+    private static final class LuDecomposition {
+
+        @Nonnull
+        private final Numeric lu[][];
+        // row of the original matrix for each row of the decomposition
+        @Nonnull
+        private final int permutation[];
+        private final boolean odd;
+
+        private LuDecomposition(@Nonnull Numeric lu[][], @Nonnull int permutation[], boolean odd) {
+            this.lu = lu;
+            this.permutation = permutation;
+            this.odd = odd;
+        }
+
+        /**
+         * @return decomposition of the square part of the matrix or null if the matrix is singular
+         */
+        @Nullable
+        static LuDecomposition of(@Nonnull Matrix matrix) {
+            final int n = matrix.rows;
+            final Numeric lu[][] = new Numeric[n][];
+            final int permutation[] = new int[n];
+            for (int i = 0; i < n; i++) {
+                lu[i] = Arrays.copyOf(matrix.m[i], n);
+                permutation[i] = i;
+            }
+
+            boolean odd = false;
+            for (int k = 0; k < n; k++) {
+                // the largest pivot keeps the multipliers not greater than 1 by absolute value
+                int p = k;
+                double max = magnitude(lu[k][k]);
+                for (int i = k + 1; i < n; i++) {
+                    final double magnitude = magnitude(lu[i][k]);
+                    if (magnitude > max) {
+                        max = magnitude;
+                        p = i;
+                    }
+                }
+                if (max == 0) {
+                    return null;
+                }
+                if (p != k) {
+                    final Numeric row[] = lu[k];
+                    lu[k] = lu[p];
+                    lu[p] = row;
+                    final int i = permutation[k];
+                    permutation[k] = permutation[p];
+                    permutation[p] = i;
+                    odd = !odd;
+                }
+
+                final Numeric pivot = lu[k][k];
+                for (int i = k + 1; i < n; i++) {
+                    final Numeric factor = lu[i][k].divide(pivot);
+                    lu[i][k] = factor;
+                    if (factor.signum() != 0) {
+                        for (int j = k + 1; j < n; j++) {
+                            lu[i][j] = lu[i][j].subtract(factor.multiply(lu[k][j]));
+                        }
+                    }
+                }
+            }
+            return new LuDecomposition(lu, permutation, odd);
+        }
+
+        private static double magnitude(@Nonnull Numeric numeric) {
+            return numeric instanceof Complex ? ((Complex) numeric).magnitude() : Math.abs(numeric.doubleValue());
+        }
+
+        @Nonnull
+        Numeric determinant() {
+            Numeric result = lu[0][0];
+            for (int i = 1; i < lu.length; i++) {
+                result = result.multiply(lu[i][i]);
+            }
+            return odd ? result.negate() : result;
+        }
+
+        /**
+         * Replaces <var>b</var> with the solution of the system <code>A * x = b</code>
+         */
+        void solve(@Nonnull Numeric b[]) {
+            final int n = lu.length;
+            final Numeric x[] = new Numeric[n];
+            // L * y = P * b
+            for (int i = 0; i < n; i++) {
+                Numeric s = b[permutation[i]];
+                for (int j = 0; j < i; j++) {
+                    s = s.subtract(lu[i][j].multiply(x[j]));
+                }
+                x[i] = s;
+            }
+            // U * x = y
+            for (int i = n - 1; i >= 0; i--) {
+                Numeric s = x[i];
+                for (int j = i + 1; j < n; j++) {
+                    s = s.subtract(lu[i][j].multiply(x[j]));
+                }
+                x[i] = s.divide(lu[i][i]);
+            }
+            System.arraycopy(x, 0, b, 0, n);
+        }
+    }
 }
@@ -1,10 +1,12 @@
 package jscl.math.numeric;
 
 import jscl.AngleUnit;
+import jscl.EvaluationContext;
 import jscl.JsclMathEngine;
 import jscl.math.Arithmetic;
 
 import javax.annotation.Nonnull;
+import java.math.BigDecimal;
 import java.math.BigInteger;
 
 import static jscl.math.numeric.Complex.I;
@@ -18,26 +20,77 @@ public abstract class Numeric implements Arithmetic<Numeric>, INumeric<Numeric>,
          return add(numeric.negate());
      }*/
 
+    /**
+     * @param value real value
+     * @return {@link Real} or, if {@link EvaluationContext#getNumericPrecision()} of the current evaluation is set,
+     * {@link BigReal} with the shortest decimal representation of the value
+     */
+    @Nonnull
+    public static Numeric real(double value) {
+        final int precision = EvaluationContext.current().getNumericPrecision();
+        if (precision == 0 || Double.isNaN(value) || Double.isInfinite(value)) {
+            return Real.valueOf(value);
+        }
+        return BigReal.valueOf(BigDecimal.valueOf(value), precision);
+    }
+
+    /**
+     * @param value real value
+     * @return {@link Real} or, if {@link EvaluationContext#getNumericPrecision()} of the current evaluation is set,
+     * {@link BigReal} rounded to that precision
+     */
+    @Nonnull
+    public static Numeric real(@Nonnull BigDecimal value) {
+        final int precision = EvaluationContext.current().getNumericPrecision();
+        if (precision == 0) {
+            return Real.valueOf(value.doubleValue());
+        }
+        return BigReal.valueOf(value, precision);
+    }
+
+    /**
+     * @param subscript index of the root, see {@link #roots(Numeric[])} for the order
+     * @param parameter coefficients of the polynomial, parameter[i] is the coefficient of x^i
+     * @return root of the polynomial with the given subscript
+     */
     public static Numeric root(int subscript, Numeric parameter[]) {
-        throw new ArithmeticException();
+        final Numeric[] roots = PolynomialRoots.roots(parameter);
+        if (subscript < 0 || subscript >= roots.length) {
+            throw new ArithmeticException("Unable to find root: subscript " + subscript + " is out of range!");
+        }
+        return roots[subscript];
+    }
+
+    /**
+     * Finds all the roots of the polynomial at once (results are cached, so {@link #root(int, Numeric[])} called for
+     * each subscript of the same polynomial finds them only once)
+     *
+     * @param parameter coefficients of the polynomial, parameter[i] is the coefficient of x^i
+     * @return all the roots of the polynomial (with multiplicities). Roots of linear and quadratic polynomials are in the
+     * order of {@link jscl.math.function.Root}'s subscripts, roots of polynomials of higher degrees are ordered by
+     * their real and then by their imaginary parts
+     */
+    @Nonnull
+    public static Numeric[] roots(Numeric parameter[]) {
+        return PolynomialRoots.roots(parameter).clone();
     }
 
     protected static double defaultToRad(double value) {
-        return JsclMathEngine.getInstance().getAngleUnits().transform(AngleUnit.rad, value);
+        return EvaluationContext.current().getAngleUnits().transform(AngleUnit.rad, value);
     }
 
     protected static double radToDefault(double value) {
-        return AngleUnit.rad.transform(JsclMathEngine.getInstance().getAngleUnits(), value);
+        return AngleUnit.rad.transform(EvaluationContext.current().getAngleUnits(), value);
     }
 
     @Nonnull
     protected static Numeric defaultToRad(@Nonnull Numeric value) {
-        return JsclMathEngine.getInstance().getAngleUnits().transform(AngleUnit.rad, value);
+        return EvaluationContext.current().getAngleUnits().transform(AngleUnit.rad, value);
     }
 
     @Nonnull
     protected static Numeric radToDefault(@Nonnull Numeric value) {
-        return AngleUnit.rad.transform(JsclMathEngine.getInstance().getAngleUnits(), value);
+        return AngleUnit.rad.transform(EvaluationContext.current().getAngleUnits(), value);
     }
 
     @Override
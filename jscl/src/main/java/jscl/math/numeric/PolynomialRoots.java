@@ -0,0 +1,370 @@
+package jscl.math.numeric;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.GuardedBy;
+
+import jscl.text.ParserUtils;
+
+/**
+ * Numeric roots of univariate polynomials. Roots of linear and quadratic polynomials are given by the same formulas
+ * as the symbolic ones (see {@link jscl.math.function.Root}), so the subscripts agree. All the roots of higher
+ * degree polynomials are found simultaneously with Aberth-Ehrlich iteration and are ordered by their real and then
+ * by their imaginary parts.
+ * <p/>
+ * If some coefficients are {@link BigReal}s real roots of higher degree polynomials are refined with Newton's
+ * iterations in their precision (for multiple roots only part of the digits are correct), complex roots are computed
+ * with doubles.
+ * <p/>
+ * Roots of the last polynomials with double coefficients are cached: Root(p, 0), Root(p, 1), ... are usually
+ * evaluated together.
+ */
+final class PolynomialRoots {
+
+    private static final int MAX_ITERATIONS = 500;
+    private static final double EPSILON = Math.ulp(1d);
+    // imaginary parts of the roots of real polynomials which are considered as noise (relative to the magnitude)
+    private static final double IMAGINARY_NOISE = 1e-9;
+    private static final int CACHE_SIZE = 16;
+    // Newton's iterations converge quadratically to simple roots and linearly to multiple ones
+    private static final int MAX_POLISH_ITERATIONS = 100;
+
+    @GuardedBy("cache")
+    @Nonnull
+    private static final Map<Key, Numeric[]> cache = new LinkedHashMap<Key, Numeric[]>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Numeric[]> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private PolynomialRoots() {
+        throw new AssertionError();
+    }
+
+    /**
+     * @param parameters coefficients of the polynomial, parameters[i] is the coefficient of x^i
+     * @return all the roots of the polynomial (with multiplicities). The returned array must not be modified
+     * @throws ArithmeticException if coefficients are not numbers or the polynomial is constant
+     */
+    @Nonnull
+    static Numeric[] roots(@Nonnull Numeric[] parameters) {
+        int degree = parameters.length - 1;
+        while (degree >= 0 && parameters[degree].signum() == 0) {
+            degree--;
+        }
+        if (degree < 1) {
+            throw new ArithmeticException("Unable to find roots of constant polynomial!");
+        }
+
+        final double[] re = new double[degree + 1];
+        final double[] im = new double[degree + 1];
+        boolean real = true;
+        int precision = 0;
+        for (int i = 0; i <= degree; i++) {
+            final Numeric parameter = parameters[i];
+            if (parameter instanceof Real) {
+                re[i] = parameter.doubleValue();
+            } else if (parameter instanceof BigReal) {
+                re[i] = parameter.doubleValue();
+                precision = Math.max(precision, ((BigReal) parameter).precision());
+            } else if (parameter instanceof Complex) {
+                re[i] = ((Complex) parameter).realPart();
+                im[i] = ((Complex) parameter).imaginaryPart();
+                real &= im[i] == 0d;
+            } else {
+                throw new ArithmeticException("Unable to find roots: coefficients are not numbers!");
+            }
+        }
+
+        // different BigReals might have the same double values
+        final Key key = precision == 0 ? new Key(re, im) : null;
+        if (key != null) {
+            synchronized (cache) {
+                final Numeric[] roots = cache.get(key);
+                if (roots != null) {
+                    return roots;
+                }
+            }
+        }
+
+        final Numeric[] roots;
+        switch (degree) {
+            case 1:
+                roots = new Numeric[]{parameters[0].divide(parameters[1]).negate()};
+                break;
+            case 2:
+                roots = quadratic(parameters[0].divide(parameters[2]), parameters[1].divide(parameters[2]));
+                break;
+            default:
+                roots = aberth(re, im, degree, real);
+                if (precision > 0 && real) {
+                    polish(roots, parameters, degree, precision);
+                }
+                break;
+        }
+
+        if (key != null) {
+            synchronized (cache) {
+                cache.put(key, roots);
+            }
+        }
+        return roots;
+    }
+
+    // real roots are refined with Newton's iterations
+    private static void polish(@Nonnull Numeric[] roots, @Nonnull Numeric[] parameters, int degree, int precision) {
+        final MathContext mc = new MathContext(precision + BigDecimalMath.GUARD_DIGITS, RoundingMode.HALF_EVEN);
+        final BigDecimal[] p = new BigDecimal[degree + 1];
+        for (int i = 0; i <= degree; i++) {
+            final Numeric parameter = parameters[i];
+            p[i] = parameter instanceof BigReal ? ((BigReal) parameter).content() : BigDecimal.valueOf(parameter.doubleValue());
+        }
+        for (int k = 0; k < roots.length; k++) {
+            if (roots[k] instanceof Real) {
+                roots[k] = BigReal.valueOf(polish(p, degree, new BigDecimal(roots[k].doubleValue()), precision, mc), precision);
+            }
+        }
+    }
+
+    @Nonnull
+    private static BigDecimal polish(@Nonnull BigDecimal[] p, int degree, @Nonnull BigDecimal x, int precision, @Nonnull MathContext mc) {
+        for (int iteration = 0; iteration < MAX_POLISH_ITERATIONS && x.signum() != 0; iteration++) {
+            // Horner's scheme for p(x) and p'(x)
+            BigDecimal v = p[degree];
+            BigDecimal d = BigDecimal.ZERO;
+            for (int i = degree - 1; i >= 0; i--) {
+                d = d.multiply(x, mc).add(v, mc);
+                v = v.multiply(x, mc).add(p[i], mc);
+            }
+            if (v.signum() == 0 || d.signum() == 0) {
+                break;
+            }
+            final BigDecimal step = v.divide(d, mc);
+            x = x.subtract(step, mc);
+            if (BigDecimalMath.exponent(step) < BigDecimalMath.exponent(x) - precision - 2) {
+                break;
+            }
+        }
+        return x;
+    }
+
+    // x^2 + a*x + b: same as Root#quadratic()
+    @Nonnull
+    private static Numeric[] quadratic(@Nonnull Numeric b, @Nonnull Numeric a) {
+        final Numeric y = a.multiply(a).subtract(Real.valueOf(4).multiply(b)).sqrt();
+        return new Numeric[]{
+                a.subtract(y).divide(Real.TWO).negate(),
+                a.add(y).divide(Real.TWO).negate()
+        };
+    }
+
+    @Nonnull
+    private static Numeric[] aberth(@Nonnull double[] re, @Nonnull double[] im, int degree, boolean real) {
+        final double[] zRe = new double[degree];
+        final double[] zIm = new double[degree];
+
+        // roots at zero are exact
+        int zeros = 0;
+        while (re[zeros] == 0d && im[zeros] == 0d) {
+            zeros++;
+        }
+        final int n = degree - zeros;
+        final double[] pRe = Arrays.copyOfRange(re, zeros, degree + 1);
+        final double[] pIm = Arrays.copyOfRange(im, zeros, degree + 1);
+        if (n > 0) {
+            initialApproximations(pRe, pIm, n, zRe, zIm);
+            iterate(pRe, pIm, n, zRe, zIm);
+        }
+
+        if (real) {
+            makeConjugate(zRe, zIm, n);
+        }
+
+        final Integer[] order = new Integer[degree];
+        for (int i = 0; i < degree; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer l, Integer r) {
+                final int c = Double.compare(zRe[l], zRe[r]);
+                return c != 0 ? c : Double.compare(zIm[l], zIm[r]);
+            }
+        });
+
+        final Numeric[] roots = new Numeric[degree];
+        for (int i = 0; i < degree; i++) {
+            final int k = order[i];
+            roots[i] = zIm[k] == 0d ? Real.valueOf(zRe[k]) : Complex.valueOf(zRe[k], zIm[k]);
+        }
+        return roots;
+    }
+
+    // points on the circle which radius is the geometric mean of the moduli of the roots (|a0 / an|^(1/n)), rotated
+    // to avoid symmetry with the roots
+    private static void initialApproximations(@Nonnull double[] pRe, @Nonnull double[] pIm, int n, @Nonnull double[] zRe, @Nonnull double[] zIm) {
+        final double radius = Math.pow(Math.hypot(pRe[0], pIm[0]) / Math.hypot(pRe[n], pIm[n]), 1d / n);
+        for (int k = 0; k < n; k++) {
+            final double angle = 2 * Math.PI * k / n + 0.4;
+            zRe[k] = radius * Math.cos(angle);
+            zIm[k] = radius * Math.sin(angle);
+        }
+    }
+
+    private static void iterate(@Nonnull double[] pRe, @Nonnull double[] pIm, int n, @Nonnull double[] zRe, @Nonnull double[] zIm) {
+        final boolean[] done = new boolean[n];
+        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+            if (iteration % 16 == 0) {
+                ParserUtils.checkInterruption();
+            }
+            boolean converged = true;
+            for (int k = 0; k < n; k++) {
+                if (done[k]) {
+                    continue;
+                }
+                final double x = zRe[k];
+                final double y = zIm[k];
+
+                // Horner's scheme for p(z) and p'(z) and the bound of the rounding error of p(z)
+                double vRe = pRe[n];
+                double vIm = pIm[n];
+                double dRe = 0d;
+                double dIm = 0d;
+                final double modulus = Math.hypot(x, y);
+                double error = Math.hypot(vRe, vIm);
+                for (int i = n - 1; i >= 0; i--) {
+                    final double t = dRe * x - dIm * y + vRe;
+                    dIm = dRe * y + dIm * x + vIm;
+                    dRe = t;
+                    final double s = vRe * x - vIm * y + pRe[i];
+                    vIm = vRe * y + vIm * x + pIm[i];
+                    vRe = s;
+                    error = error * modulus + Math.hypot(pRe[i], pIm[i]);
+                }
+                if (Math.hypot(vRe, vIm) <= 4 * EPSILON * error) {
+                    // p(z) is zero within the rounding error
+                    done[k] = true;
+                    continue;
+                }
+
+                // Newton's correction p / p'
+                final double nDenominator = dRe * dRe + dIm * dIm;
+                final double nRe = (vRe * dRe + vIm * dIm) / nDenominator;
+                final double nIm = (vIm * dRe - vRe * dIm) / nDenominator;
+
+                // sum of 1 / (z_k - z_j)
+                double sRe = 0d;
+                double sIm = 0d;
+                for (int j = 0; j < n; j++) {
+                    if (j != k) {
+                        final double a = x - zRe[j];
+                        final double b = y - zIm[j];
+                        final double d = a * a + b * b;
+                        sRe += a / d;
+                        sIm -= b / d;
+                    }
+                }
+
+                // Aberth's correction w = N / (1 - N * S)
+                final double qRe = 1d - (nRe * sRe - nIm * sIm);
+                final double qIm = -(nRe * sIm + nIm * sRe);
+                final double qDenominator = qRe * qRe + qIm * qIm;
+                final double wRe = (nRe * qRe + nIm * qIm) / qDenominator;
+                final double wIm = (nIm * qRe - nRe * qIm) / qDenominator;
+                if (Double.isNaN(wRe) || Double.isNaN(wIm) || Double.isInfinite(wRe) || Double.isInfinite(wIm)) {
+                    // p'(z) = 0 or z coincides with other approximation: shake it
+                    zRe[k] = x + EPSILON * (1 + modulus) * (k + 1);
+                    zIm[k] = y + EPSILON * (1 + modulus);
+                    converged = false;
+                    continue;
+                }
+                zRe[k] = x - wRe;
+                zIm[k] = y - wIm;
+                if (Math.hypot(wRe, wIm) > EPSILON * Math.hypot(zRe[k], zIm[k])) {
+                    converged = false;
+                } else {
+                    done[k] = true;
+                }
+            }
+            if (converged) {
+                return;
+            }
+        }
+    }
+
+    // roots of real polynomials come in conjugate pairs: noise is removed from the imaginary parts and the pairs are
+    // made exactly conjugate
+    private static void makeConjugate(@Nonnull double[] zRe, @Nonnull double[] zIm, int n) {
+        final boolean[] paired = new boolean[n];
+        for (int k = 0; k < n; k++) {
+            if (Math.abs(zIm[k]) <= IMAGINARY_NOISE * Math.max(1d, Math.abs(zRe[k]))) {
+                zIm[k] = 0d;
+                paired[k] = true;
+            }
+        }
+        for (int k = 0; k < n; k++) {
+            if (paired[k] || zIm[k] < 0) {
+                continue;
+            }
+            // the closest root in the lower half-plane
+            int conjugate = -1;
+            double distance = Double.POSITIVE_INFINITY;
+            for (int j = 0; j < n; j++) {
+                if (!paired[j] && zIm[j] < 0) {
+                    final double d = Math.hypot(zRe[k] - zRe[j], zIm[k] + zIm[j]);
+                    if (d < distance) {
+                        distance = d;
+                        conjugate = j;
+                    }
+                }
+            }
+            if (conjugate >= 0) {
+                final double re = (zRe[k] + zRe[conjugate]) / 2;
+                final double im = (zIm[k] - zIm[conjugate]) / 2;
+                zRe[k] = re;
+                zIm[k] = im;
+                zRe[conjugate] = re;
+                zIm[conjugate] = -im;
+                paired[k] = true;
+                paired[conjugate] = true;
+            }
+        }
+    }
+
+    private static final class Key {
+        @Nonnull
+        private final double[] re;
+        @Nonnull
+        private final double[] im;
+
+        Key(@Nonnull double[] re, @Nonnull double[] im) {
+            this.re = re;
+            this.im = im;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key that = (Key) o;
+            return Arrays.equals(re, that.re) && Arrays.equals(im, that.im);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(re) + Arrays.hashCode(im);
+        }
+    }
+}
@@ -42,6 +42,8 @@ public final class Real extends Numeric {
     public Numeric add(@Nonnull Numeric that) {
         if (that instanceof Real) {
             return add((Real) that);
+        } else if (that instanceof BigReal && !isFinite()) {
+            return add(((BigReal) that).toReal());
         } else {
             return that.valueOf(this).add(that);
         }
@@ -55,6 +57,8 @@ public final class Real extends Numeric {
     public Numeric subtract(@Nonnull Numeric that) {
         if (that instanceof Real) {
             return subtract((Real) that);
+        } else if (that instanceof BigReal && !isFinite()) {
+            return subtract(((BigReal) that).toReal());
         } else {
             return that.valueOf(this).subtract(that);
         }
@@ -81,6 +85,8 @@ public final class Real extends Numeric {
     public Numeric divide(@Nonnull Numeric that) throws NotDivisibleException {
         if (that instanceof Real) {
             return divide((Real) that);
+        } else if (that instanceof BigReal && !isFinite()) {
+            return divide(((BigReal) that).toReal());
         } else {
             return that.valueOf(this).divide(that);
         }
@@ -95,6 +101,10 @@ public final class Real extends Numeric {
         return signum(content);
     }
 
+    boolean isFinite() {
+        return !Double.isNaN(content) && !Double.isInfinite(content);
+    }
+
     @Nonnull
     public Numeric ln() {
         if (signum() >= 0) {
@@ -134,6 +144,8 @@ public final class Real extends Numeric {
     public Numeric pow(@Nonnull Numeric numeric) {
         if (numeric instanceof Real) {
             return pow((Real) numeric);
+        } else if (numeric instanceof BigReal && !isFinite()) {
+            return pow(((BigReal) numeric).toReal());
         } else {
             return numeric.valueOf(this).pow(numeric);
         }
@@ -218,7 +230,7 @@ public final class Real extends Numeric {
         return new Real(tan(defaultToRad(content)));
     }
 
-    private double tan(double value) {
+    public static double tan(double value) {
         if (value > Math.PI || value < Math.PI) {
             value = value % Math.PI;
         }
@@ -261,6 +273,8 @@ public final class Real extends Numeric {
     public int compareTo(Numeric numeric) {
         if (numeric instanceof Real) {
             return compareTo((Real) numeric);
+        } else if (numeric instanceof BigReal && !isFinite()) {
+            return compareTo(((BigReal) numeric).toReal());
         } else {
             return numeric.valueOf(this).compareTo(numeric);
         }
@@ -9,6 +9,7 @@ import jscl.util.ArrayComparator;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -211,6 +212,11 @@ public abstract class AbstractFunction extends Variable {
         }
     }
 
+    @Override
+    public int hashCode() {
+        return 31 * name.hashCode() + Arrays.hashCode(parameters);
+    }
+
     public Generic substitute(@Nonnull Variable variable, @Nonnull Generic generic) {
         final AbstractFunction function = (AbstractFunction) newInstance();
 
@@ -1,7 +1,7 @@
 package jscl.math.operator;
 
 import jscl.AngleUnit;
-import jscl.JsclMathEngine;
+import jscl.EvaluationContext;
 import jscl.math.Generic;
 import jscl.math.Variable;
 import jscl.text.ParserUtils;
@@ -36,7 +36,7 @@ public class Degree extends PostfixFunction {
 
     @Override
     public Generic selfNumeric() {
-        return AngleUnit.deg.transform(JsclMathEngine.getInstance().getAngleUnits(), parameters[0]);
+        return AngleUnit.deg.transform(EvaluationContext.current().getAngleUnits(), parameters[0]);
     }
 
     @Nonnull
@@ -38,17 +38,7 @@ public class Factorial extends PostfixFunction {
                 throw new ArithmeticException("Cannot take factorial from negative integer!");
             }
 
-            Generic result = JsclInteger.valueOf(1);
-            for (int i = 0; i < n; i++) {
-                ParserUtils.checkInterruption();
-                result = result.multiply(JsclInteger.valueOf(i + 1));
-            }
-
-            if (result instanceof JsclInteger) {
-                return new NumericWrapper(((JsclInteger) result));
-            } else {
-                throw NotIntegerException.get();
-            }
+            return new NumericWrapper(new JsclInteger(Factorials.factorial(n)));
 
         } else {
             throw NotIntegerException.get();
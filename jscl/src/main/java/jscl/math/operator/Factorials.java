@@ -0,0 +1,179 @@
+package jscl.math.operator;
+
+import java.math.BigInteger;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.GuardedBy;
+
+import jscl.text.ParserUtils;
+
+/**
+ * Computation of factorials on {@link BigInteger}s. n! is computed with Luschny's prime swing algorithm:
+ * n! = (n/2)!^2 * swing(n) where swing(n) is a product of prime powers (balanced products of the operands are used
+ * to make use of fast multiplication of big numbers). Double factorials are reduced to factorials (even n) or
+ * computed as balanced products of odd numbers.
+ * <p/>
+ * Last results are cached as factorials are usually evaluated several times in a row (e.g. while the user is typing).
+ */
+final class Factorials {
+
+    // prime swing needs primes up to n: for larger n sieve becomes too big and plain product of 1..n is used
+    private static final int SIEVE_LIMIT = 1 << 24;
+    // values less than this are multiplied in longs without overflow
+    private static final long SMALL = 1L << 31;
+    private static final int CACHE_SIZE = 8;
+
+    @GuardedBy("cache")
+    @Nonnull
+    private static final Map<Long, BigInteger> cache = new LinkedHashMap<Long, BigInteger>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, BigInteger> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    private Factorials() {
+        throw new AssertionError();
+    }
+
+    /**
+     * @param n non-negative integer
+     * @return n!
+     */
+    @Nonnull
+    static BigInteger factorial(int n) {
+        BigInteger result = getCached(n, 1);
+        if (result == null) {
+            if (n <= SIEVE_LIMIT) {
+                result = primeSwingFactorial(n, sieve(n));
+            } else {
+                result = product(1, n, 1);
+            }
+            putCached(n, 1, result);
+        }
+        return result;
+    }
+
+    /**
+     * @param n non-negative integer
+     * @return n!! = n * (n - 2) * (n - 4) * ...
+     */
+    @Nonnull
+    static BigInteger doubleFactorial(int n) {
+        BigInteger result = getCached(n, 2);
+        if (result == null) {
+            if (n % 2 == 0) {
+                // (2m)!! = 2^m * m!
+                result = factorial(n / 2).shiftLeft(n / 2);
+            } else {
+                result = product(1, n, 2);
+            }
+            putCached(n, 2, result);
+        }
+        return result;
+    }
+
+    private static BigInteger getCached(int n, int k) {
+        synchronized (cache) {
+            return cache.get(key(n, k));
+        }
+    }
+
+    private static void putCached(int n, int k, @Nonnull BigInteger value) {
+        synchronized (cache) {
+            cache.put(key(n, k), value);
+        }
+    }
+
+    private static long key(int n, int k) {
+        return ((long) k << 32) | n;
+    }
+
+    @Nonnull
+    private static BigInteger primeSwingFactorial(int n, @Nonnull boolean[] composite) {
+        if (n < 2) {
+            return BigInteger.ONE;
+        }
+        final BigInteger half = primeSwingFactorial(n / 2, composite);
+        return half.multiply(half).multiply(swing(n, composite));
+    }
+
+    // n! / ((n/2)!)^2: exponent of prime p is the number of odd numbers among n/p, n/p^2, ...
+    @Nonnull
+    private static BigInteger swing(int n, @Nonnull boolean[] composite) {
+        final long[] factors = new long[n / 2 + 2];
+        int size = 0;
+        long current = 1;
+        for (int p = 2; p <= n; p++) {
+            if (composite[p]) {
+                continue;
+            }
+            for (int q = n / p; q > 0; q /= p) {
+                if ((q & 1) != 0) {
+                    if (current >= SMALL) {
+                        factors[size++] = current;
+                        current = 1;
+                    }
+                    current *= p;
+                }
+            }
+        }
+        factors[size++] = current;
+        return product(factors, 0, size);
+    }
+
+    @Nonnull
+    private static boolean[] sieve(int n) {
+        final boolean[] composite = new boolean[n + 1];
+        for (long i = 2; i * i <= n; i++) {
+            if (!composite[(int) i]) {
+                for (long j = i * i; j <= n; j += i) {
+                    composite[(int) j] = true;
+                }
+            }
+        }
+        return composite;
+    }
+
+    // product of values[from, to) splitted in halves: operands of multiplications have similar sizes
+    @Nonnull
+    private static BigInteger product(@Nonnull long[] values, int from, int to) {
+        final int count = to - from;
+        if (count <= 4) {
+            BigInteger result = BigInteger.valueOf(values[from]);
+            for (int i = from + 1; i < to; i++) {
+                result = result.multiply(BigInteger.valueOf(values[i]));
+            }
+            return result;
+        }
+        ParserUtils.checkInterruption();
+        final int middle = (from + to) >>> 1;
+        return product(values, from, middle).multiply(product(values, middle, to));
+    }
+
+    // product of from, from + step, from + 2 * step, ..., to
+    @Nonnull
+    private static BigInteger product(long from, long to, int step) {
+        if (from > to) {
+            return BigInteger.ONE;
+        }
+        final long count = (to - from) / step + 1;
+        if (count <= 4) {
+            long result = 1;
+            BigInteger big = BigInteger.ONE;
+            for (long i = from; i <= to; i += step) {
+                if (result >= SMALL) {
+                    big = big.multiply(BigInteger.valueOf(result));
+                    result = 1;
+                }
+                result *= i;
+            }
+            return big.multiply(BigInteger.valueOf(result));
+        }
+        ParserUtils.checkInterruption();
+        final long middle = from + (count / 2) * step;
+        return product(from, middle - step, step).multiply(product(middle, to, step));
+    }
+}
@@ -1,7 +1,7 @@
 package jscl.math.operator;
 
 import jscl.AngleUnit;
-import jscl.JsclMathEngine;
+import jscl.EvaluationContext;
 import jscl.math.Generic;
 import jscl.math.NotIntegrableException;
 import jscl.math.Variable;
@@ -30,8 +30,8 @@ public class IndefiniteIntegral extends Operator {
     }
 
     public Generic selfExpand() {
-        if (JsclMathEngine.getInstance().getAngleUnits() != AngleUnit.rad) {
-            JsclMathEngine.getInstance().getMessageRegistry().addMessage(new JsclMessage(Messages.msg_24, MessageType.warning));
+        if (EvaluationContext.current().getAngleUnits() != AngleUnit.rad) {
+            EvaluationContext.current().getMessageRegistry().addMessage(new JsclMessage(Messages.msg_24, MessageType.warning));
         }
 
         Variable variable = parameters[1].variableValue();
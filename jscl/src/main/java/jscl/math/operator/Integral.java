@@ -1,16 +1,31 @@
 package jscl.math.operator;
 
 import jscl.AngleUnit;
-import jscl.JsclMathEngine;
+import jscl.BatchEvaluation;
+import jscl.EvaluationContext;
+import jscl.math.CompiledFunction;
+import jscl.math.DoubleVariable;
+import jscl.math.Expression;
+import jscl.math.FunctionCompiler;
 import jscl.math.Generic;
+import jscl.math.NotCompilableException;
+import jscl.math.NotDoubleException;
 import jscl.math.NotIntegrableException;
+import jscl.math.NumericWrapper;
 import jscl.math.Variable;
+import jscl.math.numeric.BigReal;
+import jscl.math.numeric.Numeric;
+import jscl.math.numeric.Real;
 import jscl.mathml.MathML;
 import jscl.text.msg.JsclMessage;
 import jscl.text.msg.Messages;
 import org.solovyev.common.msg.MessageType;
 
+import java.math.BigDecimal;
+import java.util.concurrent.Executor;
+
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 public class Integral extends Operator {
 
@@ -30,8 +45,8 @@ public class Integral extends Operator {
     }
 
     public Generic selfExpand() {
-        if (JsclMathEngine.getInstance().getAngleUnits() != AngleUnit.rad) {
-            JsclMathEngine.getInstance().getMessageRegistry().addMessage(new JsclMessage(Messages.msg_24, MessageType.warning));
+        if (EvaluationContext.current().getAngleUnits() != AngleUnit.rad) {
+            EvaluationContext.current().getMessageRegistry().addMessage(new JsclMessage(Messages.msg_24, MessageType.warning));
         }
 
         Variable variable = parameters[1].variableValue();
@@ -43,6 +58,91 @@ public class Integral extends Operator {
         return expressionValue();
     }
 
+    /**
+     * Definite integral is computed symbolically if the anti-derivative is known and numerically otherwise, see
+     * {@link Quadrature}. If the evaluation requires more precision than doubles provide {@link TanhSinhQuadrature} is
+     * used instead, doubles remain only for integrands which can't be evaluated with the required precision (e.g.
+     * complex values in the range of integration).
+     */
+    @Override
+    public Generic numeric() {
+        final Variable variable = parameters[1].variableValue();
+        try {
+            Generic a = parameters[0].antiDerivative(variable);
+            return a.substitute(variable, parameters[3]).subtract(a.substitute(variable, parameters[2])).numeric();
+        } catch (NotIntegrableException e) {
+        } catch (ArithmeticException e) {
+            // anti-derivative can't be evaluated at the limits, e.g. atan(x) at x = ∞
+        }
+
+        final int precision = EvaluationContext.current().getNumericPrecision();
+        if (precision > 0) {
+            final Generic result = integrate(variable, precision);
+            if (result != null) {
+                return result;
+            }
+        }
+
+        final double a = parameters[2].numeric().doubleValue();
+        final double b = parameters[3].numeric().doubleValue();
+        Quadrature.Integrand integrand;
+        Executor executor;
+        try {
+            integrand = new CompiledIntegrand(FunctionCompiler.compile(parameters[0], variable));
+            executor = BatchEvaluation.getDefaultExecutor();
+        } catch (NotCompilableException e) {
+            // generic evaluation depends on the evaluation context of the current thread
+            integrand = new GenericIntegrand(parameters[0], variable);
+            executor = null;
+        }
+        return new NumericWrapper(Real.valueOf(Quadrature.integrate(integrand, a, b, executor)));
+    }
+
+    @Nullable
+    private Generic integrate(@Nonnull Variable variable, int precision) {
+        final Generic from = parameters[2].numeric();
+        final Generic to = parameters[3].numeric();
+        if (!(from instanceof NumericWrapper) || !(to instanceof NumericWrapper)) {
+            return null;
+        }
+        final Numeric a = ((NumericWrapper) from).content();
+        final Numeric b = ((NumericWrapper) to).content();
+        if (!isLimit(a, -1) || !isLimit(b, 1)) {
+            return null;
+        }
+        // integrand is evaluated with the guard digits of the quadrature
+        final EvaluationContext context = new EvaluationContext.Builder(EvaluationContext.current())
+                .setNumericPrecision(precision + TanhSinhQuadrature.GUARD_DIGITS).create();
+        final EvaluationContext previous = context.bind();
+        try {
+            final BigDecimal result = TanhSinhQuadrature.integrate(new BigIntegrand(parameters[0], variable), bigDecimalValue(a), bigDecimalValue(b), precision);
+            return result == null ? null : new NumericWrapper(BigReal.valueOf(result, precision));
+        } finally {
+            EvaluationContext.restore(previous);
+        }
+    }
+
+    // finite real number or infinity of the given sign
+    private static boolean isLimit(@Nonnull Numeric limit, int infinitySign) {
+        if (limit instanceof BigReal) {
+            return true;
+        } else if (limit instanceof Real) {
+            final double value = limit.doubleValue();
+            return !Double.isNaN(value) && (!Double.isInfinite(value) || Math.signum(value) == infinitySign);
+        }
+        return false;
+    }
+
+    // null for infinity
+    @Nullable
+    private static BigDecimal bigDecimalValue(@Nonnull Numeric numeric) {
+        if (numeric instanceof BigReal) {
+            return ((BigReal) numeric).content();
+        }
+        final double value = numeric.doubleValue();
+        return Double.isInfinite(value) ? null : BigDecimal.valueOf(value);
+    }
+
     @Nonnull
     @Override
     protected String formatUndefinedParameter(int i) {
@@ -103,4 +203,80 @@ public class Integral extends Operator {
     public Variable newInstance() {
         return new Integral(null, null, null, null);
     }
+
+    private static final class CompiledIntegrand implements Quadrature.Integrand {
+
+        @Nonnull
+        private final CompiledFunction function;
+
+        CompiledIntegrand(@Nonnull CompiledFunction function) {
+            this.function = function;
+        }
+
+        @Override
+        public void evaluate(@Nonnull double[] points, @Nonnull double[] values) {
+            final double[] arguments = new double[1];
+            for (int i = 0; i < points.length; i++) {
+                arguments[0] = points[i];
+                values[i] = function.evaluate(arguments);
+            }
+        }
+    }
+
+    private static final class GenericIntegrand implements Quadrature.Integrand {
+
+        @Nonnull
+        private final Generic expression;
+        @Nonnull
+        private final Variable variable;
+
+        GenericIntegrand(@Nonnull Generic expression, @Nonnull Variable variable) {
+            this.expression = expression;
+            this.variable = variable;
+        }
+
+        @Override
+        public void evaluate(@Nonnull double[] points, @Nonnull double[] values) {
+            for (int i = 0; i < points.length; i++) {
+                try {
+                    values[i] = expression.substitute(variable, Expression.valueOf(points[i])).numeric().doubleValue();
+                } catch (NotDoubleException e) {
+                    // complex value
+                    values[i] = Double.NaN;
+                }
+            }
+        }
+    }
+
+    private static final class BigIntegrand implements TanhSinhQuadrature.Integrand {
+
+        @Nonnull
+        private final Generic expression;
+        @Nonnull
+        private final Variable variable;
+
+        BigIntegrand(@Nonnull Generic expression, @Nonnull Variable variable) {
+            this.expression = expression;
+            this.variable = variable;
+        }
+
+        @Nullable
+        @Override
+        public BigDecimal evaluate(@Nonnull BigDecimal point) {
+            final NumericWrapper x = new NumericWrapper(BigReal.valueOf(point, EvaluationContext.current().getNumericPrecision()));
+            final Generic value = expression.substitute(variable, new DoubleVariable(x).expressionValue()).numeric();
+            if (!(value instanceof NumericWrapper)) {
+                return null;
+            }
+            final Numeric numeric = ((NumericWrapper) value).content();
+            if (numeric instanceof BigReal) {
+                return ((BigReal) numeric).content();
+            } else if (numeric instanceof Real) {
+                final double d = numeric.doubleValue();
+                return Double.isNaN(d) || Double.isInfinite(d) ? null : BigDecimal.valueOf(d);
+            }
+            // complex value
+            return null;
+        }
+    }
 }
@@ -0,0 +1,452 @@
+package jscl.math.operator;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import jscl.BatchEvaluation;
+import jscl.EvaluationContext;
+import jscl.math.CompiledFunction;
+import jscl.math.FunctionCompiler;
+import jscl.math.Generic;
+import jscl.math.JsclInteger;
+import jscl.math.NotCompilableException;
+import jscl.math.NotIntegerException;
+import jscl.math.NumericWrapper;
+import jscl.math.Variable;
+import jscl.math.numeric.BigReal;
+import jscl.math.numeric.Real;
+import jscl.math.polynomial.Polynomial;
+import jscl.math.polynomial.UnivariatePolynomial;
+import jscl.text.ParserUtils;
+
+/**
+ * Numeric evaluation of {@link Sum}s and {@link Product}s with many terms. Instead of substituting every value of the
+ * index into the expression and adding (multiplying) growing {@link Generic}s the expression is compiled once:
+ * polynomials with integer coefficients are evaluated exactly with {@link BigInteger}s, real elementary expressions
+ * with primitive doubles (see {@link FunctionCompiler}) unless the evaluation requires more precision (then every
+ * term is evaluated numerically with that precision). Sums of doubles are compensated (Kahan-Babuska-Neumaier),
+ * products of doubles keep the exponent separately and can't overflow in the middle.
+ * <p/>
+ * The range is split into chunks of fixed size which are evaluated in parallel (the calling thread takes part in the
+ * evaluation). Partial results are combined in the order of the chunks, so the result doesn't depend on the number
+ * of threads.
+ */
+final class NumericSeries {
+
+    // sums and products with fewer terms are expanded symbolically: exact arithmetic is fast enough for them
+    static final int SYMBOLIC_LIMIT = 256;
+    static final int TASK_SIZE = 1 << 13;
+    private static final int INTERRUPTION_MASK = (1 << 12) - 1;
+    private static final int GUARD_DIGITS = 10;
+
+    private NumericSeries() {
+        throw new AssertionError();
+    }
+
+    /**
+     * @return numeric value of the sum of <var>expression</var> for <var>variable</var> from <var>from</var> to
+     * <var>to</var> or null if the sum should be expanded symbolically (few terms, expression can't be compiled or
+     * some term is not a finite real number)
+     */
+    @Nullable
+    static Generic sum(@Nonnull Generic expression, @Nonnull Variable variable, int from, int to) {
+        return evaluate(expression, variable, from, to, false);
+    }
+
+    /**
+     * @return numeric value of the product of <var>expression</var> for <var>variable</var> from <var>from</var> to
+     * <var>to</var> or null if the product should be expanded symbolically, see {@link #sum(Generic, Variable, int, int)}
+     */
+    @Nullable
+    static Generic product(@Nonnull Generic expression, @Nonnull Variable variable, int from, int to) {
+        return evaluate(expression, variable, from, to, true);
+    }
+
+    @Nullable
+    private static Generic evaluate(@Nonnull Generic expression, @Nonnull Variable variable, int from, int to, boolean product) {
+        if ((long) to - from + 1 <= SYMBOLIC_LIMIT) {
+            return null;
+        }
+        final BigInteger[] coefficients = integerCoefficients(expression, variable);
+        if (coefficients != null) {
+            final IntegerReduction reduction = product ? new IntegerProduct(coefficients, from, to) : new IntegerSum(coefficients, from, to);
+            reduction.run(BatchEvaluation.getDefaultExecutor());
+            return new NumericWrapper(new JsclInteger(reduction.result()));
+        }
+        if (EvaluationContext.current().getNumericPrecision() > 0) {
+            // doubles would lose the precision required by the evaluation
+            return evaluateTerms(expression, variable, from, to, product);
+        }
+
+        final CompiledFunction function;
+        try {
+            function = FunctionCompiler.compile(expression, variable);
+        } catch (NotCompilableException e) {
+            return null;
+        }
+        final DoubleReduction reduction = product ? new DoubleProduct(function, from, to) : new DoubleSum(function, from, to);
+        reduction.run(BatchEvaluation.getDefaultExecutor());
+        if (!reduction.isValid()) {
+            // complex or undefined terms
+            return null;
+        }
+        return new NumericWrapper(Real.valueOf(reduction.result()));
+    }
+
+    // terms are evaluated numerically one by one in the calling thread (numeric evaluation depends on its context) with
+    // guard digits against the rounding errors of the reduction
+    @Nonnull
+    private static Generic evaluateTerms(@Nonnull Generic expression, @Nonnull Variable variable, int from, int to, boolean product) {
+        final int precision = EvaluationContext.current().getNumericPrecision();
+        final EvaluationContext context = new EvaluationContext.Builder(EvaluationContext.current())
+                .setNumericPrecision(precision + GUARD_DIGITS).create();
+        final EvaluationContext previous = context.bind();
+        final Generic result;
+        try {
+            Generic r = expression.substitute(variable, JsclInteger.valueOf(from)).numeric();
+            for (int i = from + 1; i <= to; i++) {
+                if ((i & INTERRUPTION_MASK) == 0) {
+                    ParserUtils.checkInterruption();
+                }
+                final Generic term = expression.substitute(variable, JsclInteger.valueOf(i)).numeric();
+                r = product ? r.multiply(term) : r.add(term);
+            }
+            result = r;
+        } finally {
+            EvaluationContext.restore(previous);
+        }
+        if (result instanceof NumericWrapper && ((NumericWrapper) result).content() instanceof BigReal) {
+            return new NumericWrapper(BigReal.valueOf(((BigReal) ((NumericWrapper) result).content()).content(), precision));
+        }
+        return result;
+    }
+
+    // coefficients of expression if it is a polynomial in variable with integer coefficients, null otherwise
+    @Nullable
+    private static BigInteger[] integerCoefficients(@Nonnull Generic expression, @Nonnull Variable variable) {
+        if (!expression.isPolynomial(variable)) {
+            return null;
+        }
+        final Generic[] elements = ((UnivariatePolynomial) Polynomial.factory(variable).valueOf(expression)).elements();
+        final BigInteger[] coefficients = new BigInteger[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            try {
+                coefficients[i] = elements[i].integerValue().content();
+            } catch (NotIntegerException e) {
+                return null;
+            }
+        }
+        return coefficients;
+    }
+
+    private abstract static class Reduction {
+
+        final long from;
+        final long to;
+        final int chunks;
+
+        Reduction(long from, long to) {
+            this.from = from;
+            this.to = to;
+            this.chunks = (int) ((to - from) / TASK_SIZE + 1);
+        }
+
+        // evaluates terms [start, end] and stores the partial result of the chunk
+        abstract void reduce(int chunk, long start, long end);
+
+        final void run(@Nonnull Executor executor) {
+            if (chunks == 1) {
+                reduce(0, from, to);
+                return;
+            }
+            final List<FutureTask<Void>> tasks = new ArrayList<>(chunks);
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                final int c = chunk;
+                final long start = from + (long) chunk * TASK_SIZE;
+                final long end = Math.min(to, start + TASK_SIZE - 1);
+                final FutureTask<Void> task = new FutureTask<>(new Runnable() {
+                    @Override
+                    public void run() {
+                        reduce(c, start, end);
+                    }
+                }, null);
+                tasks.add(task);
+                executor.execute(task);
+            }
+            try {
+                for (FutureTask<Void> task : tasks) {
+                    // does nothing if the task is already taken by the executor
+                    task.run();
+                    ParserUtils.checkInterruption();
+                }
+                for (FutureTask<Void> task : tasks) {
+                    task.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                ParserUtils.checkInterruption();
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new ArithmeticException("Unable to evaluate series: " + cause);
+            } finally {
+                for (FutureTask<Void> task : tasks) {
+                    task.cancel(false);
+                }
+            }
+        }
+    }
+
+    private abstract static class DoubleReduction extends Reduction {
+
+        @Nonnull
+        final CompiledFunction function;
+        @Nonnull
+        final boolean[] invalid;
+
+        DoubleReduction(@Nonnull CompiledFunction function, long from, long to) {
+            super(from, to);
+            this.function = function;
+            this.invalid = new boolean[chunks];
+        }
+
+        final boolean isValid() {
+            for (boolean i : invalid) {
+                if (i) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        abstract double result();
+    }
+
+    private static final class DoubleSum extends DoubleReduction {
+
+        @Nonnull
+        private final double[] sums;
+        @Nonnull
+        private final double[] compensations;
+
+        DoubleSum(@Nonnull CompiledFunction function, long from, long to) {
+            super(function, from, to);
+            this.sums = new double[chunks];
+            this.compensations = new double[chunks];
+        }
+
+        @Override
+        void reduce(int chunk, long start, long end) {
+            final double[] arguments = new double[1];
+            double sum = 0d;
+            double compensation = 0d;
+            for (long i = start; i <= end; i++) {
+                if ((i & INTERRUPTION_MASK) == 0) {
+                    ParserUtils.checkInterruption();
+                }
+                arguments[0] = i;
+                final double value = function.evaluate(arguments);
+                if (Double.isNaN(value) || Double.isInfinite(value)) {
+                    invalid[chunk] = true;
+                    return;
+                }
+                final double t = sum + value;
+                if (Math.abs(sum) >= Math.abs(value)) {
+                    compensation += (sum - t) + value;
+                } else {
+                    compensation += (value - t) + sum;
+                }
+                sum = t;
+            }
+            sums[chunk] = sum;
+            compensations[chunk] = compensation;
+        }
+
+        @Override
+        double result() {
+            double sum = 0d;
+            double compensation = 0d;
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                final double value = sums[chunk];
+                final double t = sum + value;
+                if (Math.abs(sum) >= Math.abs(value)) {
+                    compensation += (sum - t) + value;
+                } else {
+                    compensation += (value - t) + sum;
+                }
+                sum = t;
+                compensation += compensations[chunk];
+            }
+            return sum + compensation;
+        }
+    }
+
+    private static final class DoubleProduct extends DoubleReduction {
+
+        // product of the chunk is mantissas[chunk] * 2^exponents[chunk]
+        @Nonnull
+        private final double[] mantissas;
+        @Nonnull
+        private final long[] exponents;
+
+        DoubleProduct(@Nonnull CompiledFunction function, long from, long to) {
+            super(function, from, to);
+            this.mantissas = new double[chunks];
+            this.exponents = new long[chunks];
+        }
+
+        @Override
+        void reduce(int chunk, long start, long end) {
+            final double[] arguments = new double[1];
+            double mantissa = 1d;
+            long exponent = 0;
+            for (long i = start; i <= end && mantissa != 0d; i++) {
+                if ((i & INTERRUPTION_MASK) == 0) {
+                    ParserUtils.checkInterruption();
+                }
+                arguments[0] = i;
+                final double value = function.evaluate(arguments);
+                if (Double.isNaN(value) || Double.isInfinite(value)) {
+                    invalid[chunk] = true;
+                    return;
+                }
+                mantissa *= value;
+                if (mantissa != 0d) {
+                    final int e = Math.getExponent(mantissa);
+                    mantissa = Math.scalb(mantissa, -e);
+                    exponent += e;
+                }
+            }
+            mantissas[chunk] = mantissa;
+            exponents[chunk] = exponent;
+        }
+
+        @Override
+        double result() {
+            double mantissa = 1d;
+            long exponent = 0;
+            for (int chunk = 0; chunk < chunks && mantissa != 0d; chunk++) {
+                mantissa *= mantissas[chunk];
+                exponent += exponents[chunk];
+                if (mantissa != 0d) {
+                    final int e = Math.getExponent(mantissa);
+                    mantissa = Math.scalb(mantissa, -e);
+                    exponent += e;
+                }
+            }
+            // anything beyond these bounds overflows or underflows anyway
+            return Math.scalb(mantissa, (int) Math.max(-4096, Math.min(4096, exponent)));
+        }
+    }
+
+    private abstract static class IntegerReduction extends Reduction {
+
+        @Nonnull
+        private final BigInteger[] coefficients;
+        @Nonnull
+        final BigInteger[] partials;
+
+        IntegerReduction(@Nonnull BigInteger[] coefficients, long from, long to) {
+            super(from, to);
+            this.coefficients = coefficients;
+            this.partials = new BigInteger[chunks];
+        }
+
+        // Horner's scheme
+        @Nonnull
+        final BigInteger evaluate(long i) {
+            final BigInteger x = BigInteger.valueOf(i);
+            BigInteger result = coefficients[coefficients.length - 1];
+            for (int k = coefficients.length - 2; k >= 0; k--) {
+                result = result.multiply(x).add(coefficients[k]);
+            }
+            return result;
+        }
+
+        @Nonnull
+        abstract BigInteger result();
+    }
+
+    private static final class IntegerSum extends IntegerReduction {
+
+        IntegerSum(@Nonnull BigInteger[] coefficients, long from, long to) {
+            super(coefficients, from, to);
+        }
+
+        @Override
+        void reduce(int chunk, long start, long end) {
+            BigInteger sum = BigInteger.ZERO;
+            for (long i = start; i <= end; i++) {
+                if ((i & INTERRUPTION_MASK) == 0) {
+                    ParserUtils.checkInterruption();
+                }
+                sum = sum.add(evaluate(i));
+            }
+            partials[chunk] = sum;
+        }
+
+        @Nonnull
+        @Override
+        BigInteger result() {
+            BigInteger sum = BigInteger.ZERO;
+            for (BigInteger partial : partials) {
+                sum = sum.add(partial);
+            }
+            return sum;
+        }
+    }
+
+    private static final class IntegerProduct extends IntegerReduction {
+
+        IntegerProduct(@Nonnull BigInteger[] coefficients, long from, long to) {
+            super(coefficients, from, to);
+        }
+
+        @Override
+        void reduce(int chunk, long start, long end) {
+            final BigInteger[] values = new BigInteger[(int) (end - start + 1)];
+            for (long i = start; i <= end; i++) {
+                if ((i & INTERRUPTION_MASK) == 0) {
+                    ParserUtils.checkInterruption();
+                }
+                final BigInteger value = evaluate(i);
+                if (value.signum() == 0) {
+                    partials[chunk] = BigInteger.ZERO;
+                    return;
+                }
+                values[(int) (i - start)] = value;
+            }
+            partials[chunk] = product(values, 0, values.length);
+        }
+
+        @Nonnull
+        @Override
+        BigInteger result() {
+            return product(partials, 0, partials.length);
+        }
+
+        // product of values[from, to) splitted in halves: operands of multiplications have similar sizes
+        @Nonnull
+        private static BigInteger product(@Nonnull BigInteger[] values, int from, int to) {
+            if (to - from <= 4) {
+                BigInteger result = values[from];
+                for (int i = from + 1; i < to; i++) {
+                    result = result.multiply(values[i]);
+                }
+                return result;
+            }
+            ParserUtils.checkInterruption();
+            final int middle = (from + to) >>> 1;
+            return product(values, from, middle).multiply(product(values, middle, to));
+        }
+    }
+}
@@ -6,10 +6,40 @@ import javax.annotation.Nonnull;
 
 public abstract class Operator extends AbstractFunction {
 
+    // set while an expression is expanded in order to be evaluated numerically
+    @Nonnull
+    private static final ThreadLocal<Boolean> numericExpansion = new ThreadLocal<>();
+
     protected Operator(String name, Generic parameters[]) {
         super(name, parameters);
     }
 
+    /**
+     * Expands <var>generic</var> which result is going to be evaluated numerically. Operators might skip the symbolic
+     * expansion and evaluate themselves numerically right away (e.g. {@link Sum} with many terms), i.e. the result
+     * must be used only for {@link Generic#numeric()}.
+     */
+    @Nonnull
+    public static Generic expandNumeric(@Nonnull Generic generic) {
+        final boolean nested = numericExpansion.get() != null;
+        numericExpansion.set(Boolean.TRUE);
+        try {
+            return generic.expand();
+        } finally {
+            if (!nested) {
+                numericExpansion.remove();
+            }
+        }
+    }
+
+    /**
+     * @return true if the current thread expands an expression in order to evaluate it numerically, see
+     * {@link #expandNumeric(Generic)}
+     */
+    protected static boolean isNumericExpansion() {
+        return numericExpansion.get() != null;
+    }
+
     @Nonnull
     protected static Variable[] toVariables(@Nonnull Generic vector) throws NotVariableException {
         return toVariables((JsclVector) vector);
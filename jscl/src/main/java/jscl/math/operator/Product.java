@@ -30,6 +30,12 @@ public class Product extends Operator {
         try {
             int n1 = parameters[2].integerValue().intValue();
             int n2 = parameters[3].integerValue().intValue();
+            if (isNumericExpansion()) {
+                final Generic result = NumericSeries.product(parameters[0], variable, n1, n2);
+                if (result != null) {
+                    return result;
+                }
+            }
             Generic a = JsclInteger.valueOf(1);
             for (int i = n1; i <= n2; i++) {
                 a = a.multiply(parameters[0].substitute(variable, JsclInteger.valueOf(i)));
@@ -40,6 +46,25 @@ public class Product extends Operator {
         return expressionValue();
     }
 
+    /**
+     * Products with many terms are evaluated without the symbolic expansion, see {@link NumericSeries}
+     */
+    @Override
+    public Generic numeric() {
+        Variable variable = parameters[1].variableValue();
+        try {
+            int n1 = parameters[2].integerValue().intValue();
+            int n2 = parameters[3].integerValue().intValue();
+            final Generic result = NumericSeries.product(parameters[0], variable, n1, n2);
+            if (result != null) {
+                return result;
+            }
+            return expand().numeric();
+        } catch (NotIntegerException e) {
+            return super.numeric();
+        }
+    }
+
     @Nonnull
     @Override
     protected String formatUndefinedParameter(int i) {
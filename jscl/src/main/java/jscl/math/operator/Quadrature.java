@@ -0,0 +1,355 @@
+package jscl.math.operator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import jscl.text.ParserUtils;
+
+/**
+ * Adaptive Gauss-Kronrod quadrature (7-point Gauss rule embedded into 15-point Kronrod rule) with global error
+ * control: on each round the worst intervals are bisected until the total error is small enough or the budget of
+ * intervals is exhausted. Error estimates follow QUADPACK's QK15. Infinite limits are mapped to finite ones with a
+ * change of variable.
+ * <p/>
+ * If a round contains many intervals and an executor is provided, intervals are evaluated in parallel (the calling
+ * thread takes part in the evaluation, so the executor might be busy or even be the one running the caller).
+ */
+final class Quadrature {
+
+    /**
+     * Values of the function being integrated. Must be thread-safe if the integration is done with an executor.
+     */
+    interface Integrand {
+        /**
+         * @param points points at which the function should be evaluated
+         * @param values values of the function at <var>points</var>, {@link Double#NaN} if the value is not real
+         */
+        void evaluate(@Nonnull double[] points, @Nonnull double[] values);
+    }
+
+    static final int MAX_INTERVALS = 2000;
+    // rounds with fewer intervals are not worth to be split between threads
+    static final int PARALLEL_THRESHOLD = 64;
+    private static final int TASK_SIZE = 16;
+    private static final double RELATIVE_TOLERANCE = 1e-12;
+    private static final double ABSOLUTE_TOLERANCE = 1e-14;
+    // result which error estimate is above this (relative) level is considered as wrong
+    private static final double ACCEPTABLE_ERROR = 1e-7;
+    private static final double EPSILON = Math.ulp(1d);
+
+    // abscissae of the Kronrod rule on [-1, 1] (only non-negative, the rule is symmetric): odd ones are the Gauss nodes
+    private static final double[] XK = {
+            0.991455371120812639206854697526329,
+            0.949107912342758524526189684047851,
+            0.864864423359769072789712788640926,
+            0.741531185599394439863864773280788,
+            0.586087235467691130294144845693013,
+            0.405845151377397166906606412076961,
+            0.207784955007898467600689403773245,
+            0.000000000000000000000000000000000
+    };
+    private static final double[] WK = {
+            0.022935322010529224963732008058970,
+            0.063092092629978553290700663189204,
+            0.104790010322250183839876322541518,
+            0.140653259715525918745189590510238,
+            0.169004726639267902826583426598550,
+            0.190350578064785409913256402421014,
+            0.204432940075298892414161999234649,
+            0.209482141084727828012999174891714
+    };
+    private static final double[] WG = {
+            0.129484966168869693270611432679082,
+            0.279705391489276667901467771423780,
+            0.381830050505118944950369775488975,
+            0.417959183673469387755102040816327
+    };
+
+    private Quadrature() {
+        throw new AssertionError();
+    }
+
+    /**
+     * @param integrand function to be integrated
+     * @param a         lower limit, might be infinite
+     * @param b         upper limit, might be infinite
+     * @param executor  executor for the parallel evaluation, null if the integrand must be evaluated in the calling
+     *                  thread
+     * @return integral of <var>integrand</var> from <var>a</var> to <var>b</var>
+     * @throws ArithmeticException if the integrand is not real on [a, b] or the integral can't be computed with
+     *                             reasonable precision (e.g. if it diverges)
+     */
+    static double integrate(@Nonnull Integrand integrand, double a, double b, @Nullable Executor executor) {
+        if (Double.isNaN(a) || Double.isNaN(b)) {
+            throw new ArithmeticException("Unable to integrate: limits are not real!");
+        }
+        if (a == b) {
+            return 0d;
+        }
+        if (a > b) {
+            return -integrate(integrand, b, a, executor);
+        }
+        if (Double.isInfinite(a) || Double.isInfinite(b)) {
+            return integrateFinite(new Transformed(integrand, a, b), a == Double.NEGATIVE_INFINITY ? -1 : 0, b == Double.POSITIVE_INFINITY ? 1 : 0, executor);
+        }
+        return integrateFinite(integrand, a, b, executor);
+    }
+
+    private static double integrateFinite(@Nonnull Integrand integrand, double a, double b, @Nullable Executor executor) {
+        List<Interval> intervals = new ArrayList<>();
+        final Interval whole = new Interval(a, b);
+        whole.evaluate(integrand);
+        intervals.add(whole);
+
+        while (true) {
+            ParserUtils.checkInterruption();
+
+            double result = 0d;
+            double error = 0d;
+            for (Interval interval : intervals) {
+                result += interval.result;
+                error += interval.error;
+            }
+            if (Double.isNaN(result) || Double.isInfinite(result)) {
+                throw new ArithmeticException("Unable to integrate: function is not real or not finite on the interval!");
+            }
+            final double tolerance = Math.max(ABSOLUTE_TOLERANCE, RELATIVE_TOLERANCE * Math.abs(result));
+            if (error <= tolerance) {
+                return result;
+            }
+
+            // the worst intervals are bisected until the error of the rest is small enough: the number of intervals
+            // bisected in one round grows when the error is spread over many of them
+            final List<Interval> split = new ArrayList<>();
+            final List<Interval> worst = new ArrayList<>(intervals);
+            Collections.sort(worst, Collections.reverseOrder(ERROR_COMPARATOR));
+            final int available = MAX_INTERVALS - intervals.size();
+            double rest = error;
+            for (Interval interval : worst) {
+                if (rest <= tolerance / 2 || split.size() >= available) {
+                    break;
+                }
+                if (interval.canBeSplit()) {
+                    split.add(interval);
+                    rest -= interval.error;
+                }
+            }
+            if (split.isEmpty()) {
+                // out of budget or out of precision
+                return checkAccuracy(result, error);
+            }
+            Collections.sort(split, LEFT_COMPARATOR);
+
+            final Interval[] halves = new Interval[2 * split.size()];
+            for (int i = 0; i < split.size(); i++) {
+                final Interval interval = split.get(i);
+                final double middle = 0.5 * (interval.a + interval.b);
+                halves[2 * i] = new Interval(interval.a, middle);
+                halves[2 * i + 1] = new Interval(middle, interval.b);
+            }
+            evaluate(integrand, halves, executor);
+
+            final List<Interval> next = new ArrayList<>(intervals.size() + split.size());
+            int i = 0;
+            for (Interval interval : intervals) {
+                // both lists are sorted by the left end
+                if (i < split.size() && split.get(i) == interval) {
+                    next.add(halves[2 * i]);
+                    next.add(halves[2 * i + 1]);
+                    i++;
+                } else {
+                    next.add(interval);
+                }
+            }
+            intervals = next;
+        }
+    }
+
+    private static double checkAccuracy(double result, double error) {
+        if (error > Math.max(ABSOLUTE_TOLERANCE, ACCEPTABLE_ERROR * Math.abs(result))) {
+            throw new ArithmeticException("Unable to integrate with required precision: integral might diverge!");
+        }
+        return result;
+    }
+
+    private static void evaluate(@Nonnull final Integrand integrand, @Nonnull final Interval[] intervals, @Nullable Executor executor) {
+        if (executor == null || intervals.length < PARALLEL_THRESHOLD) {
+            for (Interval interval : intervals) {
+                interval.evaluate(integrand);
+            }
+            return;
+        }
+
+        final List<FutureTask<Void>> tasks = new ArrayList<>();
+        for (int from = 0; from < intervals.length; from += TASK_SIZE) {
+            final int start = from;
+            final int end = Math.min(intervals.length, from + TASK_SIZE);
+            final FutureTask<Void> task = new FutureTask<>(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = start; i < end; i++) {
+                        intervals[i].evaluate(integrand);
+                    }
+                }
+            }, null);
+            tasks.add(task);
+            executor.execute(task);
+        }
+        try {
+            for (FutureTask<Void> task : tasks) {
+                // does nothing if the task is already taken by the executor
+                task.run();
+            }
+            for (FutureTask<Void> task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ParserUtils.checkInterruption();
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new ArithmeticException("Unable to integrate: " + cause);
+        } finally {
+            for (FutureTask<Void> task : tasks) {
+                task.cancel(false);
+            }
+        }
+    }
+
+    @Nonnull
+    private static final Comparator<Interval> ERROR_COMPARATOR = new Comparator<Interval>() {
+        @Override
+        public int compare(Interval l, Interval r) {
+            return Double.compare(l.error, r.error);
+        }
+    };
+
+    @Nonnull
+    private static final Comparator<Interval> LEFT_COMPARATOR = new Comparator<Interval>() {
+        @Override
+        public int compare(Interval l, Interval r) {
+            return Double.compare(l.a, r.a);
+        }
+    };
+
+    private static final class Interval {
+        final double a;
+        final double b;
+        double result;
+        double error;
+
+        Interval(double a, double b) {
+            this.a = a;
+            this.b = b;
+        }
+
+        boolean canBeSplit() {
+            final double middle = 0.5 * (a + b);
+            return a < middle && middle < b;
+        }
+
+        // QUADPACK's QK15
+        void evaluate(@Nonnull Integrand integrand) {
+            final double center = 0.5 * (a + b);
+            final double halfLength = 0.5 * (b - a);
+
+            final double[] points = new double[15];
+            points[0] = center;
+            for (int j = 0; j < 7; j++) {
+                final double dx = halfLength * XK[j];
+                points[2 * j + 1] = center - dx;
+                points[2 * j + 2] = center + dx;
+            }
+            final double[] values = new double[15];
+            integrand.evaluate(points, values);
+
+            final double fc = values[0];
+            double resultGauss = fc * WG[3];
+            double resultKronrod = fc * WK[7];
+            double resultAbs = Math.abs(resultKronrod);
+            for (int j = 0; j < 7; j++) {
+                final double f1 = values[2 * j + 1];
+                final double f2 = values[2 * j + 2];
+                resultKronrod += WK[j] * (f1 + f2);
+                resultAbs += WK[j] * (Math.abs(f1) + Math.abs(f2));
+                if (j % 2 == 1) {
+                    resultGauss += WG[j / 2] * (f1 + f2);
+                }
+            }
+            final double mean = resultKronrod * 0.5;
+            double resultAsc = WK[7] * Math.abs(fc - mean);
+            for (int j = 0; j < 7; j++) {
+                resultAsc += WK[j] * (Math.abs(values[2 * j + 1] - mean) + Math.abs(values[2 * j + 2] - mean));
+            }
+
+            final double length = Math.abs(halfLength);
+            resultAsc *= length;
+            resultAbs *= length;
+            double error = Math.abs((resultKronrod - resultGauss) * halfLength);
+            if (resultAsc != 0d && error != 0d) {
+                error = resultAsc * Math.min(1d, Math.pow(200d * error / resultAsc, 1.5));
+            }
+            if (resultAbs > Double.MIN_NORMAL / (50d * EPSILON)) {
+                error = Math.max(50d * EPSILON * resultAbs, error);
+            }
+            this.result = resultKronrod * halfLength;
+            this.error = Double.isNaN(error) ? Double.POSITIVE_INFINITY : error;
+        }
+    }
+
+    /**
+     * Integrand after the change of variable which maps infinite limits to [-1, 1], [0, 1] or [-1, 0]
+     */
+    private static final class Transformed implements Integrand {
+
+        @Nonnull
+        private final Integrand integrand;
+        private final double a;
+        private final double b;
+
+        Transformed(@Nonnull Integrand integrand, double a, double b) {
+            this.integrand = integrand;
+            this.a = a;
+            this.b = b;
+        }
+
+        @Override
+        public void evaluate(@Nonnull double[] points, @Nonnull double[] values) {
+            final double[] x = new double[points.length];
+            final double[] jacobian = new double[points.length];
+            for (int i = 0; i < points.length; i++) {
+                final double t = points[i];
+                if (Double.isInfinite(a) && Double.isInfinite(b)) {
+                    // x = t / (1 - t^2) for t in (-1, 1)
+                    final double d = 1 - t * t;
+                    x[i] = t / d;
+                    jacobian[i] = (1 + t * t) / (d * d);
+                } else if (Double.isInfinite(b)) {
+                    // x = a + t / (1 - t) for t in [0, 1)
+                    x[i] = a + t / (1 - t);
+                    jacobian[i] = 1 / ((1 - t) * (1 - t));
+                } else {
+                    // x = b + t / (1 + t) for t in (-1, 0]
+                    x[i] = b + t / (1 + t);
+                    jacobian[i] = 1 / ((1 + t) * (1 + t));
+                }
+            }
+            integrand.evaluate(x, values);
+            for (int i = 0; i < values.length; i++) {
+                // f(x) * x'(t) -> 0 if x'(t) -> inf: f must vanish at infinity for the integral to converge
+                values[i] = Double.isInfinite(jacobian[i]) ? 0d : values[i] * jacobian[i];
+            }
+        }
+    }
+}
@@ -47,6 +47,12 @@ public class Sum extends Operator {
         try {
             int from = parameters[2].integerValue().intValue();
             int to = parameters[3].integerValue().intValue();
+            if (isNumericExpansion()) {
+                final Generic result = NumericSeries.sum(parameters[0], variable, from, to);
+                if (result != null) {
+                    return result;
+                }
+            }
 
             Generic result = JsclInteger.ZERO;
             for (int i = from; i <= to; i++) {
@@ -60,6 +66,25 @@ public class Sum extends Operator {
         return expressionValue();
     }
 
+    /**
+     * Sums with many terms are evaluated without the symbolic expansion, see {@link NumericSeries}
+     */
+    @Override
+    public Generic numeric() {
+        Variable variable = parameters[1].variableValue();
+        try {
+            int from = parameters[2].integerValue().intValue();
+            int to = parameters[3].integerValue().intValue();
+            final Generic result = NumericSeries.sum(parameters[0], variable, from, to);
+            if (result != null) {
+                return result;
+            }
+            return expand().numeric();
+        } catch (NotIntegerException e) {
+            return super.numeric();
+        }
+    }
+
     public void toMathML(MathML element, Object data) {
         int exponent = data instanceof Integer ? (Integer) data : 1;
         if (exponent == 1) bodyToMathML(element);
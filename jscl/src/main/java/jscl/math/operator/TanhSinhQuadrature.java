@@ -0,0 +1,198 @@
+package jscl.math.operator;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import jscl.math.numeric.BigDecimalMath;
+import jscl.text.ParserUtils;
+
+/**
+ * Tanh-sinh (double exponential) quadrature with arbitrary precision: after the change of variable
+ * x = tanh(π/2 sinh(t)) the integrand decays double exponentially and the trapezoidal rule converges quickly even if
+ * the integrand has singularities at the limits. The step is halved on each level (only new nodes are evaluated)
+ * until two successive levels agree. Infinite limits are mapped to finite ones with the same change of variable as in
+ * {@link Quadrature}.
+ * <p/>
+ * Unlike {@link Quadrature} the integrand is evaluated sequentially in the calling thread.
+ */
+final class TanhSinhQuadrature {
+
+    /**
+     * Values of the function being integrated
+     */
+    interface Integrand {
+        /**
+         * @param point point at which the function should be evaluated
+         * @return value of the function at <var>point</var> or null if the value is not a finite real number
+         */
+        @Nullable
+        BigDecimal evaluate(@Nonnull BigDecimal point);
+    }
+
+    // step of the last level is 2^-MAX_LEVEL
+    static final int MAX_LEVEL = 8;
+    // nodes, weights and values of the integrand are computed with more digits than the result
+    static final int GUARD_DIGITS = 10;
+    private static final int MIN_LEVEL = 3;
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+    private TanhSinhQuadrature() {
+        throw new AssertionError();
+    }
+
+    /**
+     * @param a lower limit, null for -∞
+     * @param b upper limit, null for +∞
+     * @return integral of <var>integrand</var> from <var>a</var> to <var>b</var> rounded to <var>precision</var>
+     * significant digits or null if the integrand can't be evaluated or the result doesn't converge
+     */
+    @Nullable
+    static BigDecimal integrate(@Nonnull Integrand integrand, @Nullable BigDecimal a, @Nullable BigDecimal b, int precision) {
+        final MathContext mc = new MathContext(precision + GUARD_DIGITS, RoundingMode.HALF_EVEN);
+        final BigDecimal result;
+        if (a == null || b == null) {
+            final Transformed transformed = new Transformed(integrand, a, b, mc);
+            result = integrate(transformed, transformed.from(), transformed.to(), precision, mc);
+        } else if (a.compareTo(b) == 0) {
+            result = BigDecimal.ZERO;
+        } else {
+            result = integrate(integrand, a, b, precision, mc);
+        }
+        return result == null ? null : result.round(new MathContext(precision, RoundingMode.HALF_EVEN));
+    }
+
+    @Nullable
+    private static BigDecimal integrate(@Nonnull Integrand integrand, @Nonnull BigDecimal a, @Nonnull BigDecimal b, int precision, @Nonnull MathContext mc) {
+        final BigDecimal halfLength = b.subtract(a).divide(TWO, mc);
+        final BigDecimal halfPi = BigDecimalMath.pi(mc).divide(TWO, mc);
+        final BigDecimal tolerance = BigDecimal.ONE.scaleByPowerOfTen(-precision - 1);
+        // beyond this t the nodes are closer to the limits than the precision allows:
+        // 1 - tanh(π/2 sinh(t)) ~ 2 exp(-π sinh(t))
+        final double maxT = asinh(mc.getPrecision() * Math.log(10) / Math.PI + 1);
+
+        final BigDecimal center = a.add(b).divide(TWO, mc);
+        final BigDecimal centerValue = integrand.evaluate(center);
+        if (centerValue == null) {
+            return null;
+        }
+        // sums of w(t) * f(x(t)) and of w(t) * |f(x(t))| over all nodes, w(0) = π/2
+        BigDecimal sum = halfPi.multiply(centerValue, mc);
+        BigDecimal sumAbs = sum.abs();
+
+        BigDecimal previous = null;
+        BigDecimal previousDifference = null;
+        for (int level = 0; level <= MAX_LEVEL; level++) {
+            final double h = Math.scalb(1d, -level);
+            // level 0 contains all nodes k * h, others contain only odd k (even ones are already summed)
+            final int step = level == 0 ? 1 : 2;
+            for (int k = 1; k * h <= maxT; k += step) {
+                ParserUtils.checkInterruption();
+                final BigDecimal t = new BigDecimal(k * h);
+                final BigDecimal expT = BigDecimalMath.exp(t, mc);
+                final BigDecimal sinh = expT.subtract(BigDecimal.ONE.divide(expT, mc)).divide(TWO, mc);
+                final BigDecimal cosh = expT.add(BigDecimal.ONE.divide(expT, mc)).divide(TWO, mc);
+                // E = exp(2u), u = π/2 sinh(t): 1 - x = 2 / (E + 1), w = π/2 cosh(t) / cosh(u)^2 = 2π cosh(t) E / (E + 1)^2
+                final BigDecimal e = BigDecimalMath.exp(halfPi.multiply(sinh, mc).multiply(TWO), mc);
+                final BigDecimal e1 = e.add(BigDecimal.ONE);
+                final BigDecimal distance = halfLength.multiply(TWO.divide(e1, mc), mc);
+                final BigDecimal left = a.add(distance, mc);
+                final BigDecimal right = b.subtract(distance, mc);
+                if (left.compareTo(a) == 0 || right.compareTo(b) == 0) {
+                    break;
+                }
+                final BigDecimal weight = halfPi.multiply(cosh, mc).multiply(e, mc).multiply(BigDecimal.valueOf(4)).divide(e1.multiply(e1, mc), mc);
+                final BigDecimal leftValue = integrand.evaluate(left);
+                final BigDecimal rightValue = integrand.evaluate(right);
+                if (leftValue == null || rightValue == null) {
+                    return null;
+                }
+                sum = sum.add(weight.multiply(leftValue.add(rightValue, mc), mc), mc);
+                sumAbs = sumAbs.add(weight.multiply(leftValue.abs().add(rightValue.abs(), mc), mc), mc);
+            }
+
+            final BigDecimal scale = halfLength.multiply(new BigDecimal(h), mc);
+            final BigDecimal result = sum.multiply(scale, mc);
+            if (previous != null) {
+                // error of the previous level is about the difference, the error of this level is about its square
+                final BigDecimal difference = result.subtract(previous).abs().divide(sumAbs.multiply(scale.abs(), mc).max(tolerance), mc);
+                if (difference.compareTo(tolerance) <= 0) {
+                    return result;
+                }
+                if (level >= MIN_LEVEL && previousDifference != null
+                        && difference.compareTo(previousDifference.multiply(previousDifference)) <= 0
+                        && difference.multiply(difference).compareTo(tolerance) <= 0) {
+                    return result;
+                }
+                previousDifference = difference;
+            }
+            previous = result;
+        }
+        return null;
+    }
+
+    private static double asinh(double x) {
+        return Math.log(x + Math.sqrt(x * x + 1));
+    }
+
+    /**
+     * Integrand after the change of variable which maps infinite limits to [-1, 1], [0, 1] or [-1, 0]
+     */
+    private static final class Transformed implements Integrand {
+
+        @Nonnull
+        private final Integrand integrand;
+        @Nullable
+        private final BigDecimal a;
+        @Nullable
+        private final BigDecimal b;
+        @Nonnull
+        private final MathContext mc;
+
+        Transformed(@Nonnull Integrand integrand, @Nullable BigDecimal a, @Nullable BigDecimal b, @Nonnull MathContext mc) {
+            this.integrand = integrand;
+            this.a = a;
+            this.b = b;
+            this.mc = mc;
+        }
+
+        @Nonnull
+        BigDecimal from() {
+            return a == null ? BigDecimal.ONE.negate() : BigDecimal.ZERO;
+        }
+
+        @Nonnull
+        BigDecimal to() {
+            return b == null ? BigDecimal.ONE : BigDecimal.ZERO;
+        }
+
+        @Nullable
+        @Override
+        public BigDecimal evaluate(@Nonnull BigDecimal t) {
+            final BigDecimal x;
+            final BigDecimal jacobian;
+            if (a == null && b == null) {
+                // x = t / (1 - t^2) for t in (-1, 1)
+                final BigDecimal t2 = t.multiply(t);
+                final BigDecimal d = BigDecimal.ONE.subtract(t2);
+                x = t.divide(d, mc);
+                jacobian = BigDecimal.ONE.add(t2).divide(d.multiply(d), mc);
+            } else if (b == null) {
+                // x = a + t / (1 - t) for t in [0, 1)
+                final BigDecimal d = BigDecimal.ONE.subtract(t);
+                x = a.add(t.divide(d, mc), mc);
+                jacobian = BigDecimal.ONE.divide(d.multiply(d), mc);
+            } else {
+                // x = b + t / (1 + t) for t in (-1, 0]
+                final BigDecimal d = BigDecimal.ONE.add(t);
+                x = b.add(t.divide(d, mc), mc);
+                jacobian = BigDecimal.ONE.divide(d.multiply(d), mc);
+            }
+            final BigDecimal value = integrand.evaluate(x);
+            return value == null ? null : value.multiply(jacobian, mc);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package jscl.math.operator.matrix;
+
+import jscl.math.Generic;
+import jscl.math.JsclVector;
+import jscl.math.Matrix;
+import jscl.math.Variable;
+import jscl.math.operator.Operator;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Solution <code>x</code> of the linear system <code>matrix * x = vector</code>
+ */
+public class LinearSolve extends Operator {
+
+    public static final String NAME = "linsolve";
+
+    public LinearSolve(Generic matrix, Generic vector) {
+        super(NAME, new Generic[]{matrix, vector});
+    }
+
+    private LinearSolve(Generic parameters[]) {
+        super(NAME, parameters);
+    }
+
+    @Override
+    public int getMinParameters() {
+        return 2;
+    }
+
+    public Generic selfExpand() {
+        if (parameters[0] instanceof Matrix && parameters[1] instanceof JsclVector) {
+            Matrix matrix = (Matrix) parameters[0];
+            return matrix.solve((JsclVector) parameters[1]);
+        }
+        return expressionValue();
+    }
+
+    @Nonnull
+    public Variable newInstance() {
+        return new LinearSolve(null, null);
+    }
+
+    @Nonnull
+    @Override
+    public Operator newInstance(@Nonnull Generic[] parameters) {
+        return new LinearSolve(parameters);
+    }
+}
@@ -0,0 +1,282 @@
+package jscl.math.polynomial;
+
+import jscl.math.Generic;
+import jscl.math.JsclInteger;
+import jscl.text.ParserUtils;
+
+import java.math.BigInteger;
+
+/**
+ * Multiplication of dense univariate polynomials given by the arrays of their coefficients (a[i] is the coefficient
+ * of x^i, null is zero). Integer polynomials are multiplied with number theoretic transform modulo several primes
+ * p = k * 2^n + 1 less than 2^31 (as many as needed for the bound of the coefficients of the product), the
+ * coefficients are recovered with the Chinese remainder theorem (Garner's algorithm). Polynomials with other
+ * coefficients are multiplied with Karatsuba's algorithm. Small polynomials are multiplied with the schoolbook
+ * algorithm.
+ */
+public final class DenseMultiplication {
+    static final int KARATSUBA_THRESHOLD = 16;
+    static final int NTT_THRESHOLD = 32;
+    // length of the transform is at most 2^MAX_LOG_LENGTH
+    static final int MAX_LOG_LENGTH = 24;
+
+    private DenseMultiplication() {
+    }
+
+    public static BigInteger[] multiply(BigInteger a[], BigInteger b[]) {
+        if (Math.min(a.length, b.length) >= NTT_THRESHOLD) {
+            BigInteger c[] = ntt(a, b);
+            if (c != null) return c;
+        }
+        if (Math.min(a.length, b.length) >= KARATSUBA_THRESHOLD) {
+            Generic c[] = multiply(valueOf(a), valueOf(b));
+            BigInteger d[] = new BigInteger[c.length];
+            for (int i = 0; i < c.length; i++) if (c[i] != null) d[i] = ((JsclInteger) c[i]).content();
+            return d;
+        }
+        BigInteger c[] = new BigInteger[a.length + b.length - 1];
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == null || a[i].signum() == 0) continue;
+            for (int j = 0; j < b.length; j++) {
+                if (b[j] == null || b[j].signum() == 0) continue;
+                BigInteger x = a[i].multiply(b[j]);
+                c[i + j] = c[i + j] == null ? x : c[i + j].add(x);
+            }
+        }
+        return c;
+    }
+
+    public static Generic[] multiply(Generic a[], Generic b[]) {
+        Generic c[] = new Generic[a.length + b.length - 1];
+        karatsuba(a, 0, a.length, b, 0, b.length, c, 0);
+        return c;
+    }
+
+    static Generic[] valueOf(BigInteger a[]) {
+        Generic b[] = new Generic[a.length];
+        for (int i = 0; i < a.length; i++) if (a[i] != null) b[i] = new JsclInteger(a[i]);
+        return b;
+    }
+
+    // c[offset + i + j] += a[ao + i] * b[bo + j]
+    static void karatsuba(Generic a[], int ao, int an, Generic b[], int bo, int bn, Generic c[], int offset) {
+        if (an < bn) {
+            karatsuba(b, bo, bn, a, ao, an, c, offset);
+            return;
+        }
+        if (bn < KARATSUBA_THRESHOLD) {
+            for (int i = 0; i < an; i++) {
+                if (zero(a[ao + i])) continue;
+                for (int j = 0; j < bn; j++) {
+                    if (zero(b[bo + j])) continue;
+                    c[offset + i + j] = add(c[offset + i + j], a[ao + i].multiply(b[bo + j]));
+                }
+            }
+        } else if (2 * bn <= an) {
+            // unbalanced: blocks of the longer polynomial
+            for (int i = 0; i < an; i += bn) {
+                karatsuba(a, ao + i, Math.min(bn, an - i), b, bo, bn, c, offset + i);
+            }
+        } else {
+            ParserUtils.checkInterruption();
+            // a = a0 + x^h * a1, b = b0 + x^h * b1, h <= bn
+            int h = (an + 1) / 2;
+            Generic z0[] = new Generic[2 * h - 1];
+            Generic z2[] = new Generic[an + bn - 2 * h - 1];
+            karatsuba(a, ao, h, b, bo, h, z0, 0);
+            karatsuba(a, ao + h, an - h, b, bo + h, bn - h, z2, 0);
+            Generic sa[] = new Generic[h];
+            Generic sb[] = new Generic[h];
+            for (int i = 0; i < h; i++) {
+                sa[i] = i < an - h ? add(a[ao + i], a[ao + h + i]) : a[ao + i];
+                sb[i] = i < bn - h ? add(b[bo + i], b[bo + h + i]) : b[bo + i];
+            }
+            Generic z1[] = new Generic[2 * h - 1];
+            karatsuba(sa, 0, h, sb, 0, h, z1, 0);
+            for (int i = 0; i < z0.length; i++) {
+                c[offset + i] = add(c[offset + i], z0[i]);
+                z1[i] = subtract(z1[i], z0[i]);
+            }
+            for (int i = 0; i < z2.length; i++) {
+                c[offset + 2 * h + i] = add(c[offset + 2 * h + i], z2[i]);
+                z1[i] = subtract(z1[i], z2[i]);
+            }
+            // the highest coefficients of z1 are zero if b1 is
+            int n = Math.min(z1.length, an + bn - 1 - h);
+            for (int i = 0; i < n; i++) c[offset + h + i] = add(c[offset + h + i], z1[i]);
+        }
+    }
+
+    static boolean zero(Generic generic) {
+        return generic == null || generic.signum() == 0;
+    }
+
+    static Generic add(Generic a, Generic b) {
+        return a == null ? b : b == null ? a : a.add(b);
+    }
+
+    static Generic subtract(Generic a, Generic b) {
+        return b == null ? a : a == null ? b.negate() : a.subtract(b);
+    }
+
+    // null if there are not enough primes for the length of the product
+    static BigInteger[] ntt(BigInteger a[], BigInteger b[]) {
+        int length = a.length + b.length - 1;
+        int log = 0;
+        while (1 << log < length) log++;
+        if (log > MAX_LOG_LENGTH) return null;
+        // |c[i]| <= min(a.length, b.length) * max|a[i]| * max|b[i]|, one more bit for the sign
+        int bits = bitLength(a) + bitLength(b) + 32 - Integer.numberOfLeadingZeros(Math.min(a.length, b.length)) + 2;
+        int primes[] = primes(log, (bits + 29) / 30);
+        if (primes == null) return null;
+        int n = 1 << log;
+        long residues[][] = new long[primes.length][];
+        for (int k = 0; k < primes.length; k++) {
+            ParserUtils.checkInterruption();
+            long p = primes[k];
+            long x[] = residues(a, p, n);
+            long y[] = residues(b, p, n);
+            long w = root(p, log);
+            transform(x, p, w, log);
+            transform(y, p, w, log);
+            for (int i = 0; i < n; i++) x[i] = x[i] * y[i] % p;
+            transform(x, p, power(w, p - 2, p), log);
+            long inverse = power(n, p - 2, p);
+            for (int i = 0; i < length; i++) x[i] = x[i] * inverse % p;
+            residues[k] = x;
+        }
+        return garner(residues, primes, length);
+    }
+
+    static int bitLength(BigInteger a[]) {
+        int bits = 0;
+        for (int i = 0; i < a.length; i++) if (a[i] != null) bits = Math.max(bits, a[i].bitLength());
+        return bits;
+    }
+
+    static long[] residues(BigInteger a[], long p, int n) {
+        long x[] = new long[n];
+        BigInteger modulo = BigInteger.valueOf(p);
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == null) continue;
+            if (a[i].bitLength() < 63) {
+                long r = a[i].longValue() % p;
+                x[i] = r < 0 ? r + p : r;
+            } else x[i] = a[i].mod(modulo).longValue();
+        }
+        return x;
+    }
+
+    // in place iterative radix-2 transform, w is a primitive 2^log-th root of unity
+    static void transform(long x[], long p, long w, int log) {
+        int n = 1 << log;
+        for (int i = 1, j = 0; i < n; i++) {
+            int bit = n >> 1;
+            for (; (j & bit) != 0; bit >>= 1) j ^= bit;
+            j ^= bit;
+            if (i < j) {
+                long t = x[i];
+                x[i] = x[j];
+                x[j] = t;
+            }
+        }
+        for (int length = 2; length <= n; length <<= 1) {
+            long wl = power(w, n / length, p);
+            int half = length >> 1;
+            long roots[] = new long[half];
+            roots[0] = 1;
+            for (int i = 1; i < half; i++) roots[i] = roots[i - 1] * wl % p;
+            for (int i = 0; i < n; i += length) {
+                for (int j = 0; j < half; j++) {
+                    long u = x[i + j];
+                    long v = x[i + j + half] * roots[j] % p;
+                    x[i + j] = u + v < p ? u + v : u + v - p;
+                    x[i + j + half] = u - v >= 0 ? u - v : u - v + p;
+                }
+            }
+        }
+    }
+
+    // mixed radix representation of the coefficients, then symmetric range
+    static BigInteger[] garner(long residues[][], int primes[], int length) {
+        int r = primes.length;
+        long inverses[][] = new long[r][r];
+        BigInteger modulo = BigInteger.ONE;
+        for (int i = 0; i < r; i++) {
+            for (int j = i + 1; j < r; j++) inverses[i][j] = power(primes[i] % primes[j], primes[j] - 2, primes[j]);
+            modulo = modulo.multiply(BigInteger.valueOf(primes[i]));
+        }
+        BigInteger half = modulo.shiftRight(1);
+        BigInteger c[] = new BigInteger[length];
+        long v[] = new long[r];
+        for (int i = 0; i < length; i++) {
+            for (int j = 0; j < r; j++) {
+                long p = primes[j];
+                long x = residues[j][i];
+                for (int k = 0; k < j; k++) {
+                    x = (x - v[k]) % p;
+                    if (x < 0) x += p;
+                    x = x * inverses[k][j] % p;
+                }
+                v[j] = x;
+            }
+            BigInteger s = BigInteger.valueOf(v[r - 1]);
+            for (int j = r - 2; j >= 0; j--) s = s.multiply(BigInteger.valueOf(primes[j])).add(BigInteger.valueOf(v[j]));
+            c[i] = s.compareTo(half) > 0 ? s.subtract(modulo) : s;
+        }
+        return c;
+    }
+
+    // distinct primes k * 2^log + 1 greater than 2^30 and less than 2^31, null if there are not enough of them
+    static int[] primes(int log, int count) {
+        int primes[] = new int[count];
+        int n = 0;
+        for (long k = (Integer.MAX_VALUE >> log); n < count && (k << log) + 1 > 1 << 30; k--) {
+            long p = (k << log) + 1;
+            if (isPrime(p)) primes[n++] = (int) p;
+        }
+        return n < count ? null : primes;
+    }
+
+    // deterministic Miller-Rabin test for p < 2^32
+    static boolean isPrime(long p) {
+        if (p < 2 || p % 2 == 0) return p == 2;
+        long d = p - 1;
+        int s = 0;
+        while (d % 2 == 0) {
+            d /= 2;
+            s++;
+        }
+        long bases[] = {2, 7, 61};
+        loop:
+        for (int i = 0; i < bases.length; i++) {
+            if (bases[i] % p == 0) continue;
+            long x = power(bases[i], d, p);
+            if (x == 1 || x == p - 1) continue;
+            for (int j = 1; j < s; j++) {
+                x = x * x % p;
+                if (x == p - 1) continue loop;
+            }
+            return false;
+        }
+        return true;
+    }
+
+    // primitive 2^log-th root of unity: g^((p - 1) / 2^log) where g is a quadratic non-residue
+    static long root(long p, int log) {
+        long g = 2;
+        while (power(g, (p - 1) / 2, p) != p - 1) g++;
+        return power(g, (p - 1) >> log, p);
+    }
+
+    static long power(long a, long exponent, long p) {
+        long result = 1;
+        a %= p;
+        while (exponent > 0) {
+            if ((exponent & 1) != 0) result = result * a % p;
+            a = a * a % p;
+            exponent >>= 1;
+        }
+        return result;
+    }
+}
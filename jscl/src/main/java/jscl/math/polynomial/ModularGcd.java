@@ -0,0 +1,466 @@
+package jscl.math.polynomial;
+
+import jscl.math.Expression;
+import jscl.math.Generic;
+import jscl.math.JsclInteger;
+import jscl.math.Literal;
+import jscl.math.Variable;
+import jscl.text.ParserUtils;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Greatest common divisor of polynomials with integer coefficients (variables of the expressions are the
+ * indeterminates) with Brown's modular algorithm. Gcds modulo word-size primes are computed by evaluation of the last
+ * variable and interpolation of the gcds of the images (recursively, univariate gcds with Euclid's algorithm), leading
+ * coefficients are fixed by the gcd of the leading coefficients of the arguments. Images are combined with the
+ * Chinese remainder theorem until the result stops changing and its primitive part divides both polynomials. Unlucky
+ * primes and evaluation points are recognized by the leading monomials of the images.
+ * <p/>
+ * Terms are kept in maps from exponent vectors to coefficients in descending lexicographic order.
+ */
+public final class ModularGcd {
+    static final int MAX_PRIMES = 64;
+    static final Comparator<int[]> ordering = new Comparator<int[]>() {
+        public int compare(int[] e1, int[] e2) {
+            for (int i = 0; i < e1.length; i++) if (e1[i] != e2[i]) return e1[i] > e2[i] ? -1 : 1;
+            return 0;
+        }
+    };
+
+    private ModularGcd() {
+    }
+
+    /**
+     * @return gcd of the polynomials with positive lowest coefficient (see {@link Expression#signum()}), null if the
+     * arguments are not non-zero polynomials with integer coefficients or the gcd can't be found with reasonable
+     * number of primes (then the subresultant algorithm should be used)
+     */
+    public static Generic compute(Generic a, Generic b) {
+        Expression e1 = expression(a);
+        Expression e2 = expression(b);
+        if (e1 == null || e2 == null || e1.signum() == 0 || e2.signum() == 0) return null;
+        Variable unknown[] = Expression.variables(new Generic[]{e1, e2});
+        TreeMap<int[], BigInteger> g = gcd(terms(e1, unknown), terms(e2, unknown), unknown.length);
+        if (g == null) return null;
+        Generic s = JsclInteger.valueOf(0);
+        for (Map.Entry<int[], BigInteger> e : g.entrySet()) {
+            Literal l = Literal.newInstance();
+            for (int i = 0; i < unknown.length; i++) {
+                if (e.getKey()[i] > 0) l = l.multiply(Literal.valueOf(unknown[i], e.getKey()[i]));
+            }
+            s = s.add(Expression.valueOf(l, new JsclInteger(e.getValue())));
+        }
+        return s.signum() < 0 ? s.negate() : s;
+    }
+
+    static Expression expression(Generic generic) {
+        if (generic instanceof Expression) return (Expression) generic;
+        else if (generic instanceof JsclInteger) return Expression.valueOf((JsclInteger) generic);
+        else return null;
+    }
+
+    static TreeMap<int[], BigInteger> terms(Expression expression, Variable unknown[]) {
+        TreeMap<int[], BigInteger> map = new TreeMap<int[], BigInteger>(ordering);
+        for (int i = 0; i < expression.size(); i++) {
+            Literal l = expression.literal(i);
+            int e[] = new int[unknown.length];
+            for (int j = 0; j < l.size(); j++) e[Monomial.variable(l.getVariable(j), unknown)] = l.getPower(j);
+            map.put(e, expression.coef(i).content());
+        }
+        return map;
+    }
+
+    static TreeMap<int[], BigInteger> gcd(TreeMap<int[], BigInteger> a, TreeMap<int[], BigInteger> b, int n) {
+        BigInteger ca = content(a);
+        BigInteger cb = content(b);
+        BigInteger c = ca.gcd(cb);
+        if (n == 0) return constant(c, n);
+        a = divide(a, ca);
+        b = divide(b, cb);
+        BigInteger la = a.firstEntry().getValue();
+        BigInteger lb = b.firstEntry().getValue();
+        BigInteger g = la.gcd(lb);
+        TreeMap<int[], BigInteger> h = null;
+        TreeMap<int[], BigInteger> previous = null;
+        BigInteger modulo = null;
+        long p = Integer.MAX_VALUE;
+        for (int nprimes = 0; nprimes < MAX_PRIMES; nprimes++, p -= 2) {
+            while (!DenseMultiplication.isPrime(p)) p -= 2;
+            BigInteger prime = BigInteger.valueOf(p);
+            if (la.mod(prime).signum() == 0 || lb.mod(prime).signum() == 0) continue;
+            TreeMap<int[], Long> image = gcd(reduce(a, p), reduce(b, p), n, p);
+            if (image == null) return null;
+            if (constant(image)) return constant(c, n);
+            image = multiply(image, g.mod(prime).longValue(), p);
+            if (h != null) {
+                int cmp = ordering.compare(image.firstKey(), h.firstKey());
+                // leading monomial of the image is greater: unlucky prime
+                if (cmp < 0) continue;
+                // the previous primes were unlucky
+                else if (cmp > 0) h = null;
+            }
+            if (h == null) {
+                h = new TreeMap<int[], BigInteger>(ordering);
+                for (Map.Entry<int[], Long> e : image.entrySet()) h.put(e.getKey(), BigInteger.valueOf(e.getValue()));
+                modulo = prime;
+                previous = null;
+            } else {
+                h = combine(h, modulo, image, p);
+                modulo = modulo.multiply(prime);
+            }
+            TreeMap<int[], BigInteger> s = symmetric(h, modulo);
+            if (s.equals(previous)) {
+                TreeMap<int[], BigInteger> q = divide(s, content(s));
+                if (divides(a, q) && divides(b, q)) return multiply(q, c);
+            }
+            previous = s;
+        }
+        return null;
+    }
+
+    // x = a (mod m), x = b (mod p) => x = a + m * ((b - a) / m mod p)
+    static TreeMap<int[], BigInteger> combine(TreeMap<int[], BigInteger> a, BigInteger m, TreeMap<int[], Long> b, long p) {
+        BigInteger prime = BigInteger.valueOf(p);
+        BigInteger inverse = m.mod(prime).modInverse(prime);
+        TreeMap<int[], BigInteger> c = new TreeMap<int[], BigInteger>(ordering);
+        TreeMap<int[], int[]> keys = new TreeMap<int[], int[]>(ordering);
+        for (int[] e : a.keySet()) keys.put(e, e);
+        for (int[] e : b.keySet()) keys.put(e, e);
+        for (int[] e : keys.keySet()) {
+            BigInteger x = a.get(e);
+            Long y = b.get(e);
+            if (x == null) x = BigInteger.ZERO;
+            BigInteger d = BigInteger.valueOf(y == null ? 0 : y).subtract(x).multiply(inverse).mod(prime);
+            BigInteger z = x.add(m.multiply(d));
+            if (z.signum() != 0) c.put(e, z);
+        }
+        return c;
+    }
+
+    static TreeMap<int[], BigInteger> symmetric(TreeMap<int[], BigInteger> a, BigInteger modulo) {
+        BigInteger half = modulo.shiftRight(1);
+        TreeMap<int[], BigInteger> b = new TreeMap<int[], BigInteger>(ordering);
+        for (Map.Entry<int[], BigInteger> e : a.entrySet()) {
+            BigInteger x = e.getValue();
+            b.put(e.getKey(), x.compareTo(half) > 0 ? x.subtract(modulo) : x);
+        }
+        return b;
+    }
+
+    static BigInteger content(TreeMap<int[], BigInteger> a) {
+        BigInteger c = BigInteger.ZERO;
+        for (BigInteger x : a.values()) c = c.gcd(x);
+        // positive leading coefficient of the primitive part
+        return a.firstEntry().getValue().signum() < 0 ? c.negate() : c;
+    }
+
+    static TreeMap<int[], BigInteger> divide(TreeMap<int[], BigInteger> a, BigInteger c) {
+        TreeMap<int[], BigInteger> b = new TreeMap<int[], BigInteger>(ordering);
+        for (Map.Entry<int[], BigInteger> e : a.entrySet()) b.put(e.getKey(), e.getValue().divide(c));
+        return b;
+    }
+
+    static TreeMap<int[], BigInteger> multiply(TreeMap<int[], BigInteger> a, BigInteger c) {
+        TreeMap<int[], BigInteger> b = new TreeMap<int[], BigInteger>(ordering);
+        for (Map.Entry<int[], BigInteger> e : a.entrySet()) b.put(e.getKey(), e.getValue().multiply(c));
+        return b;
+    }
+
+    static TreeMap<int[], BigInteger> constant(BigInteger c, int n) {
+        TreeMap<int[], BigInteger> a = new TreeMap<int[], BigInteger>(ordering);
+        a.put(new int[n], c);
+        return a;
+    }
+
+    // exact division over the integers
+    static boolean divides(TreeMap<int[], BigInteger> a, TreeMap<int[], BigInteger> d) {
+        TreeMap<int[], BigInteger> r = new TreeMap<int[], BigInteger>(a);
+        int ld[] = d.firstKey();
+        BigInteger lc = d.firstEntry().getValue();
+        while (!r.isEmpty()) {
+            ParserUtils.checkInterruption();
+            int lr[] = r.firstKey();
+            int m[] = new int[lr.length];
+            for (int i = 0; i < m.length; i++) {
+                m[i] = lr[i] - ld[i];
+                if (m[i] < 0) return false;
+            }
+            BigInteger q[] = r.firstEntry().getValue().divideAndRemainder(lc);
+            if (q[1].signum() != 0) return false;
+            for (Map.Entry<int[], BigInteger> e : d.entrySet()) {
+                int k[] = e.getKey().clone();
+                for (int i = 0; i < k.length; i++) k[i] += m[i];
+                BigInteger x = r.get(k);
+                BigInteger y = (x == null ? BigInteger.ZERO : x).subtract(q[0].multiply(e.getValue()));
+                if (y.signum() == 0) r.remove(k);
+                else r.put(k, y);
+            }
+        }
+        return true;
+    }
+
+    static TreeMap<int[], Long> reduce(TreeMap<int[], BigInteger> a, long p) {
+        BigInteger prime = BigInteger.valueOf(p);
+        TreeMap<int[], Long> b = new TreeMap<int[], Long>(ordering);
+        for (Map.Entry<int[], BigInteger> e : a.entrySet()) {
+            long x = e.getValue().mod(prime).longValue();
+            if (x != 0) b.put(e.getKey(), x);
+        }
+        return b;
+    }
+
+    static boolean constant(TreeMap<int[], Long> a) {
+        int e[] = a.firstKey();
+        for (int i = 0; i < e.length; i++) if (e[i] != 0) return false;
+        return true;
+    }
+
+    // monic gcd of non-zero polynomials in k variables modulo p, null if there are too many unlucky points
+    static TreeMap<int[], Long> gcd(TreeMap<int[], Long> a, TreeMap<int[], Long> b, int k, long p) {
+        if (k == 1) return valueOf(gcd(univariate(a), univariate(b), p), 1);
+        // polynomials in the first k - 1 variables with coefficients in Z_p[x_k]
+        TreeMap<int[], long[]> ga = group(a, k);
+        TreeMap<int[], long[]> gb = group(b, k);
+        long ca[] = content(ga, p);
+        long cb[] = content(gb, p);
+        long c[] = gcd(ca, cb, p);
+        ga = divide(ga, ca, p);
+        gb = divide(gb, cb, p);
+        long gamma[] = gcd(ga.firstEntry().getValue(), gb.firstEntry().getValue(), p);
+        int bound = gamma.length - 1 + Math.min(degree(ga), degree(gb));
+        TreeMap<int[], long[]> h = null;
+        long q[] = null;
+        int count = 0;
+        for (long x = 1, points = 0; x < p && points < 16 * (bound + 1) + 64; x++, points++) {
+            ParserUtils.checkInterruption();
+            long g = evaluate(gamma, x, p);
+            if (g == 0) continue;
+            TreeMap<int[], Long> image = gcd(evaluate(ga, x, p), evaluate(gb, x, p), k - 1, p);
+            if (image == null) return null;
+            // gcd of the primitive parts is 1
+            if (constant(image)) return ungroup(constant(c, k - 1), k);
+            image = multiply(image, g, p);
+            if (h != null) {
+                int cmp = ordering.compare(image.firstKey(), h.firstKey());
+                if (cmp < 0) continue;
+                else if (cmp > 0) h = null;
+            }
+            if (h == null) {
+                h = new TreeMap<int[], long[]>(ordering);
+                for (Map.Entry<int[], Long> e : image.entrySet()) h.put(e.getKey(), new long[]{e.getValue()});
+                q = new long[]{p - x, 1};
+                count = 1;
+            } else {
+                interpolate(h, q, image, x, p);
+                q = multiply(q, new long[]{p - x, 1}, p);
+                count++;
+            }
+            if (count > bound) {
+                TreeMap<int[], Long> r = ungroup(divide(h, content(h, p), p), k);
+                if (divides(ungroup(ga, k), r, p) && divides(ungroup(gb, k), r, p)) {
+                    return monic(ungroup(multiply(group(r, k), c, p), k), p);
+                }
+            }
+        }
+        return null;
+    }
+
+    // Newton's interpolation: h + (v - h(x)) / q(x) * q
+    static void interpolate(TreeMap<int[], long[]> h, long q[], TreeMap<int[], Long> v, long x, long p) {
+        long inverse = inverse(evaluate(q, x, p), p);
+        TreeMap<int[], int[]> keys = new TreeMap<int[], int[]>(ordering);
+        for (int[] e : h.keySet()) keys.put(e, e);
+        for (int[] e : v.keySet()) keys.put(e, e);
+        for (int[] e : keys.keySet()) {
+            long u[] = h.get(e);
+            Long y = v.get(e);
+            long d = ((y == null ? 0 : y) - (u == null ? 0 : evaluate(u, x, p)) + p) % p * inverse % p;
+            if (d == 0) continue;
+            long w[] = add(u == null ? new long[0] : u, multiply(q, new long[]{d}, p), p);
+            if (w.length == 0) h.remove(e);
+            else h.put(e, w);
+        }
+    }
+
+    static TreeMap<int[], long[]> group(TreeMap<int[], Long> a, int k) {
+        TreeMap<int[], long[]> g = new TreeMap<int[], long[]>(ordering);
+        for (Map.Entry<int[], Long> e : a.entrySet()) {
+            int prefix[] = Arrays.copyOf(e.getKey(), k - 1);
+            int n = e.getKey()[k - 1];
+            long u[] = g.get(prefix);
+            if (u == null) u = new long[n + 1];
+            else if (u.length <= n) u = Arrays.copyOf(u, n + 1);
+            u[n] = e.getValue();
+            g.put(prefix, u);
+        }
+        return g;
+    }
+
+    static TreeMap<int[], Long> ungroup(TreeMap<int[], long[]> g, int k) {
+        TreeMap<int[], Long> a = new TreeMap<int[], Long>(ordering);
+        for (Map.Entry<int[], long[]> e : g.entrySet()) {
+            long u[] = e.getValue();
+            for (int i = 0; i < u.length; i++) {
+                if (u[i] == 0) continue;
+                int key[] = Arrays.copyOf(e.getKey(), k);
+                key[k - 1] = i;
+                a.put(key, u[i]);
+            }
+        }
+        return a;
+    }
+
+    static TreeMap<int[], long[]> constant(long c[], int n) {
+        TreeMap<int[], long[]> g = new TreeMap<int[], long[]>(ordering);
+        g.put(new int[n], c);
+        return g;
+    }
+
+    static int degree(TreeMap<int[], long[]> g) {
+        int d = 0;
+        for (long u[] : g.values()) d = Math.max(d, u.length - 1);
+        return d;
+    }
+
+    static long[] content(TreeMap<int[], long[]> g, long p) {
+        long c[] = new long[0];
+        for (Iterator<long[]> it = g.values().iterator(); it.hasNext() && c.length != 1; ) c = gcd(c, it.next(), p);
+        return c;
+    }
+
+    static TreeMap<int[], long[]> divide(TreeMap<int[], long[]> g, long c[], long p) {
+        if (c.length == 1) return g;
+        TreeMap<int[], long[]> h = new TreeMap<int[], long[]>(ordering);
+        for (Map.Entry<int[], long[]> e : g.entrySet()) h.put(e.getKey(), divide(e.getValue(), c, p)[0]);
+        return h;
+    }
+
+    static TreeMap<int[], long[]> multiply(TreeMap<int[], long[]> g, long c[], long p) {
+        TreeMap<int[], long[]> h = new TreeMap<int[], long[]>(ordering);
+        for (Map.Entry<int[], long[]> e : g.entrySet()) h.put(e.getKey(), multiply(e.getValue(), c, p));
+        return h;
+    }
+
+    static TreeMap<int[], Long> evaluate(TreeMap<int[], long[]> g, long x, long p) {
+        TreeMap<int[], Long> a = new TreeMap<int[], Long>(ordering);
+        for (Map.Entry<int[], long[]> e : g.entrySet()) {
+            long y = evaluate(e.getValue(), x, p);
+            if (y != 0) a.put(e.getKey(), y);
+        }
+        return a;
+    }
+
+    static TreeMap<int[], Long> multiply(TreeMap<int[], Long> a, long c, long p) {
+        TreeMap<int[], Long> b = new TreeMap<int[], Long>(ordering);
+        for (Map.Entry<int[], Long> e : a.entrySet()) b.put(e.getKey(), e.getValue() * c % p);
+        return b;
+    }
+
+    static TreeMap<int[], Long> monic(TreeMap<int[], Long> a, long p) {
+        return multiply(a, inverse(a.firstEntry().getValue(), p), p);
+    }
+
+    // exact division modulo p
+    static boolean divides(TreeMap<int[], Long> a, TreeMap<int[], Long> d, long p) {
+        TreeMap<int[], Long> r = new TreeMap<int[], Long>(a);
+        int ld[] = d.firstKey();
+        long inverse = inverse(d.firstEntry().getValue(), p);
+        while (!r.isEmpty()) {
+            int lr[] = r.firstKey();
+            int m[] = new int[lr.length];
+            for (int i = 0; i < m.length; i++) {
+                m[i] = lr[i] - ld[i];
+                if (m[i] < 0) return false;
+            }
+            long q = r.firstEntry().getValue() * inverse % p;
+            for (Map.Entry<int[], Long> e : d.entrySet()) {
+                int k[] = e.getKey().clone();
+                for (int i = 0; i < k.length; i++) k[i] += m[i];
+                Long x = r.get(k);
+                long y = ((x == null ? 0 : x) - q * e.getValue() % p + p) % p;
+                if (y == 0) r.remove(k);
+                else r.put(k, y);
+            }
+        }
+        return true;
+    }
+
+    static long[] univariate(TreeMap<int[], Long> a) {
+        long u[] = new long[a.firstKey()[0] + 1];
+        for (Map.Entry<int[], Long> e : a.entrySet()) u[e.getKey()[0]] = e.getValue();
+        return u;
+    }
+
+    static TreeMap<int[], Long> valueOf(long u[], int k) {
+        TreeMap<int[], Long> a = new TreeMap<int[], Long>(ordering);
+        for (int i = 0; i < u.length; i++) {
+            if (u[i] == 0) continue;
+            int e[] = new int[k];
+            e[k - 1] = i;
+            a.put(e, u[i]);
+        }
+        return a;
+    }
+
+    // univariate polynomials modulo p: a[i] is the coefficient of x^i, no leading zeros
+
+    static long[] gcd(long a[], long b[], long p) {
+        while (b.length > 0) {
+            long r[] = divide(a, b, p)[1];
+            a = b;
+            b = r;
+        }
+        return a.length == 0 ? a : multiply(a, new long[]{inverse(a[a.length - 1], p)}, p);
+    }
+
+    static long[][] divide(long a[], long b[], long p) {
+        long r[] = a.clone();
+        long q[] = new long[Math.max(a.length - b.length + 1, 0)];
+        long inverse = inverse(b[b.length - 1], p);
+        for (int i = q.length - 1; i >= 0; i--) {
+            long c = r[i + b.length - 1] * inverse % p;
+            q[i] = c;
+            if (c == 0) continue;
+            for (int j = 0; j < b.length; j++) r[i + j] = (r[i + j] - c * b[j] % p + p) % p;
+        }
+        return new long[][]{trim(q), trim(r)};
+    }
+
+    static long[] multiply(long a[], long b[], long p) {
+        if (a.length == 0 || b.length == 0) return new long[0];
+        long c[] = new long[a.length + b.length - 1];
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == 0) continue;
+            for (int j = 0; j < b.length; j++) c[i + j] = (c[i + j] + a[i] * b[j]) % p;
+        }
+        return trim(c);
+    }
+
+    static long[] add(long a[], long b[], long p) {
+        long c[] = Arrays.copyOf(a, Math.max(a.length, b.length));
+        for (int i = 0; i < b.length; i++) c[i] = (c[i] + b[i]) % p;
+        return trim(c);
+    }
+
+    static long evaluate(long a[], long x, long p) {
+        long y = 0;
+        for (int i = a.length - 1; i >= 0; i--) y = (y * x + a[i]) % p;
+        return y;
+    }
+
+    static long[] trim(long a[]) {
+        int n = a.length;
+        while (n > 0 && a[n - 1] == 0) n--;
+        return n == a.length ? a : Arrays.copyOf(a, n);
+    }
+
+    static long inverse(long a, long p) {
+        return DenseMultiplication.power(a, p - 2, p);
+    }
+}
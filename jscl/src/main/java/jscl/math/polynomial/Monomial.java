@@ -18,6 +18,9 @@ public class Monomial implements Comparable {
     final Ordering ordering;
     final int element[];
     int degree;
+    // bit (i mod 32) is set if some variable i has positive exponent: monomial can't be divisible by another one
+    // which has a bit which is not set here
+    int mask;
 
     Monomial(Variable unknown[], Ordering ordering) {
         this(unknown.length, unknown, ordering);
@@ -50,14 +53,16 @@ public class Monomial implements Comparable {
             case Basis.POWER_2_DEFINED:
                 return new DefinedBooleanMonomial(unknown, small(ordering));
             default:
+                Ordering packed = PackedMonomial.packed(ordering);
+                if (packed != null && unknown.length <= PackedMonomial.MAX_VARIABLES) return new PackedMonomial(unknown, packed);
                 return new Monomial(unknown, ordering);
         }
     }
 
     static Ordering small(Ordering ordering) {
-        if (ordering == lexicographic) return SmallMonomial.lexicographic;
-        else if (ordering == totalDegreeLexicographic) return SmallMonomial.totalDegreeLexicographic;
-        else if (ordering == degreeReverseLexicographic) return SmallMonomial.degreeReverseLexicographic;
+        if (ordering == lexicographic || ordering == PackedMonomial.lexicographic) return SmallMonomial.lexicographic;
+        else if (ordering == totalDegreeLexicographic || ordering == PackedMonomial.totalDegreeLexicographic) return SmallMonomial.totalDegreeLexicographic;
+        else if (ordering == degreeReverseLexicographic || ordering == PackedMonomial.degreeReverseLexicographic) return SmallMonomial.degreeReverseLexicographic;
         else throw new UnsupportedOperationException();
     }
 
@@ -81,6 +86,7 @@ public class Monomial implements Comparable {
             m.element[i] = element[i] + monomial.element[i];
         }
         m.degree = degree + monomial.degree;
+        m.mask = mask | monomial.mask;
         return m;
     }
 
@@ -89,6 +95,7 @@ public class Monomial implements Comparable {
     }
 
     public boolean multiple(Monomial monomial, boolean strict) {
+        if ((monomial.mask & ~mask) != 0) return false;
         boolean equal = true;
         for (int i = 0; i < unknown.length; i++) {
             if (element[i] < monomial.element[i]) return false;
@@ -103,6 +110,7 @@ public class Monomial implements Comparable {
             int n = element[i] - monomial.element[i];
             if (n < 0) throw new NotDivisibleException();
             m.element[i] = n;
+            if (n > 0) m.mask |= 1 << i;
         }
         m.degree = degree - monomial.degree;
         return m;
@@ -114,6 +122,7 @@ public class Monomial implements Comparable {
             int n = Math.min(element[i], monomial.element[i]);
             m.element[i] = n;
             m.degree += n;
+            if (n > 0) m.mask |= 1 << i;
         }
         return m;
     }
@@ -125,6 +134,7 @@ public class Monomial implements Comparable {
             m.element[i] = n;
             m.degree += n;
         }
+        m.mask = mask | monomial.mask;
         return m;
     }
 
@@ -136,6 +146,8 @@ public class Monomial implements Comparable {
         Monomial m = newinstance();
         System.arraycopy(monomial.element, 0, m.element, 0, m.element.length);
         m.degree = monomial.degree;
+        // elements of the monomial might be changed in place (see MonomialIterator), so the mask is recomputed
+        for (int i = 0; i < m.element.length; i++) if (m.element[i] > 0) m.mask |= 1 << i;
         return m;
     }
 
@@ -190,6 +202,7 @@ public class Monomial implements Comparable {
     void put(int n, int integer) {
         element[n] += integer;
         degree += integer;
+        if (element[n] > 0) mask |= 1 << n;
     }
 
     public String toString() {
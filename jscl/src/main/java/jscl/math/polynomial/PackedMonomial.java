@@ -0,0 +1,212 @@
+package jscl.math.polynomial;
+
+import jscl.math.NotDivisibleException;
+import jscl.math.Variable;
+
+/**
+ * Monomial of at most {@link #MAX_VARIABLES} variables which exponents are also packed into two longs, 16 bits per
+ * variable (variables 0-3 in low, 4-7 in high, lowest variable in the lowest bits). The highest bit of each field is a
+ * guard bit, so that multiplication, division, divisibility test, gcd, scm and comparisons are done on all the fields
+ * at once. Exponents greater than {@link #LIMIT} can't be packed: such monomials are handled by the regular
+ * (unpacked) operations, which are always available as the exponents array is maintained too.
+ */
+class PackedMonomial extends Monomial {
+    static final Ordering lexicographic = PackedLexicographic.ordering;
+    static final Ordering totalDegreeLexicographic = PackedTotalDegreeLexicographic.ordering;
+    static final Ordering degreeReverseLexicographic = PackedDegreeReverseLexicographic.ordering;
+    static final int MAX_VARIABLES = 8;
+    static final int LIMIT = 0x7fff;
+    static final long GUARD = 0x8000800080008000L;
+    long low;
+    long high;
+    boolean packed = true;
+
+    PackedMonomial(Variable unknown[], Ordering ordering) {
+        super(unknown, ordering);
+    }
+
+    static Ordering packed(Ordering ordering) {
+        if (ordering == Monomial.lexicographic || ordering == lexicographic) return lexicographic;
+        else if (ordering == Monomial.totalDegreeLexicographic || ordering == totalDegreeLexicographic) return totalDegreeLexicographic;
+        else if (ordering == Monomial.degreeReverseLexicographic || ordering == degreeReverseLexicographic) return degreeReverseLexicographic;
+        else return null;
+    }
+
+    public Monomial multiply(Monomial monomial) {
+        if (packed(monomial)) {
+            PackedMonomial that = (PackedMonomial) monomial;
+            long l = low + that.low;
+            long h = high + that.high;
+            if (((l | h) & GUARD) == 0) return newinstance(l, h);
+        }
+        return pack(super.multiply(monomial));
+    }
+
+    public boolean multiple(Monomial monomial, boolean strict) {
+        if (packed(monomial)) {
+            PackedMonomial that = (PackedMonomial) monomial;
+            if (!greater(low, that.low) || !greater(high, that.high)) return false;
+            return strict ? low != that.low || high != that.high : true;
+        }
+        return super.multiple(monomial, strict);
+    }
+
+    public Monomial divide(Monomial monomial) throws ArithmeticException {
+        if (packed(monomial)) {
+            PackedMonomial that = (PackedMonomial) monomial;
+            if (!greater(low, that.low) || !greater(high, that.high)) throw new NotDivisibleException();
+            return newinstance(low - that.low, high - that.high);
+        }
+        return pack(super.divide(monomial));
+    }
+
+    public Monomial gcd(Monomial monomial) {
+        if (packed(monomial)) {
+            PackedMonomial that = (PackedMonomial) monomial;
+            return newinstance(min(low, that.low), min(high, that.high));
+        }
+        return pack(super.gcd(monomial));
+    }
+
+    public Monomial scm(Monomial monomial) {
+        if (packed(monomial)) {
+            PackedMonomial that = (PackedMonomial) monomial;
+            return newinstance(max(low, that.low), max(high, that.high));
+        }
+        return pack(super.scm(monomial));
+    }
+
+    public Monomial valueof(Monomial monomial) {
+        return pack(super.valueof(monomial));
+    }
+
+    void put(int n, int integer) {
+        super.put(n, integer);
+        pack();
+    }
+
+    boolean packed(Monomial monomial) {
+        return packed && monomial instanceof PackedMonomial && ((PackedMonomial) monomial).packed;
+    }
+
+    // guard bits of (a | GUARD) - b are set in the fields where a >= b, there is no borrow between the fields
+    static long compare(long a, long b) {
+        return ((a | GUARD) - b) & GUARD;
+    }
+
+    static boolean greater(long a, long b) {
+        return compare(a, b) == GUARD;
+    }
+
+    // 0xffff in the fields where a >= b
+    static long fields(long a, long b) {
+        return (compare(a, b) >>> 15) * 0xffff;
+    }
+
+    static long min(long a, long b) {
+        long m = fields(a, b);
+        return (b & m) | (a & ~m);
+    }
+
+    static long max(long a, long b) {
+        long m = fields(a, b);
+        return (a & m) | (b & ~m);
+    }
+
+    static Monomial pack(Monomial monomial) {
+        ((PackedMonomial) monomial).pack();
+        return monomial;
+    }
+
+    void pack() {
+        long l = 0;
+        long h = 0;
+        packed = true;
+        for (int i = 0; i < element.length; i++) {
+            int n = element[i];
+            if (n < 0 || n > LIMIT) {
+                packed = false;
+                return;
+            }
+            if (i < 4) l |= (long) n << (i << 4);
+            else h |= (long) n << ((i - 4) << 4);
+        }
+        low = l;
+        high = h;
+    }
+
+    PackedMonomial newinstance(long low, long high) {
+        PackedMonomial m = (PackedMonomial) newinstance();
+        m.low = low;
+        m.high = high;
+        for (int i = 0; i < element.length; i++) {
+            int n = (int) ((i < 4 ? low >>> (i << 4) : high >>> ((i - 4) << 4)) & 0xffff);
+            m.element[i] = n;
+            m.degree += n;
+            if (n > 0) m.mask |= 1 << i;
+        }
+        return m;
+    }
+
+    protected Monomial newinstance() {
+        return new PackedMonomial(unknown, ordering);
+    }
+}
+
+class PackedLexicographic extends Ordering {
+    public static final Ordering ordering = new PackedLexicographic();
+
+    PackedLexicographic() {
+    }
+
+    public int compare(Monomial m1, Monomial m2) {
+        if (m1 instanceof PackedMonomial && ((PackedMonomial) m1).packed(m2)) {
+            PackedMonomial p1 = (PackedMonomial) m1;
+            PackedMonomial p2 = (PackedMonomial) m2;
+            // fields are less than 0x8000, so the longs are positive and the highest variable is in the highest bits
+            if (p1.high != p2.high) return p1.high < p2.high ? -1 : 1;
+            else if (p1.low != p2.low) return p1.low < p2.low ? -1 : 1;
+            else return 0;
+        }
+        return Monomial.lexicographic.compare(m1, m2);
+    }
+}
+
+class PackedTotalDegreeLexicographic extends Ordering implements DegreeOrdering {
+    public static final Ordering ordering = new PackedTotalDegreeLexicographic();
+
+    PackedTotalDegreeLexicographic() {
+    }
+
+    public int compare(Monomial m1, Monomial m2) {
+        if (m1.degree < m2.degree) return -1;
+        else if (m1.degree > m2.degree) return 1;
+        else return PackedLexicographic.ordering.compare(m1, m2);
+    }
+}
+
+class PackedDegreeReverseLexicographic extends Ordering implements DegreeOrdering {
+    public static final Ordering ordering = new PackedDegreeReverseLexicographic();
+
+    PackedDegreeReverseLexicographic() {
+    }
+
+    public int compare(Monomial m1, Monomial m2) {
+        if (m1.degree < m2.degree) return -1;
+        else if (m1.degree > m2.degree) return 1;
+        else if (m1 instanceof PackedMonomial && ((PackedMonomial) m1).packed(m2)) {
+            PackedMonomial p1 = (PackedMonomial) m1;
+            PackedMonomial p2 = (PackedMonomial) m2;
+            // the first differing field, from the lowest variable
+            if (p1.low != p2.low) return reverse(p1.low, p2.low);
+            else if (p1.high != p2.high) return reverse(p1.high, p2.high);
+            else return 0;
+        }
+        return Monomial.degreeReverseLexicographic.compare(m1, m2);
+    }
+
+    static int reverse(long a, long b) {
+        int shift = Long.numberOfTrailingZeros(a ^ b) & ~15;
+        return ((a >>> shift) & 0xffff) > ((b >>> shift) & 0xffff) ? -1 : 1;
+    }
+}
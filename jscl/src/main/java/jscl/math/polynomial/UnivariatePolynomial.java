@@ -5,6 +5,7 @@ import jscl.math.function.Inverse;
 import jscl.util.ArrayUtils;
 
 import javax.annotation.Nonnull;
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -70,14 +71,36 @@ public class UnivariatePolynomial extends Polynomial {
     public Polynomial multiply(@Nonnull Polynomial that) {
         UnivariatePolynomial p = newinstance();
         UnivariatePolynomial q = (UnivariatePolynomial) that;
-        for (int i = degree; i >= 0; i--) {
-            for (int j = q.degree; j >= 0; j--) {
-                p.put(i + j, get(i).multiply(q.get(j)));
-            }
+        BigInteger a[] = integers();
+        BigInteger b[] = a == null ? null : q.integers();
+        if (b != null) {
+            BigInteger c[] = DenseMultiplication.multiply(a, b);
+            for (int i = 0; i < c.length; i++) if (c[i] != null) p.put(i, new JsclInteger(c[i]));
+        } else {
+            Generic c[] = DenseMultiplication.multiply(copyOfContent(), q.copyOfContent());
+            for (int i = 0; i < c.length; i++) if (c[i] != null) p.put(i, c[i]);
         }
         return p;
     }
 
+    // coefficients if all of them are integers, null otherwise
+    BigInteger[] integers() {
+        BigInteger a[] = new BigInteger[degree + 1];
+        for (int i = 0; i <= degree; i++) {
+            Generic c = content[i];
+            if (c == null) continue;
+            if (!(c instanceof JsclInteger)) return null;
+            a[i] = ((JsclInteger) c).content();
+        }
+        return a;
+    }
+
+    Generic[] copyOfContent() {
+        Generic a[] = new Generic[degree + 1];
+        System.arraycopy(content, 0, a, 0, a.length);
+        return a;
+    }
+
     public Polynomial multiply(Generic generic) {
         UnivariatePolynomial p = newinstance();
         for (int i = degree; i >= 0; i--) {
@@ -159,6 +182,10 @@ public class UnivariatePolynomial extends Polynomial {
         UnivariatePolynomial q = (UnivariatePolynomial) polynomial;
         if (p.signum() == 0) return q;
         else if (q.signum() == 0) return p;
+        if (coefFactory == null) {
+            Generic gcd = ModularGcd.compute(p.genericValue(), q.genericValue());
+            if (gcd != null) return valueOf(gcd);
+        }
         if (p.degree < q.degree) {
             UnivariatePolynomial r = p;
             p = q;
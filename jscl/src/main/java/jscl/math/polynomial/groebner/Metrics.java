@@ -0,0 +1,82 @@
+package jscl.math.polynomial.groebner;
+
+/**
+ * Counters and timings of Groebner basis computations, see
+ * {@link jscl.math.polynomial.Basis#compute(jscl.math.Generic[], jscl.math.Variable[], jscl.math.polynomial.Ordering, int, int, Metrics)}.
+ * Values are accumulated over all the computations done for one basis (e.g. the degree compatible basis computed
+ * first with {@link jscl.math.polynomial.Basis#DEGREE} flag or the images and the verification of the
+ * multi-modular algorithm, which run concurrently, so the times are not wall times in that case).
+ */
+public class Metrics {
+    int ncomputations;
+    int ncreated;
+    int npairs;
+    int npolys;
+    int maxDegree;
+    long populate;
+    long evaluate;
+    long reduce;
+
+    synchronized void add(Standard a, long populate, long evaluate, long reduce) {
+        ncomputations++;
+        ncreated += a.ncreated;
+        npairs += a.npairs;
+        npolys += a.npolys;
+        maxDegree = Math.max(maxDegree, a.maxDegree);
+        this.populate += populate;
+        this.evaluate += evaluate;
+        this.reduce += reduce;
+    }
+
+    public synchronized int computations() {
+        return ncomputations;
+    }
+
+    // critical pairs created for the polynomials added to the bases
+    public synchronized int pairs() {
+        return ncreated;
+    }
+
+    // pairs discarded by Buchberger's criteria or Gebauer-Moeller installation (including coprime ones)
+    public synchronized int discarded() {
+        return ncreated - npairs;
+    }
+
+    public synchronized int reductions() {
+        return npairs;
+    }
+
+    // reduced pairs which didn't give new polynomials
+    public synchronized int zeroReductions() {
+        return npairs - npolys;
+    }
+
+    // polynomials added to the bases during the computations (not including the generators)
+    public synchronized int polynomials() {
+        return npolys;
+    }
+
+    // maximal degree of the polynomials of the bases
+    public synchronized int maxDegree() {
+        return maxDegree;
+    }
+
+    // time (ns) of the creation of the initial pairs
+    public synchronized long populateTime() {
+        return populate;
+    }
+
+    // time (ns) of the reduction of the pairs
+    public synchronized long evaluateTime() {
+        return evaluate;
+    }
+
+    // time (ns) of the inter-reduction of the bases
+    public synchronized long reduceTime() {
+        return reduce;
+    }
+
+    public synchronized String toString() {
+        return "computations = " + ncomputations + ", pairs = " + ncreated + ", discarded = " + discarded() + ", reductions = " + npairs + ", zero = " + zeroReductions() + ", polynomials = " + npolys + ", max degree = " + maxDegree + ", populate = " + populate / 1000000 + " ms, evaluate = " + evaluate / 1000000 + " ms, reduce = " + reduce / 1000000 + " ms";
+    }
+}
@@ -0,0 +1,351 @@
+package jscl.math.polynomial.groebner;
+
+import jscl.BatchEvaluation;
+import jscl.math.Expression;
+import jscl.math.Generic;
+import jscl.math.JsclInteger;
+import jscl.math.TechnicalVariable;
+import jscl.math.Variable;
+import jscl.math.polynomial.Basis;
+import jscl.math.polynomial.Monomial;
+import jscl.math.polynomial.Polynomial;
+import jscl.math.polynomial.Term;
+import jscl.text.ParserUtils;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Multi-modular computation of Groebner bases over the integers. Reduced bases are computed modulo word-size primes
+ * (several primes concurrently), made monic and combined with the Chinese remainder theorem. Primes dividing leading
+ * coefficients of the generators are skipped, images which leading monomials differ from the ones of the majority
+ * (of at least two primes) are considered to be unlucky and are dropped. Coefficients of the monic basis over the
+ * rationals are obtained with rational reconstruction and the result is verified: generators must reduce to zero
+ * and all S-pairs of the lifted basis must reduce to zero. If the verification fails more primes are used, after
+ * {@link #MAX_PRIMES} primes the basis is computed directly.
+ * <p/>
+ * The verification proves the result only for homogeneous generators: lifted basis G has the leading monomials of
+ * the basis of the image modulo p, and the ideal modulo p can't be larger than the ideal over the rationals in any
+ * degree, so the ideal of the generators (contained in the ideal of G) has the same Hilbert function as the ideal of
+ * G and they are equal. Otherwise an unlucky prime might give a larger ideal which passes the verification (e.g.
+ * {1} for {u*v-1, v+p*u}), so inhomogeneous generators are homogenized with a new variable, least in degree reverse
+ * lexicographic ordering, and the basis of the original ideal is computed from the dehomogenized result. Bases with
+ * non-integer coefficients are computed directly.
+ */
+public class Modular {
+    // images are computed concurrently, one per processor
+    static final int PRIMES_PER_ROUND = Runtime.getRuntime().availableProcessors();
+    static final int MAX_PRIMES = 64;
+    final Basis basis;
+    final int flags;
+    final Executor executor;
+    final Metrics metrics;
+    final Polynomial generators[];
+    final boolean integer;
+    final boolean homogeneous;
+    // images of the bases grouped by their leading monomials
+    final Map images = new LinkedHashMap();
+    int prime = Integer.MAX_VALUE;
+    int nprimes;
+
+    Modular(Basis basis, int flags, Executor executor) {
+        this(basis, flags, executor, null);
+    }
+
+    Modular(Basis basis, int flags, Executor executor, Metrics metrics) {
+        this.basis = basis;
+        this.flags = flags & ~(Basis.MULTI_MODULAR | Basis.INSTRUMENTED);
+        this.executor = executor;
+        this.metrics = metrics;
+        Generic a[] = basis.elements();
+        List list = new ArrayList();
+        boolean integer = true;
+        boolean homogeneous = true;
+        for (int i = 0; i < a.length; i++) {
+            Polynomial p = basis.polynomial(a[i]);
+            if (p.signum() == 0) continue;
+            list.add(p);
+            int degree = p.head().monomial().degree();
+            for (Iterator it = p.iterator(); it.hasNext(); ) {
+                Term t = (Term) it.next();
+                integer &= t.coef() instanceof JsclInteger;
+                homogeneous &= t.monomial().degree() == degree;
+            }
+        }
+        generators = (Polynomial[]) list.toArray(new Polynomial[list.size()]);
+        this.integer = integer;
+        this.homogeneous = homogeneous;
+    }
+
+    public static Basis compute(Basis basis, int flags) {
+        return compute(basis, flags, null);
+    }
+
+    public static Basis compute(Basis basis, int flags, Metrics metrics) {
+        Basis result = new Modular(basis, flags, BatchEvaluation.getDefaultExecutor(), metrics).compute();
+        return result != null ? result : Standard.compute(basis, flags & ~Basis.MULTI_MODULAR, metrics);
+    }
+
+    Basis compute() {
+        if (!integer) return null;
+        if (!homogeneous) return computeHomogenized();
+        Image current = null;
+        int nimages = 0;
+        while (nprimes < MAX_PRIMES) {
+            int primes[] = new int[PRIMES_PER_ROUND];
+            for (int i = 0; i < primes.length; i++) primes[i] = nextPrime();
+            Image round[] = images(primes);
+            for (int i = 0; i < round.length; i++) {
+                if (round[i] == null) continue;
+                Image image = (Image) images.get(round[i].signature);
+                if (image == null) images.put(round[i].signature, round[i]);
+                else image.combine(round[i]);
+                nimages++;
+            }
+            nprimes += primes.length;
+            Image best = null;
+            for (Iterator it = images.values().iterator(); it.hasNext(); ) {
+                Image image = (Image) it.next();
+                if (best == null || image.nprimes > best.nprimes) best = image;
+            }
+            // leading monomials must be confirmed by the majority of at least two primes
+            if (best == null || best.nprimes < 2 || 2 * best.nprimes <= nimages) continue;
+            if (best == current && best.nprimes == current.lifted) continue;
+            current = best;
+            current.lifted = current.nprimes;
+            Basis result = lift(current);
+            if (result != null) return result;
+        }
+        return null;
+    }
+
+    // dehomogenized basis of the homogenized ideal is a basis in degree reverse lexicographic ordering (if the new
+    // variable is the least one), the basis in the required ordering is computed from it
+    Basis computeHomogenized() {
+        Variable t = new TechnicalVariable("t");
+        Variable unknown[] = basis.unknown();
+        Variable variables[] = new Variable[unknown.length + 1];
+        variables[0] = t;
+        System.arraycopy(unknown, 0, variables, 1, unknown.length);
+        Generic a[] = new Generic[generators.length];
+        for (int i = 0; i < a.length; i++) a[i] = homogenize(generators[i], t);
+        Basis homogenized = new Basis(a, Polynomial.factory(variables, Monomial.degreeReverseLexicographic, 0, flags));
+        Basis result = new Modular(homogenized, flags, executor, metrics).compute();
+        if (result == null) return null;
+        Generic b[] = result.elements();
+        Generic c[] = new Generic[b.length];
+        for (int i = 0; i < b.length; i++) c[i] = b[i].substitute(t, JsclInteger.valueOf(1)).expand();
+        return Standard.compute(basis.valueof(c), flags, metrics);
+    }
+
+    static Generic homogenize(Polynomial p, Variable t) {
+        int degree = 0;
+        for (Iterator it = p.iterator(); it.hasNext(); ) degree = Math.max(degree, ((Term) it.next()).monomial().degree());
+        Generic s = JsclInteger.valueOf(0);
+        for (Iterator it = p.iterator(); it.hasNext(); ) {
+            Term term = (Term) it.next();
+            Generic m = term.coef().multiply(Expression.valueOf(term.monomial().literalValue()));
+            s = s.add(m.multiply(t.expressionValue().pow(degree - term.monomial().degree())));
+        }
+        return s;
+    }
+
+    int nextPrime() {
+        while (!isPrime(prime)) prime -= 2;
+        int p = prime;
+        prime -= 2;
+        return p;
+    }
+
+    static boolean isPrime(int n) {
+        if (n % 2 == 0) return n == 2;
+        for (int d = 3; d <= n / d; d += 2) if (n % d == 0) return false;
+        return n > 1;
+    }
+
+    Image[] images(int primes[]) {
+        final Image result[] = new Image[primes.length];
+        List tasks = new ArrayList();
+        for (int i = 0; i < primes.length; i++) {
+            final int p = primes[i];
+            FutureTask task = new FutureTask(new Callable() {
+                public Object call() {
+                    return image(p);
+                }
+            });
+            tasks.add(task);
+            executor.execute(task);
+        }
+        try {
+            for (int i = 0; i < primes.length; i++) {
+                // does nothing if the task is already taken by the executor
+                ((FutureTask) tasks.get(i)).run();
+            }
+            for (int i = 0; i < primes.length; i++) {
+                result[i] = (Image) ((FutureTask) tasks.get(i)).get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ParserUtils.checkInterruption();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new ArithmeticException("Unable to compute basis: " + cause);
+        } finally {
+            for (int i = 0; i < primes.length; i++) ((FutureTask) tasks.get(i)).cancel(false);
+        }
+        return result;
+    }
+
+    Image image(int p) {
+        BigInteger modulo = BigInteger.valueOf(p);
+        for (int i = 0; i < generators.length; i++) {
+            if (coefficient(generators[i].head()).mod(modulo).signum() == 0) return null;
+        }
+        Standard a = Standard.algorithm(basis.ordering(), flags);
+        a.metrics = metrics;
+        a.computeValue(basis.modulo(p));
+        return new Image(a.polys, modulo);
+    }
+
+    static BigInteger coefficient(Term term) {
+        return term.coef().integerValue().content();
+    }
+
+    Basis lift(Image image) {
+        Generic a[] = new Generic[image.coefficients.length];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = image.reconstruct(i);
+            if (a[i] == null) return null;
+        }
+        Basis lifted = basis.valueof(a);
+        List polys = new ArrayList();
+        for (int i = 0; i < a.length; i++) polys.add(lifted.polynomial(a[i]));
+        for (int i = 0; i < generators.length; i++) {
+            if (generators[i].reduce(polys, false).signum() != 0) return null;
+        }
+        // lifted basis is a Groebner basis if all its S-pairs reduce to zero, i.e. nothing is added
+        Standard s = Standard.algorithm(basis.ordering(), flags);
+        s.metrics = metrics;
+        s.computeValue(lifted);
+        if (s.npolys > 0) return null;
+        return basis.valueof(s.elements());
+    }
+
+    static class Image {
+        final String signature;
+        final Monomial monomials[][];
+        final BigInteger coefficients[][];
+        BigInteger modulo;
+        int nprimes = 1;
+        int lifted;
+
+        Image(List polys, BigInteger modulo) {
+            this.modulo = modulo;
+            int n = polys.size();
+            monomials = new Monomial[n][];
+            coefficients = new BigInteger[n][];
+            StringBuffer buffer = new StringBuffer();
+            for (int i = 0; i < n; i++) {
+                Polynomial p = (Polynomial) polys.get(i);
+                // monic
+                BigInteger inverse = coefficient(p.head()).modInverse(modulo);
+                monomials[i] = new Monomial[p.size()];
+                coefficients[i] = new BigInteger[p.size()];
+                int j = 0;
+                for (Iterator it = p.iterator(); it.hasNext(); j++) {
+                    Term t = (Term) it.next();
+                    monomials[i][j] = t.monomial();
+                    coefficients[i][j] = coefficient(t).multiply(inverse).mod(modulo);
+                }
+                buffer.append(p.head().monomial()).append(";");
+            }
+            signature = buffer.toString();
+        }
+
+        // Chinese remainder theorem: x = a (mod m), x = b (mod p) => x = a + m * ((b - a) / m mod p)
+        void combine(Image image) {
+            BigInteger p = image.modulo;
+            BigInteger inverse = modulo.mod(p).modInverse(p);
+            for (int i = 0; i < monomials.length; i++) {
+                Map map = new TreeMap();
+                for (int j = 0; j < monomials[i].length; j++) map.put(monomials[i][j], new BigInteger[]{coefficients[i][j], BigInteger.ZERO});
+                for (int j = 0; j < image.monomials[i].length; j++) {
+                    BigInteger c[] = (BigInteger[]) map.get(image.monomials[i][j]);
+                    if (c == null) map.put(image.monomials[i][j], new BigInteger[]{BigInteger.ZERO, image.coefficients[i][j]});
+                    else c[1] = image.coefficients[i][j];
+                }
+                monomials[i] = new Monomial[map.size()];
+                coefficients[i] = new BigInteger[map.size()];
+                int j = 0;
+                for (Iterator it = map.entrySet().iterator(); it.hasNext(); j++) {
+                    Map.Entry e = (Map.Entry) it.next();
+                    BigInteger c[] = (BigInteger[]) e.getValue();
+                    monomials[i][j] = (Monomial) e.getKey();
+                    coefficients[i][j] = c[0].add(modulo.multiply(c[1].subtract(c[0]).multiply(inverse).mod(p)));
+                }
+            }
+            modulo = modulo.multiply(p);
+            nprimes += image.nprimes;
+        }
+
+        // polynomial with integer coefficients which is proportional to the i-th monic polynomial, null if some
+        // coefficient can't be reconstructed
+        Generic reconstruct(int i) {
+            BigInteger numerator[] = new BigInteger[coefficients[i].length];
+            BigInteger denominator[] = new BigInteger[coefficients[i].length];
+            BigInteger scm = BigInteger.ONE;
+            for (int j = 0; j < numerator.length; j++) {
+                BigInteger r[] = rational(coefficients[i][j], modulo);
+                if (r == null) return null;
+                numerator[j] = r[0];
+                denominator[j] = r[1];
+                scm = scm.divide(scm.gcd(r[1])).multiply(r[1]);
+            }
+            Generic s = JsclInteger.valueOf(0);
+            for (int j = 0; j < numerator.length; j++) {
+                Generic c = new JsclInteger(numerator[j].multiply(scm.divide(denominator[j])));
+                s = s.add(c.multiply(Expression.valueOf(monomials[i][j].literalValue())));
+            }
+            return s;
+        }
+
+        // rational reconstruction: r / s = a (mod m) with |r|, s <= sqrt(m / 2)
+        static BigInteger[] rational(BigInteger a, BigInteger m) {
+            BigInteger bound = sqrt(m.shiftRight(1));
+            BigInteger r0 = m, r1 = a;
+            BigInteger s0 = BigInteger.ZERO, s1 = BigInteger.ONE;
+            while (r1.compareTo(bound) > 0) {
+                BigInteger q = r0.divide(r1);
+                BigInteger r = r0.subtract(q.multiply(r1));
+                r0 = r1;
+                r1 = r;
+                BigInteger s = s0.subtract(q.multiply(s1));
+                s0 = s1;
+                s1 = s;
+            }
+            if (s1.abs().compareTo(bound) > 0 || !s1.gcd(m).equals(BigInteger.ONE)) return null;
+            return s1.signum() < 0 ? new BigInteger[]{r1.negate(), s1.negate()} : new BigInteger[]{r1, s1};
+        }
+
+        // integer square root (Newton's method)
+        static BigInteger sqrt(BigInteger n) {
+            if (n.signum() == 0) return n;
+            BigInteger x = BigInteger.ONE.shiftLeft(n.bitLength() / 2 + 1);
+            while (true) {
+                BigInteger y = x.add(n.divide(x)).shiftRight(1);
+                if (y.compareTo(x) >= 0) return x;
+                x = y;
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package jscl.math.polynomial.groebner;
+
+import jscl.BatchEvaluation;
+import jscl.math.Debug;
+import jscl.math.polynomial.Basis;
+import jscl.math.polynomial.Polynomial;
+import jscl.text.ParserUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Buchberger's algorithm which reduces S-pairs of the same sugar (degree) concurrently. All the pairs of a block are
+ * reduced by the same basis, non-zero remainders are then reduced by the polynomials added before them and added in
+ * the order of the pairs, so the result doesn't depend on the scheduling.
+ */
+class Parallel extends Standard {
+    final Executor executor;
+
+    Parallel(int flags) {
+        this(flags, BatchEvaluation.getDefaultExecutor());
+    }
+
+    Parallel(int flags, Executor executor) {
+        super(flags);
+        this.executor = executor;
+    }
+
+    void compute() {
+        Debug.println("evaluate");
+        while (!pairs.isEmpty()) {
+            List list = new ArrayList();
+            int degree = -1;
+            Iterator it = pairs.keySet().iterator();
+            while (it.hasNext()) {
+                Pair pa = (Pair) it.next();
+                int d = (flags & Basis.SUGAR) > 0 ? pa.sugar : pa.scm.degree();
+                if (degree == -1) degree = d;
+                else if (d != degree) break;
+                list.add(pa);
+            }
+            process(list);
+        }
+    }
+
+    void process(List block) {
+        List list = new ArrayList();
+        Iterator it = block.iterator();
+        while (it.hasNext()) {
+            Pair pa = (Pair) it.next();
+            // pairs are removed in the same order as in the sequential algorithm, see b_criterion()
+            boolean skip = criterion(pa);
+            remove(pa);
+            if (skip) continue;
+            Debug.println(pa);
+            list.add(pa);
+        }
+        Polynomial p[] = remainders(list, polys);
+        int size = polys.size();
+        for (int i = 0; i < p.length; i++) {
+            if (p[i].signum() == 0) continue;
+            if (polys.size() > size) p[i] = p[i].reduce(polys, false).normalize().freeze();
+            if (p[i].signum() != 0) add(p[i]);
+        }
+        npairs += list.size();
+    }
+
+    Polynomial[] remainders(List list, final Collection ideal) {
+        final Polynomial p[] = new Polynomial[list.size()];
+        if (p.length < 2) {
+            if (p.length > 0) p[0] = remainder((Pair) list.get(0), ideal);
+            return p;
+        }
+        List tasks = new ArrayList();
+        for (int i = 0; i < p.length; i++) {
+            final Pair pa = (Pair) list.get(i);
+            FutureTask task = new FutureTask(new Callable() {
+                public Object call() {
+                    return remainder(pa, ideal);
+                }
+            });
+            tasks.add(task);
+            executor.execute(task);
+        }
+        try {
+            for (int i = 0; i < p.length; i++) {
+                // does nothing if the task is already taken by the executor
+                ((FutureTask) tasks.get(i)).run();
+            }
+            for (int i = 0; i < p.length; i++) {
+                p[i] = (Polynomial) ((FutureTask) tasks.get(i)).get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            ParserUtils.checkInterruption();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            throw new ArithmeticException("Unable to compute basis: " + cause);
+        } finally {
+            for (int i = 0; i < p.length; i++) ((FutureTask) tasks.get(i)).cancel(false);
+        }
+        return p;
+    }
+}
@@ -18,6 +18,9 @@ public class Standard {
     final Map removed = new TreeMap();
     int npairs;
     int npolys;
+    int ncreated;
+    int maxDegree;
+    Metrics metrics;
 
     Standard(int flags) {
         this.flags = flags;
@@ -29,14 +32,19 @@ public class Standard {
     }
 
     public static Basis compute(Basis basis, int flags) {
-        return compute(basis, flags, (flags & Basis.INSTRUMENTED) > 0);
+        return compute(basis, flags, (Metrics) null);
     }
 
-    static Basis compute(Basis basis, int flags, boolean instrumented) {
+    public static Basis compute(Basis basis, int flags, Metrics metrics) {
+        return compute(basis, flags, (flags & Basis.INSTRUMENTED) > 0, metrics);
+    }
+
+    static Basis compute(Basis basis, int flags, boolean instrumented, Metrics metrics) {
         Standard a = instrumented ? new Instrumented(flags) : algorithm(basis.ordering(), flags);
+        a.metrics = metrics;
         a.computeValue(basis);
         basis = basis.valueof(a.elements());
-        if (instrumented) return compute(basis, flags, false);
+        if (instrumented) return compute(basis, flags, false, metrics);
         return basis;
     }
 
@@ -47,12 +55,16 @@ public class Standard {
             case Basis.BLOCK:
                 return new Block(ordering, flags);
             default:
-                return new Standard(flags);
+                return (flags & Basis.PARALLEL) > 0 ? new Parallel(flags) : new Standard(flags);
         }
     }
 
     static Polynomial reduce(Pair pair, Collection ideal) {
         Debug.println(pair);
+        return remainder(pair, ideal);
+    }
+
+    static Polynomial remainder(Pair pair, Collection ideal) {
         return s_polynomial(pair.polynomial[0], pair.polynomial[1]).reduce(ideal, false).normalize().freeze();
     }
 
@@ -67,12 +79,16 @@ public class Standard {
 
     void computeValue(Basis basis) {
         Debug.println(basis);
+        long time = System.nanoTime();
         populate(basis);
         npolys = 0;
+        long populated = System.nanoTime();
         compute();
+        long evaluated = System.nanoTime();
         remove();
         reduce();
-        Debug.println("signature = (" + npairs + ", " + npolys + ", " + polys.size() + ")");
+        if (metrics != null) metrics.add(this, populated - time, evaluated - populated, System.nanoTime() - evaluated);
+        if (Debug.isEnabled()) Debug.println("signature = (" + npairs + ", " + npolys + ", " + polys.size() + ")");
     }
 
     void populate(Basis basis) {
@@ -113,7 +129,8 @@ public class Standard {
 
     void add(Polynomial polynomial) {
         polynomial.setIndex(polys.size());
-        Debug.println("(" + polynomial.head().monomial() + ", " + polynomial.index() + ")");
+        if (Debug.isEnabled()) Debug.println("(" + polynomial.head().monomial() + ", " + polynomial.index() + ")");
+        maxDegree = Math.max(maxDegree, polynomial.degree());
         if ((flags & Basis.GM_SETTING) > 0) makePairsGM(polynomial);
         else makePairs(polynomial);
         polys.add(polynomial);
@@ -130,6 +147,7 @@ public class Standard {
             Polynomial p = (Polynomial) it.next();
             Pair pa = new Pair(p, polynomial);
             if (!pa.coprime) pairs.put(pa, null);
+            ncreated++;
         }
     }
 
@@ -175,6 +193,7 @@ public class Standard {
             Pair pa = new Pair(p, polynomial);
             pairs.put(pa, null);
             map.put(pa, null);
+            ncreated++;
         }
         list = ArrayUtils.toList(map.keySet());
         n = list.size();
@@ -204,7 +223,7 @@ public class Standard {
         for (int i = 0; i < size; i++) {
             Polynomial p = (Polynomial) polys.get(i);
             polys.set(i, p = p.reduce(polys, true).normalize().freeze());
-            Debug.println("(" + p.head().monomial() + ")");
+            if (Debug.isEnabled()) Debug.println("(" + p.head().monomial() + ")");
             map.put(p, null);
         }
         polys.clear();
@@ -2,11 +2,11 @@ package jscl.text;
 
 import javax.annotation.Nonnull;
 
-abstract class AbstractConverter<T, K> implements Parser<K> {
+abstract class AbstractConverter<T, K> extends AbstractParser<K> {
     @Nonnull
-    protected final Parser<T> parser;
+    protected final AbstractParser<T> parser;
 
-    AbstractConverter(@Nonnull Parser<T> parser) {
+    AbstractConverter(@Nonnull AbstractParser<T> parser) {
         this.parser = parser;
     }
 
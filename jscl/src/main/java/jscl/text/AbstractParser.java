@@ -0,0 +1,39 @@
+package jscl.text;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import jscl.math.Generic;
+
+/**
+ * Parser which doesn't use exceptions to report that input can't be parsed: {@link #tryParse(Parameters, Generic)}
+ * returns null and stores the reason in {@link Parser.Parameters} (see {@link Parser.Parameters#fail}). As most of
+ * the failures are expected (e.g. when one of the alternatives doesn't match) this avoids creating and throwing an
+ * exception on almost every character of the input.
+ * <p/>
+ * {@link ParseException} is created only by {@link #parse(Parameters, Generic)}, i.e. once for the error reported
+ * to the user.
+ *
+ * @param <T> type of result object of parser
+ */
+public abstract class AbstractParser<T> implements Parser<T> {
+
+    @Nonnull
+    @Override
+    public final T parse(@Nonnull Parameters p, @Nullable Generic previousSumElement) throws ParseException {
+        final T result = tryParse(p, previousSumElement);
+        if (result == null) {
+            throw p.newParseException();
+        }
+        return result;
+    }
+
+    /**
+     * @param p                  parse parameters
+     * @param previousSumElement sum element to the left of last + sign
+     * @return parsed object or null if object could not be parsed from the string. In the latter case the reason is
+     * stored in <var>p</var>
+     */
+    @Nullable
+    public abstract T tryParse(@Nonnull Parameters p, @Nullable Generic previousSumElement);
+}
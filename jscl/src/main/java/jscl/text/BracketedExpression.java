@@ -4,28 +4,31 @@ import jscl.math.ExpressionVariable;
 import jscl.math.Generic;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
-public class BracketedExpression implements Parser<ExpressionVariable> {
+public class BracketedExpression extends AbstractParser<ExpressionVariable> {
 
-    public static final Parser<ExpressionVariable> parser = new BracketedExpression();
+    public static final AbstractParser<ExpressionVariable> parser = new BracketedExpression();
 
     private BracketedExpression() {
     }
 
-    public ExpressionVariable parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
+    @Nullable
+    public ExpressionVariable tryParse(@Nonnull Parameters p, Generic previousSumElement) {
         int pos0 = p.position.intValue();
 
-        ParserUtils.tryToParse(p, pos0, '(');
+        if (!ParserUtils.tryToParse(p, pos0, '(')) {
+            return null;
+        }
 
-        Generic result;
-        try {
-            result = ExpressionParser.parser.parse(p, previousSumElement);
-        } catch (ParseException e) {
-            p.position.setValue(pos0);
-            throw e;
+        final Generic result = ParserUtils.parseWithRollback(ExpressionParser.parser, pos0, previousSumElement, p);
+        if (result == null) {
+            return null;
         }
 
-        ParserUtils.tryToParse(p, pos0, ')');
+        if (!ParserUtils.tryToParse(p, pos0, ')')) {
+            return null;
+        }
 
         return new ExpressionVariable(result);
     }
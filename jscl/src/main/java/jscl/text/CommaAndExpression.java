@@ -5,19 +5,22 @@ import jscl.math.Generic;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
-public class CommaAndExpression implements Parser<Generic> {
+public class CommaAndExpression extends AbstractParser<Generic> {
 
-    public static final Parser<Generic> parser = new CommaAndExpression();
+    public static final AbstractParser<Generic> parser = new CommaAndExpression();
 
     private CommaAndExpression() {
     }
 
-    public Generic parse(@Nonnull Parameters p, @Nullable Generic previousSumElement) throws ParseException {
+    @Nullable
+    public Generic tryParse(@Nonnull Parameters p, @Nullable Generic previousSumElement) {
         int pos0 = p.position.intValue();
 
         ParserUtils.skipWhitespaces(p);
 
-        ParserUtils.tryToParse(p, pos0, ',');
+        if (!ParserUtils.tryToParse(p, pos0, ',')) {
+            return null;
+        }
 
         return ParserUtils.parseWithRollback(ExpressionParser.parser, pos0, previousSumElement, p);
     }
@@ -6,20 +6,22 @@ import jscl.math.JsclVector;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
-public class CommaAndVector implements Parser<JsclVector> {
+public class CommaAndVector extends AbstractParser<JsclVector> {
 
-    public static final Parser<JsclVector> parser = new CommaAndVector();
+    public static final AbstractParser<JsclVector> parser = new CommaAndVector();
 
     private CommaAndVector() {
     }
 
-    @Nonnull
-    public JsclVector parse(@Nonnull Parameters p, @Nullable Generic previousSumElement) throws ParseException {
+    @Nullable
+    public JsclVector tryParse(@Nonnull Parameters p, @Nullable Generic previousSumElement) {
         int pos0 = p.position.intValue();
 
         ParserUtils.skipWhitespaces(p);
 
-        ParserUtils.tryToParse(p, pos0, ',');
+        if (!ParserUtils.tryToParse(p, pos0, ',')) {
+            return null;
+        }
 
         return ParserUtils.parseWithRollback(VectorParser.parser, pos0, previousSumElement, p);
     }
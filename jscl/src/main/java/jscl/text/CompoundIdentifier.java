@@ -5,64 +5,55 @@ import javax.annotation.Nullable;
 
 import jscl.math.Generic;
 
-public class CompoundIdentifier implements Parser<String> {
+public class CompoundIdentifier extends AbstractParser<String> {
 
-    public static final Parser<String> parser = new CompoundIdentifier();
+    public static final AbstractParser<String> parser = new CompoundIdentifier();
 
     private CompoundIdentifier() {
     }
 
-    @Nonnull
-    public String parse(@Nonnull Parameters p, @Nullable Generic previousSumElement) throws ParseException {
+    @Nullable
+    public String tryParse(@Nonnull Parameters p, @Nullable Generic previousSumElement) {
         int pos0 = p.position.intValue();
 
-        final StringBuilder result;
-
         ParserUtils.skipWhitespaces(p);
-        try {
-            final String identifier = Identifier.parser.parse(p, previousSumElement);
-            result = new StringBuilder();
-            result.append(identifier);
-        } catch (ParseException e) {
+        final String identifier = Identifier.parser.tryParse(p, previousSumElement);
+        if (identifier == null) {
             p.position.setValue(pos0);
-            throw e;
+            return null;
         }
 
+        final StringBuilder result = new StringBuilder();
+        result.append(identifier);
+
         while (true) {
-            try {
-                final String dotAndId = DotAndIdentifier.parser.parse(p, previousSumElement);
-                // NOTE: '.' must be appended after parsing
-                result.append(".").append(dotAndId);
-            } catch (ParseException e) {
-                p.exceptionsPool.release(e);
+            final String dotAndId = DotAndIdentifier.parser.tryParse(p, previousSumElement);
+            if (dotAndId == null) {
                 break;
             }
+            // NOTE: '.' must be appended after parsing
+            result.append(".").append(dotAndId);
         }
 
         return result.toString();
     }
 }
 
-class DotAndIdentifier implements Parser<String> {
+class DotAndIdentifier extends AbstractParser<String> {
 
-    public static final Parser<String> parser = new DotAndIdentifier();
+    public static final AbstractParser<String> parser = new DotAndIdentifier();
 
     private DotAndIdentifier() {
     }
 
-    public String parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
+    @Nullable
+    public String tryParse(@Nonnull Parameters p, Generic previousSumElement) {
         int pos0 = p.position.intValue();
 
-        ParserUtils.tryToParse(p, pos0, '.');
-
-        String result;
-        try {
-            result = Identifier.parser.parse(p, previousSumElement);
-        } catch (ParseException e) {
-            p.position.setValue(pos0);
-            throw e;
+        if (!ParserUtils.tryToParse(p, pos0, '.')) {
+            return null;
         }
 
-        return result;
+        return ParserUtils.parseWithRollback(Identifier.parser, pos0, previousSumElement, p);
     }
 }
@@ -8,78 +8,83 @@ import javax.annotation.Nonnull;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import javax.annotation.Nullable;
 
-public class ConstantParser implements Parser<Constant> {
+public class ConstantParser extends AbstractParser<Constant> {
 
-    public static final Parser<Constant> parser = new ConstantParser();
+    public static final AbstractParser<Constant> parser = new ConstantParser();
 
     private ConstantParser() {
     }
 
-    public Constant parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
+    @Nullable
+    public Constant tryParse(@Nonnull Parameters p, Generic previousSumElement) {
 
-        final String name = CompoundIdentifier.parser.parse(p, previousSumElement);
+        final String name = CompoundIdentifier.parser.tryParse(p, previousSumElement);
+        if (name == null) {
+            return null;
+        }
 
         List<Generic> l = new ArrayList<Generic>();
         while (true) {
-            try {
-                l.add(Subscript.parser.parse(p, previousSumElement));
-            } catch (ParseException e) {
-                p.exceptionsPool.release(e);
+            final Generic subscript = Subscript.parser.tryParse(p, previousSumElement);
+            if (subscript == null) {
                 break;
             }
+            l.add(subscript);
         }
 
-        Integer prime = 0;
-        try {
-            prime = Prime.parser.parse(p, previousSumElement);
-        } catch (ParseException e) {
-            p.exceptionsPool.release(e);
+        Integer prime = Prime.parser.tryParse(p, previousSumElement);
+        if (prime == null) {
+            prime = 0;
         }
 
         return new Constant(name, prime, ArrayUtils.toArray(l, new Generic[l.size()]));
     }
 }
 
-class Prime implements Parser<Integer> {
+class Prime extends AbstractParser<Integer> {
 
-    public static final Parser<Integer> parser = new Prime();
+    public static final AbstractParser<Integer> parser = new Prime();
 
-    private static final ArrayList<Parser<? extends Integer>> parsers = new ArrayList<Parser<? extends Integer>>(Arrays.asList(
+    private static final ArrayList<AbstractParser<? extends Integer>> parsers = new ArrayList<AbstractParser<? extends Integer>>(Arrays.asList(
             PrimeCharacters.parser,
             Superscript.parser));
 
-    private static final Parser<Integer> internalParser = new MultiTryParser<Integer>(parsers);
+    private static final AbstractParser<Integer> internalParser = new MultiTryParser<Integer>(parsers);
 
     private Prime() {
     }
 
-    public Integer parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
-        return internalParser.parse(p, previousSumElement);
+    @Nullable
+    public Integer tryParse(@Nonnull Parameters p, Generic previousSumElement) {
+        return internalParser.tryParse(p, previousSumElement);
     }
 }
 
-class Superscript implements Parser<Integer> {
-    public static final Parser<Integer> parser = new Superscript();
+class Superscript extends AbstractParser<Integer> {
+    public static final AbstractParser<Integer> parser = new Superscript();
 
     private Superscript() {
     }
 
-    public Integer parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
+    @Nullable
+    public Integer tryParse(@Nonnull Parameters p, Generic previousSumElement) {
         int pos0 = p.position.intValue();
 
 
-        ParserUtils.tryToParse(p, pos0, '{');
+        if (!ParserUtils.tryToParse(p, pos0, '{')) {
+            return null;
+        }
 
-        int result;
-        try {
-            result = IntegerParser.parser.parse(p, previousSumElement);
-        } catch (ParseException e) {
-            p.position.setValue(pos0);
-            throw e;
+        final Integer result = ParserUtils.parseWithRollback(IntegerParser.parser, pos0, previousSumElement, p);
+        if (result == null) {
+            return null;
         }
 
-        ParserUtils.tryToParse(p, pos0, '}');
+        if (!ParserUtils.tryToParse(p, pos0, '}')) {
+            return null;
+        }
 
         return result;
     }
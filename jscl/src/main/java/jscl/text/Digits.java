@@ -7,10 +7,9 @@ import jscl.NumeralBase;
 import jscl.math.Generic;
 import jscl.text.msg.Messages;
 
-import static jscl.text.ParserUtils.makeParseException;
 import static jscl.text.ParserUtils.skipWhitespaces;
 
-public class Digits implements Parser<String> {
+public class Digits extends AbstractParser<String> {
 
     @Nonnull
     private final NumeralBase nb;
@@ -20,7 +19,8 @@ public class Digits implements Parser<String> {
     }
 
     // returns digit
-    public String parse(@Nonnull Parameters p, @Nullable Generic previousSumElement) throws ParseException {
+    @Nullable
+    public String tryParse(@Nonnull Parameters p, @Nullable Generic previousSumElement) {
         int pos0 = p.position.intValue();
 
         skipWhitespaces(p);
@@ -31,7 +31,7 @@ public class Digits implements Parser<String> {
             result.append(p.expression.charAt(p.position.intValue()));
             p.position.increment();
         } else {
-            throw makeParseException(p, pos0, Messages.msg_9);
+            return p.fail(pos0, Messages.msg_9);
         }
 
         while (p.position.intValue() < p.expression.length() && nb.getAcceptableCharacters().contains(p.expression.charAt(p.position.intValue()))) {
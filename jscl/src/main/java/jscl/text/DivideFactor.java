@@ -4,20 +4,22 @@ import jscl.math.Generic;
 import jscl.text.msg.Messages;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 /**
  * User: serso
  * Date: 10/27/11
  * Time: 2:45 PM
  */
-class DivideFactor implements Parser<Generic> {
+class DivideFactor extends AbstractParser<Generic> {
 
-    public static final Parser<Generic> parser = new DivideFactor();
+    public static final AbstractParser<Generic> parser = new DivideFactor();
 
     private DivideFactor() {
     }
 
-    public Generic parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
+    @Nullable
+    public Generic tryParse(@Nonnull Parameters p, Generic previousSumElement) {
         final int pos0 = p.position.intValue();
 
         ParserUtils.skipWhitespaces(p);
@@ -25,7 +27,7 @@ class DivideFactor implements Parser<Generic> {
         if (pos1 < p.expression.length() && p.expression.charAt(pos1) == '/') {
             p.position.increment();
         } else {
-            ParserUtils.throwParseException(p, pos0, Messages.msg_10, '*', '/');
+            return p.fail(pos0, Messages.msg_10, '*', '/');
         }
 
         return ParserUtils.parseWithRollback(Factor.parser, pos0, previousSumElement, p);
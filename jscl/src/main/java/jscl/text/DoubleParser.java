@@ -1,8 +1,6 @@
 package jscl.text;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 
 import javax.annotation.Nonnull;
@@ -11,64 +9,66 @@ import javax.annotation.Nullable;
 import jscl.NumeralBase;
 import jscl.math.Generic;
 import jscl.math.NumericWrapper;
-import jscl.math.numeric.Real;
+import jscl.math.numeric.Numeric;
 import jscl.text.msg.Messages;
 
-public class DoubleParser implements Parser<NumericWrapper> {
+public class DoubleParser extends AbstractParser<NumericWrapper> {
 
-    public static final Parser<NumericWrapper> parser = new DoubleParser();
+    public static final AbstractParser<NumericWrapper> parser = new DoubleParser();
 
-    private static final List<Parser<Double>> parsers = Arrays.asList(
+    private static final List<AbstractParser<? extends Double>> parsers = Arrays.<AbstractParser<? extends Double>>asList(
             Singularity.parser,
             FloatingPointLiteral.parser);
 
+    private static final AbstractParser<Double> internalParser = new MultiTryParser<Double>(parsers);
+
     private DoubleParser() {
     }
 
-    @Nonnull
-    public NumericWrapper parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
-        final Parser<Double> multiTryParser = new MultiTryParser<Double>(new ArrayList<Parser<? extends Double>>(parsers));
-        return new NumericWrapper(Real.valueOf(multiTryParser.parse(p, previousSumElement)));
+    @Nullable
+    public NumericWrapper tryParse(@Nonnull Parameters p, Generic previousSumElement) {
+        final Double value = internalParser.tryParse(p, previousSumElement);
+        return value == null ? null : new NumericWrapper(Numeric.real(value));
     }
 }
 
-class Singularity implements Parser<Double> {
+class Singularity extends AbstractParser<Double> {
 
-    public static final Parser<Double> parser = new Singularity();
+    public static final AbstractParser<Double> parser = new Singularity();
 
     private Singularity() {
     }
 
-    @Nonnull
-    public Double parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
+    @Nullable
+    public Double tryParse(@Nonnull Parameters p, Generic previousSumElement) {
         int pos0 = p.position.intValue();
 
-        double result = 0d;
-
-        String s = Identifier.parser.parse(p, previousSumElement);
+        final String s = Identifier.parser.tryParse(p, previousSumElement);
+        if (s == null) {
+            return null;
+        }
         if (s.equals("NaN")) {
-            result = Double.NaN;
+            return Double.NaN;
         } else if (s.equals("Infinity") || s.equals("∞")) {
-            result = Double.POSITIVE_INFINITY;
+            return Double.POSITIVE_INFINITY;
         } else {
-            ParserUtils.throwParseException(p, pos0, Messages.msg_10, "NaN", "∞");
+            return p.fail(pos0, Messages.msg_10, "NaN", "∞");
         }
-
-        return result;
     }
 }
 
-class FloatingPointLiteral implements Parser<Double> {
+class FloatingPointLiteral extends AbstractParser<Double> {
 
-    public static final Parser<Double> parser = new FloatingPointLiteral();
+    public static final AbstractParser<Double> parser = new FloatingPointLiteral();
 
     private FloatingPointLiteral() {
     }
 
-    public Double parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
+    @Nullable
+    public Double tryParse(@Nonnull Parameters p, Generic previousSumElement) {
         int pos0 = p.position.intValue();
 
-        final NumeralBase nb = NumeralBaseParser.parser.parse(p, previousSumElement);
+        final NumeralBase nb = NumeralBaseParser.parser.tryParse(p, previousSumElement);
 
 
         boolean digits = false;
@@ -78,94 +78,80 @@ class FloatingPointLiteral implements Parser<Double> {
         final Digits digitsParser = new Digits(nb);
 
         final StringBuilder result = new StringBuilder();
-        try {
-            result.append(digitsParser.parse(p, previousSumElement));
+        final String integerPart = digitsParser.tryParse(p, previousSumElement);
+        if (integerPart != null) {
+            result.append(integerPart);
             digits = true;
-        } catch (ParseException e) {
-            p.exceptionsPool.release(e);
         }
 
-        try {
-            DecimalPoint.parser.parse(p, previousSumElement);
+        if (DecimalPoint.parser.tryParse(p, previousSumElement) != null) {
             result.append(".");
             point = true;
-        } catch (ParseException e) {
-            if (!digits) {
-                p.position.setValue(pos0);
-                throw e;
-            } else {
-                p.exceptionsPool.release(e);
-            }
+        } else if (!digits) {
+            p.position.setValue(pos0);
+            return null;
         }
 
         if (point && nb != NumeralBase.dec) {
-            ParserUtils.throwParseException(p, pos0, Messages.msg_15);
+            return p.fail(pos0, Messages.msg_15);
         }
 
-        try {
-            result.append(digitsParser.parse(p, previousSumElement));
-        } catch (ParseException e) {
-            if (!digits) {
-                p.position.setValue(pos0);
-                throw e;
-            } else {
-                p.exceptionsPool.release(e);
-            }
+        final String fractionalPart = digitsParser.tryParse(p, previousSumElement);
+        if (fractionalPart != null) {
+            result.append(fractionalPart);
+        } else if (!digits) {
+            p.position.setValue(pos0);
+            return null;
         }
 
-        try {
-            result.append(ExponentPart.parser.parse(p, previousSumElement));
+        final String exponentPart = ExponentPart.parser.tryParse(p, previousSumElement);
+        if (exponentPart != null) {
+            result.append(exponentPart);
             exponent = true;
-        } catch (ParseException e) {
-            if (!point) {
-                p.position.setValue(pos0);
-                throw e;
-            } else {
-                p.exceptionsPool.release(e);
-            }
+        } else if (!point) {
+            p.position.setValue(pos0);
+            return null;
         }
 
         if (exponent && nb != NumeralBase.dec) {
-            ParserUtils.throwParseException(p, pos0, Messages.msg_15);
+            return p.fail(pos0, Messages.msg_15);
         }
 
         final String doubleString = result.toString();
         try {
             return nb.toDouble(doubleString);
         } catch (NumberFormatException e) {
-            throw p.exceptionsPool.obtain(p.position.intValue(), p.expression, Messages.msg_8, Collections.singletonList(doubleString));
+            return p.failAt(p.position.intValue(), Messages.msg_8, doubleString);
         }
     }
 }
 
-class DecimalPoint implements Parser<Void> {
+class DecimalPoint extends AbstractParser<Boolean> {
 
-    public static final Parser<Void> parser = new DecimalPoint();
+    public static final AbstractParser<Boolean> parser = new DecimalPoint();
 
     private DecimalPoint() {
     }
 
     @Nullable
-    public Void parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
+    public Boolean tryParse(@Nonnull Parameters p, Generic previousSumElement) {
         int pos0 = p.position.intValue();
 
         ParserUtils.skipWhitespaces(p);
 
-        ParserUtils.tryToParse(p, pos0, '.');
-
-        return null;
+        return ParserUtils.tryToParse(p, pos0, '.') ? Boolean.TRUE : null;
     }
 }
 
-class ExponentPart implements Parser<String> {
+class ExponentPart extends AbstractParser<String> {
 
-    public static final Parser<String> parser = new ExponentPart();
+    public static final AbstractParser<String> parser = new ExponentPart();
 
     private ExponentPart() {
     }
 
-    @Nonnull
-    public String parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
+    @Nullable
+    public String tryParse(@Nonnull Parameters p, Generic previousSumElement) {
         int pos0 = p.position.intValue();
 
         ParserUtils.skipWhitespaces(p);
@@ -176,29 +162,28 @@ class ExponentPart implements Parser<String> {
             result.append(p.expression.charAt(p.position.intValue()));
             p.position.increment();
         } else {
-            throw ParserUtils.makeParseException(p, pos0, Messages.msg_10, 'e', 'E');
+            return p.fail(pos0, Messages.msg_10, 'e', 'E');
         }
 
-        try {
-            result.append(SignedInteger.parser.parse(p, previousSumElement));
-        } catch (ParseException e) {
-            p.position.setValue(pos0);
-            throw e;
+        final String exponent = ParserUtils.parseWithRollback(SignedInteger.parser, pos0, previousSumElement, p);
+        if (exponent == null) {
+            return null;
         }
+        result.append(exponent);
 
         return result.toString();
     }
 }
 
-class SignedInteger implements Parser<String> {
+class SignedInteger extends AbstractParser<String> {
 
-    public static final Parser<String> parser = new SignedInteger();
+    public static final AbstractParser<String> parser = new SignedInteger();
 
     private SignedInteger() {
     }
 
-    @Nonnull
-    public String parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
+    @Nullable
+    public String tryParse(@Nonnull Parameters p, Generic previousSumElement) {
         final int pos0 = p.position.intValue();
 
 
@@ -212,12 +197,11 @@ class SignedInteger implements Parser<String> {
             result.append(c);
         }
 
-        try {
-            result.append(IntegerParser.parser.parse(p, previousSumElement).intValue());
-        } catch (ParseException e) {
-            p.position.setValue(pos0);
-            throw e;
+        final Integer value = ParserUtils.parseWithRollback(IntegerParser.parser, pos0, previousSumElement, p);
+        if (value == null) {
+            return null;
         }
+        result.append(value.intValue());
 
         return result.toString();
     }
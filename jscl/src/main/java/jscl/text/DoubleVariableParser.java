@@ -2,19 +2,22 @@ package jscl.text;
 
 import jscl.math.DoubleVariable;
 import jscl.math.Generic;
+import jscl.math.NumericWrapper;
 import jscl.math.Variable;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
-public class DoubleVariableParser implements Parser<Variable> {
+public class DoubleVariableParser extends AbstractParser<Variable> {
 
-    public static final Parser<Variable> parser = new DoubleVariableParser();
+    public static final AbstractParser<Variable> parser = new DoubleVariableParser();
 
     private DoubleVariableParser() {
     }
 
-    @Nonnull
-    public Variable parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
-        return new DoubleVariable(DoubleParser.parser.parse(p, previousSumElement));
+    @Nullable
+    public Variable tryParse(@Nonnull Parameters p, Generic previousSumElement) {
+        final NumericWrapper value = DoubleParser.parser.tryParse(p, previousSumElement);
+        return value == null ? null : new DoubleVariable(value);
     }
 }
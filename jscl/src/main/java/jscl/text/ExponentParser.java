@@ -10,19 +10,23 @@ import javax.annotation.Nullable;
  * Date: 10/27/11
  * Time: 2:45 PM
  */
-class ExponentParser implements Parser<Generic> {
+class ExponentParser extends AbstractParser<Generic> {
 
-    public static final Parser<Generic> parser = new ExponentParser();
+    public static final AbstractParser<Generic> parser = new ExponentParser();
 
     private ExponentParser() {
     }
 
-    public Generic parse(@Nonnull Parameters p, @Nullable Generic previousSumElement) throws ParseException {
+    @Nullable
+    public Generic tryParse(@Nonnull Parameters p, @Nullable Generic previousSumElement) {
         int pos0 = p.position.intValue();
 
-        final boolean minus = MinusParser.parser.parse(p, previousSumElement);
+        final boolean minus = MinusParser.parser.tryParse(p, previousSumElement);
 
         final Generic result = ParserUtils.parseWithRollback(UnsignedExponent.parser, pos0, previousSumElement, p);
+        if (result == null) {
+            return null;
+        }
         return minus ? result.negate() : result;
     }
 }
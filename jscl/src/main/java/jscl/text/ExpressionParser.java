@@ -5,32 +5,34 @@ import jscl.math.Generic;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
-public class ExpressionParser implements Parser<Generic> {
+public class ExpressionParser extends AbstractParser<Generic> {
 
-    public static final Parser<Generic> parser = new ExpressionParser();
+    public static final AbstractParser<Generic> parser = new ExpressionParser();
 
     private ExpressionParser() {
     }
 
-    public Generic parse(@Nonnull Parameters p, @Nullable Generic previousSumElement) throws ParseException {
-        final boolean minus = MinusParser.parser.parse(p, previousSumElement);
+    @Nullable
+    public Generic tryParse(@Nonnull Parameters p, @Nullable Generic previousSumElement) {
+        final boolean minus = MinusParser.parser.tryParse(p, previousSumElement);
 
-        Generic result = TermParser.parser.parse(p, previousSumElement);
+        Generic result = TermParser.parser.tryParse(p, previousSumElement);
+        if (result == null) {
+            return null;
+        }
 
         if (minus) {
             result = result.negate();
         }
 
         while (true) {
-            try {
-                result = result.add(PlusOrMinusTerm.parser.parse(p, result));
-            } catch (ParseException e) {
-                p.exceptionsPool.release(e);
+            final Generic term = PlusOrMinusTerm.parser.tryParse(p, result);
+            if (term == null) {
                 break;
             }
+            result = result.add(term);
         }
 
         return result;
     }
 }
-
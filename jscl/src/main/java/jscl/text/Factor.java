@@ -10,17 +10,21 @@ import javax.annotation.Nullable;
  * Date: 10/27/11
  * Time: 2:45 PM
  */
-class Factor implements Parser<Generic> {
+class Factor extends AbstractParser<Generic> {
 
-    public static final Parser<Generic> parser = new Factor();
+    public static final AbstractParser<Generic> parser = new Factor();
 
     private Factor() {
     }
 
-    public Generic parse(@Nonnull Parameters p, @Nullable Generic previousSumElement) throws ParseException {
-        final boolean minus = MinusParser.parser.parse(p, previousSumElement);
+    @Nullable
+    public Generic tryParse(@Nonnull Parameters p, @Nullable Generic previousSumElement) {
+        final boolean minus = MinusParser.parser.tryParse(p, previousSumElement);
 
-        final Generic result = (Generic) UnsignedFactor.parser.parse(p, previousSumElement);
+        final Generic result = UnsignedFactor.parser.tryParse(p, previousSumElement);
+        if (result == null) {
+            return null;
+        }
 
         return minus ? result.negate() : result;
     }
@@ -4,24 +4,26 @@ import jscl.math.Generic;
 import jscl.math.function.Function;
 
 import javax.annotation.Nonnull;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import javax.annotation.Nullable;
 
-public class FunctionParser implements Parser<Function> {
+public class FunctionParser extends AbstractParser<Function> {
 
-    public static final Parser<Function> parser = new FunctionParser();
+    public static final AbstractParser<Function> parser = new FunctionParser();
 
-    private static final List<Parser<Function>> parsers = Arrays.asList(
+    private static final List<AbstractParser<? extends Function>> parsers = Arrays.<AbstractParser<? extends Function>>asList(
             UsualFunctionParser.parser,
             RootParser.parser,
             ImplicitFunctionParser.parser);
 
+    private static final AbstractParser<Function> internalParser = new MultiTryParser<Function>(parsers);
+
     private FunctionParser() {
     }
 
-    public Function parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
-        return new MultiTryParser<Function>(new ArrayList<Parser<? extends Function>>(parsers)).parse(p, previousSumElement);
+    @Nullable
+    public Function tryParse(@Nonnull Parameters p, Generic previousSumElement) {
+        return internalParser.tryParse(p, previousSumElement);
     }
 }
-
@@ -9,9 +9,9 @@ import javax.annotation.Nullable;
 import jscl.math.Generic;
 import jscl.text.msg.Messages;
 
-public class Identifier implements Parser<String> {
+public class Identifier extends AbstractParser<String> {
 
-    public static final Parser<String> parser = new Identifier();
+    public static final AbstractParser<String> parser = new Identifier();
     private final static List<Character> allowedCharacters = Arrays.asList('√', '∞', 'π', '∂', '∏', 'Σ', '∫');
 
     private Identifier() {
@@ -27,8 +27,8 @@ public class Identifier implements Parser<String> {
     }
 
     // returns getVariable/constant getName
-    @Nonnull
-    public String parse(@Nonnull Parameters p, @Nullable Generic previousSumElement) throws ParseException {
+    @Nullable
+    public String tryParse(@Nonnull Parameters p, @Nullable Generic previousSumElement) {
         int pos0 = p.position.intValue();
 
 
@@ -40,7 +40,7 @@ public class Identifier implements Parser<String> {
             result.append(p.expression.charAt(p.position.intValue()));
             p.position.increment();
         } else {
-            throw ParserUtils.makeParseException(p, pos0, Messages.msg_5);
+            return p.fail(pos0, Messages.msg_5);
         }
 
         while (p.position.intValue() < p.expression.length() && isValidNotFirstCharacter(p.expression, p.position)) {
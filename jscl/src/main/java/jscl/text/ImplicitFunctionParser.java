@@ -10,47 +10,44 @@ import jscl.util.ArrayUtils;
 
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
+import javax.annotation.Nullable;
 
-public class ImplicitFunctionParser implements Parser<Function> {
-    public static final Parser<Function> parser = new ImplicitFunctionParser();
+public class ImplicitFunctionParser extends AbstractParser<Function> {
+    public static final AbstractParser<Function> parser = new ImplicitFunctionParser();
 
     private ImplicitFunctionParser() {
     }
 
-    public Function parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
+    @Nullable
+    public Function tryParse(@Nonnull Parameters p, Generic previousSumElement) {
         int pos0 = p.position.intValue();
-        Generic a[];
 
         final String name = ParserUtils.parseWithRollback(CompoundIdentifier.parser, pos0, previousSumElement, p);
-        if (FunctionsRegistry.getInstance().getNames().contains(name) || OperatorsRegistry.getInstance().getNames().contains(name)) {
+        if (name == null) {
+            return null;
+        }
+        if (FunctionsRegistry.getInstance().contains(name) || OperatorsRegistry.getInstance().contains(name)) {
             p.position.setValue(pos0);
-            throw p.exceptionsPool.obtain(p.position.intValue(), p.expression, Messages.msg_6, Collections.singletonList(name));
+            return p.failAt(p.position.intValue(), Messages.msg_6, name);
         }
 
         final List<Generic> subscripts = new ArrayList<Generic>();
         while (true) {
-            try {
-                subscripts.add(Subscript.parser.parse(p, previousSumElement));
-            } catch (ParseException e) {
-                p.exceptionsPool.release(e);
+            final Generic subscript = Subscript.parser.tryParse(p, previousSumElement);
+            if (subscript == null) {
                 break;
             }
+            subscripts.add(subscript);
         }
 
-        int b[];
-        try {
-            b = Derivation.parser.parse(p, previousSumElement);
-        } catch (ParseException e) {
-            p.exceptionsPool.release(e);
+        int b[] = Derivation.parser.tryParse(p, previousSumElement);
+        if (b == null) {
             b = new int[0];
         }
-        try {
-            a = ParameterListParser.parser1.parse(p, previousSumElement);
-        } catch (ParseException e) {
-            p.position.setValue(pos0);
-            throw e;
+        final Generic a[] = ParserUtils.parseWithRollback(ParameterListParser.parser1, pos0, previousSumElement, p);
+        if (a == null) {
+            return null;
         }
 
         int derivations[] = new int[a.length];
@@ -62,53 +59,56 @@ public class ImplicitFunctionParser implements Parser<Function> {
     }
 }
 
-class Derivation implements Parser<int[]> {
+class Derivation extends AbstractParser<int[]> {
 
-    public static final Parser<int[]> parser = new Derivation();
+    public static final AbstractParser<int[]> parser = new Derivation();
 
     private Derivation() {
     }
 
-    public int[] parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
-        try {
-            return new int[]{PrimeCharacters.parser.parse(p, previousSumElement)};
-        } catch (ParseException e) {
-            p.exceptionsPool.release(e);
+    @Nullable
+    public int[] tryParse(@Nonnull Parameters p, Generic previousSumElement) {
+        final Integer primes = PrimeCharacters.parser.tryParse(p, previousSumElement);
+        if (primes != null) {
+            return new int[]{primes};
         }
-        return SuperscriptList.parser.parse(p, previousSumElement);
+        return SuperscriptList.parser.tryParse(p, previousSumElement);
     }
 }
 
-class SuperscriptList implements Parser<int[]> {
+class SuperscriptList extends AbstractParser<int[]> {
 
-    public static final Parser<int[]> parser = new SuperscriptList();
+    public static final AbstractParser<int[]> parser = new SuperscriptList();
 
     private SuperscriptList() {
     }
 
-    public int[] parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
+    @Nullable
+    public int[] tryParse(@Nonnull Parameters p, Generic previousSumElement) {
         int pos0 = p.position.intValue();
 
-        ParserUtils.tryToParse(p, pos0, '{');
+        if (!ParserUtils.tryToParse(p, pos0, '{')) {
+            return null;
+        }
 
         final List<Integer> result = new ArrayList<Integer>();
-        try {
-            result.add(IntegerParser.parser.parse(p, previousSumElement));
-        } catch (ParseException e) {
-            p.position.setValue(pos0);
-            throw e;
+        final Integer first = ParserUtils.parseWithRollback(IntegerParser.parser, pos0, previousSumElement, p);
+        if (first == null) {
+            return null;
         }
+        result.add(first);
 
         while (true) {
-            try {
-                result.add(CommaAndInteger.parser.parse(p, previousSumElement));
-            } catch (ParseException e) {
-                p.exceptionsPool.release(e);
+            final Integer next = CommaAndInteger.parser.tryParse(p, previousSumElement);
+            if (next == null) {
                 break;
             }
+            result.add(next);
         }
 
-        ParserUtils.tryToParse(p, pos0, '}');
+        if (!ParserUtils.tryToParse(p, pos0, '}')) {
+            return null;
+        }
 
         ParserUtils.skipWhitespaces(p);
 
@@ -116,14 +116,15 @@ class SuperscriptList implements Parser<int[]> {
     }
 }
 
-class CommaAndInteger implements Parser<Integer> {
+class CommaAndInteger extends AbstractParser<Integer> {
 
-    public static final Parser<Integer> parser = new CommaAndInteger();
+    public static final AbstractParser<Integer> parser = new CommaAndInteger();
 
     private CommaAndInteger() {
     }
 
-    public Integer parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
+    @Nullable
+    public Integer tryParse(@Nonnull Parameters p, Generic previousSumElement) {
         int pos0 = p.position.intValue();
 
         ParserUtils.skipWhitespaces(p);
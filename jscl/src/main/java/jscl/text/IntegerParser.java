@@ -1,7 +1,5 @@
 package jscl.text;
 
-import java.util.Collections;
-
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -9,17 +7,18 @@ import jscl.NumeralBase;
 import jscl.math.Generic;
 import jscl.text.msg.Messages;
 
-public class IntegerParser implements Parser<Integer> {
+public class IntegerParser extends AbstractParser<Integer> {
 
-    public static final Parser<Integer> parser = new IntegerParser();
+    public static final AbstractParser<Integer> parser = new IntegerParser();
 
     private IntegerParser() {
     }
 
-    public Integer parse(@Nonnull Parameters p, @Nullable Generic previousSumElement) throws ParseException {
+    @Nullable
+    public Integer tryParse(@Nonnull Parameters p, @Nullable Generic previousSumElement) {
         int pos0 = p.position.intValue();
 
-        final NumeralBase nb = NumeralBaseParser.parser.parse(p, previousSumElement);
+        final NumeralBase nb = NumeralBaseParser.parser.tryParse(p, previousSumElement);
 
         ParserUtils.skipWhitespaces(p);
         final StringBuilder result;
@@ -30,7 +29,7 @@ public class IntegerParser implements Parser<Integer> {
             result.append(c);
         } else {
             p.position.setValue(pos0);
-            throw p.exceptionsPool.obtain(p.position.intValue(), p.expression, Messages.msg_7);
+            return p.failAt(p.position.intValue(), Messages.msg_7);
         }
 
         while (p.position.intValue() < p.expression.length() && nb.getAcceptableCharacters().contains(p.expression.charAt(p.position.intValue()))) {
@@ -43,7 +42,7 @@ public class IntegerParser implements Parser<Integer> {
         try {
             return nb.toInteger(number);
         } catch (NumberFormatException e) {
-            throw p.exceptionsPool.obtain(p.position.intValue(), p.expression, Messages.msg_8, Collections.singletonList(number));
+            return p.failAt(p.position.intValue(), Messages.msg_8, number);
         }
     }
 }
@@ -1,7 +1,5 @@
 package jscl.text;
 
-import java.util.Collections;
-
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -10,30 +8,28 @@ import jscl.math.Generic;
 import jscl.math.JsclInteger;
 import jscl.text.msg.Messages;
 
-public class JsclIntegerParser implements Parser<JsclInteger> {
+public class JsclIntegerParser extends AbstractParser<JsclInteger> {
 
-    public static final Parser<JsclInteger> parser = new JsclIntegerParser();
+    public static final AbstractParser<JsclInteger> parser = new JsclIntegerParser();
 
     private JsclIntegerParser() {
     }
 
-    public JsclInteger parse(@Nonnull Parameters p, @Nullable Generic previousSumElement) throws ParseException {
+    @Nullable
+    public JsclInteger tryParse(@Nonnull Parameters p, @Nullable Generic previousSumElement) {
         int pos0 = p.position.intValue();
 
-        final NumeralBase nb = NumeralBaseParser.parser.parse(p, previousSumElement);
+        final NumeralBase nb = NumeralBaseParser.parser.tryParse(p, previousSumElement);
 
-        final String number;
-        try {
-            number = new Digits(nb).parse(p, previousSumElement);
-        } catch (ParseException e) {
-            p.position.setValue(pos0);
-            throw e;
+        final String number = ParserUtils.parseWithRollback(new Digits(nb), pos0, previousSumElement, p);
+        if (number == null) {
+            return null;
         }
 
         try {
             return nb.toJsclInteger(number);
         } catch (NumberFormatException e) {
-            throw p.exceptionsPool.obtain(p.position.intValue(), p.expression, Messages.msg_8, Collections.singletonList(number));
+            return p.failAt(p.position.intValue(), Messages.msg_8, number);
         }
     }
 }
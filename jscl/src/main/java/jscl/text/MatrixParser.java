@@ -8,38 +8,42 @@ import jscl.util.ArrayUtils;
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
 import java.util.List;
+import javax.annotation.Nullable;
 
-public class MatrixParser implements Parser<Matrix> {
+public class MatrixParser extends AbstractParser<Matrix> {
 
-    public static final Parser<Matrix> parser = new MatrixParser();
+    public static final AbstractParser<Matrix> parser = new MatrixParser();
 
     private MatrixParser() {
     }
 
-    public Matrix parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
+    @Nullable
+    public Matrix tryParse(@Nonnull Parameters p, Generic previousSumElement) {
         int pos0 = p.position.intValue();
 
         final List<Generic> vectors = new ArrayList<Generic>();
 
-        ParserUtils.tryToParse(p, pos0, '[');
+        if (!ParserUtils.tryToParse(p, pos0, '[')) {
+            return null;
+        }
 
-        try {
-            vectors.add(VectorParser.parser.parse(p, previousSumElement));
-        } catch (ParseException e) {
-            p.position.setValue(pos0);
-            throw e;
+        final JsclVector first = ParserUtils.parseWithRollback(VectorParser.parser, pos0, previousSumElement, p);
+        if (first == null) {
+            return null;
         }
+        vectors.add(first);
 
         while (true) {
-            try {
-                vectors.add(CommaAndVector.parser.parse(p, previousSumElement));
-            } catch (ParseException e) {
-                p.exceptionsPool.release(e);
+            final JsclVector vector = CommaAndVector.parser.tryParse(p, previousSumElement);
+            if (vector == null) {
                 break;
             }
+            vectors.add(vector);
         }
 
-        ParserUtils.tryToParse(p, pos0, ']');
+        if (!ParserUtils.tryToParse(p, pos0, ']')) {
+            return null;
+        }
 
         return Matrix.frame((JsclVector[]) ArrayUtils.toArray(vectors, new JsclVector[vectors.size()])).transpose();
     }
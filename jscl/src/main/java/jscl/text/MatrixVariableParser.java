@@ -1,18 +1,22 @@
 package jscl.text;
 
 import jscl.math.Generic;
+import jscl.math.Matrix;
 import jscl.math.MatrixVariable;
 import jscl.math.Variable;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
-class MatrixVariableParser implements Parser<Variable> {
-    public static final Parser<Variable> parser = new MatrixVariableParser();
+class MatrixVariableParser extends AbstractParser<Variable> {
+    public static final AbstractParser<Variable> parser = new MatrixVariableParser();
 
     private MatrixVariableParser() {
     }
 
-    public Variable parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
-        return new MatrixVariable(MatrixParser.parser.parse(p, previousSumElement));
+    @Nullable
+    public Variable tryParse(@Nonnull Parameters p, Generic previousSumElement) {
+        final Matrix matrix = MatrixParser.parser.tryParse(p, previousSumElement);
+        return matrix == null ? null : new MatrixVariable(matrix);
     }
 }
@@ -10,9 +10,9 @@ import javax.annotation.Nullable;
  * Date: 10/27/11
  * Time: 2:44 PM
  */
-class MinusParser implements Parser<Boolean> {
+class MinusParser extends AbstractParser<Boolean> {
 
-    public static final Parser<Boolean> parser = new MinusParser();
+    public static final AbstractParser<Boolean> parser = new MinusParser();
 
     private MinusParser() {
     }
@@ -22,7 +22,7 @@ class MinusParser implements Parser<Boolean> {
     }
 
     @Nonnull
-    public Boolean parse(@Nonnull Parameters p, @Nullable Generic previousSumElement) {
+    public Boolean tryParse(@Nonnull Parameters p, @Nullable Generic previousSumElement) {
         final int pos0 = p.position.intValue();
 
         ParserUtils.skipWhitespaces(p);
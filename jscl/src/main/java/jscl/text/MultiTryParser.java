@@ -3,39 +3,28 @@ package jscl.text;
 import jscl.math.Generic;
 
 import javax.annotation.Nonnull;
-import java.util.Iterator;
 import java.util.List;
+import javax.annotation.Nullable;
 
-public class MultiTryParser<T> implements Parser<T> {
+public class MultiTryParser<T> extends AbstractParser<T> {
 
     @Nonnull
-    private final List<Parser<? extends T>> parsers;
+    private final List<? extends AbstractParser<? extends T>> parsers;
 
-    public MultiTryParser(@Nonnull List<Parser<? extends T>> parsers) {
+    public MultiTryParser(@Nonnull List<? extends AbstractParser<? extends T>> parsers) {
         this.parsers = parsers;
     }
 
-    public T parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
-        T result = null;
-
-        for (final Iterator<Parser<? extends T>> it = parsers.iterator(); it.hasNext(); ) {
-            try {
-                final Parser<? extends T> parser = it.next();
-                result = parser.parse(p, previousSumElement);
-            } catch (ParseException e) {
-
-                p.addException(e);
-
-                if (!it.hasNext()) {
-                    throw e;
-                }
-            }
-
+    @Nullable
+    public T tryParse(@Nonnull Parameters p, Generic previousSumElement) {
+        // failure of the last parser is reported
+        for (int i = 0; i < parsers.size(); i++) {
+            final T result = parsers.get(i).tryParse(p, previousSumElement);
             if (result != null) {
-                break;
+                return result;
             }
         }
 
-        return result;
+        return null;
     }
 }
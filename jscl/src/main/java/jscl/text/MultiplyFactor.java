@@ -4,21 +4,23 @@ import jscl.math.Generic;
 import jscl.text.msg.Messages;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 /**
  * User: serso
  * Date: 10/27/11
  * Time: 2:45 PM
  */
-class MultiplyFactor implements Parser<Generic> {
+class MultiplyFactor extends AbstractParser<Generic> {
 
-    public static final Parser<Generic> parser = new MultiplyFactor();
+    public static final AbstractParser<Generic> parser = new MultiplyFactor();
 
     static boolean isMultiplication(char c) {
         return c == '*' || c == '×' || c == '∙';
     }
 
-    public Generic parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
+    @Nullable
+    public Generic tryParse(@Nonnull Parameters p, Generic previousSumElement) {
         final int pos0 = p.position.intValue();
 
         ParserUtils.skipWhitespaces(p);
@@ -26,7 +28,7 @@ class MultiplyFactor implements Parser<Generic> {
         if (pos1 < p.expression.length() && isMultiplication(p.expression.charAt(pos1))) {
             p.position.increment();
         } else {
-            ParserUtils.throwParseException(p, pos0, Messages.msg_10, '*', '/');
+            return p.fail(pos0, Messages.msg_10, '*', '/');
         }
 
         return ParserUtils.parseWithRollback(Factor.parser, pos0, previousSumElement, p);
@@ -6,14 +6,15 @@ import jscl.math.Generic;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
-public class NumeralBaseParser implements Parser<NumeralBase> {
+public class NumeralBaseParser extends AbstractParser<NumeralBase> {
 
-    public static final Parser<NumeralBase> parser = new NumeralBaseParser();
+    public static final AbstractParser<NumeralBase> parser = new NumeralBaseParser();
 
     private NumeralBaseParser() {
     }
 
-    public NumeralBase parse(@Nonnull Parameters p, @Nullable Generic previousSumElement) {
+    @Nonnull
+    public NumeralBase tryParse(@Nonnull Parameters p, @Nullable Generic previousSumElement) {
         int pos0 = p.position.intValue();
 
         NumeralBase result = p.context.getNumeralBase();
@@ -21,13 +22,10 @@ public class NumeralBaseParser implements Parser<NumeralBase> {
         ParserUtils.skipWhitespaces(p);
 
         for (NumeralBase numeralBase : NumeralBase.values()) {
-            try {
-                final String jsclPrefix = numeralBase.getJsclPrefix();
-                ParserUtils.tryToParse(p, pos0, jsclPrefix);
+            final String jsclPrefix = numeralBase.getJsclPrefix();
+            if (ParserUtils.tryToParse(p, pos0, jsclPrefix)) {
                 result = numeralBase;
                 break;
-            } catch (ParseException e) {
-                p.exceptionsPool.release(e);
             }
         }
 
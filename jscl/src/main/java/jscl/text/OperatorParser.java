@@ -8,41 +8,44 @@ import jscl.text.msg.Messages;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
-public class OperatorParser implements Parser<Operator> {
+public class OperatorParser extends AbstractParser<Operator> {
 
-    public static final Parser<Operator> parser = new OperatorParser();
+    public static final AbstractParser<Operator> parser = new OperatorParser();
 
     private OperatorParser() {
     }
 
     static boolean valid(@Nullable String name) {
-        return name != null && OperatorsRegistry.getInstance().getNames().contains(name);
+        return name != null && OperatorsRegistry.getInstance().contains(name);
     }
 
-    @Nonnull
-    public Operator parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
+    @Nullable
+    public Operator tryParse(@Nonnull Parameters p, Generic previousSumElement) {
         int pos0 = p.position.intValue();
 
-        final String operatorName = Identifier.parser.parse(p, previousSumElement);
+        final String operatorName = Identifier.parser.tryParse(p, previousSumElement);
+        if (operatorName == null) {
+            return null;
+        }
         if (!valid(operatorName)) {
-            ParserUtils.throwParseException(p, pos0, Messages.msg_3, operatorName);
+            return p.fail(pos0, Messages.msg_3, operatorName);
         }
 
         final Operator operator = OperatorsRegistry.getInstance().get(operatorName);
+        if (operator == null) {
+            return p.fail(pos0, Messages.msg_3, operatorName);
+        }
 
-        Operator result = null;
-        if (operator != null) {
-            final Generic parameters[] = ParserUtils.parseWithRollback(new ParameterListParser(operator.getMinParameters()), pos0, previousSumElement, p);
+        final Generic parameters[] = ParserUtils.parseWithRollback(new ParameterListParser(operator.getMinParameters()), pos0, previousSumElement, p);
+        if (parameters == null) {
+            return null;
+        }
 
-            result = OperatorsRegistry.getInstance().get(operatorName, parameters);
-            if (result == null) {
-                ParserUtils.throwParseException(p, pos0, Messages.msg_2, operatorName);
-            }
-        } else {
-            ParserUtils.throwParseException(p, pos0, Messages.msg_3, operatorName);
+        final Operator result = OperatorsRegistry.getInstance().get(operatorName, parameters);
+        if (result == null) {
+            return p.fail(pos0, Messages.msg_2, operatorName);
         }
 
-        assert result != null;
         return result;
     }
 
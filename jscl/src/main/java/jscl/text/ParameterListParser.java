@@ -6,10 +6,11 @@ import jscl.util.ArrayUtils;
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
 import java.util.List;
+import javax.annotation.Nullable;
 
-public class ParameterListParser implements Parser<Generic[]> {
+public class ParameterListParser extends AbstractParser<Generic[]> {
 
-    public static final Parser<Generic[]> parser1 = new ParameterListParser();
+    public static final AbstractParser<Generic[]> parser1 = new ParameterListParser();
     private final int minNumberOfParameters;
 
     private ParameterListParser() {
@@ -20,35 +21,35 @@ public class ParameterListParser implements Parser<Generic[]> {
         this.minNumberOfParameters = minNumberOfParameters;
     }
 
-    @Nonnull
-    public Generic[] parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
+    @Nullable
+    public Generic[] tryParse(@Nonnull Parameters p, Generic previousSumElement) {
         int pos0 = p.position.intValue();
 
         final List<Generic> result = new ArrayList<Generic>();
 
-        ParserUtils.tryToParse(p, pos0, '(');
+        if (!ParserUtils.tryToParse(p, pos0, '(')) {
+            return null;
+        }
 
-        try {
-            result.add(ExpressionParser.parser.parse(p, previousSumElement));
-        } catch (ParseException e) {
-            if (minNumberOfParameters > 0) {
-                p.position.setValue(pos0);
-                throw e;
-            } else {
-                p.exceptionsPool.release(e);
-            }
+        final Generic first = ExpressionParser.parser.tryParse(p, previousSumElement);
+        if (first != null) {
+            result.add(first);
+        } else if (minNumberOfParameters > 0) {
+            p.position.setValue(pos0);
+            return null;
         }
 
         while (true) {
-            try {
-                result.add(CommaAndExpression.parser.parse(p, previousSumElement));
-            } catch (ParseException e) {
-                p.exceptionsPool.release(e);
+            final Generic parameter = CommaAndExpression.parser.tryParse(p, previousSumElement);
+            if (parameter == null) {
                 break;
             }
+            result.add(parameter);
         }
 
-        ParserUtils.tryToParse(p, pos0, ')');
+        if (!ParserUtils.tryToParse(p, pos0, ')')) {
+            return null;
+        }
 
 
         return ArrayUtils.toArray(result, new Generic[result.size()]);
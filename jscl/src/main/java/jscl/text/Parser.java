@@ -1,14 +1,12 @@
 package jscl.text;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 import jscl.JsclMathEngine;
 import jscl.MathContext;
 import jscl.math.Generic;
+import jscl.text.msg.Messages;
 
 /**
  * Main parser interface.
@@ -29,6 +27,9 @@ public interface Parser<T> {
 
     class Parameters {
 
+        @Nonnull
+        private static final Object[] NO_PARAMETERS = new Object[0];
+
         @Nonnull
         private static final ThreadLocal<Parameters> instance = new ThreadLocal<Parameters>() {
             @Override
@@ -43,14 +44,15 @@ public interface Parser<T> {
         @Nonnull
         public final MutableInt position = new MutableInt(0);
 
-        @Nonnull
-        public final List<ParseException> exceptions = new ArrayList<ParseException>();
-
         @Nonnull
         public final MathContext context;
 
+        // last failure reported by the parsers, see AbstractParser
+        private int failurePosition;
+        @Nullable
+        private String failureMessageCode;
         @Nonnull
-        public final ExceptionsPool exceptionsPool = new ExceptionsPool();
+        private Object[] failureParameters = NO_PARAMETERS;
 
         /**
          * @param expression  expression to be parsed
@@ -71,13 +73,45 @@ public interface Parser<T> {
 
         public void reset() {
             position.setValue(0);
-            exceptions.clear();
+            failurePosition = 0;
+            failureMessageCode = null;
+            failureParameters = NO_PARAMETERS;
+        }
+
+        /**
+         * Records the failure at the current position and moves the position back to <var>pos0</var>
+         *
+         * @return always null, i.e. the result of the failed parser
+         */
+        @Nullable
+        public <T> T fail(int pos0, @Nonnull String messageCode, @Nonnull Object... parameters) {
+            failAt(position.intValue(), messageCode, parameters);
+            position.setValue(pos0);
+            return null;
+        }
+
+        /**
+         * Records the failure at <var>failurePosition</var>, current position is not changed
+         *
+         * @return always null, i.e. the result of the failed parser
+         */
+        @Nullable
+        public <T> T failAt(int failurePosition, @Nonnull String messageCode, @Nonnull Object... parameters) {
+            this.failurePosition = failurePosition;
+            this.failureMessageCode = messageCode;
+            this.failureParameters = parameters;
+            return null;
         }
 
-        public void addException(@Nonnull ParseException e) {
-            if (!exceptions.contains(e)) {
-                exceptions.add(e);
+        /**
+         * @return exception describing the last failure
+         */
+        @Nonnull
+        public ParseException newParseException() {
+            if (failureMessageCode == null) {
+                return new ParseException(position.intValue(), expression, Messages.msg_1, position.intValue() + 1);
             }
+            return new ParseException(failurePosition, expression, failureMessageCode, failureParameters);
         }
     }
 }
@@ -6,7 +6,6 @@ import jscl.text.msg.Messages;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.lang.reflect.Array;
-import java.util.Collections;
 
 /**
  * User: serso
@@ -30,93 +29,54 @@ public class ParserUtils {
         }
     }
 
-    public static void tryToParse(@Nonnull Parser.Parameters p,
-                                  int pos0,
-                                  char ch) throws ParseException {
+    /**
+     * @return true if <var>ch</var> is the next non-whitespace character (it is consumed then), false otherwise (the
+     * failure is recorded in <var>p</var> and position is moved back to <var>pos0</var>)
+     */
+    public static boolean tryToParse(@Nonnull Parser.Parameters p,
+                                     int pos0,
+                                     char ch) {
         skipWhitespaces(p);
 
         if (p.position.intValue() < p.expression.length()) {
             char actual = p.expression.charAt(p.position.intValue());
             if (actual == ch) {
                 p.position.increment();
-            } else {
-                throwParseException(p, pos0, Messages.msg_12, ch);
+                return true;
             }
-        } else {
-            throwParseException(p, pos0, Messages.msg_12, ch);
         }
+        p.fail(pos0, Messages.msg_12, ch);
+        return false;
     }
 
-    public static void tryToParse(@Nonnull Parser.Parameters p,
-                                  int pos0,
-                                  @Nonnull String s) throws ParseException {
+    /**
+     * @return true if <var>s</var> follows (it is consumed then), false otherwise (the failure is recorded in
+     * <var>p</var> and position is moved back to <var>pos0</var>)
+     */
+    public static boolean tryToParse(@Nonnull Parser.Parameters p,
+                                     int pos0,
+                                     @Nonnull String s) {
         skipWhitespaces(p);
 
         if (p.position.intValue() < p.expression.length()) {
             if (p.expression.startsWith(s, p.position.intValue())) {
                 p.position.add(s.length());
-            } else {
-                throwParseException(p, pos0, Messages.msg_11, s);
+                return true;
             }
-        } else {
-            throwParseException(p, pos0, Messages.msg_11, s);
         }
+        p.fail(pos0, Messages.msg_11, s);
+        return false;
     }
 
-    public static void throwParseException(@Nonnull Parser.Parameters p,
-                                           int pos0,
-                                           @Nonnull String messageId) throws ParseException {
-        throw makeParseException(p, pos0, messageId);
-    }
-
-    @Nonnull
-    public static ParseException makeParseException(@Nonnull Parser.Parameters p, int pos0, @Nonnull String messageId) {
-        final MutableInt position = p.position;
-        final ParseException parseException = p.exceptionsPool.obtain(position.intValue(), p.expression, messageId, Collections.emptyList());
-        position.setValue(pos0);
-        return parseException;
-    }
-
-    public static void throwParseException(@Nonnull Parser.Parameters p,
-                                           int pos0,
-                                           @Nonnull String messageId,
-                                           @Nonnull Object parameter) throws ParseException {
-        final MutableInt position = p.position;
-        final ParseException parseException = p.exceptionsPool.obtain(position.intValue(), p.expression, messageId, Collections.singletonList(parameter));
-        position.setValue(pos0);
-        throw parseException;
-    }
-
-    public static void throwParseException(@Nonnull Parser.Parameters p,
-                                           int pos0,
-                                           @Nonnull String messageId,
-                                           Object... parameters) throws ParseException {
-        throw makeParseException(p, pos0, messageId, parameters);
-    }
-
-    @Nonnull
-    public static ParseException makeParseException(@Nonnull Parser.Parameters p, int pos0, @Nonnull String messageId, Object... parameters) {
-        final MutableInt position = p.position;
-        final ParseException parseException = p.exceptionsPool.obtain(position.intValue(), p.expression, messageId, parameters);
-        position.setValue(pos0);
-        return parseException;
-    }
-
-
-    @Nonnull
-    static <T> T parseWithRollback(@Nonnull Parser<T> parser,
+    @Nullable
+    static <T> T parseWithRollback(@Nonnull AbstractParser<T> parser,
                                    int initialPosition,
                                    @Nullable final Generic previousSumParser,
-                                   @Nonnull final Parser.Parameters p) throws ParseException {
-        T result;
-
-        try {
-            result = parser.parse(p, previousSumParser);
-        } catch (ParseException e) {
+                                   @Nonnull final Parser.Parameters p) {
+        final T result = parser.tryParse(p, previousSumParser);
+        if (result == null) {
             p.position.setValue(initialPosition);
-            throw e;
         }
-
         return result;
     }
 
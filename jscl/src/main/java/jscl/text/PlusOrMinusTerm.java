@@ -4,20 +4,22 @@ import jscl.math.Generic;
 import jscl.text.msg.Messages;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 /**
  * User: serso
  * Date: 10/27/11
  * Time: 2:44 PM
  */
-class PlusOrMinusTerm implements Parser<Generic> {
+class PlusOrMinusTerm extends AbstractParser<Generic> {
 
-    public static final Parser<Generic> parser = new PlusOrMinusTerm();
+    public static final AbstractParser<Generic> parser = new PlusOrMinusTerm();
 
     private PlusOrMinusTerm() {
     }
 
-    public Generic parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
+    @Nullable
+    public Generic tryParse(@Nonnull Parameters p, Generic previousSumElement) {
         final int pos0 = p.position.intValue();
 
         ParserUtils.skipWhitespaces(p);
@@ -28,10 +30,13 @@ class PlusOrMinusTerm implements Parser<Generic> {
             minus = MinusParser.isMinus(p.expression.charAt(pos1));
             p.position.increment();
         } else {
-            ParserUtils.throwParseException(p, pos0, Messages.msg_10, '+', '-');
+            return p.fail(pos0, Messages.msg_10, '+', '-');
         }
 
         final Generic result = ParserUtils.parseWithRollback(TermParser.parser, pos0, previousSumElement, p);
+        if (result == null) {
+            return null;
+        }
 
         return minus ? result.negate() : result;
     }
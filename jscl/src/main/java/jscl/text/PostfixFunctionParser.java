@@ -4,8 +4,9 @@ import jscl.math.Generic;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import jscl.text.msg.Messages;
 
-public class PostfixFunctionParser implements Parser<String> {
+public class PostfixFunctionParser extends AbstractParser<String> {
 
     @Nonnull
     private final String name;
@@ -15,7 +16,7 @@ public class PostfixFunctionParser implements Parser<String> {
     }
 
     @Nullable
-    public String parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
+    public String tryParse(@Nonnull Parameters p, Generic previousSumElement) {
         final int pos0 = p.position.intValue();
 
         ParserUtils.skipWhitespaces(p);
@@ -24,8 +25,7 @@ public class PostfixFunctionParser implements Parser<String> {
             p.position.add(name.length());
             return name;
         } else {
-            p.position.setValue(pos0);
-            return null;
+            return p.fail(pos0, Messages.msg_11, name);
         }
     }
 }
@@ -10,9 +10,7 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.List;
 
-import static java.util.Collections.singletonList;
-
-public class PostfixFunctionsParser implements Parser<Generic> {
+public class PostfixFunctionsParser extends AbstractParser<Generic> {
 
     private static final PostfixFunctionsRegistry registry = PostfixFunctionsRegistry.getInstance();
     private static final PostfixFunctionParser tripleFactorialParser = new PostfixFunctionParser(TripleFactorial.NAME);
@@ -24,15 +22,18 @@ public class PostfixFunctionsParser implements Parser<Generic> {
         this.content = content;
     }
 
+    @Nullable
     private static Generic parsePostfix(@Nonnull List<String> names,
                                         final Generic content,
                                         @Nullable final Generic previousSumElement,
-                                        @Nonnull final Parameters p) throws ParseException {
-        checkTripleFactorial(previousSumElement, p);
+                                        @Nonnull final Parameters p) {
+        if (tripleFactorialParser.tryParse(p, previousSumElement) != null) {
+            return p.failAt(p.position.intValue(), Messages.msg_18);
+        }
 
         for (int i = 0; i < names.size(); i++) {
             final PostfixFunctionParser parser = new PostfixFunctionParser(names.get(i));
-            final String functionName = parser.parse(p, previousSumElement);
+            final String functionName = parser.tryParse(p, previousSumElement);
             if (functionName == null) {
                 continue;
             }
@@ -43,18 +44,13 @@ public class PostfixFunctionsParser implements Parser<Generic> {
                 return parsePostfix(names, function.expressionValue(), previousSumElement, p);
             }
 
-            throw p.exceptionsPool.obtain(p.position.intValue(), p.expression, Messages.msg_4, singletonList(functionName));
+            return p.failAt(p.position.intValue(), Messages.msg_4, functionName);
         }
         return content;
     }
 
-    private static void checkTripleFactorial(@Nullable Generic previousSumElement, @Nonnull Parameters p) throws ParseException {
-        if (tripleFactorialParser.parse(p, previousSumElement) != null) {
-            throw p.exceptionsPool.obtain(p.position.intValue(), p.expression, Messages.msg_18);
-        }
-    }
-
-    public Generic parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
+    @Nullable
+    public Generic tryParse(@Nonnull Parameters p, Generic previousSumElement) {
         return parsePostfix(registry.getNames(), content, previousSumElement, p);
     }
 }
@@ -10,31 +10,21 @@ import javax.annotation.Nullable;
  * Date: 10/27/11
  * Time: 2:45 PM
  */
-class PowerExponentParser implements Parser<Generic> {
+class PowerExponentParser extends AbstractParser<Generic> {
 
-    public static final Parser<Generic> parser = new PowerExponentParser();
+    public static final AbstractParser<Generic> parser = new PowerExponentParser();
 
     private PowerExponentParser() {
     }
 
-    public Generic parse(@Nonnull Parameters p, @Nullable Generic previousSumElement) throws ParseException {
+    @Nullable
+    public Generic tryParse(@Nonnull Parameters p, @Nullable Generic previousSumElement) {
         int pos0 = p.position.intValue();
 
-        try {
-            PowerParser.parser.parse(p, previousSumElement);
-        } catch (ParseException e) {
-            p.position.setValue(pos0);
-            throw e;
+        if (ParserUtils.parseWithRollback(PowerParser.parser, pos0, previousSumElement, p) == null) {
+            return null;
         }
 
-        Generic result;
-        try {
-            result = ExponentParser.parser.parse(p, previousSumElement);
-        } catch (ParseException e) {
-            p.position.setValue(pos0);
-            throw e;
-        }
-
-        return result;
+        return ParserUtils.parseWithRollback(ExponentParser.parser, pos0, previousSumElement, p);
     }
 }
@@ -13,15 +13,15 @@ import static jscl.text.MultiplyFactor.isMultiplication;
  * Date: 10/27/11
  * Time: 2:45 PM
  */
-class PowerParser implements Parser<Void> {
+class PowerParser extends AbstractParser<Boolean> {
 
-    public static final Parser<Void> parser = new PowerParser();
+    public static final AbstractParser<Boolean> parser = new PowerParser();
 
     private PowerParser() {
     }
 
     @Nullable
-    public Void parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
+    public Boolean tryParse(@Nonnull Parameters p, Generic previousSumElement) {
         int pos0 = p.position.intValue();
 
         ParserUtils.skipWhitespaces(p);
@@ -33,11 +33,11 @@ class PowerParser implements Parser<Void> {
                 p.position.increment();
                 p.position.increment();
             } else {
-                ParserUtils.throwParseException(p, pos0, Messages.msg_10, '^', "**");
+                return p.fail(pos0, Messages.msg_10, '^', "**");
             }
         }
 
-        return null;
+        return Boolean.TRUE;
     }
 
     private boolean isDoubleStar(@Nonnull String string, int position) {
@@ -5,20 +5,20 @@ import jscl.math.Generic;
 import jscl.math.Variable;
 
 import javax.annotation.Nonnull;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import javax.annotation.Nullable;
 
 /**
  * User: serso
  * Date: 10/27/11
  * Time: 2:45 PM
  */
-public class PrimaryExpressionParser implements Parser<Generic> {
+public class PrimaryExpressionParser extends AbstractParser<Generic> {
 
-    public static final Parser<Generic> parser = new PrimaryExpressionParser();
+    public static final AbstractParser<Generic> parser = new PrimaryExpressionParser();
 
-    private static final List<Parser<? extends Generic>> parsers = Arrays.asList(
+    private static final List<AbstractParser<? extends Generic>> parsers = Arrays.<AbstractParser<? extends Generic>>asList(
             new VariableConverter<Variable>(DoubleVariableParser.parser),
             JsclIntegerParser.parser,
             new VariableConverter<Variable>(VariableParser.parser),
@@ -26,12 +26,13 @@ public class PrimaryExpressionParser implements Parser<Generic> {
             new VariableConverter<Variable>(VectorVariableParser.parser),
             new VariableConverter<ExpressionVariable>(BracketedExpression.parser));
 
-    private static final Parser<Generic> internalParser = new MultiTryParser<Generic>(new ArrayList<Parser<? extends Generic>>(parsers));
+    private static final AbstractParser<Generic> internalParser = new MultiTryParser<Generic>(parsers);
 
     private PrimaryExpressionParser() {
     }
 
-    public Generic parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
-        return internalParser.parse(p, previousSumElement);
+    @Nullable
+    public Generic tryParse(@Nonnull Parameters p, Generic previousSumElement) {
+        return internalParser.tryParse(p, previousSumElement);
     }
 }
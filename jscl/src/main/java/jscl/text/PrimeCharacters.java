@@ -6,13 +6,14 @@ import jscl.text.msg.Messages;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
-public class PrimeCharacters implements Parser<Integer> {
-    public static final Parser<Integer> parser = new PrimeCharacters();
+public class PrimeCharacters extends AbstractParser<Integer> {
+    public static final AbstractParser<Integer> parser = new PrimeCharacters();
 
     private PrimeCharacters() {
     }
 
-    public Integer parse(@Nonnull Parameters p, @Nullable Generic previousSumElement) throws ParseException {
+    @Nullable
+    public Integer tryParse(@Nonnull Parameters p, @Nullable Generic previousSumElement) {
 
         int pos0 = p.position.intValue();
 
@@ -24,7 +25,7 @@ public class PrimeCharacters implements Parser<Integer> {
             p.position.increment();
             result = 1;
         } else {
-            ParserUtils.throwParseException(p, pos0, Messages.msg_12, '\'');
+            return p.fail(pos0, Messages.msg_12, '\'');
         }
 
         while (p.position.intValue() < p.expression.length() && p.expression.charAt(p.position.intValue()) == '\'') {
@@ -6,23 +6,34 @@ import jscl.math.function.Root;
 import jscl.text.msg.Messages;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
-public class RootParser implements Parser<Function> {
-    public static final Parser<Function> parser = new RootParser();
+public class RootParser extends AbstractParser<Function> {
+    public static final AbstractParser<Function> parser = new RootParser();
 
     private RootParser() {
     }
 
-    public Function parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
+    @Nullable
+    public Function tryParse(@Nonnull Parameters p, Generic previousSumElement) {
         int pos0 = p.position.intValue();
 
-        final String name = Identifier.parser.parse(p, previousSumElement);
+        final String name = Identifier.parser.tryParse(p, previousSumElement);
+        if (name == null) {
+            return null;
+        }
         if (name.compareTo("root") != 0) {
-            ParserUtils.throwParseException(p, pos0, Messages.msg_11, "root");
+            return p.fail(pos0, Messages.msg_11, "root");
         }
 
         final Generic subscript = ParserUtils.parseWithRollback(Subscript.parser, pos0, previousSumElement, p);
+        if (subscript == null) {
+            return null;
+        }
         final Generic parameters[] = ParserUtils.parseWithRollback(ParameterListParser.parser1, pos0, previousSumElement, p);
+        if (parameters == null) {
+            return null;
+        }
 
         return new Root(parameters, subscript);
     }
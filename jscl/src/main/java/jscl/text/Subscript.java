@@ -5,27 +5,29 @@ import jscl.math.Generic;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
-public class Subscript implements Parser<Generic> {
+public class Subscript extends AbstractParser<Generic> {
 
-    public static final Parser<Generic> parser = new Subscript();
+    public static final AbstractParser<Generic> parser = new Subscript();
 
     private Subscript() {
     }
 
-    public Generic parse(@Nonnull Parameters p, @Nullable Generic previousSumElement) throws ParseException {
+    @Nullable
+    public Generic tryParse(@Nonnull Parameters p, @Nullable Generic previousSumElement) {
         int pos0 = p.position.intValue();
 
-        ParserUtils.tryToParse(p, pos0, '[');
+        if (!ParserUtils.tryToParse(p, pos0, '[')) {
+            return null;
+        }
 
-        Generic a;
-        try {
-            a = ExpressionParser.parser.parse(p, previousSumElement);
-        } catch (ParseException e) {
-            p.position.setValue(pos0);
-            throw e;
+        final Generic a = ParserUtils.parseWithRollback(ExpressionParser.parser, pos0, previousSumElement, p);
+        if (a == null) {
+            return null;
         }
 
-        ParserUtils.tryToParse(p, pos0, ']');
+        if (!ParserUtils.tryToParse(p, pos0, ']')) {
+            return null;
+        }
 
         return a;
     }
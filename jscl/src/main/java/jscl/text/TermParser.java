@@ -7,42 +7,45 @@ import jscl.math.function.Fraction;
 import jscl.math.function.Inverse;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 /**
  * User: serso
  * Date: 10/27/11
  * Time: 2:45 PM
  */
-class TermParser implements Parser<Generic> {
+class TermParser extends AbstractParser<Generic> {
 
-    public static final Parser<Generic> parser = new TermParser();
+    public static final AbstractParser<Generic> parser = new TermParser();
 
     private TermParser() {
     }
 
-    public Generic parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
+    @Nullable
+    public Generic tryParse(@Nonnull Parameters p, Generic previousSumElement) {
         Generic result = JsclInteger.valueOf(1);
 
-        Generic s = (Generic) UnsignedFactor.parser.parse(p, previousSumElement);
+        Generic s = UnsignedFactor.parser.tryParse(p, previousSumElement);
+        if (s == null) {
+            return null;
+        }
 
         while (true) {
-            try {
-                Generic b = MultiplyFactor.parser.parse(p, null);
+            final Generic b = MultiplyFactor.parser.tryParse(p, null);
+            if (b != null) {
                 result = result.multiply(s);
                 s = b;
-            } catch (ParseException e) {
-                p.exceptionsPool.release(e);
-                try {
-                    Generic b = DivideFactor.parser.parse(p, null);
-                    if (s.compareTo(JsclInteger.valueOf(1)) == 0)
-                        s = new Inverse(GenericVariable.content(b, true)).expressionValue();
-                    else
-                        s = new Fraction(GenericVariable.content(s, true), GenericVariable.content(b, true)).expressionValue();
-                } catch (ParseException e2) {
-                    p.exceptionsPool.release(e2);
-                    break;
-                }
+                continue;
+            }
+
+            final Generic d = DivideFactor.parser.tryParse(p, null);
+            if (d == null) {
+                break;
             }
+            if (s.compareTo(JsclInteger.valueOf(1)) == 0)
+                s = new Inverse(GenericVariable.content(d, true)).expressionValue();
+            else
+                s = new Fraction(GenericVariable.content(s, true), GenericVariable.content(d, true)).expressionValue();
         }
 
         result = result.multiply(s);
@@ -3,21 +3,26 @@ package jscl.text;
 import jscl.math.Generic;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 /**
  * User: serso
  * Date: 10/27/11
  * Time: 2:45 PM
  */
-class UnsignedExponent implements Parser<Generic> {
+class UnsignedExponent extends AbstractParser<Generic> {
 
-    public static final Parser<Generic> parser = new UnsignedExponent();
+    public static final AbstractParser<Generic> parser = new UnsignedExponent();
 
     private UnsignedExponent() {
     }
 
-    public Generic parse(@Nonnull Parameters p, final Generic previousSumElement) throws ParseException {
-        final Generic content = PrimaryExpressionParser.parser.parse(p, previousSumElement);
-        return new PostfixFunctionsParser(content).parse(p, previousSumElement);
+    @Nullable
+    public Generic tryParse(@Nonnull Parameters p, final Generic previousSumElement) {
+        final Generic content = PrimaryExpressionParser.parser.tryParse(p, previousSumElement);
+        if (content == null) {
+            return null;
+        }
+        return new PostfixFunctionsParser(content).tryParse(p, previousSumElement);
     }
 }
@@ -10,32 +10,36 @@ import javax.annotation.Nonnull;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.ListIterator;
+import javax.annotation.Nullable;
 
 /**
  * User: serso
  * Date: 10/27/11
  * Time: 2:45 PM
  */
-class UnsignedFactor implements Parser {
-    public static final Parser parser = new UnsignedFactor();
+class UnsignedFactor extends AbstractParser<Generic> {
+    public static final AbstractParser<Generic> parser = new UnsignedFactor();
 
     private UnsignedFactor() {
     }
 
-    public Object parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
+    @Nullable
+    public Generic tryParse(@Nonnull Parameters p, Generic previousSumElement) {
         final List<Generic> list = new ArrayList<Generic>();
 
-        Generic generic = UnsignedExponent.parser.parse(p, previousSumElement);
+        Generic generic = UnsignedExponent.parser.tryParse(p, previousSumElement);
+        if (generic == null) {
+            return null;
+        }
 
         list.add(generic);
 
         while (true) {
-            try {
-                list.add(PowerExponentParser.parser.parse(p, null));
-            } catch (ParseException e) {
-                p.exceptionsPool.release(e);
+            final Generic exponent = PowerExponentParser.parser.tryParse(p, null);
+            if (exponent == null) {
                 break;
             }
+            list.add(exponent);
         }
 
         final ListIterator<Generic> it = list.listIterator(list.size());
@@ -14,9 +14,9 @@ import javax.annotation.Nullable;
  * Date: 10/29/11
  * Time: 1:05 PM
  */
-class UsualFunctionParser implements Parser<Function> {
+class UsualFunctionParser extends AbstractParser<Function> {
 
-    public static final Parser<Function> parser = new UsualFunctionParser();
+    public static final AbstractParser<Function> parser = new UsualFunctionParser();
 
     private MathRegistry<Function> functionsRegistry = FunctionsRegistry.getInstance();
 
@@ -24,30 +24,36 @@ class UsualFunctionParser implements Parser<Function> {
     }
 
     static boolean valid(@Nullable String name) {
-        return name != null && FunctionsRegistry.getInstance().getNames().contains(name);
+        return name != null && FunctionsRegistry.getInstance().contains(name);
     }
 
-    public Function parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
+    @Nullable
+    public Function tryParse(@Nonnull Parameters p, Generic previousSumElement) {
         int pos0 = p.position.intValue();
 
-        final String name = Identifier.parser.parse(p, previousSumElement);
+        final String name = Identifier.parser.tryParse(p, previousSumElement);
+        if (name == null) {
+            return null;
+        }
 
         if (!valid(name)) {
-            ParserUtils.throwParseException(p, pos0, Messages.msg_13);
+            return p.fail(pos0, Messages.msg_13);
         }
 
         final Function result = functionsRegistry.get(name);
+        if (result == null) {
+            return p.fail(pos0, Messages.msg_13);
+        }
 
-        if (result != null) {
-            final Generic parameters[] = ParserUtils.parseWithRollback(new ParameterListParser(result.getMinParameters()), pos0, previousSumElement, p);
+        final Generic parameters[] = ParserUtils.parseWithRollback(new ParameterListParser(result.getMinParameters()), pos0, previousSumElement, p);
+        if (parameters == null) {
+            return null;
+        }
 
-            if (result.getMinParameters() <= parameters.length && result.getMaxParameters() >= parameters.length) {
-                result.setParameters(parameters);
-            } else {
-                ParserUtils.throwParseException(p, pos0, Messages.msg_14, parameters.length);
-            }
+        if (result.getMinParameters() <= parameters.length && result.getMaxParameters() >= parameters.length) {
+            result.setParameters(parameters);
         } else {
-            ParserUtils.throwParseException(p, pos0, Messages.msg_13);
+            return p.fail(pos0, Messages.msg_14, parameters.length);
         }
 
         return result;
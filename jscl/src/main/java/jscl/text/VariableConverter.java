@@ -4,6 +4,7 @@ import jscl.math.Generic;
 import jscl.math.Variable;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 /**
  * User: serso
@@ -12,12 +13,14 @@ import javax.annotation.Nonnull;
  */
 class VariableConverter<T extends Variable> extends AbstractConverter<T, Generic> {
 
-    VariableConverter(@Nonnull Parser<T> variableParser) {
+    VariableConverter(@Nonnull AbstractParser<T> variableParser) {
         super(variableParser);
     }
 
+    @Nullable
     @Override
-    public Generic parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
-        return this.parser.parse(p, previousSumElement).expressionValue();
+    public Generic tryParse(@Nonnull Parameters p, Generic previousSumElement) {
+        final T variable = this.parser.tryParse(p, previousSumElement);
+        return variable == null ? null : variable.expressionValue();
     }
 }
@@ -4,25 +4,26 @@ import jscl.math.Generic;
 import jscl.math.Variable;
 
 import javax.annotation.Nonnull;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import javax.annotation.Nullable;
 
-public class VariableParser implements Parser<Variable> {
+public class VariableParser extends AbstractParser<Variable> {
 
-    public static final Parser<Variable> parser = new VariableParser();
+    public static final AbstractParser<Variable> parser = new VariableParser();
 
-    private final static List<Parser<? extends Variable>> parsers = Arrays.asList(
+    private final static List<AbstractParser<? extends Variable>> parsers = Arrays.<AbstractParser<? extends Variable>>asList(
             OperatorParser.parser,
             FunctionParser.parser,
             ConstantParser.parser);
 
-    private final static MultiTryParser<Variable> internalParser = new MultiTryParser<Variable>(new ArrayList<Parser<? extends Variable>>(parsers));
+    private final static MultiTryParser<Variable> internalParser = new MultiTryParser<Variable>(parsers);
 
     private VariableParser() {
     }
 
-    public Variable parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
-        return internalParser.parse(p, previousSumElement);
+    @Nullable
+    public Variable tryParse(@Nonnull Parameters p, Generic previousSumElement) {
+        return internalParser.tryParse(p, previousSumElement);
     }
 }
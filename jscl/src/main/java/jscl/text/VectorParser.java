@@ -7,41 +7,45 @@ import jscl.util.ArrayUtils;
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
 import java.util.List;
+import javax.annotation.Nullable;
 
-public class VectorParser implements Parser<JsclVector> {
+public class VectorParser extends AbstractParser<JsclVector> {
 
-    public static final Parser<JsclVector> parser = new VectorParser();
+    public static final AbstractParser<JsclVector> parser = new VectorParser();
 
     private VectorParser() {
     }
 
-    public JsclVector parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
+    @Nullable
+    public JsclVector tryParse(@Nonnull Parameters p, Generic previousSumElement) {
         int pos0 = p.position.intValue();
 
         ParserUtils.skipWhitespaces(p);
 
-        ParserUtils.tryToParse(p, pos0, '[');
+        if (!ParserUtils.tryToParse(p, pos0, '[')) {
+            return null;
+        }
 
         final List<Generic> result = new ArrayList<Generic>();
-        try {
-            result.add(ExpressionParser.parser.parse(p, previousSumElement));
-        } catch (ParseException e) {
-            p.position.setValue(pos0);
-            throw e;
+        final Generic first = ParserUtils.parseWithRollback(ExpressionParser.parser, pos0, previousSumElement, p);
+        if (first == null) {
+            return null;
         }
+        result.add(first);
 
         while (true) {
-            try {
-                result.add(CommaAndExpression.parser.parse(p, previousSumElement));
-            } catch (ParseException e) {
-                p.exceptionsPool.release(e);
+            final Generic element = CommaAndExpression.parser.tryParse(p, previousSumElement);
+            if (element == null) {
                 break;
             }
+            result.add(element);
         }
 
         ParserUtils.skipWhitespaces(p);
 
-        ParserUtils.tryToParse(p, pos0, ']');
+        if (!ParserUtils.tryToParse(p, pos0, ']')) {
+            return null;
+        }
 
         return new JsclVector(ArrayUtils.toArray(result, new Generic[result.size()]));
     }
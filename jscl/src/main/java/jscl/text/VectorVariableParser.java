@@ -1,18 +1,23 @@
 package jscl.text;
 
 import jscl.math.Generic;
+import jscl.math.JsclVector;
 import jscl.math.Variable;
 import jscl.math.VectorVariable;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import jscl.math.JsclVector;
 
-public class VectorVariableParser implements Parser<Variable> {
-    public static final Parser<Variable> parser = new VectorVariableParser();
+public class VectorVariableParser extends AbstractParser<Variable> {
+    public static final AbstractParser<Variable> parser = new VectorVariableParser();
 
     private VectorVariableParser() {
     }
 
-    public Variable parse(@Nonnull Parameters p, Generic previousSumElement) throws ParseException {
-        return new VectorVariable(VectorParser.parser.parse(p, previousSumElement));
+    @Nullable
+    public Variable tryParse(@Nonnull Parameters p, Generic previousSumElement) {
+        final JsclVector vector = VectorParser.parser.tryParse(p, previousSumElement);
+        return vector == null ? null : new VectorVariable(vector);
     }
 }
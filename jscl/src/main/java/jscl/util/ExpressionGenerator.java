@@ -1,6 +1,7 @@
 package jscl.util;
 
 import javax.annotation.Nonnull;
+import java.util.Random;
 
 public class ExpressionGenerator extends AbstractExpressionGenerator<String> {
 
@@ -12,6 +13,10 @@ public class ExpressionGenerator extends AbstractExpressionGenerator<String> {
         super(depth);
     }
 
+    public ExpressionGenerator(int depth, @Nonnull Random random) {
+        super(depth, random);
+    }
+
     public static void main(String... args) {
         System.out.println(new ExpressionGenerator(20).generate());
     }
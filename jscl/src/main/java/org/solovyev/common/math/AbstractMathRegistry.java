@@ -24,10 +24,14 @@ package org.solovyev.common.math;
 
 import org.solovyev.common.collections.SortedList;
 import org.solovyev.common.text.Strings;
+import org.solovyev.common.text.Trie;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -48,11 +52,11 @@ public abstract class AbstractMathRegistry<T extends MathEntity> implements Math
     @Nonnull
     protected final SortedList<T> entities = SortedList.newInstance(new ArrayList<T>(30), MATH_ENTITY_COMPARATOR);
     @GuardedBy("this")
-    @Nullable
-    private List<String> entityNames;
-    @GuardedBy("this")
     @Nonnull
     protected final SortedList<T> systemEntities = SortedList.newInstance(new ArrayList<T>(30), MATH_ENTITY_COMPARATOR);
+    // copy of the registry for the readers (they don't lock), replaced by the writers after every modification
+    @Nonnull
+    private volatile Snapshot<T> snapshot = new Snapshot<>(Collections.<T>emptyList(), Collections.<T>emptyList(), 0);
     private volatile boolean initialized;
 
     protected AbstractMathRegistry() {
@@ -74,6 +78,11 @@ public abstract class AbstractMathRegistry<T extends MathEntity> implements Math
 
     protected abstract void onInit();
 
+    @Override
+    public int getVersion() {
+        return snapshot.version;
+    }
+
     @Nonnull
     private static synchronized Integer count() {
         final Integer result = counter;
@@ -81,6 +90,13 @@ public abstract class AbstractMathRegistry<T extends MathEntity> implements Math
         return result;
     }
 
+    // the version is published together with the entities: readers never see a new version with old entities
+    private void publish() {
+        assert Thread.holdsLock(this);
+
+        snapshot = new Snapshot<>(new ArrayList<T>(entities), new ArrayList<T>(systemEntities), snapshot.version + 1);
+    }
+
     @Nullable
     private static <E extends MathEntity> E removeByName(@Nonnull List<E> entities, @Nonnull String name) {
         for (int i = 0; i < entities.size(); i++) {
@@ -99,16 +115,12 @@ public abstract class AbstractMathRegistry<T extends MathEntity> implements Math
 
     @Nonnull
     public List<T> getEntities() {
-        synchronized (this) {
-            return java.util.Collections.unmodifiableList(new ArrayList<T>(entities));
-        }
+        return snapshot.entities;
     }
 
     @Nonnull
     public List<T> getSystemEntities() {
-        synchronized (this) {
-            return java.util.Collections.unmodifiableList(new ArrayList<T>(systemEntities));
-        }
+        return snapshot.systemEntities;
     }
 
     protected void add(@Nonnull T entity) {
@@ -123,8 +135,8 @@ public abstract class AbstractMathRegistry<T extends MathEntity> implements Math
 
             if (!contains(entity.getName(), this.entities)) {
                 addEntity(entity, this.entities);
-                this.entityNames = null;
             }
+            publish();
         }
     }
 
@@ -140,16 +152,16 @@ public abstract class AbstractMathRegistry<T extends MathEntity> implements Math
             final T existingEntity = entity.isIdDefined() ? getById(entity.getId()) : get(entity.getName());
             if (existingEntity == null) {
                 addEntity(entity, entities);
-                this.entityNames = null;
                 if (entity.isSystem()) {
                     systemEntities.add(entity);
                 }
+                publish();
                 return entity;
             } else {
                 existingEntity.copy(entity);
                 this.entities.sort();
-                this.entityNames = null;
                 this.systemEntities.sort();
+                publish();
                 return existingEntity;
             }
         }
@@ -160,7 +172,7 @@ public abstract class AbstractMathRegistry<T extends MathEntity> implements Math
             if (!entity.isSystem()) {
                 final T removed = removeByName(entities, entity.getName());
                 if (removed != null) {
-                    this.entityNames = null;
+                    publish();
                 }
             }
         }
@@ -168,26 +180,26 @@ public abstract class AbstractMathRegistry<T extends MathEntity> implements Math
 
     @Nonnull
     public List<String> getNames() {
-        synchronized (this) {
-            if (entityNames != null) {
-                return entityNames;
-            }
-            entityNames = new ArrayList<>(entities.size());
-            for (T entity : entities) {
-                final String name = entity.getName();
-                if (!Strings.isEmpty(name)) {
-                    entityNames.add(name);
-                }
-            }
-            return entityNames;
-        }
+        return snapshot.names;
+    }
+
+    /**
+     * Same as finding the first name from {@link #getNames()} which <var>text</var> starts with at <var>position</var>
+     * but doesn't depend on the number of the entities in the registry
+     *
+     * @param text     text to be searched in
+     * @param position position in <var>text</var> where the name should start
+     * @return the longest name of the entity which <var>text</var> contains at <var>position</var>, null if there is no
+     * such entity
+     */
+    @Nullable
+    public String findName(@Nonnull CharSequence text, int position) {
+        return snapshot.namesTrie.find(text, position);
     }
 
     @Nullable
     public T get(@Nonnull final String name) {
-        synchronized (this) {
-            return get(name, entities);
-        }
+        return snapshot.entitiesByName.get(name);
     }
 
     @Nullable
@@ -202,26 +214,64 @@ public abstract class AbstractMathRegistry<T extends MathEntity> implements Math
     }
 
     public T getById(@Nonnull final Integer id) {
-        synchronized (this) {
-            for (T entity : entities) {
-                if (areEqual(entity.getId(), id)) {
-                    return entity;
-                }
-            }
-            return null;
-        }
+        return snapshot.entitiesById.get(id);
     }
 
     public boolean contains(@Nonnull final String name) {
-        synchronized (this) {
-            return contains(name, this.entities);
-        }
+        // not get(name): subclasses might return copies of the entities
+        return snapshot.entitiesByName.containsKey(name);
     }
 
     private boolean contains(final String name, @Nonnull List<T> entities) {
         return get(name, entities) != null;
     }
 
+    /**
+     * Immutable state of the registry: entities in the order of the registry, indices by name and id (first
+     * entity in the order if there are several) and the version (incremented on every modification)
+     */
+    private static final class Snapshot<T extends MathEntity> {
+        @Nonnull
+        final List<T> entities;
+        @Nonnull
+        final List<T> systemEntities;
+        @Nonnull
+        final Map<String, T> entitiesByName;
+        @Nonnull
+        final Map<Integer, T> entitiesById;
+        @Nonnull
+        final List<String> names;
+        // see findName(CharSequence, int)
+        @Nonnull
+        final Trie namesTrie;
+        final int version;
+
+        Snapshot(@Nonnull List<T> entities, @Nonnull List<T> systemEntities, int version) {
+            this.entities = Collections.unmodifiableList(entities);
+            this.systemEntities = Collections.unmodifiableList(systemEntities);
+            final Map<String, T> entitiesByName = new HashMap<>(2 * entities.size());
+            final Map<Integer, T> entitiesById = new HashMap<>(2 * entities.size());
+            final List<String> names = new ArrayList<>(entities.size());
+            for (T entity : entities) {
+                final String name = entity.getName();
+                if (!entitiesByName.containsKey(name)) {
+                    entitiesByName.put(name, entity);
+                }
+                if (entity.isIdDefined() && !entitiesById.containsKey(entity.getId())) {
+                    entitiesById.put(entity.getId(), entity);
+                }
+                if (!Strings.isEmpty(name)) {
+                    names.add(name);
+                }
+            }
+            this.entitiesByName = entitiesByName;
+            this.entitiesById = entitiesById;
+            this.names = Collections.unmodifiableList(names);
+            this.namesTrie = new Trie(names);
+            this.version = version;
+        }
+    }
+
     static class MathEntityComparator<T extends MathEntity> implements Comparator<T> {
 
         MathEntityComparator() {
@@ -42,8 +42,21 @@ public interface MathRegistry<T extends MathEntity> {
     @Nonnull
     List<String> getNames();
 
+    /**
+     * @return the longest name of the entity which <var>text</var> contains at <var>position</var>, null if there is
+     * no such entity
+     */
+    @Nullable
+    String findName(@Nonnull CharSequence text, int position);
+
     boolean contains(@Nonnull final String name);
 
+    /**
+     * @return number which is changed every time entity is added, updated or removed from the registry. Might be used
+     * to invalidate values computed from the registry's content
+     */
+    int getVersion();
+
     @Nullable
     T get(@Nonnull String name);
 
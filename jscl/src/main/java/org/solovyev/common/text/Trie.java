@@ -0,0 +1,182 @@
+package org.solovyev.common.text;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Prefix tree of the tokens which finds the longest token starting at some position of the text in time proportional
+ * to the length of the match (and not to the number of tokens). Tokens might be added and removed one by one so the
+ * tree can be kept up to date without rebuilding it.
+ * <p/>
+ * This class is not thread-safe.
+ */
+public final class Trie {
+
+    @Nonnull
+    private final Node root = new Node();
+    private int size;
+
+    public Trie() {
+    }
+
+    public Trie(@Nonnull Collection<String> tokens) {
+        for (String token : tokens) {
+            add(token);
+        }
+    }
+
+    /**
+     * @param token token to be added, empty tokens are ignored
+     * @return true if the token was not in the tree before
+     */
+    public boolean add(@Nonnull String token) {
+        if (token.isEmpty()) {
+            return false;
+        }
+        Node node = root;
+        for (int i = 0; i < token.length(); i++) {
+            node = node.getOrCreateChild(token.charAt(i));
+        }
+        if (node.token != null) {
+            return false;
+        }
+        node.token = token;
+        size++;
+        return true;
+    }
+
+    /**
+     * @param token token to be removed
+     * @return true if the token was in the tree
+     */
+    public boolean remove(@Nonnull String token) {
+        if (token.isEmpty()) {
+            return false;
+        }
+        final Node[] path = new Node[token.length() + 1];
+        Node node = root;
+        path[0] = node;
+        for (int i = 0; i < token.length(); i++) {
+            node = node.getChild(token.charAt(i));
+            if (node == null) {
+                return false;
+            }
+            path[i + 1] = node;
+        }
+        if (node.token == null) {
+            return false;
+        }
+        node.token = null;
+        size--;
+
+        // prune the branch which doesn't lead to any token anymore
+        for (int i = token.length(); i > 0 && path[i].token == null && path[i].size == 0; i--) {
+            path[i - 1].removeChild(token.charAt(i - 1));
+        }
+        return true;
+    }
+
+    public boolean contains(@Nonnull String token) {
+        Node node = root;
+        for (int i = 0; i < token.length() && node != null; i++) {
+            node = node.getChild(token.charAt(i));
+        }
+        return node != null && node.token != null;
+    }
+
+    /**
+     * @param text     text to be searched in
+     * @param position position in <var>text</var> where the token should start
+     * @return the longest token which <var>text</var> contains at <var>position</var>, null if there is no such token
+     */
+    @Nullable
+    public String find(@Nonnull CharSequence text, int position) {
+        String result = null;
+        Node node = root;
+        for (int i = position; i < text.length(); i++) {
+            node = node.getChild(text.charAt(i));
+            if (node == null) {
+                break;
+            }
+            if (node.token != null) {
+                result = node.token;
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        root.clear();
+        size = 0;
+    }
+
+    private static final class Node {
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        // sorted, only first size elements are used
+        @Nonnull
+        private char[] keys = NO_KEYS;
+        @Nonnull
+        private Node[] children = NO_CHILDREN;
+        private int size;
+        @Nullable
+        private String token;
+
+        @Nullable
+        Node getChild(char key) {
+            if (size == 1) {
+                // most of the nodes have only one child
+                return keys[0] == key ? children[0] : null;
+            }
+            final int i = Arrays.binarySearch(keys, 0, size, key);
+            return i >= 0 ? children[i] : null;
+        }
+
+        @Nonnull
+        Node getOrCreateChild(char key) {
+            int i = Arrays.binarySearch(keys, 0, size, key);
+            if (i >= 0) {
+                return children[i];
+            }
+            i = -i - 1;
+            if (size == keys.length) {
+                final int capacity = Math.max(2, 2 * size);
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(keys, i, keys, i + 1, size - i);
+            System.arraycopy(children, i, children, i + 1, size - i);
+            final Node child = new Node();
+            keys[i] = key;
+            children[i] = child;
+            size++;
+            return child;
+        }
+
+        void removeChild(char key) {
+            final int i = Arrays.binarySearch(keys, 0, size, key);
+            if (i < 0) {
+                return;
+            }
+            System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+            System.arraycopy(children, i + 1, children, i, size - i - 1);
+            size--;
+            children[size] = null;
+        }
+
+        void clear() {
+            keys = NO_KEYS;
+            children = NO_CHILDREN;
+            size = 0;
+            token = null;
+        }
+    }
+}
@@ -4,9 +4,28 @@ import org.junit.Before;
 import org.junit.Test;
 import org.solovyev.common.NumberFormatter;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import jscl.math.function.Constant;
+import jscl.math.function.ExtendedConstant;
+import jscl.text.ParseException;
 import midpcalc.Real;
 
+import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 /**
  * User: serso
@@ -209,4 +228,132 @@ public class JsclMathEngineTest {
         assertEquals("111.11123E3", me.format(111111.23d));
         assertEquals("111.1112E3", me.format(111111.2d));
     }
+
+    @Test
+    public void testShouldCacheResults() throws Exception {
+        assertEquals("11", me.evaluate("5+6"));
+        final long misses = me.getCacheMisses();
+        assertEquals("11", me.evaluate("5+6"));
+        assertEquals(misses, me.getCacheMisses());
+        assertEquals(1, me.getCacheHits());
+        assertSame(me.evaluateGeneric("5+6"), me.evaluateGeneric("5+6"));
+    }
+
+    @Test
+    public void testShouldNotReuseResultsForDifferentSettings() throws Exception {
+        me.setAngleUnits(AngleUnit.deg);
+        assertEquals("1", me.evaluate("sin(90)"));
+        me.setAngleUnits(AngleUnit.rad);
+        assertEquals("0.893996663600558", me.evaluate("sin(90)"));
+    }
+
+    @Test
+    public void testShouldEvaluateWithGivenContext() throws Exception {
+        final EvaluationContext rad = new EvaluationContext.Builder(me.getContext()).setAngleUnits(AngleUnit.rad).create();
+        final EvaluationContext bin = new EvaluationContext.Builder(me.getContext()).setNumeralBase(NumeralBase.bin).create();
+
+        assertEquals("0.893996663600558", me.evaluate("sin(90)", rad));
+        assertEquals("1", me.evaluate("sin(90)"));
+        assertEquals("11", me.evaluate("1+10", bin));
+        assertEquals("11", me.evaluate("1+10"));
+        assertSame(AngleUnit.deg, me.getAngleUnits());
+        assertSame(NumeralBase.dec, me.getNumeralBase());
+    }
+
+    @Test
+    public void testShouldEvaluateConcurrentlyWithDifferentContexts() throws Exception {
+        final EvaluationContext deg = new EvaluationContext.Builder(me.getContext()).setAngleUnits(AngleUnit.deg).create();
+        final EvaluationContext rad = new EvaluationContext.Builder(me.getContext()).setAngleUnits(AngleUnit.rad).create();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                final EvaluationContext context = i % 2 == 0 ? deg : rad;
+                final String expression = "sin(90)+" + i;
+                results.add(executor.submit(new Callable<String>() {
+                    @Override
+                    public String call() throws Exception {
+                        return me.evaluate(expression, context);
+                    }
+                }));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                final String expected = i % 2 == 0 ? String.valueOf(i + 1) : me.format(Math.sin(90) + i);
+                assertEquals(expected, results.get(i).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testShouldEvaluateBatch() throws Exception {
+        final List<String> expressions = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            expressions.add(i % 10 == 9 ? "2+*" + i : i + "*2+100");
+        }
+        final BatchEvaluation batch = me.evaluate(expressions, me.getContext());
+        assertEquals(expressions.size(), batch.size());
+        for (int i = 0; i < expressions.size(); i++) {
+            final BatchEvaluation.Result result = batch.get(i);
+            assertEquals(i, result.getIndex());
+            if (i % 10 == 9) {
+                assertFalse(result.isSuccessful());
+                assertTrue(result.getError() instanceof ParseException);
+            } else {
+                assertTrue(result.isSuccessful());
+                assertEquals(String.valueOf(i * 2 + 100), result.getValue());
+            }
+        }
+
+        final Set<Integer> indices = new HashSet<>();
+        BatchEvaluation.Result result;
+        while ((result = batch.take()) != null) {
+            assertTrue(indices.add(result.getIndex()));
+        }
+        assertEquals(expressions.size(), indices.size());
+        assertTrue(batch.isDone());
+    }
+
+    @Test
+    public void testShouldCancelBatch() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final CountDownLatch latch = new CountDownLatch(1);
+        try {
+            // blocks the only thread so nothing is evaluated before cancellation
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        latch.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+            final BatchEvaluation batch = me.evaluate(asList("1+1", "2+2"), me.getContext(), executor);
+            batch.cancel();
+            latch.countDown();
+            assertTrue(batch.get(0).isCancelled());
+            assertTrue(batch.get(1).isCancelled());
+            assertNotNull(batch.take());
+            assertNotNull(batch.take());
+            assertNull(batch.take());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testShouldInvalidateResultsOnRegistryChange() throws Exception {
+        final JsclMathEngine instance = JsclMathEngine.getInstance();
+        try {
+            instance.getConstantsRegistry().addOrUpdate(new ExtendedConstant.Builder(new Constant("cache_c"), 2.5d).create());
+            assertEquals("5", me.evaluate("cache_c*2"));
+            instance.getConstantsRegistry().addOrUpdate(new ExtendedConstant.Builder(new Constant("cache_c"), 3.5d).create());
+            assertEquals("7", me.evaluate("cache_c*2"));
+        } finally {
+            instance.getConstantsRegistry().addOrUpdate(new ExtendedConstant.Builder(new Constant("cache_c"), (String) null).create());
+        }
+    }
 }
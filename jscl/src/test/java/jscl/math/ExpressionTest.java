@@ -6,6 +6,7 @@ import org.solovyev.common.NumberFormatter;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.math.BigInteger;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLConnection;
@@ -837,4 +838,41 @@ public class ExpressionTest {
             me.setPrecision(NumberFormatter.MAX_PRECISION);
         }
     }
+
+    @Test
+    public void testEqualObjectsShouldHaveSameHashCodes() throws Exception {
+        final String[] expressions = {"0", "2", "-5", "x", "x+y", "2*x^2-sin(x)", "a*b/c+ln(a^3)", "√(x)+cos(y)^2", "∂(sin(t), t)"};
+        for (String expression : expressions) {
+            final Generic l = Expression.valueOf(expression).expand();
+            final Generic r = Expression.valueOf(expression).expand();
+            assertEquals(expression, l, r);
+            assertEquals(expression, l.hashCode(), r.hashCode());
+            final Variable[] lv = l.variables();
+            final Variable[] rv = r.variables();
+            for (int i = 0; i < lv.length; i++) {
+                assertEquals(expression, lv[i], rv[i]);
+                assertEquals(expression, lv[i].hashCode(), rv[i].hashCode());
+            }
+        }
+
+        final Generic two = JsclInteger.valueOf(2);
+        assertEquals(two, Expression.valueOf(JsclInteger.valueOf(2)));
+        assertEquals(two.hashCode(), Expression.valueOf(JsclInteger.valueOf(2)).hashCode());
+        assertEquals(JsclInteger.valueOf(0).hashCode(), Expression.valueOf(JsclInteger.valueOf(0)).hashCode());
+        assertEquals(two.hashCode(), new NumericWrapper(jscl.math.numeric.Real.valueOf(2d)).hashCode());
+        final Rational half = new Rational(BigInteger.ONE, BigInteger.valueOf(2));
+        assertEquals(half.hashCode(), Expression.valueOf(half).hashCode());
+    }
+
+    @Test
+    public void testShouldInternEqualExpressions() throws Exception {
+        final Interner interner = new Interner(2);
+        final Expression x = interner.intern(Expression.valueOf("x^2+1"));
+        assertTrue(x == interner.intern(Expression.valueOf("x^2+1")));
+        // integer is equal to the expression but must not be replaced by it
+        assertTrue(interner.intern(Expression.valueOf("2")) != interner.intern((Generic) JsclInteger.valueOf(2)));
+        // least recently used expression is evicted
+        assertTrue(x != interner.intern(Expression.valueOf("x^2+1")));
+        assertEquals(2, interner.size());
+    }
 }
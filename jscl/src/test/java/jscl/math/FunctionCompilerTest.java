@@ -0,0 +1,123 @@
+package jscl.math;
+
+import org.junit.Test;
+
+import jscl.AngleUnit;
+import jscl.JsclMathEngine;
+import jscl.math.function.Constant;
+import jscl.math.function.CustomFunction;
+import jscl.math.function.Function;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class FunctionCompilerTest {
+
+    private static final String[] EXPRESSIONS = {
+            "x",
+            "2*x^3-x^2+5",
+            "sin(x)+cos(x)*tan(x)",
+            "asin(x/10)+acos(x/10)+atan(x)+acot(x)",
+            "sinh(x)-cosh(x)+tanh(x)",
+            "ln(x^2+1)+lg(abs(x)+1)+exp(x/10)",
+            "√(x^2+1)*cubic(x)",
+            "x^(1/3)+(x^2+1)^x",
+            "1/(x^2+1)-sgn(x)*abs(x)",
+            "π*x+e^x",
+            "deg(x)",
+            "((x+1)*(x-1))^2/(x+2)",
+    };
+
+    @Test
+    public void testShouldEvaluateSameAsNumeric() throws Exception {
+        final JsclMathEngine me = JsclMathEngine.getInstance();
+        final AngleUnit angleUnits = me.getAngleUnits();
+        try {
+            for (AngleUnit unit : AngleUnit.values()) {
+                me.setAngleUnits(unit);
+                for (String expression : EXPRESSIONS) {
+                    assertSameAsNumeric(expression);
+                }
+            }
+        } finally {
+            me.setAngleUnits(angleUnits);
+        }
+    }
+
+    private void assertSameAsNumeric(String expression) throws Exception {
+        final Constant x = new Constant("x");
+        final Generic generic = Expression.valueOf(expression);
+        final CompiledFunction compiled = FunctionCompiler.compile(generic, x);
+        final double[] arguments = new double[1];
+        for (double value = -5; value <= 5; value += 0.37) {
+            arguments[0] = value;
+            final double actual = compiled.evaluate(arguments);
+            if (Double.isNaN(actual)) {
+                // not real
+                continue;
+            }
+            final Generic numeric = generic.substitute(x, Expression.valueOf(value)).numeric();
+            final double expected = numeric.doubleValue();
+            assertEquals(expression + " for x=" + value, expected, actual, Math.max(1, Math.abs(expected)) * 1e-9);
+        }
+    }
+
+    @Test
+    public void testShouldCompileNestedCustomFunctions() throws Exception {
+        final JsclMathEngine me = JsclMathEngine.getInstance();
+        me.getFunctionsRegistry().addOrUpdate(new CustomFunction.Builder("fc1", asList("a", "b"), "a^2+sin(b)").create());
+        final CustomFunction f = new CustomFunction.Builder("fc2", asList("x", "y"), "fc1(y, x)*2+x").create();
+
+        final CompiledFunction compiled = FunctionCompiler.compile(f);
+        final double[] arguments = {30, 3};
+        final Generic[] parameters = {Expression.valueOf(30d), Expression.valueOf(3d)};
+        f.setParameters(parameters);
+        assertEquals(f.numeric().doubleValue(), compiled.evaluate(arguments), 1e-12);
+    }
+
+    @Test
+    public void testShouldReturnNanForComplexResults() throws Exception {
+        final CompiledFunction compiled = FunctionCompiler.compile(Expression.valueOf("√(x)+ln(x)"), new Constant("x"));
+        assertTrue(Double.isNaN(compiled.evaluate(new double[]{-1})));
+    }
+
+    @Test
+    public void testShouldEvaluateRealExpressionsWithDoubles() throws Exception {
+        assertEquals(Math.sqrt(3) + 5.5, FunctionCompiler.evaluate(Expression.valueOf("√(3)+11/2")).doubleValue(), 0);
+        // not real or not compilable: generic evaluation must be used
+        assertNull(FunctionCompiler.evaluate(Expression.valueOf("√(-3)")));
+        assertNull(FunctionCompiler.evaluate(Expression.valueOf("ln(0)")));
+        assertNull(FunctionCompiler.evaluate(Expression.valueOf("i+3")));
+        assertNull(FunctionCompiler.evaluate(Expression.valueOf("Σ(k, k, 1, 5)")));
+
+        assertEquals("1.732050807568877*i", Expression.valueOf("√(-3)").numeric().toString());
+        assertEquals("3+i", Expression.valueOf("i+3").numeric().toString());
+    }
+
+    @Test
+    public void testShouldNotCompileUnsupportedExpressions() throws Exception {
+        assertNotCompilable("x+i");
+        assertNotCompilable("Σ(x, k, 1, 10)");
+        assertNotCompilable("[1, 2]*x");
+    }
+
+    private void assertNotCompilable(String expression) throws Exception {
+        try {
+            FunctionCompiler.compile(Expression.valueOf(expression), new Constant("x"));
+            fail(expression + " should not be compilable");
+        } catch (NotCompilableException e) {
+            // ok
+        }
+    }
+
+    @Test
+    public void testShouldCompileBuiltInFunction() throws Exception {
+        final Function sin = JsclMathEngine.getInstance().getFunctionsRegistry().get("sin");
+        final CompiledFunction compiled = FunctionCompiler.compile(sin);
+        final double expected = Math.sin(JsclMathEngine.getInstance().getAngleUnits().transform(AngleUnit.rad, 30d));
+        assertEquals(expected, compiled.evaluate(new double[]{30}), 1e-15);
+    }
+}
@@ -0,0 +1,101 @@
+package jscl.math;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.Random;
+import java.util.SortedMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import jscl.text.ParseInterruptedException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class IntegerFactorizationTest {
+
+    @Test
+    public void testShouldFactorizeSmallNumbers() throws Exception {
+        for (long n = 2; n < 20000; n++) {
+            assertFactorization(BigInteger.valueOf(n));
+        }
+        assertTrue(IntegerFactorization.factorize(BigInteger.ONE).isEmpty());
+        assertTrue(IntegerFactorization.factorize(BigInteger.ZERO).isEmpty());
+    }
+
+    @Test
+    public void testShouldFactorizeLargeNumbers() throws Exception {
+        final Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            assertFactorization(BigInteger.valueOf(random.nextLong() >>> (1 + random.nextInt(32))));
+        }
+        for (int i = 0; i < 50; i++) {
+            // semiprimes are the worst case for rho
+            assertFactorization(BigInteger.probablePrime(31, random).multiply(BigInteger.probablePrime(32, random)));
+        }
+        assertFactorization(BigInteger.valueOf(Long.MAX_VALUE));
+        assertFactorization(BigInteger.probablePrime(20, random).pow(3).multiply(BigInteger.probablePrime(30, random).pow(2)));
+    }
+
+    @Test
+    public void testShouldFactorizeProductOfTwelveDigitPrimes() throws Exception {
+        final BigInteger p = new BigInteger("100000000003");
+        final BigInteger q = new BigInteger("999999999989");
+        final SortedMap<BigInteger, Integer> factors = IntegerFactorization.factorize(p.multiply(q));
+        assertEquals(2, factors.size());
+        assertEquals(Integer.valueOf(1), factors.get(p));
+        assertEquals(Integer.valueOf(1), factors.get(q));
+
+        assertEquals("(100000000003)*(999999999989)", Factorization.factorize(new JsclInteger(p.multiply(q))).toString());
+    }
+
+    @Test
+    public void testShouldTestPrimality() throws Exception {
+        final Random random = new Random(42);
+        for (int i = 0; i < 100; i++) {
+            final BigInteger prime = BigInteger.probablePrime(16 + random.nextInt(100), random);
+            assertTrue(IntegerFactorization.isPrime(prime));
+            assertFalse(IntegerFactorization.isPrime(prime.multiply(BigInteger.probablePrime(17, random))));
+        }
+        // strong pseudoprime to bases 2, 3, 5, 7, 11
+        assertFalse(IntegerFactorization.isPrime(new BigInteger("2152302898747")));
+        // Carmichael number
+        assertFalse(IntegerFactorization.isPrime(BigInteger.valueOf(561)));
+    }
+
+    @Test
+    public void testShouldBeInterrupted() throws Exception {
+        final Random random = new Random(42);
+        // ~2^40 iterations of rho are needed: can't finish in reasonable time
+        final BigInteger n = BigInteger.probablePrime(80, random).multiply(BigInteger.probablePrime(80, random));
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    IntegerFactorization.factorize(n);
+                } catch (Throwable e) {
+                    error.set(e);
+                }
+            }
+        });
+        thread.start();
+        Thread.sleep(100);
+        thread.interrupt();
+        thread.join(10000);
+        assertFalse(thread.isAlive());
+        assertTrue(error.get() instanceof ParseInterruptedException);
+    }
+
+    private void assertFactorization(BigInteger n) {
+        final SortedMap<BigInteger, Integer> factors = IntegerFactorization.factorize(n);
+        BigInteger product = BigInteger.ONE;
+        for (Map.Entry<BigInteger, Integer> e : factors.entrySet()) {
+            assertTrue(e.getKey() + " is not prime", e.getKey().isProbablePrime(64));
+            product = product.multiply(e.getKey().pow(e.getValue()));
+        }
+        assertEquals(n, product);
+    }
+}
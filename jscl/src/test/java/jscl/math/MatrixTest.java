@@ -0,0 +1,109 @@
+package jscl.math;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import javax.annotation.Nonnull;
+
+import jscl.math.operator.matrix.LinearSolve;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class MatrixTest {
+
+    @Test
+    public void testDeterminant() throws Exception {
+        assertEquals("-2", matrix("[[1, 2], [3, 4]]").determinant().toString());
+        assertEquals("-2", matrix("[[0, 1, 2], [1, 0, 3], [4, -3, 8]]").determinant().toString());
+        assertEquals("72", matrix("[[1, 2, 3, 4], [5, 6, 7, 8], [2, 6, 4, 8], [3, 1, 1, 2]]").determinant().toString());
+        assertEquals("0", matrix("[[1, 2], [2, 4]]").determinant().toString());
+        assertEquals("56-24*x-10*y-3*z+x*y*z", matrix("[[x, 1, 2], [3, y, 4], [5, 6, z]]").determinant().toString());
+        assertEquals("1-2*x^2+x^4", matrix("[[x^2, x, 1], [1, x, x^2], [x, 1, x]]").determinant().toString());
+        assertEquals("-3+4*1/2", matrix("[[1/2, 1], [3, 4]]").determinant().toString());
+
+        // determinant of the tridiagonal matrix with 2 on the diagonal and -1 next to it is n + 1
+        assertEquals("13", tridiagonal(12).determinant().toString());
+    }
+
+    @Test
+    public void testShouldComputeSameDeterminantAsCofactorExpansion() throws Exception {
+        final Random random = new Random(0);
+        for (int n = 2; n <= 6; n++) {
+            final Generic elements[][] = new Generic[n][n];
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    elements[i][j] = JsclInteger.valueOf(random.nextInt(5) - 2);
+                }
+            }
+            final Matrix m = new Matrix(elements);
+            Generic expected = JsclInteger.valueOf(0);
+            for (int j = 0; j < n; j++) {
+                // expansion by the first row
+                final Generic minor = m.inverseElement(0, j);
+                expected = expected.add(elements[0][j].multiply(minor));
+            }
+            assertEquals(expected.toString(), m.determinant().toString());
+        }
+    }
+
+    @Test
+    public void testShouldComputeDeterminantOfSymbolicMatrix() throws Exception {
+        // Vandermonde determinant is the product of the differences of the variables
+        final String[] variables = {"a", "b", "c", "d", "f"};
+        final int n = variables.length;
+        final Generic elements[][] = new Generic[n][n];
+        Generic expected = JsclInteger.valueOf(1);
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                elements[i][j] = Expression.valueOf(variables[i] + "^" + j).expand();
+            }
+            for (int j = i + 1; j < n; j++) {
+                expected = expected.multiply(Expression.valueOf(variables[j] + "-" + variables[i]).expand());
+            }
+        }
+        assertEquals(expected.expand().toString(), new Matrix(elements).determinant().expand().toString());
+    }
+
+    @Test
+    public void testInverse() throws Exception {
+        assertEquals("[[-2, 1],\n[(-3)/-2, 1/-2]]", matrix("[[1, 2], [3, 4]]").inverse().toString());
+        assertEquals("[[3/4, 2/4, 1/4],\n[2/4, 1, 2/4],\n[1/4, 2/4, 3/4]]", matrix("[[2, -1, 0], [-1, 2, -1], [0, -1, 2]]").inverse().toString());
+        assertEquals("[[d/(-b*c+a*d), (-b)/(-b*c+a*d)],\n[(-c)/(-b*c+a*d), a/(-b*c+a*d)]]", matrix("[[a, b], [c, d]]").inverse().toString());
+
+        final Matrix m = tridiagonal(10);
+        assertEquals(Matrix.identity(10).toString(), m.multiply((Matrix) m.inverse()).simplify().toString());
+    }
+
+    @Test
+    public void testSolve() throws Exception {
+        final Matrix m = matrix("[[2, 1, -1], [-3, -1, 2], [-2, 1, 2]]");
+        final JsclVector b = new JsclVector(new Generic[]{JsclInteger.valueOf(8), JsclInteger.valueOf(-11), JsclInteger.valueOf(-3)});
+        assertEquals("[2, 3, -1]", m.solve(b).toString());
+        assertEquals("[2, 3, -1]", new LinearSolve(m, b).selfExpand().toString());
+
+        try {
+            matrix("[[1, 2], [2, 4]]").solve(new JsclVector(new Generic[]{JsclInteger.valueOf(1), JsclInteger.valueOf(2)}));
+            fail();
+        } catch (ArithmeticException e) {
+            // singular matrix
+        }
+    }
+
+    @Nonnull
+    private static Matrix matrix(@Nonnull String expression) throws Exception {
+        return (Matrix) Expression.valueOf(expression).expand();
+    }
+
+    @Nonnull
+    private static Matrix tridiagonal(int n) {
+        final Generic elements[][] = new Generic[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                elements[i][j] = JsclInteger.valueOf(i == j ? 2 : Math.abs(i - j) == 1 ? -1 : 0);
+            }
+        }
+        return new Matrix(elements);
+    }
+}
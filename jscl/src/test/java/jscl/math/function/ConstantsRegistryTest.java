@@ -0,0 +1,51 @@
+package jscl.math.function;
+
+import org.junit.Test;
+import org.solovyev.common.math.MathRegistry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ConstantsRegistryTest {
+
+    @Test
+    public void testShouldFindSystemConstantsByValue() throws Exception {
+        final ConstantsRegistry.Index index = ConstantsRegistry.getIndex();
+        assertEquals(ConstantsRegistry.E, index.find(Math.E).getName());
+        assertEquals(ConstantsRegistry.C, index.find(ConstantsRegistry.C_VALUE).getName());
+        assertEquals(ConstantsRegistry.NAN, index.find(Double.NaN).getName());
+        // Π by its value in radians, not π
+        assertEquals(Constants.PI.getName(), index.find(Math.PI).getName());
+        assertNull(index.find(Math.E + Math.ulp(Math.E)));
+        assertNull(index.find(1d));
+        assertSame(index, ConstantsRegistry.getIndex());
+    }
+
+    @Test
+    public void testShouldRebuildIndexAfterChange() throws Exception {
+        final MathRegistry<IConstant> registry = ConstantsRegistry.getInstance();
+        final ConstantsRegistry.Index index = ConstantsRegistry.getIndex();
+        assertNull(index.get("u_c"));
+
+        final IConstant constant = registry.addOrUpdate(new ExtendedConstant.Builder(userConstant("u_c"), 1.5d).create());
+        try {
+            assertEquals(1.5d, ConstantsRegistry.getIndex().get("u_c").getDoubleValue(), 0d);
+            // user constants are not found by value
+            assertNull(ConstantsRegistry.getIndex().find(1.5d));
+            registry.addOrUpdate(new ExtendedConstant.Builder(userConstant("u_c"), "2.5").create());
+            assertEquals(2.5d, ConstantsRegistry.getIndex().get("u_c").getDoubleValue(), 0d);
+        } finally {
+            registry.remove(constant);
+        }
+        assertNull(ConstantsRegistry.getIndex().get("u_c"));
+        // the old snapshot is not modified
+        assertNull(index.get("u_c"));
+    }
+
+    private static Constant userConstant(String name) {
+        final Constant constant = new Constant(name);
+        constant.setSystem(false);
+        return constant;
+    }
+}
@@ -0,0 +1,123 @@
+package jscl.math.numeric;
+
+import jscl.AngleUnit;
+import jscl.EvaluationContext;
+import jscl.JsclMathEngine;
+import jscl.NumeralBase;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BigRealTest {
+
+    private static final MathContext MC = new MathContext(50, RoundingMode.HALF_EVEN);
+
+    private JsclMathEngine me;
+    private EvaluationContext context;
+
+    @Before
+    public void setUp() throws Exception {
+        me = new JsclMathEngine();
+        context = new EvaluationContext.Builder(me.getContext()).setNumericPrecision(50).create();
+    }
+
+    @Test
+    public void testShouldComputeFunctionsCorrectlyRounded() throws Exception {
+        assertEquals("3.1415926535897932384626433832795028841971693993751", BigDecimalMath.pi(MC).toString());
+        assertEquals("2.7182818284590452353602874713526624977572470937000", BigDecimalMath.e(MC).toString());
+        assertEquals("1.4142135623730950488016887242096980785696718753769", BigDecimalMath.sqrt(BigDecimal.valueOf(2), MC).toString());
+        assertEquals("0.69314718055994530941723212145817656807550013436026", BigDecimalMath.ln(BigDecimal.valueOf(2), MC).toString());
+        assertEquals("0.84147098480789650665250232163029899962256306079837", BigDecimalMath.sin(BigDecimal.ONE, MC).toString());
+        assertEquals("2.7182818284590452353602874713526624977572470937000", BigDecimalMath.exp(BigDecimal.ONE, MC).toString());
+        // digits lost in the argument reduction are restored
+        final BigDecimal pi200 = BigDecimalMath.pi(new MathContext(200));
+        assertEquals(BigDecimalMath.pi(new MathContext(300)).subtract(pi200).round(MC), BigDecimalMath.sin(pi200, MC));
+        assertEquals(new BigDecimal("9.9999999999999999999999999999995000000000000000000E-32"), BigDecimalMath.ln(new BigDecimal("1.0000000000000000000000000000001"), MC));
+    }
+
+    @Test
+    public void testShouldSatisfyIdentities() throws Exception {
+        final BigDecimal x = new BigDecimal("0.7");
+        final BigDecimal sin = BigDecimalMath.sin(x, MC);
+        final BigDecimal cos = BigDecimalMath.cos(x, MC);
+        assertClose(BigDecimal.ONE, sin.multiply(sin).add(cos.multiply(cos)));
+        assertClose(x, BigDecimalMath.asin(sin, MC));
+        assertClose(x, BigDecimalMath.atan(BigDecimalMath.tan(x, MC), MC));
+        assertClose(x, BigDecimalMath.ln(BigDecimalMath.exp(x, MC), MC));
+        assertClose(BigDecimalMath.exp(x.multiply(BigDecimal.valueOf(3)), MC), BigDecimalMath.pow(BigDecimalMath.exp(x, MC), 3, MC));
+        assertClose(BigDecimalMath.sqrt(x, MC), BigDecimalMath.pow(x, new BigDecimal("0.5"), MC));
+    }
+
+    @Test
+    public void testShouldEvaluateWithNumericPrecision() throws Exception {
+        assertEquals("0.3", me.evaluate("0.1+0.2", context));
+        assertEquals("3.1415926535897932384626433832795028841971693993751", me.evaluate("π", context));
+        assertEquals("2.7182818284590452353602874713526624977572470937", me.evaluate("e", context));
+        assertEquals("1.4142135623730950488016887242096980785696718753769", me.evaluate("√(2)", context));
+        assertEquals("0.33333333333333333333333333333333333333333333333333", me.evaluate("1/3", context));
+        assertEquals("1267650600228229401496703205376", me.evaluate("2^100", context));
+        assertEquals("3.3333333333333333333333333333333333333333333333333E59", me.evaluate("10^60/3", context));
+        // exact multiples of the right angle in degrees
+        assertEquals("0.5", me.evaluate("sin(30)", context));
+        assertEquals("0", me.evaluate("cos(90)", context));
+        assertEquals("30", me.evaluate("asin(0.5)", context));
+        final EvaluationContext rad = new EvaluationContext.Builder(context).setAngleUnits(AngleUnit.rad).create();
+        assertEquals("0.84147098480789650665250232163029899962256306079837", me.evaluate("sin(1)", rad));
+        // complex results are computed with doubles
+        assertEquals("i", me.evaluate("√(-1)", context));
+    }
+
+    @Test
+    public void testShouldEvaluateHyperbolicFunctions() throws Exception {
+        final EvaluationContext rad = new EvaluationContext.Builder(context).setAngleUnits(AngleUnit.rad).create();
+        assertEquals("1.1752011936438014568823818505956008151557179813341", me.evaluate("sinh(1)", rad));
+        assertEquals("1.5430806348152437784779056207570616826015291123659", me.evaluate("cosh(1)", rad));
+        assertEquals("0.54930614433405484569762261846126285232374527891137", me.evaluate("atanh(0.5)", rad));
+        assertEquals("1.3169578969248167086250463473079684440269819714675", me.evaluate("acosh(2)", rad));
+        // angles in degrees
+        assertEquals("0.017454178629595111183148190548771832775238808246107", me.evaluate("sinh(1)", context));
+        assertEquals("82.714219883108942971232439323938086093519621224644", me.evaluate("asinh(2)", context));
+    }
+
+    @Test
+    public void testShouldEvaluateSeriesAndIntegralsWithNumericPrecision() throws Exception {
+        final EvaluationContext rad = new EvaluationContext.Builder(context).setAngleUnits(AngleUnit.rad).create();
+        // more terms than expanded symbolically
+        assertEquals("1.6439345666815598031390580238222155896521034464937", me.evaluate("Σ(1/n^2, n, 1, 1000)", rad));
+        assertEquals("3.6638650719590449593302013279960690014191093548056", me.evaluate("∏(1+1/n^2, n, 1, 300)", rad));
+        // no anti-derivative
+        assertEquals("0.74682413281242702539946743613185300535449968681261", me.evaluate("∫ab(exp(-x^2), x, 0, 1)", rad));
+        assertEquals("1.7724538509055160272981674833411451827975494561224", me.evaluate("∫ab(exp(-x^2), x, -∞, ∞)", rad));
+        // singularity at the limit
+        assertEquals("-1.6449340668482264364724151666460251892189499012068", me.evaluate("∫ab(ln(x)/(1-x), x, 0, 1)", rad));
+    }
+
+    @Test
+    public void testShouldPrintIntegersInOtherNumeralBases() throws Exception {
+        final EvaluationContext hex = new EvaluationContext.Builder(context).setNumeralBase(NumeralBase.hex).create();
+        // 2^100 + 1
+        assertEquals("10000000000000000000000001", me.evaluate("2^64+1", hex));
+        assertEquals("-FFFFFFFFFFFFFFFFFFFFFFFF", me.evaluate("-0x:FFFFFFFFFFFFFFFFFFFFFFFF", hex));
+        final EvaluationContext bin = new EvaluationContext.Builder(context).setNumeralBase(NumeralBase.bin).create();
+        assertEquals("-11000011010100000", me.evaluate("-0b:1010^0b:101", bin));
+    }
+
+    @Test
+    public void testShouldNotReuseResultsForDifferentPrecisions() throws Exception {
+        final String doubles = me.evaluate("1/3");
+        assertEquals("0.33333333333333333333333333333333333333333333333333", me.evaluate("1/3", context));
+        assertEquals(doubles, me.evaluate("1/3"));
+        me.setNumericPrecision(20);
+        assertEquals("0.33333333333333333333", me.evaluate("1/3"));
+    }
+
+    private static void assertClose(BigDecimal expected, BigDecimal actual) {
+        assertTrue(actual + " != " + expected, expected.subtract(actual).abs().compareTo(new BigDecimal("1E-48")) <= 0);
+    }
+}
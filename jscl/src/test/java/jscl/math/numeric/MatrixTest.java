@@ -2,6 +2,9 @@ package jscl.math.numeric;
 
 import org.junit.Test;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
 /**
  * User: serso
  * Date: 1/15/12
@@ -13,4 +16,63 @@ public class MatrixTest {
     public void testMatrix() throws Exception {
         //To change body of created methods use File | Settings | File Templates.
     }
+
+    @Test
+    public void testDeterminant() throws Exception {
+        assertEquals(-2d, matrix(new double[][]{{1, 2}, {3, 4}}).determinant().doubleValue(), 0d);
+        assertEquals(72d, matrix(new double[][]{{1, 2, 3, 4}, {5, 6, 7, 8}, {2, 6, 4, 8}, {3, 1, 1, 2}}).determinant().doubleValue(), 0d);
+        assertEquals(0d, matrix(new double[][]{{1, 2, 3, 4, 5}, {2, 4, 6, 8, 10}, {1, 0, 0, 0, 0}, {0, 1, 0, 0, 0}, {0, 0, 1, 0, 0}}).determinant().doubleValue(), 0d);
+        // determinant of the tridiagonal matrix with 2 on the diagonal and -1 next to it is n + 1
+        assertEquals(21d, tridiagonal(20).determinant().doubleValue(), 1e-10);
+        // pivoting is needed
+        assertEquals(-1d, matrix(new double[][]{{0, 1, 0, 0, 0}, {1, 0, 0, 0, 0}, {0, 0, 1, 0, 0}, {0, 0, 0, 1, 0}, {0, 0, 0, 0, 1}}).determinant().doubleValue(), 0d);
+    }
+
+    @Test
+    public void testInverse() throws Exception {
+        final Matrix m = tridiagonal(10);
+        final Matrix product = (Matrix) m.multiply(m.inverse());
+        for (int i = 0; i < 10; i++) {
+            for (int j = 0; j < 10; j++) {
+                assertEquals(i == j ? 1d : 0d, product.elements()[i][j].doubleValue(), 1e-12);
+            }
+        }
+    }
+
+    @Test
+    public void testSolve() throws Exception {
+        final Matrix m = matrix(new double[][]{{2, 1, -1}, {-3, -1, 2}, {-2, 1, 2}});
+        final Vector x = m.solve(new Vector(new Numeric[]{Real.valueOf(8), Real.valueOf(-11), Real.valueOf(-3)}));
+        assertEquals(2d, x.elements()[0].doubleValue(), 1e-12);
+        assertEquals(3d, x.elements()[1].doubleValue(), 1e-12);
+        assertEquals(-1d, x.elements()[2].doubleValue(), 1e-12);
+
+        try {
+            matrix(new double[][]{{1, 2}, {2, 4}}).solve(new Vector(new Numeric[]{Real.ONE, Real.ONE}));
+            fail();
+        } catch (ArithmeticException e) {
+            // singular matrix
+        }
+    }
+
+    private static Matrix matrix(double[][] values) {
+        final Numeric m[][] = new Numeric[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            m[i] = new Numeric[values[i].length];
+            for (int j = 0; j < values[i].length; j++) {
+                m[i][j] = Real.valueOf(values[i][j]);
+            }
+        }
+        return new Matrix(m);
+    }
+
+    private static Matrix tridiagonal(int n) {
+        final double values[][] = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            values[i][i] = 2;
+            if (i > 0) values[i][i - 1] = -1;
+            if (i < n - 1) values[i][i + 1] = -1;
+        }
+        return matrix(values);
+    }
 }
@@ -0,0 +1,123 @@
+package jscl.math.numeric;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import jscl.math.Expression;
+import jscl.math.Generic;
+import jscl.math.function.Constant;
+import jscl.math.function.Root;
+import jscl.math.polynomial.Polynomial;
+import jscl.math.polynomial.UnivariatePolynomial;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PolynomialRootsTest {
+
+    @Test
+    public void testShouldFindRoots() throws Exception {
+        final Numeric[] roots = Numeric.roots(polynomial(-12, 19, -8, 1));
+        assertEquals(3, roots.length);
+        assertEquals(1d, roots[0].doubleValue(), 1e-14);
+        assertEquals(3d, roots[1].doubleValue(), 1e-14);
+        assertEquals(4d, roots[2].doubleValue(), 1e-14);
+        assertRoots(new double[]{-243, 0, 0, 0, 0, 1}, "-2.427050983124842-1.763355756877419*i", "-2.427050983124842+1.763355756877419*i", "0.927050983124842-2.853169548885461*i", "0.927050983124842+2.853169548885461*i", "3");
+        // roots at zero
+        assertRoots(new double[]{0, 0, 1, 0, 1}, "0-i", "0+i", "0", "0");
+        // same order as Root's subscripts
+        assertRoots(new double[]{9, 0, 1}, "3*i", "-3*i");
+        assertRoots(new double[]{-9, 0, 1}, "3", "-3");
+        assertRoots(new double[]{3, 2}, "-1.5");
+    }
+
+    @Test
+    public void testShouldFindRootsOfRandomPolynomials() throws Exception {
+        final Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            final int degree = 3 + random.nextInt(20);
+            final double[] coefficients = new double[degree + 1];
+            for (int j = 0; j <= degree; j++) {
+                coefficients[j] = random.nextGaussian();
+            }
+            final Numeric[] roots = Numeric.roots(polynomial(coefficients));
+            assertEquals(degree, roots.length);
+            for (Numeric root : roots) {
+                final double re = root instanceof Complex ? ((Complex) root).realPart() : root.doubleValue();
+                final double im = root instanceof Complex ? ((Complex) root).imaginaryPart() : 0d;
+                // |p(z)| relative to the bound of the rounding error of its evaluation
+                double vRe = coefficients[degree];
+                double vIm = 0d;
+                double scale = Math.abs(coefficients[degree]);
+                final double modulus = Math.hypot(re, im);
+                for (int j = degree - 1; j >= 0; j--) {
+                    final double t = vRe * re - vIm * im + coefficients[j];
+                    vIm = vRe * im + vIm * re;
+                    vRe = t;
+                    scale = scale * modulus + Math.abs(coefficients[j]);
+                }
+                assertTrue(Math.hypot(vRe, vIm) <= 1e-13 * scale);
+            }
+        }
+    }
+
+    @Test
+    public void testShouldCacheRoots() throws Exception {
+        final Numeric[] polynomial = polynomial(-1, -1, 0, 0, 0, 1);
+        assertSame(PolynomialRoots.roots(polynomial), PolynomialRoots.roots(polynomial(-1, -1, 0, 0, 0, 1)));
+        assertEquals(Numeric.roots(polynomial)[4], Numeric.root(4, polynomial));
+        try {
+            Numeric.root(5, polynomial);
+            fail();
+        } catch (ArithmeticException e) {
+            // ok
+        }
+    }
+
+    @Test
+    public void testShouldFindRootsWithPrecisionOfCoefficients() throws Exception {
+        // x^3 - 2: real root is refined, complex ones are computed with doubles
+        final Numeric[] roots = Numeric.roots(bigPolynomial(50, -2, 0, 0, 1));
+        assertEquals("1.2599210498948731647672106072782283505702514647015", roots[2].toString());
+        assertTrue(roots[0] instanceof Complex);
+        // x^2 - x - 1: roots are not shared between the precisions
+        assertEquals("1.6180339887498948482", Numeric.roots(bigPolynomial(20, -1, -1, 1))[0].toString());
+        assertEquals("1.6180339887498948482045868343656381177203091798058", Numeric.roots(bigPolynomial(50, -1, -1, 1))[0].toString());
+        assertEquals("1.6180339887498948482", Numeric.roots(bigPolynomial(20, -1, -1, 1))[0].toString());
+    }
+
+    @Test
+    public void testShouldEvaluateRoot() throws Exception {
+        final UnivariatePolynomial polynomial = (UnivariatePolynomial) Polynomial.factory(new Constant("x")).valueOf(Expression.valueOf("x^5-x-1"));
+        final Generic root = new Root(polynomial, 4).numeric();
+        assertEquals(1.1673039782614187, root.doubleValue(), 1e-15);
+    }
+
+    private static void assertRoots(double[] coefficients, String... expected) {
+        final Numeric[] roots = Numeric.roots(polynomial(coefficients));
+        assertEquals(expected.length, roots.length);
+        for (int i = 0; i < roots.length; i++) {
+            assertEquals(expected[i], roots[i].toString());
+        }
+    }
+
+    private static Numeric[] bigPolynomial(int precision, long... coefficients) {
+        final Numeric[] result = new Numeric[coefficients.length];
+        for (int i = 0; i < coefficients.length; i++) {
+            result[i] = BigReal.valueOf(BigDecimal.valueOf(coefficients[i]), precision);
+        }
+        return result;
+    }
+
+    private static Numeric[] polynomial(double... coefficients) {
+        final Numeric[] result = new Numeric[coefficients.length];
+        for (int i = 0; i < coefficients.length; i++) {
+            result[i] = Real.valueOf(coefficients[i]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,43 @@
+package jscl.math.operator;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+
+import jscl.math.JsclInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class FactorialsTest {
+
+    @Test
+    public void testShouldComputeFactorials() throws Exception {
+        BigInteger expected = BigInteger.ONE;
+        for (int n = 0; n <= 1000; n++) {
+            if (n > 0) {
+                expected = expected.multiply(BigInteger.valueOf(n));
+            }
+            assertEquals(String.valueOf(n), expected, Factorials.factorial(n));
+        }
+    }
+
+    @Test
+    public void testShouldComputeDoubleFactorials() throws Exception {
+        for (int n = 0; n <= 1000; n++) {
+            BigInteger expected = BigInteger.ONE;
+            for (int i = n; i > 1; i -= 2) {
+                expected = expected.multiply(BigInteger.valueOf(i));
+            }
+            assertEquals(String.valueOf(n), expected, Factorials.doubleFactorial(n));
+        }
+    }
+
+    @Test
+    public void testShouldEvaluateLargeFactorials() throws Exception {
+        assertEquals("2432902008176640000", new Factorial(JsclInteger.valueOf(20)).selfNumeric().toString());
+        assertEquals("654729075", new DoubleFactorial(JsclInteger.valueOf(19)).selfNumeric().toString());
+        // 10000! has 35660 digits
+        assertEquals(35660, Factorials.factorial(10000).toString().length());
+        assertEquals(Factorials.factorial(10000), Factorials.doubleFactorial(10000).multiply(Factorials.doubleFactorial(9999)));
+    }
+}
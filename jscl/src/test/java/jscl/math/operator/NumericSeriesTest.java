@@ -0,0 +1,78 @@
+package jscl.math.operator;
+
+import jscl.JsclMathEngine;
+import jscl.math.Expression;
+import jscl.math.Generic;
+import jscl.math.Variable;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class NumericSeriesTest {
+
+    @Test
+    public void testShouldSumDoublesWithCompensation() throws Exception {
+        final Variable n = Expression.valueOf("n").variableValue();
+        final double actual = NumericSeries.sum(Expression.valueOf("1/n^2"), n, 1, 1000000).doubleValue();
+        // smallest terms first
+        double expected = 0d;
+        for (int i = 1000000; i >= 1; i--) {
+            expected += 1d / ((double) i * i);
+        }
+        assertEquals(expected, actual, 1e-15);
+        assertEquals(Math.PI * Math.PI / 6 - 1e-6, actual, 1e-12);
+
+        // one chunk
+        assertEquals(Math.log(3d) * 1000, NumericSeries.sum(Expression.valueOf("ln(3)"), n, 1, 1000).doubleValue(), 1e-10);
+    }
+
+    @Test
+    public void testShouldSumIntegerPolynomialsExactly() throws Exception {
+        final Variable n = Expression.valueOf("n").variableValue();
+        assertEquals("333338333350000", NumericSeries.sum(Expression.valueOf("n^2"), n, 1, 100000).toString());
+        assertEquals("-50000", NumericSeries.sum(Expression.valueOf("-n"), n, -49999, 50000).toString());
+        assertEquals(new Factorial(Expression.valueOf("500")).selfNumeric().toString(), NumericSeries.product(Expression.valueOf("n"), n, 1, 500).toString());
+        assertEquals("0", NumericSeries.product(Expression.valueOf("n-1000"), n, 1, 10000).toString());
+    }
+
+    @Test
+    public void testShouldMultiplyDoublesWithoutOverflow() throws Exception {
+        final Variable n = Expression.valueOf("n").variableValue();
+        assertEquals(100001d, NumericSeries.product(Expression.valueOf("(n+1)/n"), n, 1, 100000).doubleValue(), 1e-6);
+        // partial products are less than the smallest double
+        double logarithm = 0d;
+        for (int i = 1; i <= 2000; i++) {
+            logarithm += Math.log(i / 1000d);
+        }
+        final double expected = Math.exp(logarithm);
+        assertEquals(expected, NumericSeries.product(Expression.valueOf("n/1000"), n, 1, 2000).doubleValue(), expected * 1e-9);
+    }
+
+    @Test
+    public void testShouldFallBackToSymbolicExpansion() throws Exception {
+        final Variable n = Expression.valueOf("n").variableValue();
+        // few terms
+        assertNull(NumericSeries.sum(Expression.valueOf("1/n^2"), n, 1, NumericSeries.SYMBOLIC_LIMIT));
+        // complex terms
+        assertNull(NumericSeries.sum(Expression.valueOf("√(-n)"), n, 1, 1000));
+        // not compilable
+        assertNull(NumericSeries.sum(Expression.valueOf("n/n!"), n, 1, 1000));
+    }
+
+    @Test
+    public void testShouldEvaluateSeries() throws Exception {
+        final JsclMathEngine me = JsclMathEngine.getInstance();
+        assertEquals("1.644933066848727", me.evaluate("Σ(1/n^2,n,1,1000000)"));
+        assertEquals("333338333350000", me.evaluate("Σ(n^2,n,1,100000)"));
+        assertEquals("3472.556388576409*i", me.evaluate("Σ(√(-n),n,1,300)"));
+
+        // symbolic semantics are not changed
+        assertEquals("45150", me.simplify("Σ(n,n,1,300)"));
+        final Generic sum = Expression.valueOf("Σ(sin(n),n,1,300)").expand();
+        assertEquals(300, sum.variables().length);
+
+        // not expanded sum
+        assertEquals(me.evaluate("Σ(sin(n),n,1,3000)"), Expression.valueOf("Σ(sin(n),n,1,3000)").numeric().toString());
+    }
+}
@@ -0,0 +1,116 @@
+package jscl.math.operator;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import jscl.AngleUnit;
+import jscl.JsclMathEngine;
+import jscl.math.Expression;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class QuadratureTest {
+
+    @Test
+    public void testShouldIntegrate() throws Exception {
+        assertEquals(0.9460830703671830, Quadrature.integrate(new SinXOverX(), 0, 1, null), 1e-15);
+        assertEquals(-0.9460830703671830, Quadrature.integrate(new SinXOverX(), 1, 0, null), 1e-15);
+        assertEquals(0d, Quadrature.integrate(new SinXOverX(), 1, 1, null), 0);
+        // integrable singularity
+        assertEquals(2d, Quadrature.integrate(new Quadrature.Integrand() {
+            @Override
+            public void evaluate(double[] points, double[] values) {
+                for (int i = 0; i < points.length; i++) {
+                    values[i] = 1 / Math.sqrt(points[i]);
+                }
+            }
+        }, 0, 1, null), 1e-12);
+    }
+
+    @Test
+    public void testShouldIntegrateOverInfiniteIntervals() throws Exception {
+        final Quadrature.Integrand gauss = new Quadrature.Integrand() {
+            @Override
+            public void evaluate(double[] points, double[] values) {
+                for (int i = 0; i < points.length; i++) {
+                    values[i] = Math.exp(-points[i] * points[i]);
+                }
+            }
+        };
+        assertEquals(Math.sqrt(Math.PI), Quadrature.integrate(gauss, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, null), 1e-14);
+        assertEquals(Math.sqrt(Math.PI) / 2, Quadrature.integrate(gauss, 0, Double.POSITIVE_INFINITY, null), 1e-14);
+        assertEquals(Math.sqrt(Math.PI) / 2, Quadrature.integrate(gauss, Double.NEGATIVE_INFINITY, 0, null), 1e-14);
+    }
+
+    @Test
+    public void testShouldFailForDivergentIntegrals() throws Exception {
+        try {
+            Quadrature.integrate(new Quadrature.Integrand() {
+                @Override
+                public void evaluate(double[] points, double[] values) {
+                    for (int i = 0; i < points.length; i++) {
+                        values[i] = 1 / points[i];
+                    }
+                }
+            }, 0, 1, null);
+            fail();
+        } catch (ArithmeticException e) {
+            // ok
+        }
+    }
+
+    @Test
+    public void testShouldIntegrateInParallel() throws Exception {
+        final Set<String> threads = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+        final Quadrature.Integrand oscillating = new Quadrature.Integrand() {
+            @Override
+            public void evaluate(double[] points, double[] values) {
+                threads.add(Thread.currentThread().getName());
+                for (int i = 0; i < points.length; i++) {
+                    values[i] = points[i] * points[i] * Math.sin(1000 * points[i]);
+                }
+            }
+        };
+        final double expected = Quadrature.integrate(oscillating, 0, 3, null);
+        assertEquals(1, threads.size());
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            // the result doesn't depend on the order of the evaluation
+            assertEquals(expected, Quadrature.integrate(oscillating, 0, 3, executor), 0);
+            assertTrue(threads.size() > 1);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testShouldEvaluateNonElementaryIntegrals() throws Exception {
+        final JsclMathEngine me = JsclMathEngine.getInstance();
+        final AngleUnit angleUnits = me.getAngleUnits();
+        try {
+            me.setAngleUnits(AngleUnit.rad);
+            assertEquals("0.946083070367183", me.evaluate("∫ab(sin(x)/x, x, 0, 1)"));
+            assertEquals("1.772453850905516", me.evaluate("∫ab(exp(-x^2), x, -∞, ∞)"));
+            assertEquals(3.241309263195273, Expression.valueOf("∫ab(√(1+x^3), x, 0, 2)").numeric().doubleValue(), 1e-14);
+        } finally {
+            me.setAngleUnits(angleUnits);
+        }
+    }
+
+    private static final class SinXOverX implements Quadrature.Integrand {
+        @Override
+        public void evaluate(double[] points, double[] values) {
+            for (int i = 0; i < points.length; i++) {
+                values[i] = Math.sin(points[i]) / points[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package jscl.math.polynomial;
+
+import jscl.math.Expression;
+import jscl.math.Generic;
+import jscl.math.JsclInteger;
+import jscl.math.Variable;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DenseMultiplicationTest {
+
+    @Test
+    public void testShouldMultiplyIntegerPolynomials() throws Exception {
+        final Random random = new Random(7);
+        // schoolbook, Karatsuba and NTT with one and several primes
+        final int[][] sizes = {{1, 1}, {5, 9}, {16, 17}, {31, 100}, {32, 32}, {33, 300}, {200, 201}, {1000, 64}};
+        final int[] bits = {3, 62, 200};
+        for (int[] size : sizes) {
+            for (int b : bits) {
+                final BigInteger[] x = integers(random, size[0], b);
+                final BigInteger[] y = integers(random, size[1], b);
+                assertEquals(schoolbook(x, y), DenseMultiplication.multiply(x, y));
+            }
+        }
+        assertTrue(DenseMultiplication.ntt(integers(random, 100, 1000), integers(random, 100, 1000)) != null);
+    }
+
+    @Test
+    public void testShouldMultiplyAroundThresholds() throws Exception {
+        final Random random = new Random(13);
+        final int[] lengths = {1, 2, 15, 16, 17, 31, 32, 33, 64};
+        // residues of one prime (< 2^31) and of several primes
+        final int[] bits = {1, 29, 31, 62, 200};
+        for (int n : lengths) {
+            for (int m : lengths) {
+                for (int b : bits) {
+                    final BigInteger[] x = zeros(integers(random, n, b));
+                    final BigInteger[] y = zeros(integers(random, m, b));
+                    assertEquals(schoolbook(x, y), DenseMultiplication.multiply(x, y));
+                }
+            }
+        }
+        final BigInteger[] zeros = zeros(new BigInteger[40]);
+        assertEquals(schoolbook(zeros, zeros), DenseMultiplication.multiply(zeros, zeros));
+    }
+
+    @Test
+    public void testShouldMultiplyWithKaratsuba() throws Exception {
+        final Random random = new Random(11);
+        final int[][] sizes = {{16, 16}, {17, 16}, {33, 17}, {31, 31}, {100, 49}, {100, 51}, {129, 128}};
+        for (int[] size : sizes) {
+            final BigInteger[] x = integers(random, size[0], 20);
+            final BigInteger[] y = integers(random, size[1], 20);
+            final Generic[] c = DenseMultiplication.multiply(DenseMultiplication.valueOf(x), DenseMultiplication.valueOf(y));
+            final BigInteger[] d = new BigInteger[c.length];
+            for (int i = 0; i < c.length; i++) {
+                d[i] = c[i] == null ? null : ((JsclInteger) c[i]).content();
+            }
+            assertEquals(schoolbook(x, y), d);
+        }
+    }
+
+    @Test
+    public void testShouldMultiplySymbolicCoefficientsWithKaratsuba() throws Exception {
+        final Random random = new Random(17);
+        final Generic v = Expression.valueOf("v");
+        final int[][] sizes = {{15, 15}, {16, 16}, {17, 15}, {32, 17}, {33, 33}, {50, 16}};
+        for (int[] size : sizes) {
+            final Generic[] x = generics(random, size[0], v);
+            final Generic[] y = generics(random, size[1], v);
+            final Generic[] c = DenseMultiplication.multiply(x, y);
+            org.junit.Assert.assertEquals(x.length + y.length - 1, c.length);
+            for (int k = 0; k < c.length; k++) {
+                Generic expected = JsclInteger.valueOf(0);
+                for (int i = 0; i < x.length; i++) {
+                    if (k - i >= 0 && k - i < y.length && x[i] != null && y[k - i] != null) {
+                        expected = expected.add(x[i].multiply(y[k - i]));
+                    }
+                }
+                assertEquals(expected.expand(), (c[k] == null ? JsclInteger.valueOf(0) : c[k]).expand());
+            }
+        }
+    }
+
+    @Test
+    public void testShouldMultiplyUnivariatePolynomials() throws Exception {
+        final Variable x = Expression.valueOf("u").variableValue();
+        final Polynomial factory = Polynomial.factory(x);
+        // integer coefficients
+        final Generic p = Expression.valueOf("(1+u)^40-u^7").expand();
+        final Generic q = Expression.valueOf("(2-3*u)^45").expand();
+        assertEquals(p.multiply(q), factory.valueOf(p).multiply(factory.valueOf(q)).genericValue());
+        // symbolic coefficients
+        final Generic r = Expression.valueOf("(v+u)^20").expand();
+        final Generic s = Expression.valueOf("(v*w-u)^19").expand();
+        assertEquals(r.multiply(s).expand(), factory.valueOf(r).multiply(factory.valueOf(s)).genericValue().expand());
+    }
+
+    @Test
+    public void testShouldMultiplyExpressions() throws Exception {
+        final Generic binomial = Expression.valueOf("(1+u)^200").expand();
+        Generic expected = JsclInteger.valueOf(0);
+        BigInteger coefficient = BigInteger.ONE;
+        for (int k = 0; k <= 200; k++) {
+            expected = expected.add(new JsclInteger(coefficient).multiply(Expression.valueOf("u^" + k).expand()));
+            coefficient = coefficient.multiply(BigInteger.valueOf(200 - k)).divide(BigInteger.valueOf(k + 1));
+        }
+        assertEquals(expected, binomial);
+
+        // sparse multivariate: same as multiplication term by term
+        final Expression a = Expression.valueOf("(u+v^2+w+1)^4").expand().expressionValue();
+        final Expression b = Expression.valueOf("(u^3-v+2*w)^3").expand().expressionValue();
+        Generic product = JsclInteger.valueOf(0);
+        for (int i = 0; i < a.size(); i++) {
+            product = product.add(b.multiply(a.coef(i)).multiply(Expression.valueOf(a.literal(i))));
+        }
+        assertEquals(product, a.multiply(b));
+        assertEquals(product, b.multiply(a));
+    }
+
+    @Test
+    public void testShouldMultiplyDenseExpressionsAsTermByTerm() throws Exception {
+        final Random random = new Random(19);
+        final int[] lengths = {16, 17, 31, 32, 33, 64};
+        final int[] bits = {29, 31, 62, 200};
+        for (int n : lengths) {
+            for (int b : bits) {
+                final Expression x = expression(integers(random, n, b));
+                final Expression y = expression(integers(random, 40, b));
+                final Generic expected = termByTerm(x, y);
+                assertEquals(expected, x.multiply(y));
+                assertEquals(expected, y.multiply(x));
+            }
+        }
+    }
+
+    @Test
+    public void testShouldPowerDenseExpressionsAsTermByTerm() throws Exception {
+        final Random random = new Random(23);
+        for (int b : new int[]{3, 31, 62}) {
+            final Expression x = expression(integers(random, 17, b));
+            Generic expected = x;
+            for (int k = 2; k <= 6; k++) {
+                expected = termByTerm(expected.expressionValue(), x);
+                assertEquals(expected, x.pow(k));
+            }
+        }
+    }
+
+    // sum of the products of the terms of a by b (each of them is multiplied term by term)
+    private static Generic termByTerm(Expression a, Expression b) {
+        Generic result = JsclInteger.valueOf(0);
+        for (int i = 0; i < a.size(); i++) {
+            result = result.add(b.multiply(a.coef(i)).multiply(Expression.valueOf(a.literal(i))));
+        }
+        return result;
+    }
+
+    // univariate expression in u, the highest coefficient is not zero
+    private static Expression expression(BigInteger[] coefficients) throws Exception {
+        Generic result = JsclInteger.valueOf(-3).multiply(Expression.valueOf("u^" + coefficients.length).expand());
+        for (int i = 0; i < coefficients.length; i++) {
+            if (coefficients[i] != null) {
+                result = result.add(new JsclInteger(coefficients[i]).multiply(Expression.valueOf("u^" + i).expand()));
+            }
+        }
+        return result.expressionValue();
+    }
+
+    private static Generic[] generics(Random random, int n, Generic v) {
+        final Generic[] result = new Generic[n];
+        for (int i = 0; i < n; i++) {
+            switch (random.nextInt(4)) {
+                case 0:
+                    break;
+                case 1:
+                    result[i] = JsclInteger.valueOf(0);
+                    break;
+                default:
+                    result[i] = v.multiply(JsclInteger.valueOf(random.nextInt(200) - 100)).add(JsclInteger.valueOf(random.nextInt(200) - 100));
+            }
+        }
+        return result;
+    }
+
+    // every other null is replaced with an explicit zero
+    private static BigInteger[] zeros(BigInteger[] a) {
+        boolean zero = false;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == null) {
+                if (zero) {
+                    a[i] = BigInteger.ZERO;
+                }
+                zero = !zero;
+            }
+        }
+        return a;
+    }
+
+    private static BigInteger[] integers(Random random, int n, int bits) {
+        final BigInteger[] result = new BigInteger[n];
+        for (int i = 0; i < n; i++) {
+            // some zeros
+            if (random.nextInt(8) > 0) {
+                final BigInteger x = new BigInteger(bits, random);
+                result[i] = random.nextBoolean() ? x : x.negate();
+            }
+        }
+        return result;
+    }
+
+    private static String schoolbook(BigInteger[] a, BigInteger[] b) {
+        final BigInteger[] c = new BigInteger[a.length + b.length - 1];
+        for (int i = 0; i < c.length; i++) {
+            c[i] = BigInteger.ZERO;
+        }
+        for (int i = 0; i < a.length; i++) {
+            for (int j = 0; j < b.length; j++) {
+                if (a[i] != null && b[j] != null) {
+                    c[i + j] = c[i + j].add(a[i].multiply(b[j]));
+                }
+            }
+        }
+        return toString(c);
+    }
+
+    private static void assertEquals(String expected, BigInteger[] actual) {
+        org.junit.Assert.assertEquals(expected, toString(actual));
+    }
+
+    private static void assertEquals(Object expected, Object actual) {
+        org.junit.Assert.assertEquals(expected, actual);
+    }
+
+    private static String toString(BigInteger[] c) {
+        final StringBuilder result = new StringBuilder();
+        for (BigInteger x : c) {
+            result.append(x == null ? BigInteger.ZERO : x).append(',');
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,70 @@
+package jscl.math.polynomial;
+
+import jscl.JsclMathEngine;
+import jscl.math.Expression;
+import jscl.math.Generic;
+import jscl.math.JsclInteger;
+import jscl.math.Rational;
+import jscl.text.ParseException;
+import org.junit.Test;
+
+import java.math.BigInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ModularGcdTest {
+
+    @Test
+    public void testShouldComputeGcdOfIntegerPolynomials() throws Exception {
+        // gcd, cofactor of the first polynomial, cofactor of the second polynomial
+        final String[][] cases = {
+                {"(3*u^2+5*u-7)^5", "(2*u+1)^5", "(2*u-1)^6"},
+                {"6*(u+1)^2*(u-2)^3", "(v+3)^2", "(u+1)*(v-u)*(u-2)^2"},
+                {"(1+u*v+w)^3", "(1+u*v+w)*(u-v*w+2)^3", "(u+v+w)^4"},
+                {"u^3*v^2*(z-1)", "u*w-v", "v^4*(z+w)"},
+                {"(u^2+v^2+w^2+z^2+y^2)^2", "u*v*w*z*y+1", "u+v+w+z+y"},
+                {"12345678901234567890*u^3+98765432109876543210", "u+1", "u-1"},
+                {"1", "u^2+v+1", "u^2+v"},
+                {"4", "u+1", "4*v^2+6"}
+        };
+        for (String[] c : cases) {
+            final Generic g = parse(c[0]);
+            final Generic a = g.multiply(parse(c[1])).expand();
+            final Generic b = g.multiply(parse(c[2])).expand();
+            assertEquals(normalize(g), ModularGcd.compute(a, b));
+            assertEquals(normalize(g), a.gcd(b));
+        }
+    }
+
+    @Test
+    public void testShouldAgreeWithUnivariatePolynomialGcd() throws Exception {
+        final Polynomial factory = Polynomial.factory(Expression.valueOf("u").variableValue());
+        final Generic a = parse("(u-1)^4*(u+3)*(2*u^2-5)");
+        final Generic b = parse("(u-1)^2*(u+3)^3*(7*u-1)");
+        assertEquals(factory.valueOf(parse("(u-1)^2*(u+3)")), factory.valueOf(a).gcd(factory.valueOf(b)));
+    }
+
+    @Test
+    public void testShouldNotComputeGcdOfOtherValues() throws Exception {
+        assertNull(ModularGcd.compute(parse("u"), JsclInteger.valueOf(0)));
+        assertNull(ModularGcd.compute(new Rational(BigInteger.ONE, BigInteger.valueOf(2)), parse("u^2")));
+    }
+
+    @Test
+    public void testShouldSimplifyRationalFunctions() throws Exception {
+        final JsclMathEngine me = JsclMathEngine.getInstance();
+        assertEquals(me.simplify("(u+v)/(u^2-v^2)"), me.simplify("1/(u-v)"));
+        assertEquals(me.simplify("u+1"), me.simplify("((u+1)^6*(u-2)^3)/((u+1)^5*(u-2)^3)"));
+        assertEquals(me.simplify("(w*u+1)^2/(v-u)"), me.simplify("((w*u+1)^3*(v+u))/((v^2-u^2)*(w*u+1))"));
+        assertEquals(me.simplify("(3*u^2+5*u-7)^2/(2*u-1)^2"), me.simplify("(3*u^2+5*u-7)^3*(2*u+1)/((3*u^2+5*u-7)*(2*u-1)^2*(2*u+1))"));
+    }
+
+    private static Generic parse(String expression) throws ParseException {
+        return Expression.valueOf(expression).expand();
+    }
+
+    private static Generic normalize(Generic generic) {
+        return generic.signum() < 0 ? generic.negate() : generic;
+    }
+}
@@ -0,0 +1,107 @@
+package jscl.math.polynomial;
+
+import jscl.math.Expression;
+import jscl.math.NotDivisibleException;
+import jscl.math.Variable;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PackedMonomialTest {
+
+    @Test
+    public void testShouldBeSelectedForFewVariables() throws Exception {
+        assertTrue(Monomial.factory(variables(8), Monomial.degreeReverseLexicographic) instanceof PackedMonomial);
+        assertTrue(Monomial.factory(variables(3), Monomial.lexicographic) instanceof PackedMonomial);
+        assertFalse(Monomial.factory(variables(9), Monomial.lexicographic) instanceof PackedMonomial);
+        assertFalse(Monomial.factory(variables(3), Monomial.kthElimination(1)) instanceof PackedMonomial);
+        assertTrue(Monomial.factory(variables(3), Monomial.lexicographic, Basis.POWER_8) instanceof SmallMonomial);
+    }
+
+    @Test
+    public void testShouldAgreeWithUnpackedMonomials() throws Exception {
+        final Random random = new Random(42);
+        final Ordering orderings[] = {Monomial.lexicographic, Monomial.totalDegreeLexicographic, Monomial.degreeReverseLexicographic};
+        for (int k = 1; k <= 8; k++) {
+            final Variable unknown[] = variables(k);
+            for (int o = 0; o < orderings.length; o++) {
+                final Monomial packed = Monomial.factory(unknown, orderings[o]);
+                final Monomial plain = new Monomial(unknown, orderings[o]);
+                for (int t = 0; t < 500; t++) {
+                    // small exponents, so that monomials are often divisible, and sometimes exponents which can't be packed
+                    final int limit = t % 50 == 0 ? PackedMonomial.LIMIT + 2 : 4;
+                    final int e1[] = exponents(random, k, limit);
+                    final int e2[] = exponents(random, k, limit);
+                    final Monomial p1 = monomial(packed, e1), p2 = monomial(packed, e2);
+                    final Monomial m1 = monomial(plain, e1), m2 = monomial(plain, e2);
+
+                    assertEquals(Integer.signum(m1.compareTo(m2)), Integer.signum(p1.compareTo(p2)));
+                    assertSame(m1.multiply(m2), p1.multiply(p2));
+                    assertSame(m1.gcd(m2), p1.gcd(p2));
+                    assertSame(m1.scm(m2), p1.scm(p2));
+                    assertEquals(m1.multiple(m2), p1.multiple(p2));
+                    assertEquals(m1.multiple(m2, true), p1.multiple(p2, true));
+                    assertEquals(m1.multiple(m1, true), p1.multiple(p1, true));
+                    if (m1.multiple(m2)) {
+                        assertSame(m1.divide(m2), p1.divide(p2));
+                    } else {
+                        try {
+                            p1.divide(p2);
+                            fail();
+                        } catch (NotDivisibleException e) {
+                            // ok
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testShouldFallBackOnOverflow() throws Exception {
+        final Monomial factory = Monomial.factory(variables(2), Monomial.lexicographic);
+        final Monomial m = monomial(factory, new int[]{PackedMonomial.LIMIT, 1});
+        assertTrue(((PackedMonomial) m).packed);
+        final Monomial square = m.multiply(m);
+        assertFalse(((PackedMonomial) square).packed);
+        assertArrayEquals(new int[]{2 * PackedMonomial.LIMIT, 2}, square.element);
+        assertEquals(2 * PackedMonomial.LIMIT + 2, square.degree());
+
+        final Monomial quotient = square.divide(m);
+        assertTrue(((PackedMonomial) quotient).packed);
+        assertEquals(0, quotient.compareTo(m));
+        assertTrue(square.multiple(m, true));
+        assertTrue(square.compareTo(m) > 0);
+        assertTrue(m.compareTo(square) < 0);
+    }
+
+    private static void assertSame(Monomial expected, Monomial actual) {
+        assertArrayEquals(expected.element, actual.element);
+        assertEquals(expected.degree(), actual.degree());
+        assertEquals(expected.mask, actual.mask);
+    }
+
+    private static int[] exponents(Random random, int n, int limit) {
+        final int result[] = new int[n];
+        for (int i = 0; i < n; i++) result[i] = random.nextInt(limit);
+        return result;
+    }
+
+    private static Monomial monomial(Monomial factory, int exponents[]) {
+        final Monomial m = factory.newinstance();
+        for (int i = 0; i < exponents.length; i++) m.put(i, exponents[i]);
+        return m;
+    }
+
+    private static Variable[] variables(int n) throws Exception {
+        final Variable result[] = new Variable[n];
+        for (int i = 0; i < n; i++) result[i] = Expression.valueOf("u" + i).variableValue();
+        return result;
+    }
+}
@@ -0,0 +1,95 @@
+package jscl.math.polynomial.groebner;
+
+import jscl.math.Debug;
+import jscl.math.Expression;
+import jscl.math.Generic;
+import jscl.math.Variable;
+import jscl.math.polynomial.Basis;
+import jscl.math.polynomial.Monomial;
+import jscl.text.ParseException;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MetricsTest {
+
+    @Test
+    public void testShouldCountPairsAndPolynomials() throws Exception {
+        final Variable[] unknown = variables("u", "v", "w", "z");
+        // katsura-3
+        final Generic[] generic = parse("u+2*v+2*w+2*z-1", "u^2+2*v^2+2*w^2+2*z^2-u", "2*u*v+2*v*w+2*w*z-v", "v^2+2*u*w+2*v*z-w");
+
+        final int[] flags = {0, Basis.GM_SETTING, Basis.SUGAR, Basis.F4, Basis.PARALLEL};
+        for (int i = 0; i < flags.length; i++) {
+            final Metrics metrics = new Metrics();
+            final Basis basis = Basis.compute(generic, unknown, Monomial.degreeReverseLexicographic, 0, flags[i], metrics);
+            assertEquals(Arrays.toString(Basis.compute(generic, unknown, Monomial.degreeReverseLexicographic, 0, flags[i]).elements()), Arrays.toString(basis.elements()));
+
+            assertEquals(1, metrics.computations());
+            assertTrue(metrics.pairs() > 0);
+            assertTrue(metrics.reductions() > 0);
+            assertTrue(metrics.polynomials() >= 0);
+            assertTrue(metrics.discarded() >= 0);
+            assertTrue(metrics.zeroReductions() >= 0);
+            assertEquals(metrics.pairs(), metrics.discarded() + metrics.reductions());
+            assertEquals(metrics.reductions(), metrics.zeroReductions() + metrics.polynomials());
+            assertTrue(metrics.maxDegree() >= 2);
+            assertTrue(metrics.populateTime() >= 0 && metrics.evaluateTime() > 0 && metrics.reduceTime() >= 0);
+        }
+    }
+
+    @Test
+    public void testShouldAccumulateComputations() throws Exception {
+        final Variable[] unknown = variables("u", "v", "w");
+        final Generic[] generic = parse("u^2+v*w-1", "v^2+u*w-1", "w^2+u*v-1");
+
+        final Metrics drl = new Metrics();
+        Basis.compute(generic, unknown, Monomial.degreeReverseLexicographic, 0, 0, drl);
+        final Metrics metrics = new Metrics();
+        Basis.compute(generic, unknown, Monomial.lexicographic, 0, Basis.DEGREE, metrics);
+        assertEquals(2, metrics.computations());
+        assertTrue(metrics.pairs() > drl.pairs());
+
+        final Metrics modular = new Metrics();
+        Basis.compute(generic, unknown, Monomial.degreeReverseLexicographic, 0, Basis.MULTI_MODULAR, modular);
+        // images and verification
+        assertTrue(modular.computations() >= 3);
+    }
+
+    @Test
+    public void testShouldPrintDebugOutputOnlyIfEnabled() throws Exception {
+        final Variable[] unknown = variables("u", "v");
+        final Generic[] generic = parse("u^2+v^2-1", "u*v-1");
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Debug.setOutputStream(new PrintStream(out));
+        try {
+            assertTrue(Debug.isEnabled());
+            Basis.compute(generic, unknown, Monomial.degreeReverseLexicographic);
+        } finally {
+            Debug.setOutputStream(null);
+        }
+        assertTrue(out.toString().contains("signature = ("));
+        assertTrue(!Debug.isEnabled());
+    }
+
+    private static Generic[] parse(String... polynomials) throws ParseException {
+        final Generic[] result = new Generic[polynomials.length];
+        for (int i = 0; i < polynomials.length; i++) {
+            result[i] = Expression.valueOf(polynomials[i]).expand();
+        }
+        return result;
+    }
+
+    private static Variable[] variables(String... names) throws ParseException {
+        final Variable[] result = new Variable[names.length];
+        for (int i = 0; i < names.length; i++) {
+            result[i] = Expression.valueOf(names[i]).variableValue();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,95 @@
+package jscl.math.polynomial.groebner;
+
+import jscl.math.Expression;
+import jscl.math.Generic;
+import jscl.math.Variable;
+import jscl.math.polynomial.Basis;
+import jscl.math.polynomial.Monomial;
+import jscl.math.polynomial.Ordering;
+import jscl.math.polynomial.Polynomial;
+import jscl.text.ParseException;
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ModularTest {
+
+    @Test
+    public void testShouldComputeSameBasisAsRationalAlgorithm() throws Exception {
+        final Variable[] unknown = variables("u", "v", "w", "z");
+        // katsura-3: large coefficients in lexicographic ordering
+        assertSameBasis(unknown, Monomial.lexicographic,
+                "u+2*v+2*w+2*z-1", "u^2+2*v^2+2*w^2+2*z^2-u", "2*u*v+2*v*w+2*w*z-v", "v^2+2*u*w+2*v*z-w");
+        assertSameBasis(unknown, Monomial.degreeReverseLexicographic,
+                "u+2*v+2*w+2*z-1", "u^2+2*v^2+2*w^2+2*z^2-u", "2*u*v+2*v*w+2*w*z-v", "v^2+2*u*w+2*v*z-w");
+        assertSameBasis(unknown, Monomial.degreeReverseLexicographic,
+                "3*u^2*v+7*w-5", "u*w^2-11*v+2*z", "v^2-13*u*z+1", "z^2*u-3*w+17");
+        // inconsistent system
+        assertSameBasis(unknown, Monomial.lexicographic, "u-1", "u-3");
+    }
+
+    @Test
+    public void testShouldSkipUnluckyPrimes() throws Exception {
+        final Variable[] unknown = variables("u", "v");
+        // leading coefficient vanishes modulo the first prime
+        assertSameBasis(unknown, Monomial.lexicographic, "2147483647*u^2-v", "u*v-3");
+        // basis is {1} modulo the first prime
+        assertSameBasis(unknown, Monomial.lexicographic, "u*v-1", "u+2147483647*v");
+    }
+
+    @Test
+    public void testShouldNotAcceptLargerIdealOfUnluckyPrimes() throws Exception {
+        final Variable[] unknown = variables("u", "v");
+        // {1} modulo both first primes while leading coefficients don't vanish
+        assertSameBasis(unknown, Monomial.lexicographic, 0, "u*v-1", "v+2147483647*2147483629*u");
+        assertSameBasis(unknown, Monomial.lexicographic, Basis.PARALLEL, "u*v-1", "v+2147483647*2147483629*u");
+        assertSameBasis(unknown, Monomial.degreeReverseLexicographic, Basis.PARALLEL, "u*v-1", "v+2147483647*2147483629*u");
+        // homogeneous generators are verified without homogenization
+        assertSameBasis(unknown, Monomial.lexicographic, 0, "u*v-v^2", "v^2+2147483647*2147483629*u^2");
+    }
+
+    @Test
+    public void testShouldComputeBasisWithNonIntegerCoefficients() throws Exception {
+        final Variable[] unknown = variables("u", "v");
+        final Generic[] generic = {Expression.valueOf("a*u-v").expand(), Expression.valueOf("u*v-1").expand()};
+        // polynomials with generic coefficients
+        final Basis basis = new Basis(generic, Polynomial.factory(unknown, Monomial.lexicographic, -1));
+        assertEquals(Arrays.toString(Standard.compute(basis, 0).elements()), Arrays.toString(Modular.compute(basis, 0).elements()));
+    }
+
+    @Test
+    public void testShouldReconstructRationals() throws Exception {
+        final BigInteger m = BigInteger.valueOf(2147483647).multiply(BigInteger.valueOf(2147483629));
+        final BigInteger a = BigInteger.valueOf(-22).multiply(BigInteger.valueOf(7).modInverse(m)).mod(m);
+        assertEquals(Arrays.asList(BigInteger.valueOf(-22), BigInteger.valueOf(7)), Arrays.asList(Modular.Image.rational(a, m)));
+        assertEquals(Arrays.asList(BigInteger.ZERO, BigInteger.ONE), Arrays.asList(Modular.Image.rational(BigInteger.ZERO, m)));
+        // no fraction with numerator and denominator less than sqrt(m / 2)
+        assertNull(Modular.Image.rational(new BigInteger("1234567890123456789").mod(m), m));
+    }
+
+    private static void assertSameBasis(Variable[] unknown, Ordering ordering, String... polynomials) throws ParseException {
+        assertSameBasis(unknown, ordering, 0, polynomials);
+    }
+
+    private static void assertSameBasis(Variable[] unknown, Ordering ordering, int flags, String... polynomials) throws ParseException {
+        final Generic[] generic = new Generic[polynomials.length];
+        for (int i = 0; i < polynomials.length; i++) {
+            generic[i] = Expression.valueOf(polynomials[i]).expand();
+        }
+        final Generic[] expected = Basis.compute(generic, unknown, ordering).elements();
+        final Generic[] actual = Basis.compute(generic, unknown, ordering, 0, flags | Basis.MULTI_MODULAR).elements();
+        assertEquals(Arrays.toString(expected), Arrays.toString(actual));
+    }
+
+    private static Variable[] variables(String... names) throws ParseException {
+        final Variable[] result = new Variable[names.length];
+        for (int i = 0; i < names.length; i++) {
+            result[i] = Expression.valueOf(names[i]).variableValue();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,87 @@
+package jscl.math.polynomial.groebner;
+
+import jscl.math.Expression;
+import jscl.math.Generic;
+import jscl.math.Variable;
+import jscl.math.polynomial.Basis;
+import jscl.math.polynomial.Monomial;
+import jscl.math.polynomial.Ordering;
+import jscl.math.polynomial.Polynomial;
+import jscl.text.ParseException;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ParallelTest {
+
+    @Test
+    public void testShouldComputeSameBasisAsSequentialAlgorithm() throws Exception {
+        final Variable[] unknown = variables("u", "v", "w", "z");
+        // cyclic-4
+        assertSameBasis(unknown, Monomial.degreeReverseLexicographic, 0,
+                "u+v+w+z", "u*v+v*w+w*z+z*u", "u*v*w+v*w*z+w*z*u+z*u*v", "u*v*w*z-1");
+        assertSameBasis(unknown, Monomial.lexicographic, 0,
+                "u+v+w+z", "u*v+v*w+w*z+z*u", "u*v*w+v*w*z+w*z*u+z*u*v", "u*v*w*z-1");
+        // katsura-3
+        assertSameBasis(unknown, Monomial.degreeReverseLexicographic, 0,
+                "u+2*v+2*w+2*z-1", "u^2+2*v^2+2*w^2+2*z^2-u", "2*u*v+2*v*w+2*w*z-v", "v^2+2*u*w+2*v*z-w");
+        assertSameBasis(unknown, Monomial.degreeReverseLexicographic, 32003,
+                "u+2*v+2*w+2*z-1", "u^2+2*v^2+2*w^2+2*z^2-u", "2*u*v+2*v*w+2*w*z-v", "v^2+2*u*w+2*v*z-w");
+    }
+
+    @Test
+    public void testShouldReducePairsConcurrently() throws Exception {
+        final Variable[] unknown = variables("u", "v", "w", "z");
+        final Basis basis = new Basis(parse("u+v+w+z", "u*v+v*w+w*z+z*u", "u*v*w+v*w*z+w*z*u+z*u*v", "u*v*w*z-1"),
+                Polynomial.factory(unknown, Monomial.degreeReverseLexicographic, 0));
+        final AtomicInteger tasks = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final Parallel algorithm = new Parallel(Basis.GM_SETTING | Basis.SUGAR, new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                tasks.incrementAndGet();
+                executor.execute(command);
+            }
+        });
+        try {
+            algorithm.computeValue(basis);
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(tasks.get() > 0);
+        assertEquals(Arrays.toString(Basis.compute(basis.elements(), unknown, Monomial.degreeReverseLexicographic).elements()),
+                Arrays.toString(basis.valueof(algorithm.elements()).elements()));
+    }
+
+    private static void assertSameBasis(Variable[] unknown, Ordering ordering, int modulo, String... polynomials) throws ParseException {
+        final Generic[] generic = parse(polynomials);
+        final Generic[] expected = Basis.compute(generic, unknown, ordering, modulo).elements();
+        final Generic[] actual = Basis.compute(generic, unknown, ordering, modulo, Basis.PARALLEL).elements();
+        assertEquals(Arrays.toString(expected), Arrays.toString(actual));
+        // without sugar strategy
+        assertEquals(Arrays.toString(expected), Arrays.toString(Basis.compute(generic, unknown, ordering, modulo, Basis.PARALLEL | Basis.SUGAR).elements()));
+    }
+
+    private static Generic[] parse(String... polynomials) throws ParseException {
+        final Generic[] result = new Generic[polynomials.length];
+        for (int i = 0; i < polynomials.length; i++) {
+            result[i] = Expression.valueOf(polynomials[i]).expand();
+        }
+        return result;
+    }
+
+    private static Variable[] variables(String... names) throws ParseException {
+        final Variable[] result = new Variable[names.length];
+        for (int i = 0; i < names.length; i++) {
+            result[i] = Expression.valueOf(names[i]).variableValue();
+        }
+        return result;
+    }
+}
@@ -23,4 +23,16 @@ public class PowerParserTest {
 
         }
     }
+
+    @org.junit.Test
+    public void testTryParse() throws Exception {
+        Parser.Parameters p = Parser.Parameters.get(" **7");
+        Assert.assertNotNull(PowerParser.parser.tryParse(p, null));
+        Assert.assertEquals(3, p.position.intValue());
+
+        p = Parser.Parameters.get(" *7");
+        Assert.assertNull(PowerParser.parser.tryParse(p, null));
+        Assert.assertEquals(0, p.position.intValue());
+        Assert.assertEquals(1, p.newParseException().getPosition());
+    }
 }
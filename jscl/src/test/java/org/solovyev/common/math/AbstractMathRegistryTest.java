@@ -0,0 +1,97 @@
+package org.solovyev.common.math;
+
+import jscl.math.function.Constant;
+import jscl.math.function.ExtendedConstant;
+import jscl.math.function.IConstant;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class AbstractMathRegistryTest {
+
+    @Test
+    public void testShouldReadSnapshots() throws Exception {
+        final TestRegistry registry = new TestRegistry();
+        final IConstant a = registry.addOrUpdate(constant("a", "1"));
+        final IConstant ab = registry.addOrUpdate(constant("ab", "2"));
+
+        final List<IConstant> entities = registry.getEntities();
+        assertSame(entities, registry.getEntities());
+        // longest names first
+        assertEquals("ab", entities.get(0).getName());
+        assertSame(a, registry.get("a"));
+        assertSame(ab, registry.getById(ab.getId()));
+        assertTrue(registry.contains("ab"));
+        assertEquals("ab", registry.findName("1+abc", 2));
+
+        registry.addOrUpdate(constant("abc", "3"));
+        assertEquals(2, entities.size());
+        assertEquals(3, registry.getEntities().size());
+        assertEquals("abc", registry.findName("1+abc", 2));
+
+        // updated by id
+        final Constant updated = new Constant("a");
+        updated.setSystem(false);
+        updated.setId(a.getId());
+        final List<IConstant> before = registry.getEntities();
+        assertSame(a, registry.addOrUpdate(new ExtendedConstant.Builder(updated, "4").create()));
+        assertEquals("4", registry.getById(a.getId()).getValue());
+        assertTrue(before != registry.getEntities());
+
+        registry.remove(ab);
+        assertNull(registry.get("ab"));
+        assertNull(registry.getById(ab.getId()));
+        assertEquals("abc", registry.findName("abc", 0));
+        assertEquals("a", registry.findName("ab", 0));
+    }
+
+    @Test
+    public void testShouldReadWhileWriting() throws Exception {
+        final TestRegistry registry = new TestRegistry();
+        final int n = 2000;
+        final AtomicReference<String> error = new AtomicReference<>();
+        final Thread reader = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                int seen = 0;
+                while (seen < n) {
+                    final List<IConstant> entities = registry.getEntities();
+                    for (int i = 0; i < entities.size(); i++) {
+                        if (registry.get(entities.get(i).getName()) == null) {
+                            error.set("Not found: " + entities.get(i).getName());
+                            return;
+                        }
+                    }
+                    seen = entities.size();
+                }
+            }
+        });
+        reader.start();
+        for (int i = 0; i < n; i++) {
+            registry.addOrUpdate(constant("c" + i, String.valueOf(i)));
+        }
+        reader.join(60000);
+        assertFalse(reader.isAlive());
+        assertNull(error.get());
+        assertEquals(n, registry.getNames().size());
+    }
+
+    private static IConstant constant(String name, String value) {
+        final Constant constant = new Constant(name);
+        constant.setSystem(false);
+        return new ExtendedConstant.Builder(constant, value).create();
+    }
+
+    private static final class TestRegistry extends AbstractMathRegistry<IConstant> {
+        @Override
+        protected void onInit() {
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.solovyev.common.text;
+
+import org.junit.Test;
+
+import org.solovyev.common.math.MathRegistry;
+
+import java.util.List;
+
+import jscl.JsclMathEngine;
+import jscl.math.function.Constant;
+import jscl.math.function.ExtendedConstant;
+import jscl.math.function.Function;
+import jscl.math.function.IConstant;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TrieTest {
+
+    @Test
+    public void testShouldFindLongestToken() throws Exception {
+        final Trie trie = new Trie(asList("s", "sin", "sinh", "sqrt", "e"));
+        assertEquals("sinh", trie.find("sinh(x)", 0));
+        assertEquals("sin", trie.find("sin(x)", 0));
+        assertEquals("s", trie.find("sx", 0));
+        assertEquals("sqrt", trie.find("2*sqrt(x)", 2));
+        assertEquals("e", trie.find("sine", 3));
+        assertNull(trie.find("sqr", 1));
+        assertNull(trie.find("cos", 0));
+        assertNull(trie.find("sin", 3));
+    }
+
+    @Test
+    public void testShouldAddAndRemoveTokens() throws Exception {
+        final Trie trie = new Trie();
+        assertTrue(trie.add("ab"));
+        assertTrue(trie.add("abcd"));
+        assertFalse(trie.add("ab"));
+        assertFalse(trie.add(""));
+        assertEquals(2, trie.size());
+
+        assertFalse(trie.remove("abc"));
+        assertTrue(trie.remove("abcd"));
+        assertFalse(trie.contains("abcd"));
+        assertEquals("ab", trie.find("abcd", 0));
+        assertTrue(trie.remove("ab"));
+        assertNull(trie.find("abcd", 0));
+        assertEquals(0, trie.size());
+
+        assertTrue(trie.add("abc"));
+        assertEquals("abc", trie.find("abcd", 0));
+    }
+
+    @Test
+    public void testShouldFindSameNameAsLinearSearch() throws Exception {
+        final MathRegistry<Function> registry = JsclMathEngine.getInstance().getFunctionsRegistry();
+        final List<String> names = registry.getNames();
+        final Trie trie = new Trie(names);
+        final String text = "asinh(x)+sin(x)*cosh(x)-lnln(√(x))+exp(x)";
+        for (int i = 0; i < text.length(); i++) {
+            String expected = null;
+            for (String name : names) {
+                if (text.startsWith(name, i)) {
+                    expected = name;
+                    break;
+                }
+            }
+            assertEquals(expected, trie.find(text, i));
+            assertEquals(expected, registry.findName(text, i));
+        }
+    }
+
+    @Test
+    public void testShouldFindNamesOfModifiedEntities() throws Exception {
+        final MathRegistry<IConstant> registry = JsclMathEngine.getInstance().getConstantsRegistry();
+        final Constant c = new Constant("trie_c");
+        // only user-defined entities can be removed
+        c.setSystem(false);
+        final IConstant constant = registry.addOrUpdate(new ExtendedConstant.Builder(c, 2.5d).create());
+        assertEquals("trie_c", registry.findName("2*trie_c", 2));
+        registry.remove(constant);
+        // other tests might register constants which are prefixes of the removed one
+        final String name = registry.findName("2*trie_c", 2);
+        assertFalse("trie_c".equals(name));
+        assertTrue(name == null || registry.contains(name));
+    }
+}